@@ -0,0 +1,418 @@
+package hello.core.member;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * 같은 ID 동시 저장 스트레스 테스트
+ * 두 스레드가 같은 ID로 서로 다른 회원을 동시에 저장한다.
+ * 모두 끝난 뒤에는 둘 중 하나가 온전히 남아 있어야 하며 (마지막 저장 승리),
+ * 저장 결과가 사라지거나 두 회원의 필드가 섞이면 안 된다.
+ */
+public abstract class MemberSameIdSaveStress {
+
+    private final MemberRepository repository;
+    private final long id;
+    private final String nameA;
+    private final String nameB;
+
+    MemberSameIdSaveStress(StressRepositories implementation) {
+        long serial = StressRepositories.nextSerial();
+        this.repository = implementation.create();
+        this.id = implementation.idOf(serial);
+        this.nameA = "memberA" + serial;
+        this.nameB = "memberB" + serial;
+    }
+
+    void saveA() {
+        repository.save(new Member(id, nameA, Grade.BASIC));
+    }
+
+    void saveB() {
+        repository.save(new Member(id, nameB, Grade.VIP));
+    }
+
+    int winner() {
+        Member member = repository.findById(id);
+        if (member == null) {
+            return 0;
+        }
+        if (nameA.equals(member.getName()) && member.getGrade() == Grade.BASIC) {
+            return 1;
+        }
+        if (nameB.equals(member.getName()) && member.getGrade() == Grade.VIP) {
+            return 2;
+        }
+        return 3;
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class Memory extends MemberSameIdSaveStress {
+
+        public Memory() {
+            super(StressRepositories.MEMORY);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class JfrMemory extends MemberSameIdSaveStress {
+
+        public JfrMemory() {
+            super(StressRepositories.JFR_MEMORY);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class Mvcc extends MemberSameIdSaveStress {
+
+        public Mvcc() {
+            super(StressRepositories.MVCC);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class Caching extends MemberSameIdSaveStress {
+
+        public Caching() {
+            super(StressRepositories.CACHING);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class Expiring extends MemberSameIdSaveStress {
+
+        public Expiring() {
+            super(StressRepositories.EXPIRING);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class Publishing extends MemberSameIdSaveStress {
+
+        public Publishing() {
+            super(StressRepositories.PUBLISHING);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class Primary extends MemberSameIdSaveStress {
+
+        public Primary() {
+            super(StressRepositories.PRIMARY);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class Replica extends MemberSameIdSaveStress {
+
+        public Replica() {
+            super(StressRepositories.REPLICA);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class ShardedMemory extends MemberSameIdSaveStress {
+
+        public ShardedMemory() {
+            super(StressRepositories.SHARDED_MEMORY);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class Dictionary extends MemberSameIdSaveStress {
+
+        public Dictionary() {
+            super(StressRepositories.DICTIONARY);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class Jdbc extends MemberSameIdSaveStress {
+
+        public Jdbc() {
+            super(StressRepositories.JDBC);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class WriteBehind extends MemberSameIdSaveStress {
+
+        public WriteBehind() {
+            super(StressRepositories.WRITE_BEHIND);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "A가 마지막으로 저장됨")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "B가 마지막으로 저장됨")
+    @Outcome(id = "0", expect = FORBIDDEN, desc = "저장 결과 유실")
+    @Outcome(id = "3", expect = FORBIDDEN, desc = "두 회원의 필드가 섞이거나 이전 회원이 남음")
+    @State
+    public static class Replicated extends MemberSameIdSaveStress {
+
+        public Replicated() {
+            super(StressRepositories.REPLICATED);
+        }
+
+        @Actor
+        public void actor1() {
+            saveA();
+        }
+
+        @Actor
+        public void actor2() {
+            saveB();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = winner();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package hello.core.member;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * 저장/조회 가시성 스트레스 테스트
+ * 한 스레드가 회원을 저장하는 동안 다른 스레드가 같은 ID를 조회한다.
+ * 조회 결과는 "아직 없음" 또는 "저장한 회원 전체"여야 하며,
+ * 이름이나 등급이 비어 있는 반쯤 만들어진 회원이 보이면 안 된다. (안전하지 않은 발행 검출)
+ */
+public abstract class MemberVisibilityStress {
+
+    static final int ABSENT = 0;
+    static final int VISIBLE = 1;
+    static final int TORN = 2;
+
+    private final MemberRepository repository;
+    private final long id;
+    private final String name;
+
+    MemberVisibilityStress(StressRepositories implementation) {
+        long serial = StressRepositories.nextSerial();
+        this.repository = implementation.create();
+        this.id = implementation.idOf(serial);
+        this.name = "member" + serial;
+    }
+
+    void save() {
+        repository.save(new Member(id, name, Grade.VIP));
+    }
+
+    int find() {
+        Member member = repository.findById(id);
+        if (member == null) {
+            return ABSENT;
+        }
+        String foundName = member.getName();
+        if (foundName == null || member.getGrade() == null || member.getId() == null) {
+            return TORN;
+        }
+        // 같은 ID를 쓰던 이전 상태 객체의 회원은 아직 저장 전으로 본다
+        if (!foundName.equals(name)) {
+            return ABSENT;
+        }
+        return member.getGrade() == Grade.VIP ? VISIBLE : TORN;
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class Memory extends MemberVisibilityStress {
+
+        public Memory() {
+            super(StressRepositories.MEMORY);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class JfrMemory extends MemberVisibilityStress {
+
+        public JfrMemory() {
+            super(StressRepositories.JFR_MEMORY);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class Mvcc extends MemberVisibilityStress {
+
+        public Mvcc() {
+            super(StressRepositories.MVCC);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class Caching extends MemberVisibilityStress {
+
+        public Caching() {
+            super(StressRepositories.CACHING);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class Expiring extends MemberVisibilityStress {
+
+        public Expiring() {
+            super(StressRepositories.EXPIRING);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class Publishing extends MemberVisibilityStress {
+
+        public Publishing() {
+            super(StressRepositories.PUBLISHING);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class Primary extends MemberVisibilityStress {
+
+        public Primary() {
+            super(StressRepositories.PRIMARY);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class Replica extends MemberVisibilityStress {
+
+        public Replica() {
+            super(StressRepositories.REPLICA);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class ShardedMemory extends MemberVisibilityStress {
+
+        public ShardedMemory() {
+            super(StressRepositories.SHARDED_MEMORY);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class Dictionary extends MemberVisibilityStress {
+
+        public Dictionary() {
+            super(StressRepositories.DICTIONARY);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class Jdbc extends MemberVisibilityStress {
+
+        public Jdbc() {
+            super(StressRepositories.JDBC);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class WriteBehind extends MemberVisibilityStress {
+
+        public WriteBehind() {
+            super(StressRepositories.WRITE_BEHIND);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "저장 전에 조회")
+    @Outcome(id = "1", expect = ACCEPTABLE, desc = "저장한 회원 전체가 보임")
+    @Outcome(id = "2", expect = FORBIDDEN, desc = "반쯤 만들어진 회원이 보임")
+    @State
+    public static class Replicated extends MemberVisibilityStress {
+
+        public Replicated() {
+            super(StressRepositories.REPLICATED);
+        }
+
+        @Actor
+        public void writer() {
+            save();
+        }
+
+        @Actor
+        public void reader(I_Result r) {
+            r.r1 = find();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package hello.core.member;
+
+import hello.core.jfr.JfrMemberRepository;
+import hello.core.replication.PrimaryMemberRepository;
+import hello.core.replication.ReplicaMemberRepository;
+import hello.core.replication.ReplicatedMemberRepository;
+import hello.core.replication.ReplicationLog;
+import hello.core.stream.MemberChangeStream;
+import hello.core.stream.PublishingMemberRepository;
+import hello.core.stream.WaitStrategy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 스트레스 테스트 대상 회원 저장소 구현체 목록
+ * 새 MemberRepository 구현체를 추가하면 여기에 등록하고, 각 스트레스 테스트에 중첩 클래스를 하나씩 추가한다.
+ *
+ * 상태 객체마다 새로 만드는 저장소는 MemoryMemberRepository.isolated() 위에 만들어 서로 저장소를 나누지 않으므로
+ * 회원 ID를 고정해서 쓴다.
+ * 스레드나 DB를 가진 저장소(샤드, 이름 사전, JDBC, 쓰기 지연, 복제)는 상태 객체마다 만들 수 없어 하나를 공유하며,
+ * 이때만 동시에 살아 있는 상태 객체끼리 ID가 겹치지 않도록 순환 구간(2^17)에서 ID를 나눠 준다.
+ * 구간은 한 번에 살아 있는 상태 객체 수보다 충분히 커서 동시에 쓰이는 ID는 겹치지 않고, 저장소 크기도 구간 크기로 제한된다.
+ * 이전 상태가 남긴 같은 ID의 회원은 이름(일련번호)으로 구분한다.
+ */
+public enum StressRepositories {
+
+    MEMORY(false, MemoryMemberRepository::isolated),
+    JFR_MEMORY(false, () -> new JfrMemberRepository(MemoryMemberRepository.isolated())),
+    MVCC(false, MvccMemberRepository::new),
+    CACHING(false, () -> new CachingMemberRepository(MemoryMemberRepository.isolated(), 64)),
+    // 만료되지 않을 만큼 긴 유휴 시간 (만료 경로는 ExpiringMemberRepositoryTest에서 본다)
+    EXPIRING(false, () -> new ExpiringMemberRepository(MemoryMemberRepository.isolated(),
+            Duration.ofMinutes(10), Duration.ZERO, member -> true)),
+    // 소비자가 구독 중인 스트림이어야 발행 경로를 지난다
+    PUBLISHING(false, () -> new PublishingMemberRepository(MemoryMemberRepository.isolated(), ChangeStream.INSTANCE)),
+    PRIMARY(false, () -> new PrimaryMemberRepository(MemoryMemberRepository.isolated(), new ReplicationLog(16))),
+    REPLICA(false, ReplicaView::new),
+    // 상태 객체마다 샤드 저장소를 만들면 스트라이프 락/링 할당이 커서 하나를 공유한다
+    SHARDED_MEMORY(true, () -> Sharded.INSTANCE),
+    // 스트라이프마다 해시 테이블을 미리 잡아 두어 상태 객체마다 만들기에는 크다
+    DICTIONARY(true, () -> Dictionary.INSTANCE),
+    JDBC(true, () -> Jdbc.INSTANCE),
+    WRITE_BEHIND(true, () -> WriteBehind.INSTANCE),
+    // 세션(자기 쓰기 읽기)으로 읽어야 마지막 저장 승리를 확인할 수 있다. 세션은 상태 객체마다 새로 연다
+    REPLICATED(true, () -> Replicated.INSTANCE.session());
+
+    private static final long ID_BASE = 1_000_000_000L;
+    private static final long ID_MASK = (1 << 17) - 1;
+    private static final AtomicLong SERIAL = new AtomicLong();
+
+    private final boolean shared;
+    private final Supplier<MemberRepository> factory;
+
+    StressRepositories(boolean shared, Supplier<MemberRepository> factory) {
+        this.shared = shared;
+        this.factory = factory;
+    }
+
+    /**
+     * 저장소 구현체 생성 (공유하는 구현체는 같은 저장소를 돌려준다)
+     * @return 저장소
+     */
+    public MemberRepository create() {
+        return factory.get();
+    }
+
+    /**
+     * 상태 객체마다 고유한 일련번호 발급
+     * @return 일련번호
+     */
+    public static long nextSerial() {
+        return SERIAL.getAndIncrement();
+    }
+
+    /**
+     * 일련번호에 대응하는 회원 ID
+     * @param serial 일련번호
+     * @return 회원 ID (새로 만드는 저장소는 고정 ID, 공유 저장소는 순환 구간의 ID)
+     */
+    public long idOf(long serial) {
+        return shared ? ID_BASE + (serial & ID_MASK) : ID_BASE;
+    }
+
+    private static final class Sharded {
+
+        static final ShardedMemberRepository INSTANCE = new ShardedMemberRepository(Map.of(
+                "shard-0", MemoryMemberRepository.isolated(),
+                "shard-1", MemoryMemberRepository.isolated(),
+                "shard-2", MemoryMemberRepository.isolated(),
+                "shard-3", MemoryMemberRepository.isolated()));
+    }
+
+    private static final class Dictionary {
+
+        static final DictionaryMemberRepository INSTANCE = new DictionaryMemberRepository();
+    }
+
+    private static final class Jdbc {
+
+        static final JdbcMemberRepository INSTANCE = JdbcMemberRepository.pooled(
+                "jdbc:h2:mem:jcstress-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", 4);
+    }
+
+    private static final class WriteBehind {
+
+        static final WriteBehindMemberRepository INSTANCE = new WriteBehindMemberRepository(
+                MemoryMemberRepository.isolated(), 1 << 16, 256, Duration.ofMillis(1));
+    }
+
+    private static final class Replicated {
+
+        static final ReplicatedMemberRepository INSTANCE = ReplicatedMemberRepository.inMemory(2, Duration.ofMillis(100));
+    }
+
+    private static final class ChangeStream {
+
+        static final MemberChangeStream INSTANCE = new MemberChangeStream(1 << 12, WaitStrategy.yielding());
+
+        static {
+            INSTANCE.subscribe("jcstress", (event, endOfBatch) -> {
+            }, WaitStrategy.parking(Duration.ofMillis(1)), 256).start();
+        }
+    }
+
+    /**
+     * 복제본 읽기 저장소
+     * 쓰기는 상태 객체마다 만든 주 저장소에 하고, 읽기는 복제본이 로그를 따라잡게 한 뒤(poll) 복제본에서 한다.
+     * 복제 스레드를 띄우지 않고 읽는 스레드가 직접 적용하므로, 로그 적용과 복제본 읽기 사이의 가시성을 본다.
+     */
+    static final class ReplicaView implements MemberRepository {
+
+        private final PrimaryMemberRepository primary =
+                new PrimaryMemberRepository(MemoryMemberRepository.isolated(), new ReplicationLog(16));
+        private final ReplicaMemberRepository replica =
+                new ReplicaMemberRepository("jcstress", primary, MemoryMemberRepository.isolated());
+
+        @Override
+        public void save(Member member) {
+            primary.save(member);
+        }
+
+        @Override
+        public Member findById(Long memberId) {
+            replica.poll();
+            return replica.findById(memberId);
+        }
+
+        @Override
+        public void delete(Long memberId) {
+            primary.delete(memberId);
+        }
+
+        @Override
+        public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+            return primary.changeGrade(memberId, expected, grade);
+        }
+
+        @Override
+        public void forEach(Consumer<Member> action) {
+            replica.poll();
+            replica.forEach(action);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package hello.core.order;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.StressRepositories;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * 등급 변경 중 주문 생성 스트레스 테스트
+ * BASIC 회원이 VIP로 바뀌는 동안 같은 회원의 주문을 만든다. (정액 할인 1000원)
+ * 주문은 변경 전 등급(할인 0원) 또는 변경 후 등급(할인 1000원) 중 하나로 계산되어야 하며,
+ * 회원이 사라지거나 예외가 발생하면 안 된다.
+ */
+public abstract class GradeChangeOrderStress {
+
+    private final MemberRepository repository;
+    private final OrderService orderService;
+    private final long id;
+    private final String name;
+
+    GradeChangeOrderStress(StressRepositories implementation) {
+        long serial = StressRepositories.nextSerial();
+        this.repository = implementation.create();
+        this.orderService = new OrderServiceImpl(repository, new FixDiscountPolicy());
+        this.id = implementation.idOf(serial);
+        this.name = "member" + serial;
+        repository.save(new Member(id, name, Grade.BASIC));
+    }
+
+    void promote() {
+        repository.save(new Member(id, name, Grade.VIP));
+    }
+
+    int order() {
+        try {
+            return orderService.createOrder(id, "itemA", 10000).getDiscountPrice();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class Memory extends GradeChangeOrderStress {
+
+        public Memory() {
+            super(StressRepositories.MEMORY);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class JfrMemory extends GradeChangeOrderStress {
+
+        public JfrMemory() {
+            super(StressRepositories.JFR_MEMORY);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class Mvcc extends GradeChangeOrderStress {
+
+        public Mvcc() {
+            super(StressRepositories.MVCC);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class Caching extends GradeChangeOrderStress {
+
+        public Caching() {
+            super(StressRepositories.CACHING);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class Expiring extends GradeChangeOrderStress {
+
+        public Expiring() {
+            super(StressRepositories.EXPIRING);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class Publishing extends GradeChangeOrderStress {
+
+        public Publishing() {
+            super(StressRepositories.PUBLISHING);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class Primary extends GradeChangeOrderStress {
+
+        public Primary() {
+            super(StressRepositories.PRIMARY);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class Replica extends GradeChangeOrderStress {
+
+        public Replica() {
+            super(StressRepositories.REPLICA);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class ShardedMemory extends GradeChangeOrderStress {
+
+        public ShardedMemory() {
+            super(StressRepositories.SHARDED_MEMORY);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class Dictionary extends GradeChangeOrderStress {
+
+        public Dictionary() {
+            super(StressRepositories.DICTIONARY);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class Jdbc extends GradeChangeOrderStress {
+
+        public Jdbc() {
+            super(StressRepositories.JDBC);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class WriteBehind extends GradeChangeOrderStress {
+
+        public WriteBehind() {
+            super(StressRepositories.WRITE_BEHIND);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "0", expect = ACCEPTABLE, desc = "변경 전 BASIC 등급으로 주문")
+    @Outcome(id = "1000", expect = ACCEPTABLE, desc = "변경 후 VIP 등급으로 주문")
+    @Outcome(id = "-1", expect = FORBIDDEN, desc = "주문 중 예외")
+    @State
+    public static class Replicated extends GradeChangeOrderStress {
+
+        public Replicated() {
+            super(StressRepositories.REPLICATED);
+        }
+
+        @Actor
+        public void gradeChange() {
+            promote();
+        }
+
+        @Actor
+        public void orderer(I_Result r) {
+            r.r1 = order();
+        }
+    }
+}
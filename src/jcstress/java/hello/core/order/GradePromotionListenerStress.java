@@ -0,0 +1,131 @@
+package hello.core.order;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.StressRepositories;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * 누적 결제 금액 집계 스트레스 테스트
+ * GradePromotionListener의 회원별 누적 금액이 동시 주문에서도 정확한지 검증한다.
+ *
+ * SameMember: 같은 회원의 두 주문(6000원씩, 기준 10000원)이 동시에 들어와도
+ *             누적 금액은 12000원이고 승급 저장은 정확히 한 번이다.
+ * SameStripe: 같은 스트라이프(같은 락, 같은 해시 테이블)에 속한 두 회원의 동시 주문이
+ *             서로의 누적 금액을 덮어쓰지 않는다.
+ */
+public class GradePromotionListenerStress {
+
+    private static final long THRESHOLD = 10000;
+
+    /**
+     * 승급 저장 횟수를 세는 저장소
+     */
+    static class CountingRepository implements MemberRepository {
+
+        final MemberRepository delegate = StressRepositories.MEMORY.create();
+        final AtomicInteger saves = new AtomicInteger();
+
+        @Override
+        public void save(Member member) {
+            saves.incrementAndGet();
+            delegate.save(member);
+        }
+
+        @Override
+        public Member findById(Long memberId) {
+            return delegate.findById(memberId);
+        }
+
+        @Override
+        public void delete(Long memberId) {
+            delegate.delete(memberId);
+        }
+
+        @Override
+        public void forEach(Consumer<Member> action) {
+            delegate.forEach(action);
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "12000, 1", expect = ACCEPTABLE, desc = "누적 정확, 승급 한 번")
+    @Outcome(expect = FORBIDDEN, desc = "누적 유실 또는 승급 누락/중복")
+    @State
+    public static class SameMember {
+
+        final CountingRepository repository = new CountingRepository();
+        final GradePromotionListener listener = new GradePromotionListener(repository, THRESHOLD, 2);
+        final long id;
+
+        public SameMember() {
+            long serial = StressRepositories.nextSerial();
+            id = StressRepositories.MEMORY.idOf(serial);
+            repository.delegate.save(new Member(id, "member" + serial, Grade.BASIC));
+        }
+
+        @Actor
+        public void actor1() {
+            listener.onOrder(new Order(id, "itemA", 6000, 0));
+        }
+
+        @Actor
+        public void actor2() {
+            listener.onOrder(new Order(id, "itemB", 6000, 0));
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r1 = (int) listener.totalSpend(id);
+            r.r2 = repository.saves.get();
+        }
+    }
+
+    @JCStressTest
+    @Outcome(id = "6000, 6000", expect = ACCEPTABLE, desc = "두 회원 누적 모두 정확")
+    @Outcome(expect = FORBIDDEN, desc = "같은 스트라이프 갱신 유실")
+    @State
+    public static class SameStripe {
+
+        final GradePromotionListener listener =
+                new GradePromotionListener(new CountingRepository(), THRESHOLD, 2);
+        final long idA;
+        final long idB;
+
+        public SameStripe() {
+            idA = StressRepositories.MEMORY.idOf(StressRepositories.nextSerial());
+            long candidate = idA + 1;
+            while (GradePromotionListener.stripeIndex(candidate) != GradePromotionListener.stripeIndex(idA)) {
+                candidate++;
+            }
+            idB = candidate;
+        }
+
+        @Actor
+        public void actor1() {
+            listener.onOrder(new Order(idA, "itemA", 6000, 0));
+        }
+
+        @Actor
+        public void actor2() {
+            listener.onOrder(new Order(idB, "itemB", 6000, 0));
+        }
+
+        @Arbiter
+        public void arbiter(II_Result r) {
+            r.r1 = (int) listener.totalSpend(idA);
+            r.r2 = (int) listener.totalSpend(idB);
+        }
+    }
+}
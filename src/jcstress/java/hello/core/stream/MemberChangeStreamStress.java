@@ -0,0 +1,61 @@
+package hello.core.stream;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import java.time.Duration;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * 변경 스트림 발행 가시성 스트레스 테스트
+ * 생산자가 슬롯을 덮어쓰고 커서를 올리는 동안 소비자가 한 묶음을 읽는다.
+ * 소비자는 "아직 없음" 또는 발행한 변경 전체(순번, 회원 ID, 회원)를 봐야 하며,
+ * 커서는 보이는데 슬롯이 이전 내용이거나 비어 있으면 안 된다. (커서 올리기 전 슬롯 쓰기의 순서 검출)
+ *
+ * 고리를 한 바퀴 돌린 뒤, 순번 3이 순번 1의 슬롯을 다시 쓰는 경우를 확인한다.
+ */
+@JCStressTest
+@Outcome(id = "0, 0", expect = ACCEPTABLE, desc = "발행 전에 읽음")
+@Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "발행한 변경 전체가 보임")
+@Outcome(id = "1, 2", expect = FORBIDDEN, desc = "커서는 보이는데 슬롯은 이전 내용")
+@Outcome(expect = FORBIDDEN, desc = "그 밖의 찢어진 변경")
+@State
+public class MemberChangeStreamStress {
+
+    static final int VISIBLE = 1;
+    static final int TORN = 2;
+
+    private final MemberChangeStream stream = new MemberChangeStream(2, WaitStrategy.busySpin());
+    private final Member member = new Member(2L, "member2", Grade.VIP);
+    private final int[] seen = new int[2];
+    private final MemberChangeConsumer consumer;
+
+    public MemberChangeStreamStress() {
+        // 순번 1, 2를 구독 전에 발행해 두어 다음 발행(순번 3)이 순번 1의 슬롯을 다시 쓰게 한다
+        stream.publish(1L, new Member(1L, "member1", Grade.BASIC));
+        stream.publish(0L, null);
+        consumer = stream.subscribe("stress", (event, endOfBatch) -> {
+            seen[0]++;
+            boolean complete = event.sequence() == 3 && event.memberId() == 2L && event.member() == member;
+            seen[1] = complete ? VISIBLE : TORN;
+        }, WaitStrategy.parking(Duration.ofMillis(1)), 16);
+    }
+
+    @Actor
+    public void producer() {
+        stream.publish(2L, member);
+    }
+
+    @Actor
+    public void consumer(II_Result r) {
+        consumer.drain();
+        r.r1 = seen[0];
+        r.r2 = seen[1];
+    }
+}
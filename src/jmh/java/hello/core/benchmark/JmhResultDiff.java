@@ -0,0 +1,119 @@
+package hello.core.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMH 결과 비교 도구
+ * 기준선 CSV와 현재 CSV(JMH -rf csv 형식)를 벤치마크+파라미터 단위로 맞춰 변화율을 출력한다.
+ * 기본 지표와 할당량(gc.alloc.rate.norm)만 비교하며, 임계치보다 나빠진 항목이 있으면 종료 코드 1을 반환한다.
+ *
+ * 실행: JmhResultDiff <기준선.csv> <현재.csv> [임계치(%)]
+ */
+public class JmhResultDiff {
+
+    private static final String ALLOCATION_METRIC = ":gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("사용법: JmhResultDiff <baseline.csv> <current.csv> [thresholdPercent]");
+            System.exit(2);
+        }
+        Path baselineFile = Path.of(args[0]);
+        if (!Files.exists(baselineFile)) {
+            System.err.println("기준선이 없습니다. ./gradlew jmh jmhSaveBaseline 으로 먼저 생성하세요: " + baselineFile);
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, Row> baseline = read(baselineFile);
+        Map<String, Row> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Row> entry : current.entrySet()) {
+            Row now = entry.getValue();
+            Row before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", now.score, "new");
+                continue;
+            }
+            double change = (now.score - before.score) / before.score * 100.0;
+            // 처리량(thrpt)은 낮아질수록, 시간/할당량은 높아질수록 나빠진 것
+            double worse = now.higherIsBetter() ? -change : change;
+            boolean regressed = worse > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.score, now.score, change,
+                    regressed ? "  <-- REGRESSION" : "");
+        }
+        System.out.printf("%n임계치 %.1f%% 초과 악화: %d건%n", threshold, regressions);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    static Map<String, Row> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Map<String, Row> rows = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return rows;
+        }
+        List<String> header = parse(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> cells = parse(line);
+            String name = cells.get(benchmark);
+            boolean primary = !name.contains(":");
+            if (!primary && !name.endsWith(ALLOCATION_METRIC)) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(name);
+            for (int i = unit + 1; i < cells.size(); i++) {
+                if (!cells.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(cells.get(i));
+                }
+            }
+            rows.put(key.toString(), new Row(primary ? cells.get(mode) : "alloc", Double.parseDouble(cells.get(score))));
+        }
+        return rows;
+    }
+
+    // JMH CSV는 모든 칸을 큰따옴표로 감싸고 칸 안에 쉼표가 들어갈 수 있다
+    private static List<String> parse(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    record Row(String mode, double score) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package hello.core.codec;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.order.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원/주문 이진 코덱 벤치마크
+ * MemberCodec/OrderCodec과 Java 직렬화의 인코딩/디코딩 비용을 비교한다. (-prof gc 로 할당량도 함께 본다)
+ * Member, Order는 Serializable이 아니므로 Java 직렬화 쪽은 같은 필드를 가진 대체 레코드를 쓴다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodecBenchmark {
+
+    record SerializableMember(Long id, String name, Grade grade) implements Serializable {
+    }
+
+    record SerializableOrder(Long memberId, String itemName, int itemPrice, int discountPrice) implements Serializable {
+    }
+
+    Member member;
+    Order order;
+    SerializableMember serializableMember;
+    SerializableOrder serializableOrder;
+
+    ByteBuffer buffer;
+    ByteBuffer encodedMember;
+    ByteBuffer encodedOrder;
+    byte[] serializedMember;
+    byte[] serializedOrder;
+    MemberView memberView;
+    OrderView orderView;
+
+    @Setup
+    public void setUp() throws IOException {
+        member = new Member(123_456L, "memberA", Grade.VIP);
+        order = new Order(123_456L, "itemA", 10000, 1000);
+        serializableMember = new SerializableMember(member.getId(), member.getName(), member.getGrade());
+        serializableOrder = new SerializableOrder(order.getMemberId(), order.getItemName(),
+                order.getItemPrice(), order.getDiscountPrice());
+
+        buffer = ByteBuffer.allocateDirect(256);
+        encodedMember = ByteBuffer.allocateDirect(64);
+        MemberCodec.encode(member, encodedMember);
+        encodedMember.flip();
+        encodedOrder = ByteBuffer.allocateDirect(64);
+        OrderCodec.encode(order, encodedOrder);
+        encodedOrder.flip();
+        serializedMember = serialize(serializableMember);
+        serializedOrder = serialize(serializableOrder);
+        memberView = new MemberView();
+        orderView = new OrderView();
+    }
+
+    @Benchmark
+    public int codecEncodeMember() {
+        buffer.clear();
+        return MemberCodec.encode(member, buffer);
+    }
+
+    @Benchmark
+    public Member codecDecodeMember() {
+        encodedMember.rewind();
+        return MemberCodec.decode(encodedMember);
+    }
+
+    @Benchmark
+    public long viewMemberId() {
+        return memberView.wrap(encodedMember, 0).id();
+    }
+
+    @Benchmark
+    public int codecEncodeOrder() {
+        buffer.clear();
+        return OrderCodec.encode(order, buffer);
+    }
+
+    @Benchmark
+    public Order codecDecodeOrder() {
+        encodedOrder.rewind();
+        return OrderCodec.decode(encodedOrder);
+    }
+
+    @Benchmark
+    public int viewOrderPrice() {
+        return orderView.wrap(encodedOrder, 0).price();
+    }
+
+    @Benchmark
+    public byte[] javaSerializeMember() throws IOException {
+        return serialize(serializableMember);
+    }
+
+    @Benchmark
+    public Object javaDeserializeMember() throws IOException, ClassNotFoundException {
+        return deserialize(serializedMember);
+    }
+
+    @Benchmark
+    public byte[] javaSerializeOrder() throws IOException {
+        return serialize(serializableOrder);
+    }
+
+    @Benchmark
+    public Object javaDeserializeOrder() throws IOException, ClassNotFoundException {
+        return deserialize(serializedOrder);
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
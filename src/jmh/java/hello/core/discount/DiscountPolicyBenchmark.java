@@ -0,0 +1,66 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 할인 정책 벤치마크
+ * 정액/정률 할인 계산과, 캐시 데코레이터를 씌운 경우의 적중 경로 비용을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DiscountPolicyBenchmark {
+
+    // 실제 트래픽처럼 반복되는 가격대 (캐시 크기 안에 들어오는 조합 수)
+    private static final int DISTINCT_PRICES = 512;
+
+    DiscountPolicy fixDiscountPolicy;
+    DiscountPolicy rateDiscountPolicy;
+    DiscountPolicy cachedRateDiscountPolicy;
+    Member[] members;
+
+    @Setup
+    public void setUp() {
+        fixDiscountPolicy = new FixDiscountPolicy();
+        rateDiscountPolicy = new RateDiscountPolicy();
+        cachedRateDiscountPolicy = new CachingDiscountPolicy(new RateDiscountPolicy(), 4096);
+        members = new Member[]{
+                new Member(1L, "memberVIP", Grade.VIP),
+                new Member(2L, "memberBASIC", Grade.BASIC)
+        };
+    }
+
+    @Benchmark
+    public int fixDiscount() {
+        return fixDiscountPolicy.discount(randomMember(), randomPrice());
+    }
+
+    @Benchmark
+    public int rateDiscount() {
+        return rateDiscountPolicy.discount(randomMember(), randomPrice());
+    }
+
+    @Benchmark
+    public int cachedRateDiscount() {
+        return cachedRateDiscountPolicy.discount(randomMember(), randomPrice());
+    }
+
+    private Member randomMember() {
+        return members[ThreadLocalRandom.current().nextInt(members.length)];
+    }
+
+    private int randomPrice() {
+        return 1000 + ThreadLocalRandom.current().nextInt(DISTINCT_PRICES) * 100;
+    }
+}
@@ -0,0 +1,58 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이름 사전 저장소의 조회 비용 벤치마크
+ * findGrade: 이름을 읽지 않는 조회 (주문의 등급 확인), findName: 이름까지 읽는 조회 (캐시에 없는 이름은 블록에서 푼다)
+ * store=memory는 MemoryMemberRepository, store=dictionary는 DictionaryMemberRepository
+ * 힙 크기는 -prof gc 대신 회원 100만 명을 넣은 뒤 힙 덤프/GC 로그로 비교한다.
+ *
+ * 예) ./gradlew jmh -PjmhInclude=DictionaryMemberRepositoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DictionaryMemberRepositoryBenchmark {
+
+    @Param({"memory", "dictionary"})
+    String store;
+
+    @Param({"1000000"})
+    int memberCount;
+
+    MemberRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = store.equals("dictionary") ? new DictionaryMemberRepository() : MemoryMemberRepository.isolated();
+        for (int i = 1; i <= memberCount; i++) {
+            repository.save(new Member((long) i, "guest" + (1_000_000 + i), i % 2 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+    }
+
+    @Benchmark
+    public Grade findGrade() {
+        return repository.findById(randomId()).getGrade();
+    }
+
+    @Benchmark
+    public String findName() {
+        return repository.findById(randomId()).getName();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextInt(memberCount) + 1L;
+    }
+}
@@ -0,0 +1,63 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 만료 데코레이터의 조회/저장 비용 벤치마크
+ * expiring=false는 MemoryMemberRepository 그대로, true는 유휴 시간 10분 만료를 앞에 둔 저장소
+ * 조회 차이가 유휴 시간 갱신(시각 읽기 + 항목 조회) 비용이다.
+ *
+ * 예) ./gradlew jmh -PjmhInclude=ExpiringMemberRepositoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExpiringMemberRepositoryBenchmark {
+
+    @Param({"false", "true"})
+    boolean expiring;
+
+    @Param({"100000"})
+    int memberCount;
+
+    MemberRepository repository;
+    Member[] members;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryMemberRepository store = MemoryMemberRepository.isolated();
+        repository = expiring
+                ? new ExpiringMemberRepository(store, Duration.ofMinutes(10), Duration.ZERO, member -> true)
+                : store;
+        members = new Member[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            members[i] = new Member((long) i + 1, "member" + (i + 1), Grade.BASIC);
+            repository.save(members[i]);
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Member findById() {
+        return repository.findById((long) ThreadLocalRandom.current().nextInt(memberCount) + 1);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void save() {
+        repository.save(members[ThreadLocalRandom.current().nextInt(memberCount)]);
+    }
+}
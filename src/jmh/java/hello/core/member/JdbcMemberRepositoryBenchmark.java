@@ -0,0 +1,127 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JDBC 회원 저장소 벤치마크
+ * 디스크 H2(파일 DB)에 직접 가는 비용과 조회 캐시를 앞에 둔 비용, 메모리 저장소를 비교한다.
+ *
+ * store:
+ *   memory      MemoryMemberRepository (기준선)
+ *   jdbc        JdbcMemberRepository (파일 DB, 커넥션 풀 4)
+ *   cachedJdbc  CachingMemberRepository(회원 수만큼 슬롯) -> JdbcMemberRepository
+ *
+ * 예) ./gradlew jmh -PjmhInclude=JdbcMemberRepositoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JdbcMemberRepositoryBenchmark {
+
+    private static final int BATCH = 100;
+
+    @Param({"memory", "jdbc", "cachedJdbc"})
+    String store;
+
+    @Param({"100000"})
+    int memberCount;
+
+    MemberRepository repository;
+    Member[] members;
+    Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("member-jdbc-bench");
+        String url = "jdbc:h2:file:" + directory.resolve("members").toAbsolutePath();
+        repository = switch (store) {
+            case "memory" -> new MemoryMemberRepository();
+            case "jdbc" -> JdbcMemberRepository.pooled(url, 4);
+            case "cachedJdbc" -> new CachingMemberRepository(JdbcMemberRepository.pooled(url, 4), memberCount);
+            default -> throw new IllegalArgumentException(store);
+        };
+        members = new Member[memberCount];
+        List<Member> batch = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            members[i] = new Member((long) i + 1, "member" + (i + 1), i % 2 == 0 ? Grade.VIP : Grade.BASIC);
+            batch.add(members[i]);
+            if (batch.size() == 10_000) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (repository instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Member findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Member findByIdContended() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Map<Long, Member> findAllById() {
+        List<Long> ids = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            ids.add(randomId());
+        }
+        return repository.findAllById(ids);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void save() {
+        repository.save(members[ThreadLocalRandom.current().nextInt(memberCount)]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void saveAll() {
+        int from = ThreadLocalRandom.current().nextInt(memberCount - BATCH);
+        repository.saveAll(List.of(members).subList(from, from + BATCH));
+    }
+
+    private Long randomId() {
+        return (long) ThreadLocalRandom.current().nextInt(memberCount) + 1;
+    }
+}
@@ -0,0 +1,79 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 저장소 벤치마크
+ * save/findById를 단일 스레드와 경합(읽기/쓰기 동시) 상황에서 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MemberRepositoryBenchmark {
+
+    @Param({"10000", "1000000"})
+    int memberCount;
+
+    MemberRepository repository;
+    Member[] members;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new MemoryMemberRepository();
+        members = new Member[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            members[i] = new Member((long) i + 1, "member" + (i + 1), i % 2 == 0 ? Grade.VIP : Grade.BASIC);
+            repository.save(members[i]);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Member findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void save() {
+        repository.save(members[ThreadLocalRandom.current().nextInt(memberCount)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Member findByIdContended() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Member readWriteFind() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void readWriteSave() {
+        repository.save(members[ThreadLocalRandom.current().nextInt(memberCount)]);
+    }
+
+    private Long randomId() {
+        return (long) ThreadLocalRandom.current().nextInt(memberCount) + 1;
+    }
+}
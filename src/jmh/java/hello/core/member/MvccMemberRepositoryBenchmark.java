@@ -0,0 +1,78 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 긴 스냅샷 읽기가 가입 처리량에 주는 영향 벤치마크
+ * writeOnly: 쓰기 3스레드만, writeWhileScanning: 같은 쓰기 3스레드 + 스냅샷을 열어 전체를 훑는 1스레드
+ * 두 그룹의 save 처리량 차이가 스캔 때문에 생긴 쓰기 손실이다.
+ * store=memory는 기존 복사형 스냅샷(MemoryMemberRepository), store=mvcc는 다중 버전 저장소
+ *
+ * 예) ./gradlew jmh -PjmhInclude=MvccMemberRepositoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MvccMemberRepositoryBenchmark {
+
+    @Param({"memory", "mvcc"})
+    String store;
+
+    @Param({"1000000"})
+    int memberCount;
+
+    SnapshotableMemberRepository repository;
+    Member[] members;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = store.equals("mvcc") ? new MvccMemberRepository() : MemoryMemberRepository.isolated();
+        members = new Member[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            members[i] = new Member((long) i + 1, "member" + (i + 1), i % 2 == 0 ? Grade.VIP : Grade.BASIC);
+            repository.save(members[i]);
+        }
+    }
+
+    @Benchmark
+    @Group("writeOnly")
+    @GroupThreads(3)
+    public void writeOnlySave() {
+        repository.save(members[ThreadLocalRandom.current().nextInt(memberCount)]);
+    }
+
+    @Benchmark
+    @Group("writeWhileScanning")
+    @GroupThreads(3)
+    public void writeWhileScanningSave() {
+        repository.save(members[ThreadLocalRandom.current().nextInt(memberCount)]);
+    }
+
+    @Benchmark
+    @Group("writeWhileScanning")
+    @GroupThreads(1)
+    public long writeWhileScanningScan() {
+        long[] vip = new long[1];
+        try (MemberSnapshot snapshot = repository.openSnapshot()) {
+            snapshot.forEach(member -> {
+                if (member.getGrade() == Grade.VIP) {
+                    vip[0]++;
+                }
+            });
+        }
+        return vip[0];
+    }
+}
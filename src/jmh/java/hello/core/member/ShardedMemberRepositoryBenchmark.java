@@ -0,0 +1,89 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드 수에 따른 회원 저장소 처리량 벤치마크
+ * 모든 코어가 동시에 조회/저장할 때 샤드를 1 -> N개로 늘리며 초당 연산 수를 비교한다.
+ * shards=0은 샤딩 없는 MemoryMemberRepository 하나 (라우팅 비용 기준선)
+ *
+ * 예) ./gradlew jmh -PjmhInclude=ShardedMemberRepositoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShardedMemberRepositoryBenchmark {
+
+    @Param({"0", "1", "2", "4", "8", "16"})
+    int shards;
+
+    @Param({"1000000"})
+    int memberCount;
+
+    MemberRepository repository;
+    Member[] members;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (shards == 0) {
+            repository = MemoryMemberRepository.isolated();
+        } else {
+            Map<String, MemberRepository> shardMap = new LinkedHashMap<>();
+            for (int i = 0; i < shards; i++) {
+                shardMap.put("shard-" + i, MemoryMemberRepository.isolated());
+            }
+            repository = new ShardedMemberRepository(shardMap);
+        }
+        members = new Member[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            members[i] = new Member((long) i + 1, "member" + (i + 1), i % 2 == 0 ? Grade.VIP : Grade.BASIC);
+            repository.save(members[i]);
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Member findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void save() {
+        repository.save(members[ThreadLocalRandom.current().nextInt(memberCount)]);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Member readWriteFind() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void readWriteSave() {
+        repository.save(members[ThreadLocalRandom.current().nextInt(memberCount)]);
+    }
+
+    private Long randomId() {
+        return (long) ThreadLocalRandom.current().nextInt(memberCount) + 1;
+    }
+}
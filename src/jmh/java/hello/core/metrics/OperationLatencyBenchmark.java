@@ -0,0 +1,52 @@
+package hello.core.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지연 시간 기록 비용 벤치마크
+ * 서비스 호출마다 붙는 기록(OperationLatency.record) 한 번의 비용을 잰다. 목표는 호출당 50ns 미만이다.
+ * timedRecord는 MeasuredOrderService처럼 System.nanoTime() 두 번과 기록을 합친 실제 계측 비용이다.
+ * 여러 스레드 결과는 같은 스트라이프를 나눠 쓰는 스레드 사이의 경합 비용을 포함한다.
+ *
+ * 예) ./gradlew jmh -PjmhInclude=OperationLatencyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OperationLatencyBenchmark {
+
+    OperationLatency latency;
+
+    @Setup
+    public void setUp() {
+        latency = new LatencyMetrics().operation(LatencyMetrics.ORDER_CREATE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void record() {
+        latency.record(1_234);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void timedRecord() {
+        long start = System.nanoTime();
+        latency.record(System.nanoTime() - start);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void recordContended() {
+        latency.record(1_234);
+    }
+}
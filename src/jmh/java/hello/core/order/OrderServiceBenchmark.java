@@ -0,0 +1,61 @@
+package hello.core.order;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemoryMemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 생성 벤치마크
+ * 회원 수를 바꿔 가며 OrderServiceImpl.createOrder의 종단 간 비용(회원 조회 + 할인 + 주문 생성 + 리스너)을 측정한다.
+ * 처리율 제한기는 측정 대상 경로를 거절로 바꾸므로 제외한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int memberCount;
+
+    OrderService orderService;
+    OrderService orderServiceWithPromotion;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemberRepository memberRepository = new MemoryMemberRepository();
+        for (int i = 1; i <= memberCount; i++) {
+            memberRepository.save(new Member((long) i, "member" + i, i % 2 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        orderService = new OrderServiceImpl(memberRepository, new FixDiscountPolicy());
+        orderServiceWithPromotion = new OrderServiceImpl(memberRepository, new FixDiscountPolicy(),
+                new GradePromotionListener(memberRepository, Long.MAX_VALUE));
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(randomId(), "itemA", 10000);
+    }
+
+    @Benchmark
+    public Order createOrderWithPromotion() {
+        return orderServiceWithPromotion.createOrder(randomId(), "itemA", 10000);
+    }
+
+    private Long randomId() {
+        return (long) ThreadLocalRandom.current().nextInt(memberCount) + 1;
+    }
+}
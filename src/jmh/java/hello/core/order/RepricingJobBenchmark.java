@@ -0,0 +1,59 @@
+package hello.core.order;
+
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemoryMemberRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 할인 정책 재계산 벤치마크
+ * 요청 규모(주문 1억 건)의 이력을 스트림으로 만들어 RepricingJob.run 한 번의 시간을 잰다. 목표는 몇 분 안이다.
+ * 주문은 실행 중에 만들어 흘리므로 힙에 이력이 올라오지 않으며, gc 프로파일러의 할당량으로 묶음 단위 처리를 확인한다.
+ *
+ * 예) ./gradlew jmh -PjmhInclude=RepricingJobBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RepricingJobBenchmark {
+
+    private static final int MEMBERS = 100_000;
+    private static final String[] ITEMS = {"itemA", "itemB", "itemC", "itemD", "itemE", "itemF", "itemG", "itemH"};
+
+    @Param({"1000000", "100000000"})
+    long orderCount;
+
+    RepricingJob job;
+    OrderSource source;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemberRepository memberRepository = MemoryMemberRepository.isolated();
+        for (long id = 1; id <= MEMBERS; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 2 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        job = new RepricingJob(memberRepository, new RateDiscountPolicy(), Runtime.getRuntime().availableProcessors());
+        source = () -> LongStream.range(0, orderCount).mapToObj(i -> {
+            long memberId = i % MEMBERS + 1;
+            return new Order(memberId, ITEMS[(int) (i & (ITEMS.length - 1))], 20000, memberId % 2 == 0 ? 1000 : 0);
+        });
+    }
+
+    @Benchmark
+    public RepricingReport run() {
+        return job.run(source);
+    }
+}
@@ -0,0 +1,76 @@
+package hello.core.stream;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 변경 스트림 발행 벤치마크
+ * 생산자 한 스레드가 발행하고, 소비자 N개가 전용 스레드에서 대기 방법별로 따라 읽는다.
+ * gc 프로파일러의 gc.alloc.rate.norm이 0에 가까워야 발행 경로에 할당이 없는 것이다.
+ * 소비자 + 생산자 수가 코어 수보다 많으면 busySpin 결과는 의미가 없다.
+ *
+ * 예) ./gradlew jmh -PjmhInclude=MemberChangeStreamBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberChangeStreamBenchmark {
+
+    @Param({"0", "1", "3"})
+    int consumers;
+
+    @Param({"busySpin", "yielding", "parking"})
+    String waitStrategy;
+
+    @Param({"65536"})
+    int capacity;
+
+    MemberChangeStream stream;
+    Member[] members;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stream = new MemberChangeStream(capacity, WaitStrategy.yielding());
+        for (int i = 0; i < consumers; i++) {
+            stream.subscribe("bench-" + i, (event, endOfBatch) -> Blackhole.consumeCPU(1), strategy(), 1024).start();
+        }
+        members = new Member[1024];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = new Member((long) i + 1, "member" + (i + 1), Grade.BASIC);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stream.close();
+    }
+
+    @Benchmark
+    public long publish() {
+        Member member = members[next++ & (members.length - 1)];
+        return stream.publish(member.getId(), member);
+    }
+
+    private WaitStrategy strategy() {
+        return switch (waitStrategy) {
+            case "busySpin" -> WaitStrategy.busySpin();
+            case "yielding" -> WaitStrategy.yielding();
+            default -> WaitStrategy.parking(Duration.ofNanos(50_000));
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package hello.core;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.jfr.JfrDiscountPolicy;
+import hello.core.jfr.JfrMemberRepository;
+import hello.core.jfr.JfrOrderService;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemberService;
+import hello.core.member.MemberServiceImpl;
+import hello.core.member.MemberStores;
+import hello.core.metrics.LatencyMetrics;
+import hello.core.metrics.LatencyReporter;
+import hello.core.metrics.MeasuredMemberService;
+import hello.core.metrics.MeasuredOrderService;
+import hello.core.order.CompositeOrderListener;
+import hello.core.order.GradePromotionListener;
+import hello.core.order.OrderEventLog;
+import hello.core.order.OrderListener;
+import hello.core.order.OrderRateLimiter;
+import hello.core.order.OrderService;
+import hello.core.order.OrderServiceImpl;
+import hello.core.order.RateLimitedOrderService;
+import hello.core.order.TokenBucketRateLimiter;
+import hello.core.stream.MemberChangeStream;
+import hello.core.stream.PublishingMemberRepository;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 애플리케이션 구성 요소 생성
+ * AppConfig / FastStartAppConfig / FunctionalAppConfig는 빈을 등록하는 방식만 다르고 만드는 객체는 같다.
+ * 객체를 만들고 데코레이터로 감싸는 순서는 여기 한곳에 두고, 세 설정은 의존 빈을 넘겨 이 메서드를 부르기만 한다.
+ * 새 데코레이터나 설정 속성은 여기만 고친다.
+ */
+public final class AppComponents {
+
+    public static final String RATE_LIMIT_PROPERTY = "core.order.rate-limit";
+
+    private AppComponents() {
+    }
+
+    /**
+     * 회원 저장소 (MemberStores 참고)
+     * -Dcore.member.change-stream=true 이면 쓰기를 변경 스트림에 발행한다. (소비자가 구독한 동안에만)
+     * 조회는 JFR 이벤트로 기록된다.
+     * @param latencyMetrics 쓰기 지연 대기 시간을 기록할 곳
+     * @param memberChangeStream 변경을 발행할 스트림
+     * @return 회원 저장소 (닫을 자원이 있으면 AutoCloseable)
+     */
+    public static MemberRepository memberRepository(LatencyMetrics latencyMetrics,
+                                                    MemberChangeStream memberChangeStream) {
+        MemberRepository store = MemberStores.fromSystemProperties(
+                latencyMetrics.operation(LatencyMetrics.MEMBER_WRITE_BEHIND_LAG)::record);
+        if (Boolean.getBoolean(MemberChangeStream.ENABLED_PROPERTY)) {
+            store = new PublishingMemberRepository(store, memberChangeStream);
+        }
+        return new JfrMemberRepository(store);
+    }
+
+    /**
+     * 서비스 호출이 블로킹 I/O를 하는 구성인지 여부
+     * JDBC 저장소(-Dcore.member.jdbc-url, 쓰기 지연이어도 조회는 DB까지 간다)나
+     * 주문 이벤트 로그(-Dcore.order.event-log)를 쓰면 true.
+     * HTTP 핸들러와 이진 프로토콜 서버는 이때 서비스 호출을 이벤트 루프 밖의 스레드에서 실행한다.
+     * @return 블로킹 I/O를 하면 true
+     */
+    public static boolean blockingServices() {
+        return System.getProperty(MemberStores.JDBC_URL_PROPERTY) != null
+                || System.getProperty(OrderEventLog.DIRECTORY_PROPERTY) != null;
+    }
+
+    /**
+     * 할인 정책 (정책 변경 시 이 메서드만 수정)
+     * @return 할인 정책
+     */
+    public static DiscountPolicy discountPolicy() {
+        return new JfrDiscountPolicy(new FixDiscountPolicy());
+        // return new JfrDiscountPolicy(new RateDiscountPolicy());
+        // 계산 비용이 큰 정책은 캐시 데코레이터로 감싼다
+        // return new JfrDiscountPolicy(new CachingDiscountPolicy(new RateDiscountPolicy(), 4096));
+    }
+
+    /**
+     * 지연 시간 주기 보고기 (-Dcore.metrics.latency-file=경로 를 지정한 경우에만 10초마다 파일에 기록)
+     * @param latencyMetrics 보고할 지연 시간 기록기
+     * @return 보고기
+     */
+    public static LatencyReporter latencyReporter(LatencyMetrics latencyMetrics) {
+        String file = System.getProperty(LatencyReporter.FILE_PROPERTY);
+        return new LatencyReporter(latencyMetrics, file == null ? null : Path.of(file), Duration.ofSeconds(10));
+    }
+
+    /**
+     * 회원 서비스 (지연 시간 기록)
+     * @param memberRepository 회원 저장소
+     * @param latencyMetrics 지연 시간 기록기
+     * @return 회원 서비스
+     */
+    public static MemberService memberService(MemberRepository memberRepository, LatencyMetrics latencyMetrics) {
+        return new MeasuredMemberService(new MemberServiceImpl(memberRepository), latencyMetrics);
+    }
+
+    /**
+     * 주문 리스너
+     * 누적 결제 금액이 100만원을 넘으면 VIP로 자동 승급하고,
+     * -Dcore.order.event-log=디렉터리 를 지정하면 주문을 이벤트 로그에 먼저 기록한다. (기동 시 집계 복구)
+     * @param memberRepository 승급한 회원을 저장할 저장소
+     * @return 주문 리스너
+     */
+    public static OrderListener orderListener(MemberRepository memberRepository) {
+        OrderListener promotion = new GradePromotionListener(memberRepository, 1_000_000L);
+        String eventLog = System.getProperty(OrderEventLog.DIRECTORY_PROPERTY);
+        if (eventLog == null) {
+            return promotion;
+        }
+        return new CompositeOrderListener(
+                OrderEventLog.open(Path.of(eventLog), OrderEventLog.DEFAULT_SNAPSHOT_EVERY), promotion);
+    }
+
+    /**
+     * 주문 처리율 제한기 (회원당 초당 50건, 순간 최대 100건)
+     * -Dcore.order.rate-limit=false 이면 제한하지 않는다. (부하 측정용)
+     * @return 처리율 제한기
+     */
+    public static OrderRateLimiter orderRateLimiter() {
+        if (!Boolean.parseBoolean(System.getProperty(RATE_LIMIT_PROPERTY, "true"))) {
+            return memberId -> true;
+        }
+        return new TokenBucketRateLimiter(50, 100);
+    }
+
+    /**
+     * 주문 서비스
+     * 회원별 처리율을 제한하고, JFR 이벤트와 지연 시간을 기록한다.
+     * @param memberRepository 회원 저장소
+     * @param discountPolicy 할인 정책
+     * @param orderListener 주문 완료 리스너
+     * @param orderRateLimiter 처리율 제한기
+     * @param latencyMetrics 지연 시간 기록기
+     * @return 주문 서비스
+     */
+    public static OrderService orderService(MemberRepository memberRepository, DiscountPolicy discountPolicy,
+                                            OrderListener orderListener, OrderRateLimiter orderRateLimiter,
+                                            LatencyMetrics latencyMetrics) {
+        OrderService orderService = new JfrOrderService(
+                new OrderServiceImpl(memberRepository, discountPolicy, orderListener));
+        return new MeasuredOrderService(new RateLimitedOrderService(orderService, orderRateLimiter), latencyMetrics);
+    }
+}
@@ -1,57 +1,116 @@
 package hello.core;
 
 import hello.core.discount.DiscountPolicy;
-import hello.core.discount.FixDiscountPolicy;
 import hello.core.member.MemberRepository;
 import hello.core.member.MemberService;
-import hello.core.member.MemberServiceImpl;
-import hello.core.member.MemoryMemberRepository;
+import hello.core.metrics.LatencyMetrics;
+import hello.core.metrics.LatencyReporter;
+import hello.core.order.OrderListener;
+import hello.core.order.OrderRateLimiter;
 import hello.core.order.OrderService;
-import hello.core.order.OrderServiceImpl;
+import hello.core.stream.MemberChangeStream;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 /**
  * 스프링 기반 애플리케이션 설정 클래스
  * 필요한 빈을 등록하고 의존성을 주입한다.
+ * fast-start 프로파일에서는 FastStartAppConfig가 대신 사용된다.
+ * 객체를 만들고 감싸는 방법은 AppComponents에 있으며, 여기서는 빈 사이의 의존만 잇는다.
  */
+@Profile("!" + FastStartAppConfig.PROFILE)
 @Configuration
 public class AppConfig {
 
     /**
      * 회원 저장소 빈 정의
-     * 향후 다른 저장소로 교체 용이
+     * 기본은 메모리 저장소이며, -Dcore.member.jdbc-url 을 지정하면 캐시/쓰기 지연을 앞에 둔 JDBC 저장소 (MemberStores 참고)
+     * -Dcore.member.shards=N 이면 일관된 해싱으로 N개 샤드에 나눠 저장한다. (ShardedMemberRepository)
+     * -Dcore.member.replicas=N 이면 주 저장소 + 복제본 N개로 읽기를 나눈다. (ReplicatedMemberRepository)
+     * -Dcore.member.name-dictionary=true 이면 이름을 사전에 한 번만 저장해 힙을 줄인다. (DictionaryMemberRepository)
+     * -Dcore.member.time-to-idle-ms / time-to-live-ms 를 지정하면 BASIC 회원을 만료시킨다. (ExpiringMemberRepository)
+     * -Dcore.member.change-stream=true 이면 쓰기를 memberChangeStream()에 발행한다. (PublishingMemberRepository)
+     * 컨테이너 종료 시 close()로 쓰기 지연 변경을 기록하고 커넥션 풀을 닫는다.
      */
     @Bean
     public MemberRepository memberRepository() {
-        return new MemoryMemberRepository();
+        return AppComponents.memberRepository(latencyMetrics(), memberChangeStream());
+    }
+
+    /**
+     * 회원 변경 스트림 빈 정의
+     * 캐시/색인/검색/분석 등 후속 처리가 subscribe()로 가입/삭제를 순서대로 받는다. (-Dcore.member.change-stream=true 일 때)
+     * -Dcore.member.change-stream-size=N 으로 슬롯 수를 정한다. (기본 65536)
+     */
+    @Bean
+    public MemberChangeStream memberChangeStream() {
+        return MemberChangeStream.fromSystemProperties();
     }
 
     /**
      * 할인 정책 빈 정의
-     * 정책 변경 시 이 메서드만 수정
+     * 정책 변경 시 AppComponents.discountPolicy()만 수정
      */
     @Bean
     public DiscountPolicy discountPolicy() {
-        return new FixDiscountPolicy();
-        // return new RateDiscountPolicy();
+        return AppComponents.discountPolicy();
+    }
+
+    /**
+     * 지연 시간 기록기 빈 정의
+     * 회원/주문 서비스 데코레이터가 연산별 지연 시간을 기록한다.
+     */
+    @Bean
+    public LatencyMetrics latencyMetrics() {
+        return new LatencyMetrics();
+    }
+
+    /**
+     * 지연 시간 주기 보고기 빈 정의
+     * -Dcore.metrics.latency-file=경로 를 지정한 경우에만 10초마다 파일에 기록
+     */
+    @Bean
+    public LatencyReporter latencyReporter() {
+        return AppComponents.latencyReporter(latencyMetrics());
     }
 
     /**
      * 회원 서비스 빈 정의
-     * 생성자 주입에 의해 memberRepository()가 주입됨
+     * 생성자 주입에 의해 memberRepository()가 주입되고, 지연 시간을 기록한다.
      */
     @Bean
     public MemberService memberService() {
-        return new MemberServiceImpl(memberRepository());
+        return AppComponents.memberService(memberRepository(), latencyMetrics());
+    }
+
+    /**
+     * 주문 리스너 빈 정의
+     * 누적 결제 금액이 100만원을 넘으면 VIP로 자동 승급
+     * -Dcore.order.event-log=디렉터리 를 지정하면 주문을 이벤트 로그에 먼저 기록한다 (기동 시 집계 복구)
+     */
+    @Bean
+    public OrderListener orderListener() {
+        return AppComponents.orderListener(memberRepository());
+    }
+
+    /**
+     * 주문 처리율 제한기 빈 정의
+     * 회원당 초당 50건, 순간 최대 100건까지 허용
+     */
+    @Bean
+    public OrderRateLimiter orderRateLimiter() {
+        return AppComponents.orderRateLimiter();
     }
 
     /**
      * 주문 서비스 빈 정의
-     * 생성자 주입에 의해 memberRepository(), discountPolicy()가 주입됨
+     * 생성자 주입에 의해 memberRepository(), discountPolicy(), orderListener()가 주입되고
+     * orderRateLimiter()로 회원별 처리율을 제한하며, 지연 시간을 기록한다.
      */
     @Bean
     public OrderService orderService() {
-        return new OrderServiceImpl(memberRepository(), discountPolicy());
+        return AppComponents.orderService(memberRepository(), discountPolicy(), orderListener(), orderRateLimiter(),
+                latencyMetrics());
     }
 }
@@ -1,13 +1,37 @@
 package hello.core;
 
+import hello.core.startup.StartupProfiler;
+import hello.core.startup.StartupWorkloadRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
 
 @SpringBootApplication
 public class CoreApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(CoreApplication.class, args);
+		SpringApplication application = new SpringApplication(CoreApplication.class);
+
+		// 기동 프로파일링 모드: 빈별 생성 시간을 기록해 파일로 남긴다
+		String reportFile = System.getProperty(StartupProfiler.REPORT_PROPERTY);
+		BufferingApplicationStartup startup = null;
+		if (reportFile != null) {
+			startup = StartupProfiler.newApplicationStartup();
+			application.setApplicationStartup(startup);
+		}
+
+		ConfigurableApplicationContext context = application.run(args);
+
+		if (startup != null) {
+			StartupProfiler.writeReport(startup, Path.of(reportFile));
+		}
+		// 학습 실행/기동 측정 작업은 작업이 끝나면 종료한다 (CDS 아카이브는 JVM 종료 시 기록됨)
+		if (context.getEnvironment().containsProperty(StartupWorkloadRunner.PROPERTY)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
@@ -0,0 +1,85 @@
+package hello.core;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemberService;
+import hello.core.metrics.LatencyMetrics;
+import hello.core.metrics.LatencyReporter;
+import hello.core.order.OrderListener;
+import hello.core.order.OrderRateLimiter;
+import hello.core.order.OrderService;
+import hello.core.stream.MemberChangeStream;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * 빠른 기동용 설정 클래스 (fast-start 프로파일)
+ * AppConfig와 같은 빈을 같은 이름으로 등록하되 기동 비용을 줄인다. (객체 생성은 AppComponents를 함께 쓴다)
+ *
+ * - proxyBeanMethods = false: CGLIB 프록시 클래스를 만들지 않고, 의존 빈은 메서드 파라미터로 주입받는다.
+ * - 주문 리스너(등급 승급)는 첫 주문 처리에 꼭 필요하지 않으므로 지연 생성한다.
+ */
+@Profile(FastStartAppConfig.PROFILE)
+@Configuration(proxyBeanMethods = false)
+public class FastStartAppConfig {
+
+    /**
+     * 빠른 기동 프로파일 이름
+     */
+    public static final String PROFILE = "fast-start";
+
+    @Bean
+    public MemberRepository memberRepository(LatencyMetrics latencyMetrics, MemberChangeStream memberChangeStream) {
+        return AppComponents.memberRepository(latencyMetrics, memberChangeStream);
+    }
+
+    @Bean
+    public MemberChangeStream memberChangeStream() {
+        return MemberChangeStream.fromSystemProperties();
+    }
+
+    @Bean
+    public DiscountPolicy discountPolicy() {
+        return AppComponents.discountPolicy();
+    }
+
+    @Bean
+    public LatencyMetrics latencyMetrics() {
+        return new LatencyMetrics();
+    }
+
+    @Bean
+    public LatencyReporter latencyReporter(LatencyMetrics latencyMetrics) {
+        return AppComponents.latencyReporter(latencyMetrics);
+    }
+
+    @Bean
+    public MemberService memberService(MemberRepository memberRepository, LatencyMetrics latencyMetrics) {
+        return AppComponents.memberService(memberRepository, latencyMetrics);
+    }
+
+    @Lazy
+    @Bean
+    public OrderListener orderListener(MemberRepository memberRepository) {
+        return AppComponents.orderListener(memberRepository);
+    }
+
+    @Bean
+    public OrderRateLimiter orderRateLimiter() {
+        return AppComponents.orderRateLimiter();
+    }
+
+    /**
+     * 주문 서비스 빈 정의
+     * orderListener는 지연 프록시로 주입되어 첫 주문 완료 시점에 실제 생성된다.
+     */
+    @Bean
+    public OrderService orderService(MemberRepository memberRepository, DiscountPolicy discountPolicy,
+                                     @Lazy OrderListener orderListener, OrderRateLimiter orderRateLimiter,
+                                     LatencyMetrics latencyMetrics) {
+        return AppComponents.orderService(memberRepository, discountPolicy, orderListener, orderRateLimiter,
+                latencyMetrics);
+    }
+}
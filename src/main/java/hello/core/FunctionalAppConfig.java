@@ -0,0 +1,48 @@
+package hello.core;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemberService;
+import hello.core.metrics.LatencyMetrics;
+import hello.core.metrics.LatencyReporter;
+import hello.core.order.OrderListener;
+import hello.core.order.OrderRateLimiter;
+import hello.core.order.OrderService;
+import hello.core.stream.MemberChangeStream;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * 함수형 빈 등록 설정
+ * 어노테이션 스캔, 설정 클래스 파싱, 리플렉션 없이 람다로 빈을 직접 등록한다.
+ * AppConfig와 같은 빈을 같은 이름으로 등록하므로 조회 코드는 그대로 사용할 수 있다. (객체 생성은 AppComponents를 함께 쓴다)
+ *
+ * 사용 예:
+ *     GenericApplicationContext context = new GenericApplicationContext();
+ *     new FunctionalAppConfig().initialize(context);
+ *     context.refresh();
+ */
+public class FunctionalAppConfig implements ApplicationContextInitializer<GenericApplicationContext> {
+
+    @Override
+    public void initialize(GenericApplicationContext context) {
+        context.registerBean("memberRepository", MemberRepository.class,
+                () -> AppComponents.memberRepository(context.getBean(LatencyMetrics.class),
+                        context.getBean(MemberChangeStream.class)));
+        context.registerBean("memberChangeStream", MemberChangeStream.class, MemberChangeStream::fromSystemProperties);
+        context.registerBean("discountPolicy", DiscountPolicy.class, AppComponents::discountPolicy);
+        context.registerBean("latencyMetrics", LatencyMetrics.class, LatencyMetrics::new);
+        context.registerBean("latencyReporter", LatencyReporter.class,
+                () -> AppComponents.latencyReporter(context.getBean(LatencyMetrics.class)));
+        context.registerBean("memberService", MemberService.class,
+                () -> AppComponents.memberService(context.getBean(MemberRepository.class),
+                        context.getBean(LatencyMetrics.class)));
+        context.registerBean("orderListener", OrderListener.class,
+                () -> AppComponents.orderListener(context.getBean(MemberRepository.class)));
+        context.registerBean("orderRateLimiter", OrderRateLimiter.class, AppComponents::orderRateLimiter);
+        context.registerBean("orderService", OrderService.class,
+                () -> AppComponents.orderService(context.getBean(MemberRepository.class),
+                        context.getBean(DiscountPolicy.class), context.getBean(OrderListener.class),
+                        context.getBean(OrderRateLimiter.class), context.getBean(LatencyMetrics.class)));
+    }
+}
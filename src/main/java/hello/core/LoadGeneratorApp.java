@@ -0,0 +1,40 @@
+package hello.core;
+
+import hello.core.load.LoadGeneratorOptions;
+import hello.core.load.OpenLoopLoadGenerator;
+import hello.core.member.MemberService;
+import hello.core.order.OrderService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * 회원/주문 서비스 부하 생성 애플리케이션 (Spring 기반)
+ * 스프링 컨테이너에서 서비스를 꺼내 같은 프로세스 안에서 목표 요청 속도로 부하를 준다.
+ * 설정 인자는 {@link LoadGeneratorOptions} 참고 (--rate-limit 을 주지 않으면 주문 처리율 제한을 끄고 측정한다)
+ *
+ * 예) ./gradlew loadTest -PloadArgs="--rate=20000 --duration=60s --zipf=0.99 --virtual-threads --label=main"
+ */
+public class LoadGeneratorApp {
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(args);
+        if (!options.rateLimit()) {
+            // 처리율 제한을 끄지 않으면 지프 분포 부하의 주문 대부분이 거절 경로만 지난다
+            System.setProperty(AppComponents.RATE_LIMIT_PROPERTY, "false");
+        }
+
+        try (AnnotationConfigApplicationContext applicationContext =
+                     new AnnotationConfigApplicationContext(AppConfig.class)) {
+            MemberService memberService = applicationContext.getBean("memberService", MemberService.class);
+            OrderService orderService = applicationContext.getBean("orderService", OrderService.class);
+
+            OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(memberService, orderService, options);
+            for (OpenLoopLoadGenerator.LoadResult result : generator.run()) {
+                System.out.printf("%-18s 처리량 %.0f/s (목표 %d/s), p50 %.1fus, p99 %.1fus, p99.9 %.1fus, "
+                                + "최대 %.1fus, 보정 전 p99 %.1fus, 거절 %d, 오류 %d%n",
+                        result.operation(), result.achievedRate(), result.targetRate(), result.p50(),
+                        result.p99(), result.p999(), result.max(), result.uncorrectedP99(),
+                        result.rejected(), result.errors());
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package hello.core;
+
+import hello.core.ingest.ImportFormat;
+import hello.core.ingest.MemberBulkImporter;
+import hello.core.member.MemberRepository;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 회원 파일 일괄 가입 애플리케이션 (Spring 기반)
+ * 스프링 컨테이너의 회원 저장소로 CSV/NDJSON 파일을 가져오고 초당 처리 줄 수와 잘못된 줄을 출력한다.
+ *
+ * 인자: 파일 [--threads=N] [--batch=N] [--generate=N]
+ *   --generate=N 이면 파일을 먼저 N명 분량의 예제 데이터로 만든다 (확장자로 형식 결정)
+ *
+ * 예) ./gradlew importMembers -PimportArgs="build/import/members.csv --generate=10000000"
+ */
+public class MemberImportApp {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("사용법: MemberImportApp 파일 [--threads=N] [--batch=N] [--generate=N]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        int threads = Runtime.getRuntime().availableProcessors();
+        int batch = 4096;
+        long generate = 0;
+        for (int i = 1; i < args.length; i++) {
+            String[] option = args[i].split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + args[i]);
+            }
+            switch (option[0]) {
+                case "--threads" -> threads = Integer.parseInt(option[1]);
+                case "--batch" -> batch = Integer.parseInt(option[1]);
+                case "--generate" -> generate = Long.parseLong(option[1]);
+                default -> throw new IllegalArgumentException("알 수 없는 인자: " + args[i]);
+            }
+        }
+        ImportFormat format = ImportFormat.of(file);
+        if (generate > 0) {
+            generate(file, format, generate);
+        }
+
+        try (AnnotationConfigApplicationContext applicationContext =
+                     new AnnotationConfigApplicationContext(AppConfig.class)) {
+            MemberRepository memberRepository = applicationContext.getBean("memberRepository", MemberRepository.class);
+            MemberBulkImporter importer = new MemberBulkImporter(memberRepository, threads, batch);
+
+            MemberBulkImporter.ImportResult result = importer.importFile(file, format);
+            System.out.printf("%s 회원 %d명, 잘못된 줄 %d, %.1fMB, %.0fms, 초당 %.0f줄%n",
+                    format, result.rows(), result.malformed(), result.bytes() / 1_048_576.0,
+                    result.elapsedMillis(), result.rowsPerSecond());
+            for (MemberBulkImporter.Malformed line : result.diagnostics()) {
+                System.out.printf("  위치 %d: %s | %s%n", line.offset(), line.reason(), line.excerpt());
+            }
+        }
+    }
+
+    private static void generate(Path file, ImportFormat format, long members) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == ImportFormat.CSV) {
+                writer.write("id,name,grade\n");
+            }
+            for (long id = 1; id <= members; id++) {
+                String grade = id % 10 == 0 ? "VIP" : "BASIC";
+                if (format == ImportFormat.CSV) {
+                    writer.write(id + ",member" + id + "," + grade + "\n");
+                } else {
+                    writer.write("{\"id\":" + id + ",\"name\":\"member" + id + "\",\"grade\":\"" + grade + "\"}\n");
+                }
+            }
+        }
+    }
+}
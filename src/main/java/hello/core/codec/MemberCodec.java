@@ -0,0 +1,100 @@
+package hello.core.codec;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * 회원 이진 코덱
+ * 스냅샷, 저널, 네트워크 전송에 쓰는 compact 형식으로 회원을 기록/복원한다.
+ * 호출자가 준 버퍼에 바로 쓰므로 인코딩 중에는 객체를 만들지 않는다.
+ *
+ * 형식 (버전 1): [버전][본문 길이] [회원 ID varlong][등급 ordinal 1바이트][이름 길이+1 varint][이름 UTF-8]
+ * 일부 필드만 필요하면 decode 대신 MemberView로 읽는다.
+ */
+public final class MemberCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final Grade[] GRADES = Grade.values();
+
+    private MemberCodec() {
+    }
+
+    /**
+     * 인코딩 후 바이트 수
+     * @param member 회원
+     * @return 바이트 수
+     */
+    public static int encodedSize(Member member) {
+        int body = bodySize(member, nameLength(member));
+        return RecordHeader.size(body) + body;
+    }
+
+    /**
+     * 버퍼의 현재 위치에 회원 기록 (위치를 레코드 끝으로 옮긴다)
+     * 공간이 모자라면 아무것도 쓰지 않고 BufferOverflowException이 발생한다.
+     * @param member 회원 (ID, 등급 필수)
+     * @param out 기록할 버퍼
+     * @return 기록한 바이트 수
+     */
+    public static int encode(Member member, ByteBuffer out) {
+        if (member.getId() == null || member.getGrade() == null) {
+            throw new IllegalArgumentException("회원 ID와 등급은 필수입니다.");
+        }
+        int nameLength = nameLength(member);
+        int body = bodySize(member, nameLength);
+        int total = RecordHeader.size(body) + body;
+        if (out.remaining() < total) {
+            throw new BufferOverflowException();
+        }
+        RecordHeader.write(out, VERSION, body);
+        VarInts.writeVarLong(out, member.getId());
+        out.put((byte) member.getGrade().ordinal());
+        VarInts.writeVarInt(out, RecordHeader.stringLengthField(member.getName(), nameLength));
+        if (member.getName() != null) {
+            Utf8.write(out, member.getName());
+        }
+        return total;
+    }
+
+    /**
+     * 버퍼의 현재 위치에서 회원 복원 (위치를 레코드 끝으로 옮긴다)
+     * @param in 읽을 버퍼
+     * @return 회원
+     */
+    public static Member decode(ByteBuffer in) {
+        int offset = in.position();
+        RecordHeader.version(in, offset);
+        int index = RecordHeader.bodyStart(in, offset);
+        int end = RecordHeader.end(in, offset);
+
+        long id = VarInts.getVarLong(in, index);
+        index = VarInts.skip(in, index);
+        Grade grade = grade(in.get(index++));
+        int nameField = VarInts.getVarInt(in, index);
+        index = VarInts.skip(in, index);
+        String name = nameField == 0 ? null : Utf8.read(in, index, nameField - 1);
+
+        in.position(end);
+        return new Member(id, name, grade);
+    }
+
+    static Grade grade(byte ordinal) {
+        if (ordinal < 0 || ordinal >= GRADES.length) {
+            throw new IllegalArgumentException("알 수 없는 등급: " + ordinal);
+        }
+        return GRADES[ordinal];
+    }
+
+    private static int nameLength(Member member) {
+        return member.getName() == null ? 0 : Utf8.encodedLength(member.getName());
+    }
+
+    private static int bodySize(Member member, int nameLength) {
+        int nameField = RecordHeader.stringLengthField(member.getName(), nameLength);
+        return VarInts.sizeOfVarLong(member.getId()) + 1 + VarInts.sizeOfVarInt(nameField) + nameLength;
+    }
+}
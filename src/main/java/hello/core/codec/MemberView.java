@@ -0,0 +1,79 @@
+package hello.core.codec;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 인코딩된 회원 레코드를 복사/디코딩 없이 읽는 플라이웨이트
+ * wrap으로 위치만 가리키고, 필요한 필드만 그때 버퍼에서 읽는다.
+ * 한 인스턴스를 레코드마다 다시 wrap해 쓰면 읽는 동안 객체를 만들지 않는다. (name()은 문자열을 만든다)
+ */
+public final class MemberView {
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int bodyStart;
+
+    /**
+     * 레코드를 가리키도록 설정
+     * @param buffer 인코딩된 레코드가 있는 버퍼
+     * @param offset 레코드 시작 위치
+     * @return 이 뷰
+     */
+    public MemberView wrap(ByteBuffer buffer, int offset) {
+        RecordHeader.version(buffer, offset);
+        this.buffer = buffer;
+        this.offset = offset;
+        this.bodyStart = RecordHeader.bodyStart(buffer, offset);
+        return this;
+    }
+
+    public int version() {
+        return buffer.get(offset);
+    }
+
+    /**
+     * @return 레코드 전체 바이트 수 (다음 레코드 위치 = offset + encodedLength)
+     */
+    public int encodedLength() {
+        return RecordHeader.end(buffer, offset) - offset;
+    }
+
+    public long id() {
+        return VarInts.getVarLong(buffer, bodyStart);
+    }
+
+    public Grade grade() {
+        return MemberCodec.grade(buffer.get(gradeIndex()));
+    }
+
+    /**
+     * 이름을 디코딩하지 않고 비교
+     * @param name 비교할 이름
+     * @return 같으면 true
+     */
+    public boolean nameEquals(String name) {
+        int nameIndex = gradeIndex() + 1;
+        int nameField = VarInts.getVarInt(buffer, nameIndex);
+        if (nameField == 0 || name == null) {
+            return nameField == 0 && name == null;
+        }
+        return Utf8.equals(buffer, VarInts.skip(buffer, nameIndex), nameField - 1, name);
+    }
+
+    public String name() {
+        int nameIndex = gradeIndex() + 1;
+        int nameField = VarInts.getVarInt(buffer, nameIndex);
+        return nameField == 0 ? null : Utf8.read(buffer, VarInts.skip(buffer, nameIndex), nameField - 1);
+    }
+
+    public Member toMember() {
+        return new Member(id(), name(), grade());
+    }
+
+    private int gradeIndex() {
+        return VarInts.skip(buffer, bodyStart);
+    }
+}
@@ -0,0 +1,97 @@
+package hello.core.codec;
+
+import hello.core.order.Order;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * 주문 이진 코덱
+ * 호출자가 준 버퍼에 바로 쓰므로 인코딩 중에는 객체를 만들지 않는다.
+ *
+ * 형식 (버전 1): [버전][본문 길이] [회원 ID varlong][상품 가격 varint][할인 금액 varint][상품명 길이+1 varint][상품명 UTF-8]
+ * 숫자 필드를 앞에 두어 OrderView가 상품명을 건너뛰지 않고 금액을 읽을 수 있다.
+ */
+public final class OrderCodec {
+
+    public static final byte VERSION = 1;
+
+    private OrderCodec() {
+    }
+
+    /**
+     * 인코딩 후 바이트 수
+     * @param order 주문
+     * @return 바이트 수
+     */
+    public static int encodedSize(Order order) {
+        int body = bodySize(order, itemNameLength(order));
+        return RecordHeader.size(body) + body;
+    }
+
+    /**
+     * 버퍼의 현재 위치에 주문 기록 (위치를 레코드 끝으로 옮긴다)
+     * 공간이 모자라면 아무것도 쓰지 않고 BufferOverflowException이 발생한다.
+     * @param order 주문 (회원 ID 필수)
+     * @param out 기록할 버퍼
+     * @return 기록한 바이트 수
+     */
+    public static int encode(Order order, ByteBuffer out) {
+        if (order.getMemberId() == null) {
+            throw new IllegalArgumentException("주문 회원 ID는 필수입니다.");
+        }
+        int itemNameLength = itemNameLength(order);
+        int body = bodySize(order, itemNameLength);
+        int total = RecordHeader.size(body) + body;
+        if (out.remaining() < total) {
+            throw new BufferOverflowException();
+        }
+        RecordHeader.write(out, VERSION, body);
+        VarInts.writeVarLong(out, order.getMemberId());
+        VarInts.writeVarInt(out, order.getItemPrice());
+        VarInts.writeVarInt(out, order.getDiscountPrice());
+        VarInts.writeVarInt(out, RecordHeader.stringLengthField(order.getItemName(), itemNameLength));
+        if (order.getItemName() != null) {
+            Utf8.write(out, order.getItemName());
+        }
+        return total;
+    }
+
+    /**
+     * 버퍼의 현재 위치에서 주문 복원 (위치를 레코드 끝으로 옮긴다)
+     * @param in 읽을 버퍼
+     * @return 주문
+     */
+    public static Order decode(ByteBuffer in) {
+        int offset = in.position();
+        RecordHeader.version(in, offset);
+        int index = RecordHeader.bodyStart(in, offset);
+        int end = RecordHeader.end(in, offset);
+
+        long memberId = VarInts.getVarLong(in, index);
+        index = VarInts.skip(in, index);
+        int itemPrice = VarInts.getVarInt(in, index);
+        index = VarInts.skip(in, index);
+        int discountPrice = VarInts.getVarInt(in, index);
+        index = VarInts.skip(in, index);
+        int nameField = VarInts.getVarInt(in, index);
+        index = VarInts.skip(in, index);
+        String itemName = nameField == 0 ? null : Utf8.read(in, index, nameField - 1);
+
+        in.position(end);
+        return new Order(memberId, itemName, itemPrice, discountPrice);
+    }
+
+    private static int itemNameLength(Order order) {
+        return order.getItemName() == null ? 0 : Utf8.encodedLength(order.getItemName());
+    }
+
+    private static int bodySize(Order order, int itemNameLength) {
+        int nameField = RecordHeader.stringLengthField(order.getItemName(), itemNameLength);
+        return VarInts.sizeOfVarLong(order.getMemberId())
+                + VarInts.sizeOfVarInt(order.getItemPrice())
+                + VarInts.sizeOfVarInt(order.getDiscountPrice())
+                + VarInts.sizeOfVarInt(nameField)
+                + itemNameLength;
+    }
+}
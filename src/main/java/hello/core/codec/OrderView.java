@@ -0,0 +1,94 @@
+package hello.core.codec;
+
+import hello.core.order.Order;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 인코딩된 주문 레코드를 복사/디코딩 없이 읽는 플라이웨이트
+ * 금액 집계처럼 숫자 필드만 필요한 경우 상품명 문자열을 만들지 않는다.
+ */
+public final class OrderView {
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int bodyStart;
+
+    /**
+     * 레코드를 가리키도록 설정
+     * @param buffer 인코딩된 레코드가 있는 버퍼
+     * @param offset 레코드 시작 위치
+     * @return 이 뷰
+     */
+    public OrderView wrap(ByteBuffer buffer, int offset) {
+        RecordHeader.version(buffer, offset);
+        this.buffer = buffer;
+        this.offset = offset;
+        this.bodyStart = RecordHeader.bodyStart(buffer, offset);
+        return this;
+    }
+
+    public int version() {
+        return buffer.get(offset);
+    }
+
+    /**
+     * @return 레코드 전체 바이트 수 (다음 레코드 위치 = offset + encodedLength)
+     */
+    public int encodedLength() {
+        return RecordHeader.end(buffer, offset) - offset;
+    }
+
+    public long memberId() {
+        return VarInts.getVarLong(buffer, bodyStart);
+    }
+
+    public int itemPrice() {
+        return VarInts.getVarInt(buffer, itemPriceIndex());
+    }
+
+    public int discountPrice() {
+        return VarInts.getVarInt(buffer, VarInts.skip(buffer, itemPriceIndex()));
+    }
+
+    /**
+     * 결제 금액 (Order.calculatePrice와 같은 계산)
+     */
+    public int price() {
+        int itemPriceIndex = itemPriceIndex();
+        int itemPrice = VarInts.getVarInt(buffer, itemPriceIndex);
+        return itemPrice - VarInts.getVarInt(buffer, VarInts.skip(buffer, itemPriceIndex));
+    }
+
+    /**
+     * 상품명을 디코딩하지 않고 비교
+     * @param itemName 비교할 상품명
+     * @return 같으면 true
+     */
+    public boolean itemNameEquals(String itemName) {
+        int nameIndex = itemNameIndex();
+        int nameField = VarInts.getVarInt(buffer, nameIndex);
+        if (nameField == 0 || itemName == null) {
+            return nameField == 0 && itemName == null;
+        }
+        return Utf8.equals(buffer, VarInts.skip(buffer, nameIndex), nameField - 1, itemName);
+    }
+
+    public String itemName() {
+        int nameIndex = itemNameIndex();
+        int nameField = VarInts.getVarInt(buffer, nameIndex);
+        return nameField == 0 ? null : Utf8.read(buffer, VarInts.skip(buffer, nameIndex), nameField - 1);
+    }
+
+    public Order toOrder() {
+        return new Order(memberId(), itemName(), itemPrice(), discountPrice());
+    }
+
+    private int itemPriceIndex() {
+        return VarInts.skip(buffer, bodyStart);
+    }
+
+    private int itemNameIndex() {
+        return VarInts.skip(buffer, VarInts.skip(buffer, itemPriceIndex()));
+    }
+}
@@ -0,0 +1,59 @@
+package hello.core.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 레코드 머리말: [버전 1바이트][본문 길이 varint]
+ *
+ * 스키마 변경 규칙: 필드는 본문 끝에만 추가하고 기존 필드의 순서/형식은 바꾸지 않는다. 추가할 때 버전을 올린다.
+ * 그러면 새 버전 레코드를 옛 코드가 읽을 때 아는 필드만 읽고 본문 길이로 나머지를 건너뛸 수 있고,
+ * 새 코드는 옛 버전 레코드에서 없는 필드를 기본값으로 채운다.
+ */
+final class RecordHeader {
+
+    private RecordHeader() {
+    }
+
+    static int size(int bodyLength) {
+        return 1 + VarInts.sizeOfVarInt(bodyLength);
+    }
+
+    static void write(ByteBuffer out, byte version, int bodyLength) {
+        out.put(version);
+        VarInts.writeVarInt(out, bodyLength);
+    }
+
+    /**
+     * 절대 위치의 머리말 검증
+     * @return 레코드 버전
+     */
+    static int version(ByteBuffer in, int offset) {
+        int version = in.get(offset);
+        if (version < 1) {
+            throw new IllegalArgumentException("알 수 없는 레코드 버전: " + version);
+        }
+        return version;
+    }
+
+    /**
+     * @return 본문 시작 위치
+     */
+    static int bodyStart(ByteBuffer in, int offset) {
+        return VarInts.skip(in, offset + 1);
+    }
+
+    /**
+     * @return 레코드 끝(다음 레코드 시작) 위치
+     */
+    static int end(ByteBuffer in, int offset) {
+        int bodyStart = bodyStart(in, offset);
+        return bodyStart + VarInts.getVarInt(in, offset + 1);
+    }
+
+    /**
+     * 문자열 필드 길이 부호화: 0은 null, 그 외는 바이트 수 + 1
+     */
+    static int stringLengthField(String value, int utf8Length) {
+        return value == null ? 0 : utf8Length + 1;
+    }
+}
@@ -0,0 +1,125 @@
+package hello.core.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 문자열 UTF-8 인코딩/비교
+ * String.getBytes처럼 중간 byte[]를 만들지 않고 버퍼에 바로 기록하며,
+ * 저장된 바이트와 문자열을 디코딩 없이 비교할 수 있다.
+ */
+final class Utf8 {
+
+    private Utf8() {
+    }
+
+    /**
+     * 인코딩 후 바이트 수 (짝 없는 서로게이트는 '?' 1바이트로 기록)
+     */
+    static int encodedLength(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // 서로게이트 쌍 2글자 -> 4바이트
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    static void write(ByteBuffer out, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | c >> 6));
+                out.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | cp >> 18));
+                out.put((byte) (0x80 | cp >> 12 & 0x3F));
+                out.put((byte) (0x80 | cp >> 6 & 0x3F));
+                out.put((byte) (0x80 | cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | c >> 12));
+                out.put((byte) (0x80 | c >> 6 & 0x3F));
+                out.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * 절대 위치의 UTF-8 바이트를 문자열로 디코딩
+     * 힙 버퍼는 내부 배열에서 바로 만들고, 다이렉트 버퍼만 한 번 복사한다.
+     */
+    static String read(ByteBuffer in, int index, int byteLength) {
+        if (in.hasArray()) {
+            return new String(in.array(), in.arrayOffset() + index, byteLength, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[byteLength];
+        in.get(index, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 저장된 UTF-8 바이트가 문자열과 같은지 디코딩 없이 비교
+     */
+    static boolean equals(ByteBuffer in, int index, int byteLength, String value) {
+        int length = value.length();
+        if (length > byteLength) {
+            // UTF-8 바이트 수는 글자 수(char 기준)보다 작을 수 없다
+            return false;
+        }
+        int end = index + byteLength;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            int remaining = end - index;
+            if (c < 0x80) {
+                if (remaining < 1 || in.get(index++) != (byte) c) {
+                    return false;
+                }
+            } else if (c < 0x800) {
+                if (remaining < 2
+                        || in.get(index++) != (byte) (0xC0 | c >> 6)
+                        || in.get(index++) != (byte) (0x80 | c & 0x3F)) {
+                    return false;
+                }
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                if (remaining < 4
+                        || in.get(index++) != (byte) (0xF0 | cp >> 18)
+                        || in.get(index++) != (byte) (0x80 | cp >> 12 & 0x3F)
+                        || in.get(index++) != (byte) (0x80 | cp >> 6 & 0x3F)
+                        || in.get(index++) != (byte) (0x80 | cp & 0x3F)) {
+                    return false;
+                }
+            } else if (Character.isSurrogate(c)) {
+                if (remaining < 1 || in.get(index++) != (byte) '?') {
+                    return false;
+                }
+            } else if (remaining < 3
+                    || in.get(index++) != (byte) (0xE0 | c >> 12)
+                    || in.get(index++) != (byte) (0x80 | c >> 6 & 0x3F)
+                    || in.get(index++) != (byte) (0x80 | c & 0x3F)) {
+                return false;
+            }
+        }
+        return index == end;
+    }
+}
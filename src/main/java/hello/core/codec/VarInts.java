@@ -0,0 +1,96 @@
+package hello.core.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 가변 길이 정수(LEB128) 인코딩
+ * 하위 7비트씩 나누어 기록하고 최상위 비트로 "다음 바이트 있음"을 표시한다.
+ * 작은 양수(회원 ID, 가격)는 1~3바이트로 줄어든다. 음수는 부호 없는 값으로 보아 최대 길이(5/10바이트)가 된다.
+ *
+ * 상대 위치 메서드(write/read)는 버퍼 위치를 옮기고, 절대 위치 메서드(get/skip)는 옮기지 않는다.
+ */
+public final class VarInts {
+
+    private VarInts() {
+    }
+
+    public static void writeVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    public static void writeVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    public static long readVarLong(ByteBuffer in) {
+        long value = getVarLong(in, in.position());
+        in.position(in.position() + sizeOfVarLong(value));
+        return value;
+    }
+
+    public static int readVarInt(ByteBuffer in) {
+        int value = getVarInt(in, in.position());
+        in.position(in.position() + sizeOfVarInt(value));
+        return value;
+    }
+
+    /**
+     * 절대 위치에서 읽기
+     * @param in 버퍼
+     * @param index 시작 위치
+     * @return 값
+     */
+    public static long getVarLong(ByteBuffer in, int index) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get(index++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("가변 길이 정수가 너무 깁니다.");
+    }
+
+    public static int getVarInt(ByteBuffer in, int index) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get(index++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("가변 길이 정수가 너무 깁니다.");
+    }
+
+    /**
+     * 절대 위치의 가변 길이 정수를 값으로 만들지 않고 건너뜀
+     * @return 다음 필드의 위치
+     */
+    public static int skip(ByteBuffer in, int index) {
+        while (in.get(index++) < 0) {
+            // 연속 비트가 꺼진 바이트까지 이동
+        }
+        return index;
+    }
+
+    public static int sizeOfVarLong(long value) {
+        // 유효 비트 수를 7로 나눈 올림 (0은 1바이트)
+        int bits = 64 - Long.numberOfLeadingZeros(value | 1);
+        return (bits + 6) / 7;
+    }
+
+    public static int sizeOfVarInt(int value) {
+        int bits = 32 - Integer.numberOfLeadingZeros(value | 1);
+        return (bits + 6) / 7;
+    }
+}
@@ -0,0 +1,184 @@
+package hello.core.discount;
+
+import hello.core.member.Member;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 할인 금액 캐시 데코레이터
+ * 계산 비용이 큰 할인 정책(룰 엔진, 구간 곡선 등)을 감싸서 (정책 버전, 등급, 가격) 조합의 결과를 재사용한다.
+ *
+ * 캐시 구조:
+ * - (정책 버전 23비트, 등급 ordinal 8비트, 가격 32비트)를 long 키 하나로 묶는다.
+ * - 고정 크기 원시 배열 기반 오픈 어드레싱 테이블이며, 조회/저장 시 객체를 할당하지 않는다.
+ * - 탐사 구간(PROBE_LIMIT) 안에서 참조 비트를 이용한 클록(second-chance) 방식으로 교체 대상을 고른다.
+ * - 정책 버전이 바뀌면 키가 달라지므로 기존 항목은 모두 무효가 된다. (배열을 비우지 않음)
+ *
+ * 할인 금액은 회원 등급과 가격에만 의존하는 정책에만 사용해야 한다.
+ */
+public class CachingDiscountPolicy implements DiscountPolicy {
+
+    private static final long EMPTY = -1L;
+    private static final long BUSY = -2L;
+    private static final int PROBE_LIMIT = 8;
+    private static final int VERSION_MASK = (1 << 23) - 1;
+
+    private final DiscountPolicy delegate;
+    private final AtomicLongArray keys;
+    private final AtomicIntegerArray values;
+    private final AtomicIntegerArray referenced;
+    private final int mask;
+
+    private volatile int policyVersion;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder missNanos = new LongAdder();
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param delegate 실제 할인 계산을 수행할 정책
+     * @param capacity 캐시 슬롯 수 (2의 제곱수로 올림)
+     */
+    public CachingDiscountPolicy(DiscountPolicy delegate, int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, PROBE_LIMIT) - 1) << 1;
+        this.delegate = delegate;
+        this.keys = new AtomicLongArray(size);
+        this.values = new AtomicIntegerArray(size);
+        this.referenced = new AtomicIntegerArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            keys.set(i, EMPTY);
+        }
+    }
+
+    /**
+     * 캐시를 거쳐 할인 금액 계산
+     * @param member 할인 대상 회원
+     * @param price 원래 가격
+     * @return 할인된 금액
+     */
+    @Override
+    public int discount(Member member, int price) {
+        long key = key(policyVersion, member.getGrade().ordinal(), price);
+        int base = slotOf(key);
+
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            int slot = (base + i) & mask;
+            if (keys.get(slot) == key) {
+                int value = values.get(slot);
+                // 값을 읽는 사이 다른 스레드가 슬롯을 교체하지 않았는지 다시 확인
+                if (keys.get(slot) == key) {
+                    referenced.lazySet(slot, 1);
+                    hits.increment();
+                    return value;
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        int value = delegate.discount(member, price);
+        missNanos.add(System.nanoTime() - start);
+        misses.increment();
+        store(base, key, value);
+        return value;
+    }
+
+    /**
+     * 정책 버전을 올려 캐시 전체를 무효화
+     * 감싼 정책의 설정(할인율, 규칙 등)이 바뀌었을 때 호출한다.
+     */
+    public synchronized void invalidate() {
+        int next = (policyVersion + 1) & VERSION_MASK;
+        if (next == 0) {
+            // 버전 번호가 한 바퀴 돌면 아주 오래된 항목이 되살아나지 않도록 비운다
+            for (int i = 0; i <= mask; i++) {
+                keys.set(i, EMPTY);
+            }
+        }
+        policyVersion = next;
+    }
+
+    /**
+     * 캐시 적중 횟수 반환
+     * @return 적중 횟수
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 캐시 미적중 횟수 반환
+     * @return 미적중 횟수 (감싼 정책을 실제로 호출한 횟수)
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 캐시 적중률 반환
+     * @return 0.0 ~ 1.0, 호출 이력이 없으면 0.0
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    /**
+     * 미적중 시 감싼 정책의 평균 계산 시간 반환
+     * 캐시 없이 호출했을 때의 비용과 같으므로, 적중 경로 비용과 비교하는 기준이 된다.
+     *
+     * @return 평균 계산 시간(나노초), 미적중 이력이 없으면 0.0
+     */
+    public double getAverageMissNanos() {
+        long miss = misses.sum();
+        return miss == 0 ? 0.0 : (double) missNanos.sum() / miss;
+    }
+
+    private void store(int base, long key, int value) {
+        int victim = -1;
+        long victimKey = EMPTY;
+        for (int i = 0; i < PROBE_LIMIT && victim < 0; i++) {
+            int slot = (base + i) & mask;
+            long current = keys.get(slot);
+            if (current == key || current == BUSY) {
+                // 다른 스레드가 같은 값을 이미 넣었거나 넣는 중
+                return;
+            }
+            if (current == EMPTY || referenced.get(slot) == 0) {
+                victim = slot;
+                victimKey = current;
+            } else {
+                // 최근에 사용된 슬롯은 한 번 더 기회를 준다
+                referenced.lazySet(slot, 0);
+            }
+        }
+        if (victim < 0) {
+            victim = base;
+            victimKey = keys.get(victim);
+            if (victimKey == BUSY) {
+                return;
+            }
+        }
+        // 슬롯을 선점한 스레드만 값을 쓴다 (실패하면 캐시에 넣지 않고 넘어간다)
+        if (keys.compareAndSet(victim, victimKey, BUSY)) {
+            values.set(victim, value);
+            referenced.lazySet(victim, 0);
+            keys.set(victim, key);
+        }
+    }
+
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    static long key(int version, int gradeOrdinal, int price) {
+        return ((long) (version & VERSION_MASK) << 40)
+                | ((long) (gradeOrdinal & 0xFF) << 32)
+                | (price & 0xFFFFFFFFL);
+    }
+}
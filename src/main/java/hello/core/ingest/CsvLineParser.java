@@ -0,0 +1,85 @@
+package hello.core.ingest;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV 한 줄 파서: id,name,grade
+ * 이름에 쉼표가 있으면 "..." 로 감싸고, 따옴표는 "" 로 쓴다.
+ */
+final class CsvLineParser extends LineParser {
+
+    @Override
+    boolean isHeader(byte[] line, int from, int to) {
+        return equalsIgnoreCase("id,name,grade", line, from, to);
+    }
+
+    @Override
+    Member parse(byte[] line, int from, int to) {
+        int p = from;
+        while (p < to && line[p] == ' ') {
+            p++;
+        }
+        long id = 0;
+        int digitsFrom = p;
+        while (p < to && line[p] >= '0' && line[p] <= '9') {
+            int digit = line[p++] - '0';
+            if (id > (Long.MAX_VALUE - digit) / 10) {
+                return fail("ID가 범위를 벗어남");
+            }
+            id = id * 10 + digit;
+        }
+        if (p == digitsFrom) {
+            return fail("ID가 숫자가 아님");
+        }
+        while (p < to && line[p] == ' ') {
+            p++;
+        }
+        if (p >= to || line[p] != ',') {
+            return fail("ID 다음에 쉼표가 없음");
+        }
+        p++;
+
+        String name;
+        if (p < to && line[p] == '"') {
+            byte[] out = scratch(to - p);
+            int length = 0;
+            p++;
+            while (true) {
+                if (p >= to) {
+                    return fail("이름의 따옴표가 닫히지 않음");
+                }
+                byte b = line[p++];
+                if (b == '"') {
+                    if (p < to && line[p] == '"') {
+                        p++;
+                    } else {
+                        break;
+                    }
+                }
+                out[length++] = b;
+            }
+            name = new String(out, 0, length, StandardCharsets.UTF_8);
+        } else {
+            int nameFrom = p;
+            while (p < to && line[p] != ',') {
+                p++;
+            }
+            name = new String(line, nameFrom, p - nameFrom, StandardCharsets.UTF_8);
+        }
+        if (name.isEmpty()) {
+            return fail("이름이 비어 있음");
+        }
+        if (p >= to || line[p] != ',') {
+            return fail("등급 열이 없음");
+        }
+
+        Grade grade = parseGrade(line, p + 1, to);
+        if (grade == null) {
+            return fail("알 수 없는 등급");
+        }
+        return new Member(id, name, grade);
+    }
+}
@@ -0,0 +1,28 @@
+package hello.core.ingest;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * 일괄 가입 파일 형식
+ */
+public enum ImportFormat {
+
+    /** 한 줄에 id,name,grade (첫 줄 "id,name,grade" 머리글 허용, 이름은 "..." 로 감쌀 수 있음) */
+    CSV,
+
+    /** 한 줄에 {"id":1,"name":"...","grade":"VIP"} (키 순서 무관, 모르는 키는 무시) */
+    NDJSON;
+
+    /**
+     * 확장자로 형식 추정 (.ndjson/.jsonl 은 NDJSON, 그 외는 CSV)
+     */
+    public static ImportFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+
+    LineParser newParser() {
+        return this == CSV ? new CsvLineParser() : new NdjsonLineParser();
+    }
+}
@@ -0,0 +1,85 @@
+package hello.core.ingest;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+/**
+ * 한 줄(바이트 구간)을 회원으로 해석하는 파서
+ * 작업 스레드마다 하나씩 만들어 쓰므로 스레드 안전하지 않다.
+ * ID와 등급은 바이트에서 바로 읽고, String은 회원 이름에만 만든다.
+ */
+abstract class LineParser {
+
+    private static final Grade[] GRADES = Grade.values();
+
+    private String error;
+    private byte[] scratch = new byte[128];
+
+    /**
+     * @param line 줄이 담긴 버퍼
+     * @param from 시작 위치
+     * @param to 끝 위치 (줄바꿈 제외)
+     * @return 회원, 형식이 맞지 않으면 null (사유는 {@link #error()})
+     */
+    abstract Member parse(byte[] line, int from, int to);
+
+    /**
+     * 파일 첫 줄이 머리글이면 true
+     */
+    boolean isHeader(byte[] line, int from, int to) {
+        return false;
+    }
+
+    /**
+     * 마지막 parse가 null을 반환한 사유
+     */
+    String error() {
+        return error;
+    }
+
+    final Member fail(String reason) {
+        error = reason;
+        return null;
+    }
+
+    /**
+     * 등급 이름을 대소문자 구분 없이 비교 (앞뒤 공백 무시)
+     * @return 등급, 없으면 null
+     */
+    static Grade parseGrade(byte[] line, int from, int to) {
+        while (from < to && line[from] == ' ') {
+            from++;
+        }
+        while (to > from && line[to - 1] == ' ') {
+            to--;
+        }
+        for (Grade grade : GRADES) {
+            if (equalsIgnoreCase(grade.name(), line, from, to)) {
+                return grade;
+            }
+        }
+        return null;
+    }
+
+    static boolean equalsIgnoreCase(String ascii, byte[] line, int from, int to) {
+        if (to - from != ascii.length()) {
+            return false;
+        }
+        for (int i = 0; i < ascii.length(); i++) {
+            if ((line[from + i] | 0x20) != (ascii.charAt(i) | 0x20)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 이스케이프를 푼 바이트를 모으는 작업 버퍼
+     */
+    final byte[] scratch(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        return scratch;
+    }
+}
@@ -0,0 +1,312 @@
+package hello.core.ingest;
+
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 회원 파일 일괄 가입기 (CSV / NDJSON)
+ *
+ * 1. 파일을 줄 경계에 맞춰 여러 구간으로 나눈다 (스레드 수의 4배, 구간당 최대 1GB).
+ * 2. 작업 스레드가 구간을 메모리 매핑해 창(window) 단위로 작업 버퍼에 복사하고 줄마다 바이트에서 바로 해석한다.
+ * 3. 회원을 batchSize씩 모아 {@link MemberRepository#saveAll}로 저장한다.
+ *
+ * 형식이 맞지 않는 줄은 건너뛰고 개수를 세며, 파일 앞쪽부터 MAX_DIAGNOSTICS건은 파일 위치(바이트)와 사유를 남긴다.
+ * 구간마다 처리하는 스레드가 다르므로 저장 순서는 파일 순서와 다를 수 있다.
+ * 같은 ID가 여러 번 나오면 어느 줄이 남을지 정해지지 않는다.
+ */
+public class MemberBulkImporter {
+
+    static final int MAX_DIAGNOSTICS = 100;
+    static final int WINDOW_BYTES = 1 << 20;
+    static final long MAX_SEGMENT_BYTES = 1L << 30;
+    private static final int EXCERPT_BYTES = 80;
+
+    private final MemberRepository memberRepository;
+    private final int parallelism;
+    private final int batchSize;
+
+    /**
+     * @param memberRepository 저장할 회원 저장소
+     * @param parallelism 작업 스레드 수
+     * @param batchSize 한 번에 saveAll할 회원 수
+     */
+    public MemberBulkImporter(MemberRepository memberRepository, int parallelism, int batchSize) {
+        if (parallelism < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("스레드 수와 배치 크기는 1 이상이어야 합니다.");
+        }
+        this.memberRepository = memberRepository;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 확장자로 형식을 정해 가져오기
+     */
+    public ImportResult importFile(Path file) {
+        return importFile(file, ImportFormat.of(file));
+    }
+
+    /**
+     * 파일의 회원을 모두 가져오기
+     * @param file 입력 파일 (UTF-8, 줄바꿈 \n 또는 \r\n)
+     * @param format 파일 형식
+     * @return 가져온 결과
+     */
+    public ImportResult importFile(Path file, ImportFormat format) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] boundaries = splitAtLines(channel, size, parallelism * 4);
+
+            ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+            long rows = 0;
+            long malformed = 0;
+            List<Malformed> diagnostics = new ArrayList<>();
+            try {
+                List<Future<Segment>> segments = new ArrayList<>(boundaries.length - 1);
+                for (int i = 0; i + 1 < boundaries.length; i++) {
+                    long from = boundaries[i];
+                    long to = boundaries[i + 1];
+                    segments.add(workers.submit(() -> new Segment(channel, from, to, format.newParser()).run()));
+                }
+                // 구간 순서가 파일 순서이므로 차례로 이어 붙이면 진단도 파일 위치 순이 된다
+                for (Future<Segment> future : segments) {
+                    Segment segment = future.get();
+                    rows += segment.rows;
+                    malformed += segment.malformed;
+                    for (Malformed line : segment.diagnostics) {
+                        if (diagnostics.size() < MAX_DIAGNOSTICS) {
+                            diagnostics.add(line);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("가져오기가 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) {
+                    throw io;
+                }
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException("가져오기에 실패했습니다.", e.getCause());
+            } finally {
+                workers.shutdownNow();
+            }
+
+            return new ImportResult(rows, malformed, size, System.nanoTime() - start, List.copyOf(diagnostics));
+        } catch (IOException e) {
+            throw new UncheckedIOException("회원 파일을 읽지 못했습니다: " + file, e);
+        }
+    }
+
+    /**
+     * 파일을 대략 같은 크기의 구간으로 나누되 경계를 다음 줄의 시작으로 옮긴다.
+     * @return 구간 경계 (처음은 0, 마지막은 파일 크기)
+     */
+    static long[] splitAtLines(FileChannel channel, long size, int segments) throws IOException {
+        int count = (int) Math.max(segments, (size + MAX_SEGMENT_BYTES - 1) / MAX_SEGMENT_BYTES);
+        long[] boundaries = new long[count + 1];
+        int used = 1;
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        for (int i = 1; i < count; i++) {
+            long nominal = Math.max(size / count * i, boundaries[used - 1]);
+            long boundary = nextLineStart(channel, nominal, size, probe);
+            if (boundary > boundaries[used - 1] && boundary < size) {
+                boundaries[used++] = boundary;
+            }
+        }
+        boundaries[used++] = size;
+        long[] result = new long[used];
+        System.arraycopy(boundaries, 0, result, 0, used);
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer probe)
+            throws IOException {
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * 한 작업 스레드가 맡은 파일 구간
+     */
+    private final class Segment {
+
+        private final FileChannel channel;
+        private final long from;
+        private final long to;
+        private final LineParser parser;
+        private final List<Malformed> diagnostics = new ArrayList<>();
+
+        private List<Member> batch = new ArrayList<>(batchSize);
+        private long rows;
+        private long malformed;
+
+        Segment(FileChannel channel, long from, long to, LineParser parser) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+            this.parser = parser;
+        }
+
+        Segment run() throws IOException {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            byte[] window = new byte[(int) Math.min(WINDOW_BYTES, Math.max(to - from, 1))];
+            int length = (int) (to - from);
+            int mappedPosition = 0;
+            int carry = 0;
+            long windowOffset = from;
+            boolean skipping = false;
+
+            // UTF-8 BOM 건너뛰기
+            if (from == 0 && length >= 3 && mapped.get(0) == (byte) 0xEF && mapped.get(1) == (byte) 0xBB
+                    && mapped.get(2) == (byte) 0xBF) {
+                mappedPosition = 3;
+                windowOffset = 3;
+            }
+            long firstLine = windowOffset;
+
+            while (mappedPosition < length) {
+                int read = Math.min(window.length - carry, length - mappedPosition);
+                mapped.get(mappedPosition, window, carry, read);
+                mappedPosition += read;
+                int limit = carry + read;
+                int lineStart = 0;
+
+                for (int i = 0; i < limit; i++) {
+                    if (window[i] != '\n') {
+                        continue;
+                    }
+                    if (skipping) {
+                        skipping = false;
+                    } else {
+                        line(window, lineStart, i, windowOffset + lineStart, firstLine);
+                    }
+                    lineStart = i + 1;
+                }
+
+                carry = limit - lineStart;
+                if (skipping) {
+                    carry = 0;
+                } else if (carry == window.length && mappedPosition < length) {
+                    // 줄 하나가 창보다 길면 다음 줄바꿈까지 버린다
+                    malformed(windowOffset, "줄이 너무 김 (" + window.length + "바이트 초과)", window, 0, carry);
+                    skipping = true;
+                    carry = 0;
+                } else if (carry > 0) {
+                    System.arraycopy(window, lineStart, window, 0, carry);
+                }
+                windowOffset += limit - carry;
+            }
+            // 마지막 줄에 줄바꿈이 없는 경우
+            if (carry > 0 && !skipping) {
+                line(window, 0, carry, windowOffset, firstLine);
+            }
+            if (!batch.isEmpty()) {
+                memberRepository.saveAll(batch);
+            }
+            return this;
+        }
+
+        private void line(byte[] window, int start, int end, long offset, long firstLine) {
+            if (end > start && window[end - 1] == '\r') {
+                end--;
+            }
+            if (isBlank(window, start, end)) {
+                return;
+            }
+            if (offset == firstLine && from == 0 && parser.isHeader(window, start, end)) {
+                return;
+            }
+            Member member = parser.parse(window, start, end);
+            if (member == null) {
+                malformed(offset, parser.error(), window, start, end);
+                return;
+            }
+            batch.add(member);
+            rows++;
+            if (batch.size() == batchSize) {
+                memberRepository.saveAll(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        private void malformed(long offset, String reason, byte[] window, int start, int end) {
+            malformed++;
+            if (diagnostics.size() < MAX_DIAGNOSTICS) {
+                int excerpt = Math.min(end - start, EXCERPT_BYTES);
+                diagnostics.add(new Malformed(offset, reason,
+                        new String(window, start, excerpt, StandardCharsets.UTF_8)));
+            }
+        }
+
+        private static boolean isBlank(byte[] window, int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (window[i] != ' ' && window[i] != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 형식이 맞지 않는 줄
+     *
+     * @param offset 줄이 시작하는 파일 위치 (바이트)
+     * @param reason 사유
+     * @param excerpt 줄 앞부분 (최대 80바이트)
+     */
+    public record Malformed(long offset, String reason, String excerpt) {
+    }
+
+    /**
+     * 가져오기 결과
+     *
+     * @param rows 저장한 회원 수
+     * @param malformed 건너뛴 줄 수
+     * @param bytes 파일 크기
+     * @param elapsedNanos 걸린 시간
+     * @param diagnostics 건너뛴 줄 중 파일 앞쪽부터 최대 100건
+     */
+    public record ImportResult(long rows, long malformed, long bytes, long elapsedNanos,
+                               List<Malformed> diagnostics) {
+
+        public double rowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public double elapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+    }
+}
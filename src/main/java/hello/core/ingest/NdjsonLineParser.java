@@ -0,0 +1,292 @@
+package hello.core.ingest;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * NDJSON 한 줄 파서: {"id":1,"name":"...","grade":"VIP"}
+ * 평평한 객체만 지원한다. 모르는 키의 값(문자열/숫자/true/false/null)은 건너뛴다.
+ */
+final class NdjsonLineParser extends LineParser {
+
+    private byte[] line;
+    private int pos;
+    private int end;
+
+    @Override
+    Member parse(byte[] line, int from, int to) {
+        this.line = line;
+        this.pos = from;
+        this.end = to;
+
+        skipWhitespace();
+        if (!consume('{')) {
+            return fail("객체가 아님");
+        }
+        long id = -1;
+        String name = null;
+        Grade grade = null;
+
+        skipWhitespace();
+        if (!consume('}')) {
+            while (true) {
+                skipWhitespace();
+                if (!consume('"')) {
+                    return fail("키가 문자열이 아님");
+                }
+                int keyFrom = pos;
+                if (!skipString()) {
+                    return fail("키의 따옴표가 닫히지 않음");
+                }
+                int keyTo = pos - 1;
+                skipWhitespace();
+                if (!consume(':')) {
+                    return fail("키 다음에 콜론이 없음");
+                }
+                skipWhitespace();
+
+                if (isKey("id", keyFrom, keyTo)) {
+                    id = parseId();
+                    if (id < 0) {
+                        return null;
+                    }
+                } else if (isKey("name", keyFrom, keyTo)) {
+                    if (!consume('"')) {
+                        return fail("이름이 문자열이 아님");
+                    }
+                    name = parseString();
+                    if (name == null) {
+                        return null;
+                    }
+                } else if (isKey("grade", keyFrom, keyTo)) {
+                    if (!consume('"')) {
+                        return fail("등급이 문자열이 아님");
+                    }
+                    int gradeFrom = pos;
+                    if (!skipString()) {
+                        return fail("등급의 따옴표가 닫히지 않음");
+                    }
+                    grade = parseGrade(line, gradeFrom, pos - 1);
+                    if (grade == null) {
+                        return fail("알 수 없는 등급");
+                    }
+                } else if (!skipValue()) {
+                    return null;
+                }
+
+                skipWhitespace();
+                if (consume('}')) {
+                    break;
+                }
+                if (!consume(',')) {
+                    return fail("값 다음에 쉼표가 없음");
+                }
+            }
+        }
+        skipWhitespace();
+        if (pos != end) {
+            return fail("객체 뒤에 남은 내용이 있음");
+        }
+        if (id < 0) {
+            return fail("id가 없음");
+        }
+        if (name == null || name.isEmpty()) {
+            return fail("name이 없음");
+        }
+        if (grade == null) {
+            return fail("grade가 없음");
+        }
+        return new Member(id, name, grade);
+    }
+
+    private boolean isKey(String key, int from, int to) {
+        if (to - from != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (line[from + i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parseId() {
+        long id = 0;
+        int digitsFrom = pos;
+        while (pos < end && line[pos] >= '0' && line[pos] <= '9') {
+            int digit = line[pos++] - '0';
+            if (id > (Long.MAX_VALUE - digit) / 10) {
+                fail("ID가 범위를 벗어남");
+                return -1;
+            }
+            id = id * 10 + digit;
+        }
+        if (pos == digitsFrom || pos < end && (line[pos] == '.' || line[pos] == 'e' || line[pos] == 'E')) {
+            fail("ID가 정수가 아님");
+            return -1;
+        }
+        return id;
+    }
+
+    /**
+     * 여는 따옴표 다음부터 읽어 이스케이프를 푼 문자열을 만든다. 이스케이프가 없으면 버퍼에서 바로 만든다.
+     */
+    private String parseString() {
+        int from = pos;
+        while (pos < end && line[pos] != '"' && line[pos] != '\\') {
+            pos++;
+        }
+        if (pos < end && line[pos] == '"') {
+            pos++;
+            return new String(line, from, pos - 1 - from, StandardCharsets.UTF_8);
+        }
+
+        // 이스케이프가 있으면 작업 버퍼에 풀어 쓴다 (풀어 쓴 길이는 원래 길이를 넘지 않는다)
+        byte[] out = scratch(end - from);
+        int length = pos - from;
+        System.arraycopy(line, from, out, 0, length);
+        while (pos < end) {
+            byte b = line[pos++];
+            if (b == '"') {
+                return new String(out, 0, length, StandardCharsets.UTF_8);
+            }
+            if (b != '\\') {
+                out[length++] = b;
+                continue;
+            }
+            if (pos >= end) {
+                break;
+            }
+            byte escaped = line[pos++];
+            switch (escaped) {
+                case '"', '\\', '/' -> out[length++] = escaped;
+                case 'b' -> out[length++] = '\b';
+                case 'f' -> out[length++] = '\f';
+                case 'n' -> out[length++] = '\n';
+                case 'r' -> out[length++] = '\r';
+                case 't' -> out[length++] = '\t';
+                case 'u' -> {
+                    int c = parseHex4();
+                    if (c < 0) {
+                        fail("잘못된 \\u 이스케이프");
+                        return null;
+                    }
+                    if (Character.isHighSurrogate((char) c) && pos + 1 < end
+                            && line[pos] == '\\' && line[pos + 1] == 'u') {
+                        int mark = pos;
+                        pos += 2;
+                        int low = parseHex4();
+                        if (low >= 0 && Character.isLowSurrogate((char) low)) {
+                            c = Character.toCodePoint((char) c, (char) low);
+                        } else {
+                            pos = mark;
+                        }
+                    }
+                    length = appendCodePoint(out, length, c);
+                }
+                default -> {
+                    fail("잘못된 이스케이프");
+                    return null;
+                }
+            }
+        }
+        fail("문자열의 따옴표가 닫히지 않음");
+        return null;
+    }
+
+    private int parseHex4() {
+        if (pos + 4 > end) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(line[pos++], 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    /**
+     * \\uXXXX(6바이트 이상)를 UTF-8(최대 4바이트)로 기록하므로 원래 길이를 넘지 않는다.
+     * 짝 없는 서로게이트는 '?' 로 기록한다.
+     */
+    private static int appendCodePoint(byte[] out, int length, int cp) {
+        if (cp < 0x80) {
+            out[length++] = (byte) cp;
+        } else if (cp < 0x800) {
+            out[length++] = (byte) (0xC0 | cp >> 6);
+            out[length++] = (byte) (0x80 | cp & 0x3F);
+        } else if (cp >= 0x10000) {
+            out[length++] = (byte) (0xF0 | cp >> 18);
+            out[length++] = (byte) (0x80 | cp >> 12 & 0x3F);
+            out[length++] = (byte) (0x80 | cp >> 6 & 0x3F);
+            out[length++] = (byte) (0x80 | cp & 0x3F);
+        } else if (Character.isSurrogate((char) cp)) {
+            out[length++] = '?';
+        } else {
+            out[length++] = (byte) (0xE0 | cp >> 12);
+            out[length++] = (byte) (0x80 | cp >> 6 & 0x3F);
+            out[length++] = (byte) (0x80 | cp & 0x3F);
+        }
+        return length;
+    }
+
+    /**
+     * 여는 따옴표 다음부터 닫는 따옴표 다음까지 이동
+     */
+    private boolean skipString() {
+        while (pos < end) {
+            byte b = line[pos++];
+            if (b == '"') {
+                return true;
+            }
+            if (b == '\\') {
+                pos++;
+            }
+        }
+        return false;
+    }
+
+    private boolean skipValue() {
+        if (consume('"')) {
+            if (!skipString()) {
+                fail("문자열의 따옴표가 닫히지 않음");
+                return false;
+            }
+            return true;
+        }
+        if (pos < end && (line[pos] == '{' || line[pos] == '[')) {
+            fail("중첩된 객체/배열은 지원하지 않음");
+            return false;
+        }
+        int from = pos;
+        while (pos < end && line[pos] != ',' && line[pos] != '}' && line[pos] != ' ' && line[pos] != '\t') {
+            pos++;
+        }
+        if (pos == from) {
+            fail("값이 없음");
+            return false;
+        }
+        return true;
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && (line[pos] == ' ' || line[pos] == '\t')) {
+            pos++;
+        }
+    }
+
+    private boolean consume(char c) {
+        if (pos < end && line[pos] == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+}
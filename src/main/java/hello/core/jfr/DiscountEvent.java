@@ -0,0 +1,34 @@
+package hello.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 할인 계산 JFR 이벤트
+ * DiscountPolicy.discount 한 번의 정책 클래스와 소요 시간을 기록한다.
+ * 기본은 비활성이며 hello-core.jfc 설정으로 켠다.
+ */
+@Name(DiscountEvent.NAME)
+@Label("Discount")
+@Category({"hello.core", "Discount"})
+@Description("할인 정책 계산")
+@Enabled(false)
+@StackTrace(false)
+public class DiscountEvent extends Event {
+
+    public static final String NAME = "hello.core.Discount";
+
+    @Label("Policy Class")
+    Class<?> policyClass;
+
+    @Label("Price")
+    int price;
+
+    @Label("Discount")
+    int discount;
+}
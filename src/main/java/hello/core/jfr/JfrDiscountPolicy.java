@@ -0,0 +1,39 @@
+package hello.core.jfr;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.member.Member;
+
+/**
+ * JFR 이벤트 기록 할인 정책 데코레이터
+ * discount 호출마다 감싼 정책 클래스와 소요 시간을 기록한다. (이벤트가 꺼져 있으면 바로 위임)
+ */
+public class JfrDiscountPolicy implements DiscountPolicy {
+
+    private final DiscountPolicy delegate;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param delegate 실제 할인 정책
+     */
+    public JfrDiscountPolicy(DiscountPolicy delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        DiscountEvent event = new DiscountEvent();
+        if (!event.isEnabled()) {
+            return delegate.discount(member, price);
+        }
+        event.begin();
+        int discount = delegate.discount(member, price);
+        event.end();
+        if (event.shouldCommit()) {
+            event.policyClass = delegate.getClass();
+            event.price = price;
+            event.discount = discount;
+            event.commit();
+        }
+        return discount;
+    }
+}
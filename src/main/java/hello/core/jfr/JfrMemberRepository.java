@@ -0,0 +1,100 @@
+package hello.core.jfr;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JFR 이벤트 기록 회원 저장소 데코레이터
+ * findById마다 적중 여부와 저장소 종류를 기록한다. (이벤트가 꺼져 있으면 바로 위임)
+ * 저장소 종류는 데코레이터(발행, 만료, 캐시 등)를 모두 벗긴 맨 안쪽 저장소의 클래스 이름이다.
+ * 감싼 저장소가 AutoCloseable이면 닫기도 전달한다. (쓰기 지연 저장소의 종료 시 플러시 등)
+ */
+public class JfrMemberRepository implements MemberRepository, AutoCloseable {
+
+    private final MemberRepository delegate;
+    private final String storeType;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param delegate 실제 회원 저장소
+     */
+    public JfrMemberRepository(MemberRepository delegate) {
+        this.delegate = delegate;
+        MemberRepository store = delegate;
+        while (store.delegate() != null) {
+            store = store.delegate();
+        }
+        this.storeType = store.getClass().getSimpleName();
+    }
+
+    @Override
+    public void save(Member member) {
+        delegate.save(member);
+    }
+
+    @Override
+    public void saveAll(Collection<Member> members) {
+        delegate.saveAll(members);
+    }
+
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        return delegate.findAllById(memberIds);
+    }
+
+    @Override
+    public void delete(Long memberId) {
+        delegate.delete(memberId);
+    }
+
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        return delegate.changeGrade(memberId, expected, grade);
+    }
+
+    @Override
+    public void forEach(Consumer<Member> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        MemberLookupEvent event = new MemberLookupEvent();
+        if (!event.isEnabled()) {
+            return delegate.findById(memberId);
+        }
+        event.begin();
+        Member member = delegate.findById(memberId);
+        event.end();
+        if (event.shouldCommit()) {
+            event.memberId = memberId;
+            event.hit = member != null;
+            event.storeType = storeType;
+            event.commit();
+        }
+        return member;
+    }
+
+    @Override
+    public MemberRepository delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() {
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("회원 저장소를 닫지 못했습니다.", e);
+            }
+        }
+    }
+}
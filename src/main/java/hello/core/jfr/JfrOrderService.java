@@ -0,0 +1,42 @@
+package hello.core.jfr;
+
+import hello.core.order.Order;
+import hello.core.order.OrderService;
+
+/**
+ * JFR 이벤트 기록 주문 서비스 데코레이터
+ * 이벤트가 꺼져 있으면 isEnabled() 확인 한 번으로 바로 위임하므로
+ * JIT 탈출 분석으로 이벤트 객체 할당까지 제거되어 추가 비용이 거의 없다.
+ */
+public class JfrOrderService implements OrderService {
+
+    private final OrderService delegate;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param delegate 실제 주문 서비스
+     */
+    public JfrOrderService(OrderService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Order createOrder(Long memberId, String itemName, int itemPrice) {
+        OrderCreateEvent event = new OrderCreateEvent();
+        if (!event.isEnabled()) {
+            return delegate.createOrder(memberId, itemName, itemPrice);
+        }
+        event.begin();
+        Order order = delegate.createOrder(memberId, itemName, itemPrice);
+        event.end();
+        // 임계 시간(threshold)을 넘은 경우에만 필드를 채워 기록
+        if (event.shouldCommit()) {
+            event.memberId = memberId;
+            event.itemName = itemName;
+            event.itemPrice = itemPrice;
+            event.discountPrice = order.getDiscountPrice();
+            event.commit();
+        }
+        return order;
+    }
+}
@@ -0,0 +1,84 @@
+package hello.core.jfr;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JFR 기록 분석기
+ * hello.core 이벤트를 연산별(주문 생성, 회원 조회 적중/미적중, 정책 클래스별 할인)로 묶어
+ * 지연 시간 표(count, p50, p99, max, 마이크로초)를 출력한다.
+ *
+ * 실행: java -cp <classpath> hello.core.jfr.JfrRecordingAnalyzer recording.jfr
+ */
+public class JfrRecordingAnalyzer {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("사용법: JfrRecordingAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        print(analyze(Path.of(args[0])), System.out);
+    }
+
+    /**
+     * 기록 파일을 읽어 연산별 지연 시간 분포를 만든다
+     * @param recording JFR 기록 파일
+     * @return 연산 이름 - 지연 시간 분포(나노초)
+     */
+    public static Map<String, Histogram> analyze(Path recording) throws IOException {
+        Map<String, Histogram> histograms = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String operation = operationOf(event);
+                if (operation != null) {
+                    long nanos = Math.min(event.getDuration().toNanos(), HIGHEST_TRACKABLE_NANOS);
+                    histograms.computeIfAbsent(operation, o -> new Histogram(1, HIGHEST_TRACKABLE_NANOS, 3))
+                            .recordValue(Math.max(nanos, 1));
+                }
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * 지연 시간 표 출력
+     * @param histograms 연산 이름 - 지연 시간 분포
+     * @param out 출력 대상
+     */
+    public static void print(Map<String, Histogram> histograms, PrintStream out) {
+        out.printf("%-45s %10s %10s %10s %10s%n", "operation", "count", "p50(us)", "p99(us)", "max(us)");
+        histograms.forEach((operation, histogram) -> out.printf("%-45s %10d %10.1f %10.1f %10.1f%n",
+                operation,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50.0) / 1000.0,
+                histogram.getValueAtPercentile(99.0) / 1000.0,
+                histogram.getMaxValue() / 1000.0));
+    }
+
+    private static String operationOf(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case OrderCreateEvent.NAME:
+                return "order.createOrder";
+            case MemberLookupEvent.NAME:
+                return "member.findById[" + event.getString("storeType") + ","
+                        + (event.getBoolean("hit") ? "hit" : "miss") + "]";
+            case DiscountEvent.NAME:
+                RecordedClass policyClass = event.getClass("policyClass");
+                return "discount[" + (policyClass == null ? "?" : policyClass.getName()) + "]";
+            default:
+                return null;
+        }
+    }
+}
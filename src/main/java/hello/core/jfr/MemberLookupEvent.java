@@ -0,0 +1,34 @@
+package hello.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 회원 조회 JFR 이벤트
+ * MemberRepository.findById 한 번의 적중 여부, 저장소 종류, 소요 시간을 기록한다.
+ * 기본은 비활성이며 hello-core.jfc 설정으로 켠다.
+ */
+@Name(MemberLookupEvent.NAME)
+@Label("Member Lookup")
+@Category({"hello.core", "Member"})
+@Description("회원 저장소 조회")
+@Enabled(false)
+@StackTrace(false)
+public class MemberLookupEvent extends Event {
+
+    public static final String NAME = "hello.core.MemberLookup";
+
+    @Label("Member Id")
+    long memberId;
+
+    @Label("Hit")
+    boolean hit;
+
+    @Label("Store Type")
+    String storeType;
+}
@@ -0,0 +1,37 @@
+package hello.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 주문 생성 JFR 이벤트
+ * OrderServiceImpl.createOrder 한 번의 입력, 할인 결과, 소요 시간을 기록한다.
+ * 기본은 비활성이며 hello-core.jfc 설정으로 켠다.
+ */
+@Name(OrderCreateEvent.NAME)
+@Label("Order Create")
+@Category({"hello.core", "Order"})
+@Description("주문 생성 (회원 조회 + 할인 계산 + 주문 생성)")
+@Enabled(false)
+@StackTrace(false)
+public class OrderCreateEvent extends Event {
+
+    public static final String NAME = "hello.core.OrderCreate";
+
+    @Label("Member Id")
+    long memberId;
+
+    @Label("Item Name")
+    String itemName;
+
+    @Label("Item Price")
+    int itemPrice;
+
+    @Label("Discount Price")
+    int discountPrice;
+}
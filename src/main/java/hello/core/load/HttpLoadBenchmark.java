@@ -0,0 +1,194 @@
+package hello.core.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * HTTP API 부하 벤치마크
+ * 실행 중인 서버(./gradlew bootRun)에 엔드포인트별로 차례로 부하를 주고 초당 요청 수와 지연 시간을 출력한다.
+ *
+ * 연결 수만큼의 가상 스레드가 각자 응답을 받은 뒤 다음 요청을 보내는 닫힌 루프로 최대 처리량을 잰다.
+ * (목표 속도를 고정한 지연 시간 측정은 OpenLoopLoadGenerator 참고)
+ * HttpClient는 HTTP/1.1 keep-alive 연결을 재사용한다.
+ *
+ * 인자 (--이름=값):
+ * --url=http://localhost:8080   서버 주소
+ * --duration=10s                엔드포인트별 측정 시간 (s 단위)
+ * --connections=64              동시 요청 수
+ * --members=10000               미리 가입시킬 회원 수
+ */
+public class HttpLoadBenchmark {
+
+    private static final int BULK_SIZE = 10;
+
+    private final HttpClient client;
+    private final String url;
+    private final Duration duration;
+    private final int connections;
+    private final int members;
+    private final AtomicLong nextJoinId;
+
+    HttpLoadBenchmark(String url, Duration duration, int connections, int members) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        this.url = url;
+        this.duration = duration;
+        this.connections = connections;
+        this.members = members;
+        this.nextJoinId = new AtomicLong(members + 1L);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("url", "http://localhost:8080");
+        options.put("duration", "10s");
+        options.put("connections", "64");
+        options.put("members", "10000");
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0 || !options.containsKey(arg.substring(2, eq))) {
+                throw new IllegalArgumentException("알 수 없는 인자입니다: " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        String seconds = options.get("duration");
+        HttpLoadBenchmark benchmark = new HttpLoadBenchmark(options.get("url"),
+                Duration.ofSeconds(Long.parseLong(seconds.endsWith("s") ? seconds.substring(0, seconds.length() - 1) : seconds)),
+                Integer.parseInt(options.get("connections")), Integer.parseInt(options.get("members")));
+        benchmark.registerMembers();
+
+        System.out.printf("%-14s %10s %10s %10s %10s %8s%n", "endpoint", "req/s", "p50(us)", "p99(us)", "max(us)", "non-2xx");
+        benchmark.run("join", benchmark::join);
+        benchmark.run("findMember", benchmark::findMember);
+        benchmark.run("findMembers", benchmark::findMembers);
+        benchmark.run("createOrder", benchmark::createOrder);
+        benchmark.run("createOrders", benchmark::createOrders);
+    }
+
+    private void registerMembers() throws IOException, InterruptedException {
+        for (int from = 1; from <= members; from += 1000) {
+            StringBuilder body = new StringBuilder("[");
+            for (int id = from; id < Math.min(from + 1000, members + 1); id++) {
+                if (id > from) {
+                    body.append(',');
+                }
+                body.append(memberJson(id));
+            }
+            HttpResponse<Void> response = send(post("/members/bulk", body.append(']').toString()));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("회원 일괄 가입 실패: HTTP " + response.statusCode());
+            }
+        }
+    }
+
+    private void run(String endpoint, Function<SplittableRandom, HttpRequest> requests) throws InterruptedException {
+        Recorder recorder = new Recorder(1, TimeUnit.MINUTES.toNanos(1), 3);
+        LongAdder failures = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> workers = new ArrayList<>();
+        for (int c = 0; c < connections; c++) {
+            SplittableRandom random = new SplittableRandom(c);
+            workers.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = requests.apply(random);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = send(request);
+                        if (response.statusCode() / 100 != 2) {
+                            failures.increment();
+                        }
+                    } catch (IOException e) {
+                        failures.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    recorder.recordValue(Math.min(System.nanoTime() - start, TimeUnit.MINUTES.toNanos(1)));
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Histogram histogram = recorder.getIntervalHistogram();
+        System.out.printf("%-14s %10.0f %10.1f %10.1f %10.1f %8d%n", endpoint,
+                histogram.getTotalCount() / (double) duration.toSeconds(),
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0, failures.sum());
+    }
+
+    private HttpRequest join(SplittableRandom random) {
+        return post("/members", memberJson(nextJoinId.getAndIncrement()));
+    }
+
+    private HttpRequest findMember(SplittableRandom random) {
+        return HttpRequest.newBuilder(URI.create(url + "/members/" + randomId(random))).GET().build();
+    }
+
+    private HttpRequest findMembers(SplittableRandom random) {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < BULK_SIZE; i++) {
+            if (i > 0) {
+                ids.append(',');
+            }
+            ids.append(randomId(random));
+        }
+        return HttpRequest.newBuilder(URI.create(url + "/members?ids=" + ids)).GET().build();
+    }
+
+    private HttpRequest createOrder(SplittableRandom random) {
+        return post("/orders", orderJson(randomId(random)));
+    }
+
+    private HttpRequest createOrders(SplittableRandom random) {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < BULK_SIZE; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(orderJson(randomId(random)));
+        }
+        return post("/orders/bulk", body.append(']').toString());
+    }
+
+    private long randomId(SplittableRandom random) {
+        return 1 + random.nextInt(members);
+    }
+
+    private static String memberJson(long id) {
+        return "{\"id\":" + id + ",\"name\":\"member" + id + "\",\"grade\":\"" + (id % 5 == 0 ? "VIP" : "BASIC") + "\"}";
+    }
+
+    private static String orderJson(long memberId) {
+        return "{\"memberId\":" + memberId + ",\"itemName\":\"item" + (memberId % 100) + "\",\"itemPrice\":10000}";
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(url + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpResponse<Void> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+}
@@ -0,0 +1,98 @@
+package hello.core.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 부하 생성기 설정
+ * 명령행 인자(--이름=값)로 만들며, 지정하지 않은 항목은 기본값을 사용한다.
+ *
+ * --rate=5000            초당 목표 요청 수 (열린 루프: 응답과 무관하게 이 속도로 요청을 보낸다)
+ * --duration=30s         측정 시간 (s, ms 단위)
+ * --warmup=5s            측정 전 워밍업 시간
+ * --members=100000       회원 수
+ * --vip-ratio=0.2        VIP 회원 비율
+ * --zipf=0.99            회원 ID 지프 분포 치우침 (0이면 균등 분포)
+ * --order-ratio=0.7      요청 중 주문 비율 (나머지는 회원 조회)
+ * --threads=8            워커 스레드 수
+ * --virtual-threads      워커를 가상 스레드로 실행
+ * --csv=build/load/results.csv   결과 CSV 파일 (기존 파일에는 덧붙임)
+ * --label=local          결과 행에 남길 빌드/실행 이름
+ * --rate-limit           회원별 주문 처리율 제한(회원당 초당 50건)을 켠 채로 측정
+ *                        기본은 끈다. 지프 분포에서는 상위 회원 몇 명이 초당 수백 건을 주문하므로,
+ *                        켜 두면 주문 대부분이 거절 경로(rejected)를 재게 된다.
+ */
+public class LoadGeneratorOptions {
+
+    // 요청 간격을 나노초로 표현할 수 있는 최대 속도
+    static final int MAX_RATE = 1_000_000_000;
+
+    int rate = 5000;
+    Duration duration = Duration.ofSeconds(30);
+    Duration warmup = Duration.ofSeconds(5);
+    int members = 100_000;
+    double vipRatio = 0.2;
+    double zipfTheta = 0.99;
+    double orderRatio = 0.7;
+    int threads = 8;
+    boolean virtualThreads;
+    Path csv = Path.of("build", "load", "results.csv");
+    String label = "local";
+    boolean rateLimit;
+
+    /**
+     * @return 주문 처리율 제한을 켠 채로 측정하는지 여부
+     */
+    public boolean rateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * 명령행 인자로 설정 생성
+     * @param args --이름=값 형식의 인자
+     * @return 설정
+     */
+    public static LoadGeneratorOptions parse(String... args) {
+        LoadGeneratorOptions options = new LoadGeneratorOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("인자는 --이름=값 형식이어야 합니다: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? "true" : arg.substring(eq + 1);
+            switch (name) {
+                case "rate" -> options.rate = Integer.parseInt(value);
+                case "duration" -> options.duration = duration(value);
+                case "warmup" -> options.warmup = duration(value);
+                case "members" -> options.members = Integer.parseInt(value);
+                case "vip-ratio" -> options.vipRatio = Double.parseDouble(value);
+                case "zipf" -> options.zipfTheta = Double.parseDouble(value);
+                case "order-ratio" -> options.orderRatio = Double.parseDouble(value);
+                case "threads" -> options.threads = Integer.parseInt(value);
+                case "virtual-threads" -> options.virtualThreads = Boolean.parseBoolean(value);
+                case "csv" -> options.csv = Path.of(value);
+                case "label" -> options.label = value;
+                case "rate-limit" -> options.rateLimit = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("알 수 없는 인자입니다: " + arg);
+            }
+        }
+        if (options.rate <= 0 || options.threads <= 0 || options.members <= 0) {
+            throw new IllegalArgumentException("rate, threads, members는 0보다 커야 합니다.");
+        }
+        if (options.rate > MAX_RATE) {
+            throw new IllegalArgumentException("rate는 초당 " + MAX_RATE + "건(요청 간격 1ns) 이하여야 합니다: " + options.rate);
+        }
+        return options;
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
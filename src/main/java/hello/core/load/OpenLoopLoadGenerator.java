@@ -0,0 +1,271 @@
+package hello.core.load;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+import hello.core.order.OrderRejectedException;
+import hello.core.order.OrderService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * 열린 루프(open-loop) 부하 생성기
+ * 요청 i의 예정 시작 시각을 start + i / rate로 미리 정해 두고, 응답 속도와 관계없이 그 시각에 요청을 보낸다.
+ *
+ * 지연 시간은 실제 시작 시각이 아니라 예정 시작 시각부터 잰다.
+ * 서비스가 느려져 요청이 밀리면 밀린 대기 시간까지 지연 시간에 포함되므로
+ * 닫힌 루프 측정에서 생기는 coordinated omission(느린 구간의 표본 누락)이 보정된다.
+ * 비교를 위해 실제 서비스 시간(보정 전)도 함께 기록한다.
+ */
+public class OpenLoopLoadGenerator {
+
+    static final String FIND = "member.findMember";
+    static final String ORDER = "order.createOrder";
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MemberService memberService;
+    private final OrderService orderService;
+    private final LoadGeneratorOptions options;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param memberService 부하 대상 회원 서비스
+     * @param orderService 부하 대상 주문 서비스
+     * @param options 부하 설정
+     */
+    public OpenLoopLoadGenerator(MemberService memberService, OrderService orderService, LoadGeneratorOptions options) {
+        this.memberService = memberService;
+        this.orderService = orderService;
+        this.options = options;
+    }
+
+    /**
+     * 회원 등록, 워밍업, 측정을 차례로 실행하고 결과를 CSV에 덧붙인다
+     * @return 연산별 측정 결과
+     */
+    public List<LoadResult> run() throws InterruptedException {
+        registerMembers();
+        if (!options.warmup.isZero()) {
+            drive(options.warmup.toNanos());
+        }
+        Measurement measurement = drive(options.duration.toNanos());
+        List<LoadResult> results = measurement.results(options);
+        writeCsv(results);
+        return results;
+    }
+
+    private void registerMembers() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= options.members; id++) {
+            Grade grade = random.nextDouble() < options.vipRatio ? Grade.VIP : Grade.BASIC;
+            memberService.join(new Member(id, "member" + id, grade));
+        }
+    }
+
+    private Measurement drive(long durationNanos) throws InterruptedException {
+        Measurement measurement = new Measurement();
+        long totalRequests = requestsWithin(durationNanos);
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        AtomicLong sequence = new AtomicLong();
+        ZipfianGenerator zipfian = options.zipfTheta > 0
+                ? new ZipfianGenerator(options.members, options.zipfTheta, 1) : null;
+
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < options.threads; w++) {
+            long seed = 1000L + w;
+            LongSupplier memberIds = zipfian != null ? zipfian.withSeed(seed)::next : uniform(seed);
+            SplittableRandom random = new SplittableRandom(seed);
+            Runnable worker = () -> {
+                long i;
+                while ((i = sequence.getAndIncrement()) < totalRequests) {
+                    long intended = start + scheduledOffset(i);
+                    waitUntil(intended);
+                    execute(measurement, random, memberIds.getAsLong(), intended);
+                }
+            };
+            Thread thread = options.virtualThreads
+                    ? Thread.ofVirtual().name("load-" + w).unstarted(worker)
+                    : Thread.ofPlatform().name("load-" + w).daemon().unstarted(worker);
+            workers.add(thread);
+            thread.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        measurement.elapsedNanos = System.nanoTime() - start;
+        return measurement;
+    }
+
+    // 요청 i의 예정 시작 시각 (start 기준): i * 1초 / rate를 나머지까지 나눠 계산해 rate가 1초를 나누어떨어지지 않아도 밀리지 않는다
+    long scheduledOffset(long i) {
+        long rate = options.rate;
+        return i / rate * NANOS_PER_SECOND + i % rate * NANOS_PER_SECOND / rate;
+    }
+
+    // 측정 시간 안에 예정된 요청 수 (durationNanos * rate / 1초)
+    long requestsWithin(long durationNanos) {
+        long rate = options.rate;
+        return durationNanos / NANOS_PER_SECOND * rate + durationNanos % NANOS_PER_SECOND * rate / NANOS_PER_SECOND;
+    }
+
+    private void execute(Measurement measurement, SplittableRandom random, long memberId, long intended) {
+        boolean order = random.nextDouble() < options.orderRatio;
+        long actualStart = System.nanoTime();
+        try {
+            if (order) {
+                orderService.createOrder(memberId, "item" + (memberId % 100), 10000);
+            } else {
+                memberService.findMember(memberId);
+            }
+        } catch (OrderRejectedException e) {
+            measurement.rejected.increment();
+        } catch (RuntimeException e) {
+            measurement.errors.increment();
+        }
+        long end = System.nanoTime();
+        Recorder corrected = order ? measurement.orderCorrected : measurement.findCorrected;
+        Recorder uncorrected = order ? measurement.orderUncorrected : measurement.findUncorrected;
+        corrected.recordValue(Math.min(end - intended, HIGHEST_TRACKABLE_NANOS));
+        uncorrected.recordValue(Math.min(end - actualStart, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    private LongSupplier uniform(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return () -> 1 + random.nextLong(options.members);
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            // 아주 짧은 대기는 스핀, 그 이상은 park (park의 깨어남 지연이 측정에 섞이지 않도록)
+            if (remaining > TimeUnit.MICROSECONDS.toNanos(50)) {
+                LockSupport.parkNanos(remaining - TimeUnit.MICROSECONDS.toNanos(20));
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private void writeCsv(List<LoadResult> results) {
+        Path file = options.csv;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            boolean newFile = !Files.exists(file);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (newFile) {
+                    writer.write(LoadResult.CSV_HEADER);
+                    writer.newLine();
+                }
+                String timestamp = Instant.now().toString();
+                for (LoadResult result : results) {
+                    writer.write(result.toCsv(timestamp, options));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("부하 결과를 저장하지 못했습니다: " + file, e);
+        }
+    }
+
+    /**
+     * 한 번의 측정 구간에서 모은 기록
+     */
+    private static final class Measurement {
+
+        final Recorder findCorrected = newRecorder();
+        final Recorder findUncorrected = newRecorder();
+        final Recorder orderCorrected = newRecorder();
+        final Recorder orderUncorrected = newRecorder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        long elapsedNanos;
+
+        List<LoadResult> results(LoadGeneratorOptions options) {
+            double seconds = elapsedNanos / 1e9;
+            List<LoadResult> results = new ArrayList<>();
+            results.add(LoadResult.of(FIND, options.rate, seconds,
+                    findCorrected.getIntervalHistogram(), findUncorrected.getIntervalHistogram(), 0, 0));
+            results.add(LoadResult.of(ORDER, options.rate, seconds,
+                    orderCorrected.getIntervalHistogram(), orderUncorrected.getIntervalHistogram(),
+                    rejected.sum(), errors.sum()));
+            return results;
+        }
+
+        private static Recorder newRecorder() {
+            return new Recorder(1, HIGHEST_TRACKABLE_NANOS, 3);
+        }
+    }
+
+    /**
+     * 연산 하나의 측정 결과 (지연 시간 단위: 마이크로초)
+     *
+     * @param operation 연산 이름
+     * @param targetRate 전체 목표 초당 요청 수
+     * @param achievedRate 이 연산의 실제 초당 처리 수
+     * @param count 요청 수
+     * @param rejected 처리율 제한으로 거절된 수
+     * @param errors 그 밖의 오류 수
+     * @param p50 보정 지연 시간 p50
+     * @param p90 보정 지연 시간 p90
+     * @param p99 보정 지연 시간 p99
+     * @param p999 보정 지연 시간 p99.9
+     * @param max 보정 지연 시간 최댓값
+     * @param uncorrectedP99 보정 전(서비스 시간) p99
+     */
+    public record LoadResult(String operation, int targetRate, double achievedRate, long count, long rejected,
+                             long errors, double p50, double p90, double p99, double p999, double max,
+                             double uncorrectedP99) {
+
+        static final String CSV_HEADER = "timestamp,label,threads,virtualThreads,members,zipf,operation,targetRate,"
+                + "achievedRate,count,rejected,errors,p50_us,p90_us,p99_us,p999_us,max_us,uncorrected_p99_us";
+
+        static LoadResult of(String operation, int targetRate, double seconds, Histogram corrected,
+                             Histogram uncorrected, long rejected, long errors) {
+            return new LoadResult(operation, targetRate, corrected.getTotalCount() / seconds,
+                    corrected.getTotalCount(), rejected, errors,
+                    micros(corrected.getValueAtPercentile(50)), micros(corrected.getValueAtPercentile(90)),
+                    micros(corrected.getValueAtPercentile(99)), micros(corrected.getValueAtPercentile(99.9)),
+                    micros(corrected.getMaxValue()), micros(uncorrected.getValueAtPercentile(99)));
+        }
+
+        String toCsv(String timestamp, LoadGeneratorOptions options) {
+            return String.join(",", timestamp, options.label, String.valueOf(options.threads),
+                    String.valueOf(options.virtualThreads), String.valueOf(options.members),
+                    String.valueOf(options.zipfTheta), operation, String.valueOf(targetRate),
+                    format(achievedRate), String.valueOf(count), String.valueOf(rejected), String.valueOf(errors),
+                    format(p50), format(p90), format(p99), format(p999), format(max), format(uncorrectedP99));
+        }
+
+        private static double micros(long nanos) {
+            return nanos / 1000.0;
+        }
+
+        private static String format(double value) {
+            return String.format(Locale.ROOT, "%.1f", value);
+        }
+    }
+}
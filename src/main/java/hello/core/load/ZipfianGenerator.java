@@ -0,0 +1,80 @@
+package hello.core.load;
+
+import java.util.SplittableRandom;
+
+/**
+ * 지프(Zipf) 분포 정수 생성기
+ * 1..itemCount 범위에서 작은 값일수록 자주 나오는 값을 만든다. (소수 인기 회원에 주문이 몰리는 실제 트래픽 모사)
+ * Gray 등의 "Quickly Generating Billion-Record Synthetic Databases" 방식으로,
+ * 생성 시 한 번 zeta 상수를 계산하고 이후 값 하나는 상수 시간에 만든다.
+ *
+ * 스레드 안전하지 않으므로 스레드마다 하나씩 만들어 사용한다.
+ */
+public class ZipfianGenerator {
+
+    private final long itemCount;
+    private final double theta;
+    private final double alpha;
+    private final double zetaN;
+    private final double eta;
+    private final SplittableRandom random;
+
+    /**
+     * @param itemCount 값 범위 (1..itemCount)
+     * @param theta 치우침 정도 (0 < theta < 1, 클수록 상위 값에 몰림, 보통 0.99)
+     * @param seed 난수 시드
+     */
+    public ZipfianGenerator(long itemCount, double theta, long seed) {
+        this(itemCount, theta, zeta(itemCount, theta), seed);
+    }
+
+    /**
+     * 미리 계산한 zeta 상수로 생성 (스레드마다 생성할 때 O(n) 계산을 반복하지 않기 위함)
+     */
+    ZipfianGenerator(long itemCount, double theta, double zetaN, long seed) {
+        if (itemCount < 1 || theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("itemCount >= 1, 0 < theta < 1 이어야 합니다.");
+        }
+        this.itemCount = itemCount;
+        this.theta = theta;
+        this.zetaN = zetaN;
+        this.alpha = 1.0 / (1.0 - theta);
+        double zeta2 = zeta(2, theta);
+        this.eta = (1 - Math.pow(2.0 / itemCount, 1 - theta)) / (1 - zeta2 / zetaN);
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * 같은 분포를 따르는 새 생성기 (다른 시드)
+     * @param seed 난수 시드
+     * @return 새 생성기
+     */
+    public ZipfianGenerator withSeed(long seed) {
+        return new ZipfianGenerator(itemCount, theta, zetaN, seed);
+    }
+
+    /**
+     * 다음 값 생성
+     * @return 1..itemCount 범위의 값
+     */
+    public long next() {
+        double u = random.nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1.0) {
+            return 1;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return Math.min(2, itemCount);
+        }
+        long value = 1 + (long) (itemCount * Math.pow(eta * u - eta + 1, alpha));
+        return Math.min(value, itemCount);
+    }
+
+    static double zeta(long n, double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) {
+            sum += 1.0 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,219 @@
+package hello.core.member;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 회원 조회 캐시 데코레이터 (JDBC 등 느린 저장소 앞단)
+ *
+ * 캐시 구조:
+ * - 회원 ID 해시로 슬롯 하나를 정하는 직접 사상(direct-mapped) 배열이며, 충돌하면 새 값이 이전 값을 밀어낸다.
+ * - 적중 경로는 배열 원소 하나를 읽을 뿐 락도 할당도 없다.
+ *
+ * 일관성 (쓰기 후 무효화):
+ * - 쓰기는 감싼 저장소에 먼저 기록한 뒤, 스트라이프 락 안에서 스트라이프 버전을 올리고 해당 슬롯을 비운다.
+ * - 미적중 시 스트라이프 버전을 읽고 감싼 저장소에서 조회한 뒤, 락 안에서 버전이 그대로일 때만 채운다.
+ * - 조회와 쓰기가 겹쳐 오래된 값을 채우더라도 그 쓰기의 무효화가 뒤따르므로 남지 않는다.
+ */
+public class CachingMemberRepository implements MemberRepository, AutoCloseable {
+
+    private static final int STRIPES = 256;
+
+    private final MemberRepository delegate;
+    private final AtomicReferenceArray<Member> slots;
+    private final int mask;
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+    private final Object[] locks = new Object[STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param delegate 실제 회원 저장소
+     * @param capacity 캐시 슬롯 수 (2의 제곱수로 올림)
+     */
+    public CachingMemberRepository(MemberRepository delegate, int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, STRIPES) - 1) << 1;
+        this.delegate = delegate;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        int slot = slotOf(memberId);
+        Member cached = slots.get(slot);
+        if (cached != null && cached.getId().equals(memberId)) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        int stripe = slot & (STRIPES - 1);
+        long version = version(stripe);
+        Member member = delegate.findById(memberId);
+        if (member != null) {
+            fill(stripe, version, slot, member);
+        }
+        return member;
+    }
+
+    /**
+     * 캐시에 있는 회원은 바로 쓰고, 나머지만 감싼 저장소에서 한 번에 조회해 채운다
+     */
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        Map<Long, Member> found = new HashMap<>(memberIds.size() * 4 / 3 + 1);
+        List<Long> missed = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            Member cached = slots.get(slotOf(memberId));
+            if (cached != null && cached.getId().equals(memberId)) {
+                found.put(memberId, cached);
+            } else {
+                missed.add(memberId);
+            }
+        }
+        hits.add(found.size());
+        if (missed.isEmpty()) {
+            return found;
+        }
+        misses.add(missed.size());
+
+        // 조회 전에 스트라이프 버전을 모두 읽어 두어야 조회 중 쓰기를 알아챌 수 있다
+        long[] before = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            before[i] = version(i);
+        }
+        for (Member member : delegate.findAllById(missed).values()) {
+            int slot = slotOf(member.getId());
+            int stripe = slot & (STRIPES - 1);
+            fill(stripe, before[stripe], slot, member);
+            found.put(member.getId(), member);
+        }
+        return found;
+    }
+
+    @Override
+    public void save(Member member) {
+        delegate.save(member);
+        invalidate(member.getId());
+    }
+
+    @Override
+    public void saveAll(Collection<Member> members) {
+        delegate.saveAll(members);
+        for (Member member : members) {
+            invalidate(member.getId());
+        }
+    }
+
+    @Override
+    public void delete(Long memberId) {
+        delegate.delete(memberId);
+        invalidate(memberId);
+    }
+
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        Member current = delegate.changeGrade(memberId, expected, grade);
+        invalidate(memberId);
+        return current;
+    }
+
+    @Override
+    public void forEach(Consumer<Member> action) {
+        delegate.forEach(action);
+    }
+
+    /**
+     * 캐시 적중 횟수 반환
+     * @return 적중 횟수
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 캐시 미적중 횟수 반환
+     * @return 미적중 횟수 (감싼 저장소를 실제로 조회한 회원 수)
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 캐시 적중률 반환
+     * @return 0.0 ~ 1.0, 호출 이력이 없으면 0.0
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    private void invalidate(Long memberId) {
+        int slot = slotOf(memberId);
+        int stripe = slot & (STRIPES - 1);
+        synchronized (locks[stripe]) {
+            versions.incrementAndGet(stripe);
+            Member cached = slots.get(slot);
+            if (cached != null && cached.getId().equals(memberId)) {
+                slots.set(slot, null);
+            }
+        }
+    }
+
+    private void fill(int stripe, long version, int slot, Member member) {
+        synchronized (locks[stripe]) {
+            if (versions.get(stripe) == version) {
+                slots.set(slot, member);
+            }
+        }
+    }
+
+    private long version(int stripe) {
+        return versions.get(stripe);
+    }
+
+    private int slotOf(long memberId) {
+        long h = memberId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    @Override
+    public MemberRepository delegate() {
+        return delegate;
+    }
+
+    /**
+     * 스냅샷을 지원하지 않는다 (캐시가 복원을 모르므로 감싼 저장소를 직접 바꾸면 캐시가 옛 값을 돌려준다)
+     * @return null
+     */
+    @Override
+    public SnapshotableMemberRepository snapshotable() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("회원 저장소를 닫지 못했습니다.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package hello.core.member;
+
+/**
+ * 이름을 사전 코드로 들고 있는 회원 (DictionaryMemberRepository의 조회 결과)
+ * getName()이 불릴 때만 사전에서 이름을 푼다. 호출마다 새로 풀 수 있으므로 자주 쓰면 지역 변수에 받아 둔다.
+ */
+final class DictionaryMember extends Member {
+
+    // 이름이 null인 회원의 코드
+    static final int NO_NAME = -1;
+
+    private final NameDictionary names;
+    private final int nameCode;
+
+    DictionaryMember(Long id, Grade grade, NameDictionary names, int nameCode) {
+        super(id, grade);
+        this.names = names;
+        this.nameCode = nameCode;
+    }
+
+    @Override
+    public String getName() {
+        return nameCode == NO_NAME ? null : names.decode(nameCode);
+    }
+
+    NameDictionary names() {
+        return names;
+    }
+
+    int nameCode() {
+        return nameCode;
+    }
+}
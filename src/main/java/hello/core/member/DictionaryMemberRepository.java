@@ -0,0 +1,201 @@
+package hello.core.member;
+
+import hello.core.util.LongLongHashMap;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * 이름 사전을 쓰는 메모리 회원 저장소
+ * 회원 객체 대신 "회원 ID -> (이름 코드, 등급)"을 원시 long 해시맵에 담고, 이름은 NameDictionary에 한 번만 둔다.
+ * 회원당 Member/String/byte[]/맵 노드/Long 키 객체가 모두 없어지고 해시맵 슬롯 두 칸(키, 값)만 남는다.
+ *
+ * - 값 하나에 (이름 코드 + 1) << 8 | 등급 순번을 담는다. (이름이 null이면 코드 자리가 0, 등급이 null이면 0xFF)
+ * - 조회는 이름을 풀지 않은 DictionaryMember를 만들어 돌려주고, getName()이 불릴 때만 사전에서 푼다.
+ * - 회원 ID를 64개 스트라이프로 나눠 스트라이프마다 해시맵과 락을 둔다.
+ *   조회는 StampedLock 낙관적 읽기로 락을 잡지 않고, 읽는 동안 쓰기가 끼어들었을 때만 읽기 락으로 다시 읽는다.
+ * - 같은 사전을 여러 저장소(샤드)가 나눠 써도 된다. 이 저장소에서 조회한 회원을 다시 저장하면 이름을 풀지 않고 코드를 그대로 쓴다.
+ */
+public class DictionaryMemberRepository implements MemberRepository {
+
+    private static final int STRIPE_BITS = 6;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final long ABSENT = -1;
+    private static final int NO_GRADE = 0xFF;
+    private static final Grade[] GRADES = Grade.values();
+
+    private final NameDictionary names;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public DictionaryMemberRepository() {
+        this(new NameDictionary());
+    }
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param names 이름 사전 (여러 저장소가 나눠 쓸 수 있다)
+     */
+    public DictionaryMemberRepository(NameDictionary names) {
+        this.names = names;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void save(Member member) {
+        long packed = pack(nameCodeOf(member), member.getGrade());
+        long memberId = member.getId();
+        Stripe stripe = stripeOf(memberId);
+        long stamp = stripe.lock.writeLock();
+        try {
+            stripe.members.put(memberId, packed);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        Stripe stripe = stripeOf(memberId);
+        long stamp = stripe.lock.tryOptimisticRead();
+        long packed = stripe.members.getOptimistic(memberId, ABSENT);
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                packed = stripe.members.get(memberId, ABSENT);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return packed == ABSENT ? null : unpack(memberId, packed);
+    }
+
+    /**
+     * 회원 등급 조건부 변경 (스트라이프 쓰기 락 안에서 값의 등급 자리만 바꾼다, 이름은 풀지 않는다)
+     */
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        Stripe stripe = stripeOf(memberId);
+        long stamp = stripe.lock.writeLock();
+        long packed;
+        try {
+            packed = stripe.members.get(memberId, ABSENT);
+            if (packed != ABSENT && (int) (packed & 0xFF) == expected.ordinal()) {
+                packed = (packed & ~0xFFL) | grade.ordinal();
+                stripe.members.put(memberId, packed);
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+        return packed == ABSENT ? null : unpack(memberId, packed);
+    }
+
+    @Override
+    public void delete(Long memberId) {
+        Stripe stripe = stripeOf(memberId);
+        long stamp = stripe.lock.writeLock();
+        try {
+            stripe.members.remove(memberId);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 스트라이프마다 락 안에서 복사한 뒤 락 밖에서 넘긴다 (순회 중의 변경은 보일 수도, 안 보일 수도 있다)
+     */
+    @Override
+    public void forEach(Consumer<Member> action) {
+        for (Stripe stripe : stripes) {
+            long[] ids;
+            long[] values;
+            long stamp = stripe.lock.readLock();
+            try {
+                int size = stripe.members.size();
+                ids = new long[size];
+                values = new long[size];
+                int[] index = new int[1];
+                stripe.members.forEach((id, value) -> {
+                    ids[index[0]] = id;
+                    values[index[0]++] = value;
+                });
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                action.accept(unpack(ids[i], values[i]));
+            }
+        }
+    }
+
+    /**
+     * @return 저장된 회원 수
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.members.size();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return 해시맵 배열이 차지하는 바이트 수 (이름 사전 제외)
+     */
+    public long tableBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                bytes += stripe.members.tableBytes();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @return 이름 사전
+     */
+    public NameDictionary names() {
+        return names;
+    }
+
+    private int nameCodeOf(Member member) {
+        if (member instanceof DictionaryMember stored && stored.names() == names) {
+            return stored.nameCode();
+        }
+        String name = member.getName();
+        return name == null ? DictionaryMember.NO_NAME : names.intern(name);
+    }
+
+    private Member unpack(Long memberId, long packed) {
+        int gradeOrdinal = (int) (packed & 0xFF);
+        Grade grade = gradeOrdinal == NO_GRADE ? null : GRADES[gradeOrdinal];
+        return new DictionaryMember(memberId, grade, names, (int) ((packed >>> 8) - 1));
+    }
+
+    private static long pack(int nameCode, Grade grade) {
+        return ((nameCode + 1L) << 8) | (grade == null ? NO_GRADE : grade.ordinal());
+    }
+
+    private Stripe stripeOf(long memberId) {
+        return stripes[(int) ((memberId * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - STRIPE_BITS))];
+    }
+
+    /**
+     * 스트라이프 (락 하나 + 원시 해시맵 하나)
+     */
+    private static final class Stripe {
+
+        final StampedLock lock = new StampedLock();
+        final LongLongHashMap members = new LongLongHashMap(1024);
+    }
+}
@@ -0,0 +1,633 @@
+package hello.core.member;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 회원 만료 데코레이터 (유휴 시간 / 생존 시간)
+ * 손님/BASIC처럼 다시 오지 않는 회원이 저장소에 계속 쌓이지 않도록, 일정 시간 조회가 없거나(time-to-idle)
+ * 저장 후 일정 시간이 지난(time-to-live) 회원을 감싼 저장소에서 지운다.
+ *
+ * 구조:
+ * - 만료 대상 회원마다 마지막 저장/접근 시각을 담은 항목을 두고, 항목을 계층형 타이밍 휠(TimerWheel)에 건다.
+ *   회원별 타이머나 전체 훑기 없이, 휠을 돌릴 때 마감된 버킷의 항목만 본다.
+ * - findById는 항목의 접근 시각을 한 번 쓰는 것으로 유휴 시간을 늘린다. (락/휠 조작 없음, 틱 안의 반복 접근은 쓰지도 않는다)
+ *   휠의 마감 시각은 실제 만료의 하한으로만 쓰고, 마감 때 실제 만료가 늦춰졌으면 그 시각으로 한 번 옮긴다.
+ * - 휠은 쓰기/조회가 틱 하나 이상 지나서 들어왔을 때 그 호출이 돌린다. (tryLock이라 돌리는 중인 스레드를 기다리지 않는다)
+ *   회원은 단계 수 이하로만 옮겨지므로 휠 조작 비용은 회원당 상수(분할 상환 O(1))다.
+ * - 마감된 항목은 회수 대기열(due)에 모아 두고, 요청 스레드는 호출 한 번에 RECLAIM_BATCH개까지만 감싼 저장소에서 지운다.
+ *   한꺼번에 마감된 회원이 많아도 요청 하나가 그 삭제를 모두 떠안지 않으며, 남은 것은 다음 호출이 이어서 지운다.
+ *   scheduleCleanUp으로 배경 회수를 켜 두면 트래픽이 없을 때도 주기마다 대기열을 모두 비운다. (MemberStores는 기본으로 켠다)
+ * - 같은 회원의 저장/삭제/만료 삭제는 회원 ID 스트라이프 락으로 직렬화하므로, 만료 판정과 새 저장이 엇갈려 방금 저장한 회원을 지우지 않는다.
+ *   감싼 저장소(JDBC 등)는 이 스트라이프 락만 잡고 부른다. 항목 맵의 compute나 휠 락 안에서는 부르지 않으므로
+ *   느린 저장소 호출이 다른 스트라이프의 쓰기나 휠 조작을 막지 않는다.
+ * - 휠은 락 안에서 만료된 것으로 보이는 항목만 골라내고, 감싼 저장소에서의 삭제는 락을 놓은 뒤 한다.
+ *   삭제 직전에 스트라이프 락 안에서 항목이 그대로인지(같은 항목이 맵에 있고 여전히 만료인지) 다시 확인한다.
+ *
+ * 만료 시각이 지난 회원은 휠이 아직 회수하지 않았어도 조회되지 않는다. 회수는 최대 틱 하나(짧은 만료 시간의 1/64)만큼 늦다.
+ * 만료 대상이 아닌 회원(예: VIP)은 항목 없이 감싼 저장소에만 있으며, BASIC -> VIP 승급 저장 시 만료에서 빠진다.
+ *
+ * 스냅샷/복원은 감싼 저장소가 지원할 때만 쓸 수 있다. (snapshotable()이 null이 아닐 때)
+ * 뷰는 연 시각에 이미 만료된 회원을 빼고, 복원은 적재한 만료 대상 회원을 복원 시각부터 다시 잰다.
+ */
+public class ExpiringMemberRepository implements SnapshotableMemberRepository, AutoCloseable {
+
+    // 휠 틱의 하한 (너무 짧은 틱은 휠을 자주 돌릴 뿐 이득이 없다)
+    private static final long MIN_TICK_NANOS = Duration.ofMillis(1).toNanos();
+    private static final long NEVER = Long.MAX_VALUE;
+    // 쓰기 스트라이프 수 (2의 제곱수)
+    private static final int STRIPES = 64;
+    // 요청 스레드가 호출 한 번에 감싼 저장소에서 지우는 최대 회원 수
+    static final int RECLAIM_BATCH = 16;
+
+    private final MemberRepository delegate;
+    private final long timeToIdle;
+    private final long timeToLive;
+    private final Predicate<Member> expirable;
+    private final LongSupplier nanoClock;
+    // 휠 시각을 0 이상으로 두기 위한 기준 시각
+    private final long origin;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final TimerWheel<Entry> wheel;
+    private final TimerWheel.Handler<Entry> expirer = this::onDue;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    // 휠이 마감 시각에 만료된 것으로 본 항목 (휠 락 안에서만 접근, 회수할 만큼씩 꺼낸다)
+    private final List<Entry> due = new ArrayList<>();
+    private final ReentrantLock[] writeLocks = new ReentrantLock[STRIPES];
+    // 휠을 마지막으로 돌린 시각 (락 없이 돌릴 때가 됐는지 확인하는 용도)
+    private volatile long advancedAt;
+    // 회수 대기열에 남은 항목이 있는지 (락 없이 이어서 회수할지 확인하는 용도)
+    private volatile boolean backlog;
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder cleanUpFailures = new LongAdder();
+    private volatile RuntimeException lastFailure;
+    // 배경 회수 (scheduleCleanUp 전에는 null)
+    private ScheduledExecutorService cleaner;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param delegate 실제 회원 저장소
+     * @param timeToIdle 마지막 저장/조회 후 만료까지 시간 (0이면 사용 안 함)
+     * @param timeToLive 마지막 저장 후 만료까지 시간 (0이면 사용 안 함)
+     * @param expirable 만료 대상 회원 (예: BASIC 등급만)
+     */
+    public ExpiringMemberRepository(MemberRepository delegate, Duration timeToIdle, Duration timeToLive,
+                                    Predicate<Member> expirable) {
+        this(delegate, timeToIdle, timeToLive, expirable, System::nanoTime);
+    }
+
+    /**
+     * @param delegate 실제 회원 저장소
+     * @param timeToIdle 마지막 저장/조회 후 만료까지 시간 (0이면 사용 안 함)
+     * @param timeToLive 마지막 저장 후 만료까지 시간 (0이면 사용 안 함)
+     * @param expirable 만료 대상 회원 (예: BASIC 등급만)
+     * @param nanoClock 현재 시각(나노초) 공급자
+     */
+    public ExpiringMemberRepository(MemberRepository delegate, Duration timeToIdle, Duration timeToLive,
+                                    Predicate<Member> expirable, LongSupplier nanoClock) {
+        if (timeToIdle.isNegative() || timeToLive.isNegative() || (timeToIdle.isZero() && timeToLive.isZero())) {
+            throw new IllegalArgumentException(
+                    "유휴 시간과 생존 시간은 0 이상이고 하나는 0보다 커야 합니다: " + timeToIdle + ", " + timeToLive);
+        }
+        this.delegate = delegate;
+        this.timeToIdle = timeToIdle.isZero() ? NEVER : timeToIdle.toNanos();
+        this.timeToLive = timeToLive.isZero() ? NEVER : timeToLive.toNanos();
+        this.expirable = expirable;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.wheel = new TimerWheel<>(Math.max(MIN_TICK_NANOS, Math.min(this.timeToIdle, this.timeToLive) / TimerWheel.BUCKETS));
+        for (int i = 0; i < STRIPES; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void save(Member member) {
+        long now = now();
+        Long id = member.getId();
+        Entry entry = null;
+        ReentrantLock lock = writeLock(id);
+        lock.lock();
+        try {
+            delegate.save(member);
+            entry = track(id, member, now);
+        } finally {
+            lock.unlock();
+        }
+        if (entry != null && !entry.scheduled) {
+            schedule(entry);
+        }
+        maybeExpire(now);
+    }
+
+    /**
+     * 회원 등급 조건부 변경
+     * 같은 회원의 쓰기는 모두 스트라이프 락을 잡으므로, 락 안에서 감싼 저장소를 읽고 확인한 뒤 저장하면 그사이 끼어드는 쓰기가 없다.
+     * 만료 시각이 지난 회원은 휠이 아직 회수하지 않았어도 없는 회원으로 보고 바꾸지 않는다.
+     * 바꾼 회원은 저장과 같이 다시 잰다. (VIP로 승급하면 만료에서 빠진다)
+     */
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        long now = now();
+        Entry entry;
+        Member changed;
+        ReentrantLock lock = writeLock(memberId);
+        lock.lock();
+        try {
+            Entry tracked = entries.get(memberId);
+            if (tracked != null && tracked.expiresAt(timeToIdle, timeToLive) <= now) {
+                return null;
+            }
+            Member current = delegate.findById(memberId);
+            if (current == null || current.getGrade() != expected) {
+                return current;
+            }
+            changed = new Member(memberId, current.getName(), grade);
+            delegate.save(changed);
+            entry = track(memberId, changed, now);
+        } finally {
+            lock.unlock();
+        }
+        if (entry != null && !entry.scheduled) {
+            schedule(entry);
+        }
+        maybeExpire(now);
+        return changed;
+    }
+
+    // 저장한 회원의 만료 항목 갱신 (스트라이프 락 안에서), 휠에 걸어야 할 항목을 돌려준다
+    private Entry track(Long id, Member member, long now) {
+        Entry current = entries.get(id);
+        if (!expirable.test(member)) {
+            if (current != null) {
+                current.removed = true;
+                entries.remove(id);
+            }
+            return null;
+        }
+        if (current == null) {
+            Entry entry = new Entry(id, now);
+            entries.put(id, entry);
+            return entry;
+        }
+        current.writtenAt = now;
+        current.accessedAt = now;
+        return current;
+    }
+
+    /**
+     * 회원 일괄 저장 (만료 판정과 엇갈리지 않도록 회원마다 저장한다)
+     * @param members 저장할 회원 목록
+     */
+    @Override
+    public void saveAll(Collection<Member> members) {
+        for (Member member : members) {
+            save(member);
+        }
+    }
+
+    @Override
+    public void delete(Long memberId) {
+        ReentrantLock lock = writeLock(memberId);
+        lock.lock();
+        try {
+            delegate.delete(memberId);
+            Entry current = entries.remove(memberId);
+            if (current != null) {
+                current.removed = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        long now = now();
+        Entry entry = entries.get(memberId);
+        if (entry != null) {
+            if (entry.expiresAt(timeToIdle, timeToLive) <= now) {
+                return null;
+            }
+            touch(entry, now);
+        }
+        maybeExpire(now);
+        return delegate.findById(memberId);
+    }
+
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        long now = now();
+        Map<Long, Member> found = delegate.findAllById(memberIds);
+        Map<Long, Member> live = new HashMap<>(Math.max(4, found.size() * 4 / 3 + 1));
+        for (Map.Entry<Long, Member> member : found.entrySet()) {
+            Entry entry = entries.get(member.getKey());
+            if (entry == null || entry.expiresAt(timeToIdle, timeToLive) > now) {
+                if (entry != null) {
+                    touch(entry, now);
+                }
+                live.put(member.getKey(), member.getValue());
+            }
+        }
+        maybeExpire(now);
+        return live;
+    }
+
+    /**
+     * 만료되지 않은 회원 순회 (순회는 유휴 시간을 늘리지 않는다)
+     */
+    @Override
+    public void forEach(Consumer<Member> action) {
+        long now = now();
+        delegate.forEach(member -> {
+            Entry entry = entries.get(member.getId());
+            if (entry == null || entry.expiresAt(timeToIdle, timeToLive) > now) {
+                action.accept(member);
+            }
+        });
+    }
+
+    /**
+     * 지금까지 마감된 회원을 모두 회수 (요청 스레드가 남긴 회수 대기열까지 비운다)
+     * 감싼 저장소의 삭제는 RECLAIM_BATCH개씩 휠 락을 놓고 하므로, 회수 중에도 휠 조작을 오래 막지 않는다.
+     * @return 만료로 지운 회원 수
+     */
+    public long cleanUp() {
+        long now = now();
+        long count = 0;
+        boolean advanced = false;
+        do {
+            List<Entry> candidates;
+            wheelLock.lock();
+            try {
+                if (!advanced) {
+                    advance(now);
+                    advanced = true;
+                }
+                candidates = takeDue();
+            } finally {
+                wheelLock.unlock();
+            }
+            count += reclaim(candidates, now);
+        } while (backlog);
+        return count;
+    }
+
+    /**
+     * 배경 회수 시작: 주기마다 데몬 스레드에서 cleanUp을 부른다 (close 시 멈춘다)
+     * 트래픽이 없어도 만료된 회원의 메모리를 돌려받으며, 회수 중 감싼 저장소에서 난 예외는 세어 두고 다음 주기에 다시 한다.
+     * @param interval 회수 주기
+     */
+    public synchronized void scheduleCleanUp(Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("회수 주기는 0보다 커야 합니다: " + interval);
+        }
+        if (cleaner != null) {
+            throw new IllegalStateException("배경 회수가 이미 시작되었습니다.");
+        }
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "member-expiry-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = Math.max(1, interval.toMillis());
+        cleaner.scheduleWithFixedDelay(this::backgroundCleanUp, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return 만료 대상으로 추적 중인 회원 수
+     */
+    public int trackedSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return 지금까지 만료로 지운 회원 수
+     */
+    public long expiredCount() {
+        return expired.sum();
+    }
+
+    /**
+     * @return 배경 회수가 예외로 끝난 횟수
+     */
+    public long cleanUpFailures() {
+        return cleanUpFailures.sum();
+    }
+
+    /**
+     * @return 배경 회수에서 마지막으로 난 예외 (없으면 null)
+     */
+    public RuntimeException lastFailure() {
+        return lastFailure;
+    }
+
+    private void backgroundCleanUp() {
+        try {
+            cleanUp();
+        } catch (RuntimeException e) {
+            // 예외가 예약 작업 밖으로 나가면 이후 주기가 모두 취소되므로 세어 두고 넘어간다
+            cleanUpFailures.increment();
+            lastFailure = e;
+        }
+    }
+
+    private long now() {
+        return nanoClock.getAsLong() - origin;
+    }
+
+    // 같은 틱 안의 반복 접근은 쓰지 않아 자주 조회하는 회원의 캐시 라인을 흔들지 않는다
+    private void touch(Entry entry, long now) {
+        if (timeToIdle != NEVER && now - entry.accessedAt >= wheel.tick()) {
+            entry.accessedAt = now;
+        }
+    }
+
+    private void schedule(Entry entry) {
+        wheelLock.lock();
+        try {
+            if (!entry.scheduled) {
+                entry.scheduled = true;
+                wheel.schedule(entry, entry.expiresAt(timeToIdle, timeToLive));
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    // 틱 하나가 지났거나 회수 대기열이 남았을 때만 들어간다 (다른 스레드가 돌리는 중이면 맡기고 넘어간다)
+    // 감싼 저장소의 삭제는 RECLAIM_BATCH개까지만 하고 나머지는 대기열에 남겨 다음 호출에 넘긴다
+    private void maybeExpire(long now) {
+        boolean ticked = now - advancedAt >= wheel.tick();
+        if ((!ticked && !backlog) || !wheelLock.tryLock()) {
+            return;
+        }
+        List<Entry> candidates;
+        try {
+            if (ticked) {
+                advance(now);
+            }
+            candidates = takeDue();
+        } finally {
+            wheelLock.unlock();
+        }
+        reclaim(candidates, now);
+    }
+
+    // 휠 락 안에서 휠을 돌린다 (만료된 것으로 보이는 항목은 onDue가 회수 대기열에 넣는다)
+    private void advance(long now) {
+        wheel.advance(now, expirer);
+        advancedAt = now;
+    }
+
+    // 휠 락 안에서 회수 대기열의 뒤에서부터 RECLAIM_BATCH개까지 꺼낸다
+    private List<Entry> takeDue() {
+        int size = due.size();
+        if (size == 0) {
+            backlog = false;
+            return List.of();
+        }
+        List<Entry> tail = due.subList(Math.max(0, size - RECLAIM_BATCH), size);
+        List<Entry> candidates = new ArrayList<>(tail);
+        tail.clear();
+        backlog = !due.isEmpty();
+        return candidates;
+    }
+
+    // 휠 락 안에서 호출된다 (감싼 저장소는 부르지 않는다)
+    private long onDue(Entry entry, long now) {
+        if (entry.removed) {
+            return TimerWheel.DROP;
+        }
+        long expiresAt = entry.expiresAt(timeToIdle, timeToLive);
+        if (expiresAt > now) {
+            return expiresAt;
+        }
+        // 휠에서 빼고 reclaim에 넘긴다 (그사이 접근되었으면 reclaim이 다시 건다)
+        entry.scheduled = false;
+        due.add(entry);
+        return TimerWheel.DROP;
+    }
+
+    // 휠 락 밖에서 호출된다: 회원마다 스트라이프 락 안에서 다시 확인하고 감싼 저장소에서 지운다
+    // 감싼 저장소가 실패하면 아직 못 지운 항목을 회수 대기열로 되돌리고 예외를 넘긴다
+    private long reclaim(List<Entry> candidates, long now) {
+        long count = 0;
+        int index = 0;
+        try {
+            for (; index < candidates.size(); index++) {
+                if (reclaim(candidates.get(index), now)) {
+                    count++;
+                }
+            }
+        } finally {
+            expired.add(count);
+            if (index < candidates.size()) {
+                requeue(candidates.subList(index, candidates.size()));
+            }
+        }
+        return count;
+    }
+
+    // 지웠으면 true (그사이 접근되었으면 휠에 다시 건다)
+    private boolean reclaim(Entry entry, long now) {
+        ReentrantLock lock = writeLock(entry.memberId);
+        lock.lock();
+        try {
+            // 그사이 지워졌거나 다시 가입해 다른 항목이 되었으면 그대로 둔다
+            if (entry.removed || entries.get(entry.memberId) != entry) {
+                return false;
+            }
+            if (entry.expiresAt(timeToIdle, timeToLive) <= now) {
+                delegate.delete(entry.memberId);
+                entries.remove(entry.memberId);
+                entry.removed = true;
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        schedule(entry);
+        return false;
+    }
+
+    private void requeue(List<Entry> unreclaimed) {
+        wheelLock.lock();
+        try {
+            due.addAll(unreclaimed);
+            backlog = true;
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private ReentrantLock writeLock(long memberId) {
+        return writeLocks[stripeIndex(memberId)];
+    }
+
+    static int stripeIndex(long memberId) {
+        // 연속된 회원 ID가 한 스트라이프에 몰리지 않도록 비트를 섞는다
+        long h = memberId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 58) & (STRIPES - 1);
+    }
+
+    @Override
+    public MemberRepository delegate() {
+        return delegate;
+    }
+
+    @Override
+    public SnapshotableMemberRepository snapshotable() {
+        return delegate.snapshotable() == null ? null : this;
+    }
+
+    /**
+     * 감싼 저장소의 특정 시점 뷰 (연 시각에 이미 만료된 회원은 빠진다)
+     * @return 특정 시점 뷰
+     * @throws UnsupportedOperationException 감싼 저장소가 스냅샷을 지원하지 않을 때
+     */
+    @Override
+    public MemberSnapshot openSnapshot() {
+        MemberSnapshot snapshot = snapshotStore().openSnapshot();
+        long openedAt = now();
+        return new MemberSnapshot() {
+            @Override
+            public int estimatedSize() {
+                return snapshot.estimatedSize();
+            }
+
+            @Override
+            public Member findById(Long memberId) {
+                Member member = snapshot.findById(memberId);
+                return member != null && liveAt(memberId, openedAt) ? member : null;
+            }
+
+            @Override
+            public void forEach(Consumer<Member> action) {
+                snapshot.forEach(member -> {
+                    if (liveAt(member.getId(), openedAt)) {
+                        action.accept(member);
+                    }
+                });
+            }
+
+            @Override
+            public void close() {
+                snapshot.close();
+            }
+        };
+    }
+
+    /**
+     * 감싼 저장소의 내용 교체 (트래픽을 받기 전에 복원한다)
+     * commit 시 기존 만료 항목을 모두 버리고, 적재된 만료 대상 회원을 복원 시각부터 다시 잰다.
+     * @param expectedSize 적재할 회원 수
+     * @return 적재기
+     * @throws UnsupportedOperationException 감싼 저장소가 스냅샷을 지원하지 않을 때
+     */
+    @Override
+    public MemberLoader beginRestore(long expectedSize) {
+        MemberLoader loader = snapshotStore().beginRestore(expectedSize);
+        return new MemberLoader() {
+            @Override
+            public void add(Member member) {
+                loader.add(member);
+            }
+
+            @Override
+            public void commit() {
+                loader.commit();
+                retrack();
+            }
+        };
+    }
+
+    private boolean liveAt(Long memberId, long time) {
+        Entry entry = entries.get(memberId);
+        return entry == null || entry.expiresAt(timeToIdle, timeToLive) > time;
+    }
+
+    private SnapshotableMemberRepository snapshotStore() {
+        SnapshotableMemberRepository store = delegate.snapshotable();
+        if (store == null) {
+            throw new UnsupportedOperationException(
+                    "감싼 저장소가 스냅샷을 지원하지 않습니다: " + delegate.getClass().getSimpleName());
+        }
+        return store;
+    }
+
+    // 휠에 걸린 기존 항목은 지움 표시로 휠이 버리게 하고, 복원된 내용으로 항목을 새로 만든다
+    private void retrack() {
+        long now = now();
+        for (Entry entry : entries.values()) {
+            entry.removed = true;
+        }
+        entries.clear();
+        delegate.forEach(member -> {
+            if (expirable.test(member)) {
+                Entry entry = new Entry(member.getId(), now);
+                entries.put(member.getId(), entry);
+                schedule(entry);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (cleaner != null) {
+                cleaner.shutdownNow();
+            }
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("회원 저장소를 닫지 못했습니다.", e);
+            }
+        }
+    }
+
+    /**
+     * 만료 대상 회원의 시각 기록 (휠 항목)
+     */
+    private static final class Entry extends TimerWheel.Node {
+
+        final long memberId;
+        volatile long writtenAt;
+        volatile long accessedAt;
+        volatile boolean removed;
+        // 휠 락 안에서 쓴다 (밖에서는 락을 잡을지 고르는 데만 읽는다)
+        boolean scheduled;
+
+        Entry(long memberId, long now) {
+            this.memberId = memberId;
+            this.writtenAt = now;
+            this.accessedAt = now;
+        }
+
+        long expiresAt(long timeToIdle, long timeToLive) {
+            return Math.min(saturatedAdd(accessedAt, timeToIdle), saturatedAdd(writtenAt, timeToLive));
+        }
+
+        private static long saturatedAdd(long time, long duration) {
+            return duration == NEVER ? NEVER : time + duration;
+        }
+    }
+}
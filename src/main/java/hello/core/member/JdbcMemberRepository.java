@@ -0,0 +1,315 @@
+package hello.core.member;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JDBC 회원 저장소 (H2 문법)
+ *
+ * - save: MERGE 한 번 (같은 ID면 덮어쓴다)
+ * - saveAll: 한 트랜잭션에서 준비된 문장 하나에 BATCH_SIZE씩 addBatch/executeBatch
+ * - findAllById: ID 배열 하나를 = ANY(?) 로 넘겨 한 번에 조회 (IN 목록 길이마다 다른 SQL이 생기지 않는다)
+ *
+ * 준비된 문장 재사용: SQL 문자열이 고정되어 있어 드라이버의 세션별 쿼리 캐시(H2 QUERY_CACHE_SIZE)가
+ * 커넥션마다 한 번만 파싱한다. 커넥션은 HikariCP 풀에서 빌려 쓰고 바로 돌려준다.
+ */
+public class JdbcMemberRepository implements MemberRepository, AutoCloseable {
+
+    static final int BATCH_SIZE = 1000;
+
+    // 이름과 등급은 다른 저장소처럼 null도, 길이 제한 없는 이름도 받는다
+    // (한 저장소만 거부하면 쓰기 지연 뒤에서는 저장이 이미 성공한 뒤에 기록이 실패한다)
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS member (
+                id BIGINT PRIMARY KEY,
+                name CHARACTER VARYING,
+                grade VARCHAR(16)
+            )""";
+    // 이전 스키마(name VARCHAR(255) NOT NULL, grade NOT NULL)로 만든 테이블을 맞추는 문장
+    private static final String WIDEN_NAME = "ALTER TABLE member ALTER COLUMN name SET DATA TYPE CHARACTER VARYING";
+    private static final String NULLABLE_NAME = "ALTER TABLE member ALTER COLUMN name SET NULL";
+    private static final String NULLABLE_GRADE = "ALTER TABLE member ALTER COLUMN grade SET NULL";
+    // 길이를 정하지 않은 H2 CHARACTER VARYING의 최대 길이
+    private static final int UNBOUNDED_LENGTH = 1_000_000_000;
+    private static final String UPSERT = "MERGE INTO member (id, name, grade) KEY (id) VALUES (?, ?, ?)";
+    private static final String FIND = "SELECT name, grade FROM member WHERE id = ?";
+    private static final String FIND_ALL = "SELECT id, name, grade FROM member WHERE id = ANY(?)";
+    private static final String SCAN = "SELECT id, name, grade FROM member";
+    private static final String DELETE = "DELETE FROM member WHERE id = ?";
+    private static final String CHANGE_GRADE = "UPDATE member SET grade = ? WHERE id = ? AND grade = ?";
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private static final Grade[] GRADES = Grade.values();
+
+    private final DataSource dataSource;
+    private final boolean ownsDataSource;
+
+    /**
+     * 생성자를 통한 의존성 주입 (테이블이 없으면 만든다)
+     * @param dataSource 데이터 소스 (닫는 책임은 호출자에게 있다)
+     */
+    public JdbcMemberRepository(DataSource dataSource) {
+        this(dataSource, false);
+    }
+
+    private JdbcMemberRepository(DataSource dataSource, boolean ownsDataSource) {
+        this.dataSource = dataSource;
+        this.ownsDataSource = ownsDataSource;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+            migrate(connection, statement);
+        } catch (SQLException e) {
+            throw new IllegalStateException("회원 테이블을 만들지 못했습니다.", e);
+        }
+    }
+
+    // 이전 스키마로 만든 테이블만 고친다 (열 타입 변경은 테이블을 다시 쓰므로 필요할 때만)
+    private static void migrate(Connection connection, Statement statement) throws SQLException {
+        boolean widenName = false;
+        boolean nullableName = false;
+        boolean nullableGrade = false;
+        try (ResultSet columns = connection.getMetaData().getColumns(null, connection.getSchema(), "MEMBER", null)) {
+            while (columns.next()) {
+                boolean notNull = columns.getInt("NULLABLE") == DatabaseMetaData.columnNoNulls;
+                switch (columns.getString("COLUMN_NAME")) {
+                    case "NAME" -> {
+                        widenName = columns.getInt("COLUMN_SIZE") < UNBOUNDED_LENGTH;
+                        nullableName = notNull;
+                    }
+                    case "GRADE" -> nullableGrade = notNull;
+                    default -> {
+                    }
+                }
+            }
+        }
+        if (widenName) {
+            statement.execute(WIDEN_NAME);
+        }
+        if (nullableName) {
+            statement.execute(NULLABLE_NAME);
+        }
+        if (nullableGrade) {
+            statement.execute(NULLABLE_GRADE);
+        }
+    }
+
+    /**
+     * 커넥션 풀을 직접 만들어 쓰는 저장소 (close 시 풀도 닫는다)
+     * 풀 크기는 고정(최소 = 최대)이며, 임베디드 H2는 CPU 수 정도면 충분하다.
+     *
+     * @param jdbcUrl JDBC URL (예: jdbc:h2:file:./build/db/members, 메모리 DB는 ;DB_CLOSE_DELAY=-1 필요)
+     * @param poolSize 커넥션 수
+     * @return JDBC 회원 저장소
+     */
+    public static JdbcMemberRepository pooled(String jdbcUrl, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("member-jdbc");
+        config.setJdbcUrl(jdbcUrl);
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setConnectionTimeout(2_000);
+        config.setValidationTimeout(1_000);
+        config.setAutoCommit(true);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        try {
+            return new JdbcMemberRepository(dataSource, true);
+        } catch (RuntimeException e) {
+            dataSource.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void save(Member member) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+            bind(statement, member);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("회원을 저장하지 못했습니다: " + member.getId(), e);
+        }
+    }
+
+    /**
+     * 한 트랜잭션에서 배치로 저장 (실패하면 전체 롤백)
+     * @param members 저장할 회원 목록
+     */
+    @Override
+    public void saveAll(Collection<Member> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                int pending = 0;
+                for (Member member : members) {
+                    bind(statement, member);
+                    statement.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("회원 " + members.size() + "명을 저장하지 못했습니다.", e);
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(FIND)) {
+            statement.setLong(1, memberId);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() ? new Member(memberId, rows.getString(1), grade(rows.getString(2))) : null;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("회원을 조회하지 못했습니다: " + memberId, e);
+        }
+    }
+
+    /**
+     * ID 배열 하나로 한 번에 조회
+     */
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        Map<Long, Member> found = new HashMap<>(memberIds.size() * 4 / 3 + 1);
+        if (memberIds.isEmpty()) {
+            return found;
+        }
+        Long[] ids = new Long[memberIds.size()];
+        Iterator<Long> iterator = memberIds.iterator();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = iterator.next();
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(FIND_ALL)) {
+            Array array = connection.createArrayOf("BIGINT", ids);
+            try {
+                statement.setArray(1, array);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        long id = rows.getLong(1);
+                        found.put(id, new Member(id, rows.getString(2), grade(rows.getString(3))));
+                    }
+                }
+            } finally {
+                array.free();
+            }
+            return found;
+        } catch (SQLException e) {
+            throw new IllegalStateException("회원 " + ids.length + "명을 조회하지 못했습니다.", e);
+        }
+    }
+
+    /**
+     * 등급 조건을 WHERE에 둔 UPDATE 한 번으로 확인과 변경을 함께 한다 (행 락 안에서 비교)
+     * 바꾼 행이 없으면 (없는 회원이거나 등급이 다르면) 지금 값을 다시 읽어 돌려준다.
+     */
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(CHANGE_GRADE)) {
+                statement.setString(1, grade.name());
+                statement.setLong(2, memberId);
+                statement.setString(3, expected.name());
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(FIND)) {
+                statement.setLong(1, memberId);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next() ? new Member(memberId, rows.getString(1), grade(rows.getString(2))) : null;
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("회원 등급을 바꾸지 못했습니다: " + memberId, e);
+        }
+    }
+
+    @Override
+    public void delete(Long memberId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setLong(1, memberId);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("회원을 삭제하지 못했습니다: " + memberId, e);
+        }
+    }
+
+    /**
+     * 전체 테이블을 커서로 읽으며 순회 (한 번에 SCAN_FETCH_SIZE 행씩 가져온다)
+     */
+    @Override
+    public void forEach(Consumer<Member> action) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SCAN)) {
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    action.accept(new Member(rows.getLong(1), rows.getString(2), grade(rows.getString(3))));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("회원 목록을 읽지 못했습니다.", e);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Member member) throws SQLException {
+        statement.setLong(1, member.getId());
+        statement.setString(2, member.getName());
+        statement.setString(3, member.getGrade() == null ? null : member.getGrade().name());
+    }
+
+    private static Grade grade(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (Grade grade : GRADES) {
+            if (grade.name().equals(name)) {
+                return grade;
+            }
+        }
+        throw new IllegalStateException("알 수 없는 등급: " + name);
+    }
+
+    /**
+     * 직접 만든 커넥션 풀이면 닫는다
+     */
+    @Override
+    public void close() {
+        if (ownsDataSource && dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("커넥션 풀을 닫지 못했습니다.", e);
+            }
+        }
+    }
+}
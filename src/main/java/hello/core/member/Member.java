@@ -38,6 +38,16 @@ public class Member {
         this.grade = grade;
     }
 
+    /**
+     * 이름을 필요할 때 만드는 하위 클래스용 생성자 (getName()을 재정의한다)
+     * 저장소가 이름을 압축해 두고, 이름을 읽지 않는 조회(주문의 등급 확인 등)에서는 String을 만들지 않기 위한 것이다.
+     * @param id 회원 ID
+     * @param grade 회원 등급
+     */
+    protected Member(Long id, Grade grade) {
+        this(id, null, grade);
+    }
+
     /**
      * 회원 ID 반환
      * @return 회원 ID
@@ -47,7 +57,7 @@ public class Member {
     }
 
     /**
-     * 회원 이름 반환
+     * 회원 이름 반환 (하위 클래스는 호출될 때 만들어 돌려줄 수 있다)
      * @return 회원 이름
      */
     public String getName() {
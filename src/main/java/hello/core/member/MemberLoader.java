@@ -0,0 +1,19 @@
+package hello.core.member;
+
+/**
+ * 저장소 내용을 통째로 교체하는 적재기
+ * 여러 스레드가 동시에 add할 수 있으며, commit 전까지는 기존 내용이 그대로 보인다.
+ */
+public interface MemberLoader {
+
+    /**
+     * 새 내용에 회원 추가 (스레드 안전)
+     * @param member 회원
+     */
+    void add(Member member);
+
+    /**
+     * 기존 내용을 새 내용으로 한 번에 교체
+     */
+    void commit();
+}
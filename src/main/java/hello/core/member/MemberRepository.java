@@ -1,5 +1,10 @@
 package hello.core.member;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
 /**
  * 회원 저장소 인터페이스
  * 회원 데이터 저장 및 조회 기능을 정의하는 계약
@@ -18,4 +23,86 @@ public interface MemberRepository {
      * @return 조회된 회원 정보, 없으면 null
      */
     Member findById(Long memberId);
+
+    /**
+     * 회원 일괄 저장
+     * 기본 구현은 한 건씩 저장하며, 일괄 처리가 유리한 저장소는 재정의한다.
+     * @param members 저장할 회원 목록
+     */
+    default void saveAll(Collection<Member> members) {
+        for (Member member : members) {
+            save(member);
+        }
+    }
+
+    /**
+     * 회원 일괄 조회
+     * 기본 구현은 한 건씩 조회하며, 한 번에 가져오는 것이 유리한 저장소(JDBC 등)는 재정의한다.
+     * @param memberIds 조회할 회원 ID 목록
+     * @return 회원 ID별 회원 정보 (없는 회원은 제외)
+     */
+    default Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        Map<Long, Member> found = new HashMap<>(memberIds.size() * 4 / 3 + 1);
+        for (Long memberId : memberIds) {
+            Member member = findById(memberId);
+            if (member != null) {
+                found.put(memberId, member);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 회원 삭제
+     * 없는 회원이면 아무 일도 하지 않는다.
+     * @param memberId 삭제할 회원 ID
+     */
+    void delete(Long memberId);
+
+    /**
+     * 회원 등급 조건부 변경
+     * 저장된 회원의 등급이 expected일 때만 이름은 그대로 두고 등급을 grade로 바꾼다.
+     * 회원이 없거나 등급이 다르면 바꾸지 않는다. (그사이 삭제된 회원을 되살리거나, 바뀐 이름을 이전 값으로 덮어쓰지 않는다)
+     * 기본 구현은 조회 후 저장이라 원자적이지 않으며, 동시 쓰기가 있는 저장소는 확인과 변경을 한 번에 하도록 재정의한다.
+     * @param memberId 회원 ID
+     * @param expected 바꾸기 전 등급
+     * @param grade 바꿀 등급
+     * @return 호출 후 저장된 회원 (바꿨으면 바꾼 회원), 없으면 null
+     */
+    default Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        Member member = findById(memberId);
+        if (member == null || member.getGrade() != expected) {
+            return member;
+        }
+        Member changed = new Member(memberId, member.getName(), grade);
+        save(changed);
+        return changed;
+    }
+
+    /**
+     * 저장된 모든 회원 순회
+     * 순회 중의 변경은 보일 수도, 안 보일 수도 있다. (일관된 시점이 필요하면 SnapshotableMemberRepository)
+     * @param action 회원마다 실행할 동작
+     */
+    void forEach(Consumer<Member> action);
+
+    /**
+     * 데코레이터가 감싼 저장소
+     * JFR 이벤트의 저장소 종류처럼 맨 안쪽 저장소를 알아야 할 때 따라 내려간다.
+     * @return 감싼 저장소, 데코레이터가 아니면 null
+     */
+    default MemberRepository delegate() {
+        return null;
+    }
+
+    /**
+     * 스냅샷/복원을 지원하는 저장소로 보기
+     * 기본 구현은 데코레이터를 따라 내려가 감싼 저장소에 묻는다. (JFR, 변경 발행처럼 내용을 바꾸지 않는 데코레이터)
+     * 스냅샷 저장소는 자신을, 만료/샤드 저장소는 감싼 저장소가 지원할 때만 자신을 돌려준다.
+     * @return 스냅샷을 지원하는 저장소, 지원하지 않으면 null
+     */
+    default SnapshotableMemberRepository snapshotable() {
+        MemberRepository wrapped = delegate();
+        return wrapped == null ? null : wrapped.snapshotable();
+    }
 }
@@ -1,5 +1,9 @@
 package hello.core.member;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 회원 서비스 인터페이스
  * 회원 관련 비즈니스 로직을 정의하는 계약
@@ -18,4 +22,30 @@ public interface MemberService {
      * @return 조회된 회원 정보
      */
     Member findMember(Long memberId);
+
+    /**
+     * 회원 일괄 가입
+     * @param members 가입할 회원 목록
+     */
+    default void joinAll(Collection<Member> members) {
+        for (Member member : members) {
+            join(member);
+        }
+    }
+
+    /**
+     * 회원 일괄 조회
+     * @param memberIds 조회할 회원 ID 목록
+     * @return 조회된 회원 목록 (없는 회원은 제외, 요청 순서 유지)
+     */
+    default List<Member> findMembers(Collection<Long> memberIds) {
+        List<Member> members = new ArrayList<>(memberIds.size());
+        for (Long memberId : memberIds) {
+            Member member = findMember(memberId);
+            if (member != null) {
+                members.add(member);
+            }
+        }
+        return members;
+    }
 }
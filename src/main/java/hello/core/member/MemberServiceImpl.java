@@ -1,5 +1,10 @@
 package hello.core.member;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 회원 서비스 구현체
  * 회원 관련 비즈니스 로직을 처리하는 클래스
@@ -37,4 +42,31 @@ public class MemberServiceImpl implements MemberService {
     public Member findMember(Long memberId) {
         return memberRepository.findById(memberId);
     }
+
+    /**
+     * 회원 일괄 가입 처리 (저장소 일괄 저장 한 번)
+     * @param members 가입할 회원 목록
+     */
+    @Override
+    public void joinAll(Collection<Member> members) {
+        memberRepository.saveAll(members);
+    }
+
+    /**
+     * 회원 일괄 조회 처리 (저장소 일괄 조회 한 번, 요청 순서 유지)
+     * @param memberIds 조회할 회원 ID 목록
+     * @return 조회된 회원 목록 (없는 회원은 제외)
+     */
+    @Override
+    public List<Member> findMembers(Collection<Long> memberIds) {
+        Map<Long, Member> found = memberRepository.findAllById(memberIds);
+        List<Member> members = new ArrayList<>(found.size());
+        for (Long memberId : memberIds) {
+            Member member = found.get(memberId);
+            if (member != null) {
+                members.add(member);
+            }
+        }
+        return members;
+    }
 }
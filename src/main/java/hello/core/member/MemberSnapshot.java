@@ -0,0 +1,35 @@
+package hello.core.member;
+
+import java.util.function.Consumer;
+
+/**
+ * 회원 저장소의 특정 시점 뷰
+ * 스냅샷을 연 순간의 회원만 보이며, 그 뒤의 가입/변경은 보이지 않는다.
+ * 뷰가 열려 있는 동안 저장소는 변경 전 값을 따로 보관하므로 다 쓰면 반드시 닫아야 한다.
+ */
+public interface MemberSnapshot extends AutoCloseable {
+
+    /**
+     * @return 스냅샷을 연 시점의 대략적인 회원 수 (배열 크기 예측용)
+     */
+    int estimatedSize();
+
+    /**
+     * 스냅샷 시점의 회원 조회
+     * @param memberId 회원 ID
+     * @return 그 시점의 회원, 없었으면 null
+     */
+    Member findById(Long memberId);
+
+    /**
+     * 스냅샷 시점의 회원을 하나씩 전달 (순서 없음)
+     * @param action 회원마다 호출할 동작
+     */
+    void forEach(Consumer<Member> action);
+
+    /**
+     * 변경 전 값 보관을 멈추고 뷰를 닫는다
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,146 @@
+package hello.core.member;
+
+import hello.core.replication.ReplicatedMemberRepository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * 설정(시스템 속성)에 따라 회원 저장소 구성
+ * AppConfig / FastStartAppConfig / FunctionalAppConfig가 같은 구성을 쓰도록 한곳에 모은다.
+ *
+ * -Dcore.member.jdbc-url 이 없으면 메모리 저장소,
+ * 있으면 조회 캐시 -> 쓰기 지연 -> JDBC 순으로 감싼 저장소를 만든다.
+ *   -Dcore.member.jdbc-pool-size=10      커넥션 수
+ *   -Dcore.member.cache-size=65536       조회 캐시 슬롯 수 (0이면 캐시 없음)
+ *   -Dcore.member.write-behind=true      쓰기 지연 사용 여부
+ *
+ * -Dcore.member.mvcc=true 이면 메모리 저장소(샤드 포함)를 다중 버전 저장소로 만든다. (MvccMemberRepository)
+ *   오래 걸리는 읽기가 스냅샷을 고정해 가입을 막지 않고 일관된 뷰를 본다.
+ *
+ * -Dcore.member.name-dictionary=true 이면 메모리 저장소(샤드 포함)를 이름 사전 저장소로 만든다. (DictionaryMemberRepository)
+ *   이름을 한 번만 저장하고 회원에게는 코드만 두어 회원 수가 많을 때 힙을 줄인다. 샤드는 사전 하나를 나눠 쓴다.
+ *   다중 버전 저장소나 만료(아래 유휴/생존 시간)와 함께 쓸 수 없으며, 스냅샷(SnapshotConfig)을 지원하지 않는다.
+ *   (사전은 이름을 지우지 않으므로 만료로 회원을 비워도 이름이 계속 쌓인다)
+ *
+ * -Dcore.member.shards=N (N > 1) 이면 저장소를 N개 샤드로 나눈다. (ShardedMemberRepository)
+ *   메모리 저장소는 샤드마다 독립된 저장 공간을 쓰며, 스냅샷(SnapshotConfig)은 샤드별 뷰를 합쳐 기록한다.
+ *   JDBC는 URL의 {shard} 자리에 샤드 번호를 넣어 샤드마다 쓰기 지연 -> JDBC를 따로 만들고, 조회 캐시는 맨 앞에 하나 둔다.
+ *
+ * -Dcore.member.replicas=N (N > 0) 이면 메모리 주 저장소 + 복제본 N개로 읽기를 나눈다. (ReplicatedMemberRepository)
+ *   -Dcore.member.replica-staleness-ms=100   복제본에서 읽어도 되는 최대 지연
+ *   JDBC/샤드와 함께 쓸 수 없으며, 스냅샷(SnapshotConfig)을 지원하지 않는다.
+ *
+ * -Dcore.member.time-to-idle-ms / -Dcore.member.time-to-live-ms 중 하나라도 0보다 크면
+ * 위 저장소를 만료 데코레이터로 감싸 BASIC 회원을 유휴/생존 시간이 지나면 지운다. (ExpiringMemberRepository)
+ *   -Dcore.member.expiry-cleanup-ms=1000   배경 회수 주기 (0이면 저장/조회 때만 조금씩 회수)
+ */
+public final class MemberStores {
+
+    public static final String JDBC_URL_PROPERTY = "core.member.jdbc-url";
+    public static final String JDBC_POOL_SIZE_PROPERTY = "core.member.jdbc-pool-size";
+    public static final String CACHE_SIZE_PROPERTY = "core.member.cache-size";
+    public static final String WRITE_BEHIND_PROPERTY = "core.member.write-behind";
+    public static final String SHARDS_PROPERTY = "core.member.shards";
+    public static final String SHARD_PLACEHOLDER = "{shard}";
+    public static final String MVCC_PROPERTY = "core.member.mvcc";
+    public static final String REPLICAS_PROPERTY = "core.member.replicas";
+    public static final String REPLICA_STALENESS_PROPERTY = "core.member.replica-staleness-ms";
+    public static final String TIME_TO_IDLE_PROPERTY = "core.member.time-to-idle-ms";
+    public static final String TIME_TO_LIVE_PROPERTY = "core.member.time-to-live-ms";
+    public static final String EXPIRY_CLEANUP_PROPERTY = "core.member.expiry-cleanup-ms";
+    public static final String NAME_DICTIONARY_PROPERTY = "core.member.name-dictionary";
+
+    private MemberStores() {
+    }
+
+    /**
+     * @param writeBehindLag 쓰기 지연 저장소의 변경별 대기 시간 기록기
+     * @return 회원 저장소 (닫을 자원이 있으면 AutoCloseable)
+     */
+    public static MemberRepository fromSystemProperties(LongConsumer writeBehindLag) {
+        long timeToIdle = Long.getLong(TIME_TO_IDLE_PROPERTY, 0);
+        long timeToLive = Long.getLong(TIME_TO_LIVE_PROPERTY, 0);
+        if ((timeToIdle > 0 || timeToLive > 0) && Boolean.getBoolean(NAME_DICTIONARY_PROPERTY)) {
+            // 사전은 이름을 지우지 않으므로, 만료로 회원을 비워도 손님 이름이 사전에 계속 쌓인다
+            throw new IllegalArgumentException("이름 사전 저장소는 만료(유휴/생존 시간)와 함께 쓸 수 없습니다.");
+        }
+        MemberRepository store = baseStore(writeBehindLag);
+        if (timeToIdle <= 0 && timeToLive <= 0) {
+            return store;
+        }
+        ExpiringMemberRepository expiring = new ExpiringMemberRepository(store, Duration.ofMillis(Math.max(0, timeToIdle)),
+                Duration.ofMillis(Math.max(0, timeToLive)), member -> member.getGrade() == Grade.BASIC);
+        long cleanUpInterval = Long.getLong(EXPIRY_CLEANUP_PROPERTY, 1000);
+        if (cleanUpInterval > 0) {
+            expiring.scheduleCleanUp(Duration.ofMillis(cleanUpInterval));
+        }
+        return expiring;
+    }
+
+    private static MemberRepository baseStore(LongConsumer writeBehindLag) {
+        String jdbcUrl = System.getProperty(JDBC_URL_PROPERTY);
+        int shards = Integer.getInteger(SHARDS_PROPERTY, 1);
+        int replicas = Integer.getInteger(REPLICAS_PROPERTY, 0);
+        if (replicas > 0) {
+            if (jdbcUrl != null || shards > 1) {
+                throw new IllegalArgumentException("복제는 메모리 저장소 하나일 때만 쓸 수 있습니다. (JDBC/샤드와 함께 쓸 수 없음)");
+            }
+            return ReplicatedMemberRepository.inMemory(replicas,
+                    Duration.ofMillis(Long.getLong(REPLICA_STALENESS_PROPERTY, 100)));
+        }
+        if (jdbcUrl == null) {
+            boolean mvcc = Boolean.getBoolean(MVCC_PROPERTY);
+            NameDictionary names = Boolean.getBoolean(NAME_DICTIONARY_PROPERTY) ? new NameDictionary() : null;
+            if (mvcc && names != null) {
+                throw new IllegalArgumentException("이름 사전 저장소는 다중 버전 저장소와 함께 쓸 수 없습니다.");
+            }
+            if (shards <= 1) {
+                if (names != null) {
+                    return new DictionaryMemberRepository(names);
+                }
+                return mvcc ? new MvccMemberRepository() : new MemoryMemberRepository();
+            }
+            Map<String, MemberRepository> memoryShards = new LinkedHashMap<>();
+            for (int i = 0; i < shards; i++) {
+                MemberRepository shard;
+                if (names != null) {
+                    shard = new DictionaryMemberRepository(names);
+                } else {
+                    shard = mvcc ? new MvccMemberRepository() : MemoryMemberRepository.isolated();
+                }
+                memoryShards.put("shard-" + i, shard);
+            }
+            return new ShardedMemberRepository(memoryShards);
+        }
+        MemberRepository store;
+        if (shards <= 1) {
+            store = jdbcStore(jdbcUrl, writeBehindLag);
+        } else {
+            if (!jdbcUrl.contains(SHARD_PLACEHOLDER)) {
+                throw new IllegalArgumentException("샤드를 나누려면 JDBC URL에 " + SHARD_PLACEHOLDER + " 자리가 필요합니다: " + jdbcUrl);
+            }
+            Map<String, MemberRepository> jdbcShards = new LinkedHashMap<>();
+            for (int i = 0; i < shards; i++) {
+                jdbcShards.put("shard-" + i, jdbcStore(jdbcUrl.replace(SHARD_PLACEHOLDER, String.valueOf(i)), writeBehindLag));
+            }
+            store = new ShardedMemberRepository(jdbcShards);
+        }
+        int cacheSize = Integer.getInteger(CACHE_SIZE_PROPERTY, 65_536);
+        if (cacheSize > 0) {
+            store = new CachingMemberRepository(store, cacheSize);
+        }
+        return store;
+    }
+
+    private static MemberRepository jdbcStore(String jdbcUrl, LongConsumer writeBehindLag) {
+        MemberRepository store = JdbcMemberRepository.pooled(jdbcUrl,
+                Integer.getInteger(JDBC_POOL_SIZE_PROPERTY, 10));
+        if (Boolean.parseBoolean(System.getProperty(WRITE_BEHIND_PROPERTY, "true"))) {
+            store = new WriteBehindMemberRepository(store, 100_000, 1_000, Duration.ofMillis(50), writeBehindLag);
+        }
+        return store;
+    }
+}
@@ -1,13 +1,25 @@
 package hello.core.member;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * 메모리에 회원 정보를 저장하는 구현체
- * 실제 데이터베이스 대신 HashMap을 사용하여 메모리에 저장
+ * 실제 데이터베이스 대신 ConcurrentHashMap을 사용하여 메모리에 저장
+ *
+ * 스냅샷: 뷰가 열려 있는 동안 저장은 compute 안에서 (같은 키의 버킷 락을 잡은 채) 바뀌기 전 값을 한 번만 보관한다.
+ * 뷰는 현재 값을 읽은 뒤 보관된 변경 전 값이 있으면 그것을 쓰므로, 가입을 멈추지 않고도 연 시점의 내용을 본다.
+ * 보관은 compute 안에서 새 값보다 먼저 일어나므로, 뷰가 새 값을 보았다면 변경 전 값도 반드시 보인다.
+ * 뷰가 열려 있는 동안의 삭제는 키를 지우지 않고 삭제 표시(DELETED)로 바꾼다. 키가 맵에 남아 있으므로 뷰는 한 번 훑어
+ * 삭제된 회원의 변경 전 값도 정확히 한 번 본다. 삭제 표시는 조회/순회에서 없는 회원으로 보이며, 마지막 뷰를 닫을 때 지운다.
+ * 뷰는 여러 개를 동시에 열 수 있다. (스냅샷 기록, 재계산 작업, 복제본 따라잡기가 겹쳐도 된다)
+ * 열린 뷰 목록은 쓰기 시 복사하는 배열이라, 저장은 락 없이 읽고 열린 뷰마다 변경 전 값을 보관한다.
  */
-public class MemoryMemberRepository implements MemberRepository {
+public class MemoryMemberRepository implements SnapshotableMemberRepository {
 
     // 메모리에 회원 정보를 저장하는 Map
     // Key: 회원 ID, Value: 회원 객체
@@ -28,13 +40,33 @@ public class MemoryMemberRepository implements MemberRepository {
     // HashMap은 동기화가 되어 있지 않아 멀티스레드 환경에서 사용할 때 문제가 생길 수 있으나,
     // ConcurrentHashMap은 내부적으로 세그먼트나 락 분할 등 최적화를 통해 동시성을 지원합니다.
     //
-    // 일반적으로 서버, 웹 애플리케이션 등 여러 스레드가 동시에 Map에 접근하는 환경이라면 HashMap 대신 ConcurrentHashMap을 사용해야 안전합니다.
-    // 예시:
-    // private static Map<Long, Member> store = new ConcurrentHashMap<>();
+    // 주문 처리 중 등급 승급(GradePromotionListener)이 저장소를 갱신하므로,
+    // 주문 스레드의 조회와 승급 저장이 동시에 일어날 수 있어 ConcurrentHashMap을 사용합니다.
     //
-    // 하지만 여기 MemoryMemberRepository는 예제로 단일 스레드나 테스트 용도로 설계되어 HashMap을 사용합니다.
-    // 실제 멀티스레드 환경에서는 ConcurrentHashMap 사용을 고려해야 합니다.
-    private static Map<Long, Member> store = new HashMap<>();
+    // 기본 생성자로 만든 인스턴스는 모두 같은 저장 공간(SHARED)을 본다.
+    // 샤드처럼 서로 독립된 저장소가 여러 개 필요하면 isolated()로 만든다.
+    private static final Storage SHARED = new Storage();
+
+    // 스냅샷이 열려 있는 동안 삭제한 회원 자리 (없는 회원으로 본다)
+    private static final Member DELETED = new Member(Long.MIN_VALUE, null, null);
+
+    private final Storage storage;
+
+    public MemoryMemberRepository() {
+        this(SHARED);
+    }
+
+    private MemoryMemberRepository(Storage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * 다른 인스턴스와 공유하지 않는 저장 공간을 가진 저장소 생성
+     * @return 독립된 메모리 저장소
+     */
+    public static MemoryMemberRepository isolated() {
+        return new MemoryMemberRepository(new Storage());
+    }
 
     /**
      * 회원 정보를 메모리에 저장
@@ -42,7 +74,26 @@ public class MemoryMemberRepository implements MemberRepository {
      */
     @Override
     public void save(Member member) {
-        store.put(member.getId(), member);
+        // 스냅샷 여부는 버킷 락 안에서 확인해야 "확인 후 저장" 사이에 스냅샷이 열리는 경쟁이 없다
+        storage.members.compute(member.getId(), (id, previous) -> {
+            capture(id, previous == DELETED ? null : previous);
+            return member;
+        });
+    }
+
+    /**
+     * 회원 등급 조건부 변경 (같은 키의 버킷 락 안에서 확인하고 바꾼다)
+     */
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        Member current = storage.members.computeIfPresent(memberId, (id, previous) -> {
+            if (previous == DELETED || previous.getGrade() != expected) {
+                return previous;
+            }
+            capture(id, previous);
+            return new Member(id, previous.getName(), grade);
+        });
+        return current == DELETED ? null : current;
     }
 
     /**
@@ -52,6 +103,192 @@ public class MemoryMemberRepository implements MemberRepository {
      */
     @Override
     public Member findById(Long memberId) {
-        return store.get(memberId);
+        Member member = storage.members.get(memberId);
+        return member == DELETED ? null : member;
+    }
+
+    /**
+     * 회원 삭제 (스냅샷이 열려 있으면 삭제 전 값을 보관하고 키 자리에 삭제 표시를 남긴다)
+     * @param memberId 삭제할 회원 ID
+     */
+    @Override
+    public void delete(Long memberId) {
+        storage.members.computeIfPresent(memberId, (id, previous) -> {
+            if (storage.activeSnapshots.length == 0) {
+                return null;
+            }
+            if (previous != DELETED) {
+                capture(id, previous);
+            }
+            return DELETED;
+        });
+    }
+
+    /**
+     * 저장된 모든 회원 순회 (순회 중의 변경은 보일 수도, 안 보일 수도 있다)
+     * @param action 회원마다 실행할 동작
+     */
+    @Override
+    public void forEach(Consumer<Member> action) {
+        storage.members.values().forEach(member -> {
+            if (member != DELETED) {
+                action.accept(member);
+            }
+        });
+    }
+
+    // 열린 뷰마다 변경 전 값 보관 (같은 키의 버킷 락 안에서 부른다)
+    private void capture(Long id, Member previous) {
+        for (PreImages snapshot : storage.activeSnapshots) {
+            snapshot.capture(id, previous);
+        }
+    }
+
+    /**
+     * 지금 시점의 뷰 열기 (이미 열린 뷰가 있어도 된다)
+     * @return 특정 시점 뷰
+     */
+    @Override
+    public MemberSnapshot openSnapshot() {
+        synchronized (storage) {
+            PreImages preImages = new PreImages(storage);
+            PreImages[] active = Arrays.copyOf(storage.activeSnapshots, storage.activeSnapshots.length + 1);
+            active[active.length - 1] = preImages;
+            storage.activeSnapshots = active;
+            return preImages;
+        }
+    }
+
+    /**
+     * 미리 크기를 잡은 새 맵에 적재한 뒤 commit 시 저장소를 교체
+     * 교체 전에 기존 맵에 저장된 회원은 새 내용에 포함되지 않으므로 트래픽을 받기 전에 복원한다.
+     * @param expectedSize 적재할 회원 수
+     * @return 적재기
+     */
+    @Override
+    public MemberLoader beginRestore(long expectedSize) {
+        // 기본 적재율 0.75에서 재해싱이 없도록 용량을 잡는다
+        int capacity = (int) Math.min(Integer.MAX_VALUE, expectedSize * 4 / 3 + 1);
+        ConcurrentHashMap<Long, Member> restored = new ConcurrentHashMap<>(capacity);
+        return new MemberLoader() {
+            @Override
+            public void add(Member member) {
+                restored.put(member.getId(), member);
+            }
+
+            @Override
+            public void commit() {
+                synchronized (storage) {
+                    if (storage.activeSnapshots.length != 0) {
+                        throw new IllegalStateException("스냅샷이 열려 있는 동안에는 복원할 수 없습니다.");
+                    }
+                    storage.members = restored;
+                }
+            }
+        };
+    }
+
+    /**
+     * 저장 공간
+     * 복원(beginRestore/commit) 시 미리 크기를 잡은 새 맵으로 통째로 교체하므로 volatile이다.
+     */
+    private static final class Storage {
+
+        private static final PreImages[] NONE = new PreImages[0];
+
+        volatile Map<Long, Member> members = new ConcurrentHashMap<>();
+
+        // 열려 있는 스냅샷의 변경 전 값 보관소 (바꿀 때는 storage 락 안에서 새 배열로 교체)
+        volatile PreImages[] activeSnapshots = NONE;
+
+        // 다른 뷰가 열려 있어 삭제 표시를 아직 지우지 못하고 닫힌 뷰 (storage 락 안에서만 쓴다)
+        final List<PreImages> closedWhileShared = new ArrayList<>();
+    }
+
+    /**
+     * 열린 스냅샷의 변경 전 값 보관소이자 특정 시점 뷰
+     */
+    private static final class PreImages implements MemberSnapshot {
+
+        // 스냅샷 이후 새로 가입한 회원 표시 (뷰에서 제외)
+        private static final Member ABSENT = new Member(Long.MIN_VALUE, null, null);
+
+        private final Storage storage;
+        private final Map<Long, Member> view;
+        private final ConcurrentHashMap<Long, Member> preImages = new ConcurrentHashMap<>();
+        private final int estimatedSize;
+
+        PreImages(Storage storage) {
+            this.storage = storage;
+            this.view = storage.members;
+            this.estimatedSize = view.size();
+        }
+
+        void capture(Long id, Member previous) {
+            // 같은 키의 첫 변경 전 값만 스냅샷 시점 값이다
+            preImages.putIfAbsent(id, previous == null ? ABSENT : previous);
+        }
+
+        @Override
+        public int estimatedSize() {
+            return estimatedSize;
+        }
+
+        // 현재 값을 먼저 읽으므로, 새 값을 보았다면 보관된 변경 전 값도 보인다
+        @Override
+        public Member findById(Long memberId) {
+            Member current = view.get(memberId);
+            Member preImage = preImages.get(memberId);
+            if (preImage != null) {
+                return preImage == ABSENT ? null : preImage;
+            }
+            return current == DELETED ? null : current;
+        }
+
+        // 삭제된 회원도 키가 삭제 표시로 남아 있으므로, 뷰를 한 번 훑으면 변경 전 값을 빠짐없이 한 번씩 본다
+        @Override
+        public void forEach(Consumer<Member> action) {
+            view.forEach((id, current) -> {
+                Member preImage = preImages.get(id);
+                if (preImage == null) {
+                    // 이전 스냅샷이 닫힐 때 미처 지우지 못한 삭제 표시는 없는 회원이다
+                    if (current != DELETED) {
+                        action.accept(current);
+                    }
+                } else if (preImage != ABSENT) {
+                    action.accept(preImage);
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            List<PreImages> cleanUp;
+            synchronized (storage) {
+                PreImages[] active = storage.activeSnapshots;
+                int index = Arrays.asList(active).indexOf(this);
+                if (index < 0) {
+                    return;
+                }
+                PreImages[] remaining = new PreImages[active.length - 1];
+                System.arraycopy(active, 0, remaining, 0, index);
+                System.arraycopy(active, index + 1, remaining, index, remaining.length - index);
+                storage.activeSnapshots = remaining.length == 0 ? Storage.NONE : remaining;
+                if (remaining.length != 0) {
+                    // 다른 뷰가 아직 삭제 표시를 보고 변경 전 값을 찾으므로 마지막 뷰가 닫힐 때 함께 지운다
+                    storage.closedWhileShared.add(this);
+                    return;
+                }
+                cleanUp = new ArrayList<>(storage.closedWhileShared);
+                storage.closedWhileShared.clear();
+                cleanUp.add(this);
+            }
+            // 삭제 표시는 변경 전 값을 보관한 회원에만 있다 (닫는 중에 남은 표시는 다음 저장/삭제나 다음 뷰에서 없는 회원으로 본다)
+            for (PreImages closed : cleanUp) {
+                for (Long id : closed.preImages.keySet()) {
+                    closed.view.remove(id, DELETED);
+                }
+            }
+        }
     }
 }
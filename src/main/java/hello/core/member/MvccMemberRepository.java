@@ -0,0 +1,332 @@
+package hello.core.member;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 다중 버전(MVCC) 메모리 회원 저장소
+ * 등급 리포트/내보내기/재계산처럼 오래 걸리는 읽기가 가입을 막지도, 중간에 바뀐 뷰를 보지도 않게 한다.
+ *
+ * 버전:
+ * - 쓰기(저장/삭제)마다 새 버전을 만들어 같은 회원의 버킷 락(compute) 안에서 회원별 버전 사슬의 머리에 단다. (삭제는 빈 버전)
+ * - 버전이 사슬에 달린 뒤 전역 커밋 시계(commitClock)에서 커밋 순번을 받는다. 커밋 순번이 붙기 전까지는 미커밋 버전이다.
+ *   쓰기는 다른 쓰기의 커밋을 기다리지 않는다. 커밋 직전에 멈춘 쓰기는 자기 버전만 미커밋으로 남기고 다른 쓰기를 막지 않는다.
+ *
+ * 읽기:
+ * - findById는 사슬 머리만 본다. (한 회원 읽기는 ConcurrentHashMap과 같은 의미)
+ * - openSnapshot()은 커밋 시계를 고정(pin)하고, 회원마다 고정 순번 이하로 커밋된 가장 앞(새) 버전을 본다.
+ *   미커밋 버전은 건너뛰며, 나중에 커밋되어도 고정 순번보다 큰 순번을 받으므로 계속 보이지 않는다. (같은 뷰를 다시 읽어도 같다)
+ *   커밋 순번은 버전이 사슬에 달린 뒤에 받으므로, 고정 순번 이하로 커밋된 버전은 스냅샷을 열 때 이미 사슬에 있다.
+ *   여러 스냅샷을 동시에 열 수 있고, 스냅샷이 열려 있어도 쓰기는 락을 더 잡지 않는다.
+ *
+ * 정리:
+ * - 고정된 스냅샷이 없으면 쓰기가 커밋 직후 이전 버전을 떼어 내고, 삭제한 회원은 맵에서 지운다.
+ * - 고정된 스냅샷이 있으면 쓴 회원 ID를 모아 두었다가, 스냅샷이 닫힐 때 (또는 vacuum()) 가장 오래된 고정 순번 이하로
+ *   커밋된 첫 버전 뒤를 떼어 낸다. (고정 순번이 그보다 큰 스냅샷은 모두 그 버전이나 더 앞의 버전에서 멈춘다) 모아 둔 회원만 훑으므로 정리 비용은 스냅샷이 열려 있던 동안의 쓰기 수에 비례한다.
+ * - 스냅샷은 등록을 먼저 하고 커밋 시계를 읽으며, 정리는 커밋 시계를 먼저 읽고 등록된 스냅샷을 훑는다.
+ *   그래서 정리가 미처 보지 못한 스냅샷은 정리 기준보다 새 순번을 고정하게 되어, 필요한 버전이 떼어지지 않는다.
+ */
+public class MvccMemberRepository implements SnapshotableMemberRepository {
+
+    // 아직 커밋 시계를 읽지 않은 스냅샷 (정리 기준에서 빠진다)
+    private static final long UNPINNED = Long.MAX_VALUE;
+    // 아직 커밋 순번을 받지 않은 버전 (어떤 스냅샷에도 보이지 않는다)
+    private static final long UNCOMMITTED = Long.MAX_VALUE;
+
+    private volatile ConcurrentHashMap<Long, Version> heads = new ConcurrentHashMap<>();
+    private final AtomicLong commitClock = new AtomicLong();
+
+    private final Set<Snapshot> pinned = ConcurrentHashMap.newKeySet();
+    // 고정된 스냅샷 때문에 이전 버전을 남겨 둔 회원 ID
+    private final Set<Long> retained = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock vacuumLock = new ReentrantLock();
+
+    @Override
+    public void save(Member member) {
+        write(member.getId(), member);
+    }
+
+    /**
+     * 회원 삭제 (열린 스냅샷에서는 계속 보인다)
+     * @param memberId 삭제할 회원 ID
+     */
+    @Override
+    public void delete(Long memberId) {
+        write(memberId, null);
+    }
+
+    /**
+     * 회원 등급 조건부 변경 (같은 키의 compute 안에서 확인하고 새 버전을 건다)
+     * 조건이 맞지 않으면 버전도 커밋도 생기지 않는다.
+     */
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        ConcurrentHashMap<Long, Version> map = heads;
+        Version[] installed = new Version[1];
+        Version head = map.computeIfPresent(memberId, (id, previous) -> {
+            Member current = previous.member;
+            if (current == null || current.getGrade() != expected) {
+                return previous;
+            }
+            installed[0] = new Version(new Member(id, current.getName(), grade), UNCOMMITTED, previous);
+            return installed[0];
+        });
+        if (installed[0] != null) {
+            finishWrite(map, memberId, installed[0]);
+        }
+        return head == null ? null : head.member;
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        Version head = heads.get(memberId);
+        return head == null ? null : head.member;
+    }
+
+    /**
+     * 최신 값 순회 (순회 중의 변경은 보일 수도, 안 보일 수도 있다)
+     * 일관된 시점이 필요하면 openSnapshot()을 쓴다.
+     */
+    @Override
+    public void forEach(Consumer<Member> action) {
+        for (Version head : heads.values()) {
+            if (head.member != null) {
+                action.accept(head.member);
+            }
+        }
+    }
+
+    /**
+     * 지금 커밋된 시점의 뷰 열기 (여러 개를 동시에 열 수 있다)
+     * @return 특정 시점 뷰 (다 쓰면 닫아야 이전 버전이 정리된다)
+     */
+    @Override
+    public Snapshot openSnapshot() {
+        Snapshot snapshot = new Snapshot();
+        pinned.add(snapshot);
+        snapshot.sequence = commitClock.get();
+        snapshot.view = heads;
+        return snapshot;
+    }
+
+    /**
+     * 미리 크기를 잡은 새 맵에 적재한 뒤 commit 시 통째로 교체
+     * 열려 있던 스냅샷은 교체 전 맵을 계속 본다. 교체 중에 들어온 쓰기는 잃을 수 있으므로 트래픽을 받기 전에 복원한다.
+     * @param expectedSize 적재할 회원 수
+     * @return 적재기
+     */
+    @Override
+    public MemberLoader beginRestore(long expectedSize) {
+        int capacity = (int) Math.min(Integer.MAX_VALUE, expectedSize * 4 / 3 + 1);
+        ConcurrentHashMap<Long, Version> restored = new ConcurrentHashMap<>(capacity);
+        return new MemberLoader() {
+            @Override
+            public void add(Member member) {
+                // 순번 0: 교체 뒤에 열리는 모든 스냅샷에 보인다
+                restored.put(member.getId(), new Version(member, 0, null));
+            }
+
+            @Override
+            public void commit() {
+                vacuumLock.lock();
+                try {
+                    heads = restored;
+                    retained.clear();
+                } finally {
+                    vacuumLock.unlock();
+                }
+            }
+        };
+    }
+
+    /**
+     * 가장 오래된 고정 순번보다 오래된 버전을 떼어 낸다 (스냅샷을 닫을 때 자동으로 호출된다)
+     * @return 떼어 낸 사슬 수
+     */
+    public int vacuum() {
+        vacuumLock.lock();
+        try {
+            long horizon = horizon();
+            ConcurrentHashMap<Long, Version> map = heads;
+            int pruned = 0;
+            // 훑는 도중 다시 남겨지는 회원이 있으므로 지금 목록을 복사해 한 번씩만 본다
+            for (Long memberId : new ArrayList<>(retained)) {
+                // 표시를 먼저 지워야 그사이 다시 남겨진 회원의 표시를 잃지 않는다
+                retained.remove(memberId);
+                Version head = map.get(memberId);
+                if (head == null) {
+                    continue;
+                }
+                Version visible = head;
+                while (visible != null && visible.commit > horizon) {
+                    visible = visible.previous;
+                }
+                if (visible != null && visible.previous != null) {
+                    visible.previous = null;
+                    pruned++;
+                }
+                if (visible != head) {
+                    // 기준보다 새 (또는 미커밋) 버전이 남아 있어 다음 정리 때 다시 본다
+                    retained.add(memberId);
+                } else if (head.member == null) {
+                    map.remove(memberId, head);
+                }
+            }
+            return pruned;
+        } finally {
+            vacuumLock.unlock();
+        }
+    }
+
+    /**
+     * @return 현재 상태 (모니터링/테스트용)
+     */
+    public Stats stats() {
+        return new Stats(commitClock.get(), pinned.size(), retained.size());
+    }
+
+    // 전체 사슬을 훑어 버전 수를 센다 (테스트용)
+    long versionCount() {
+        long count = 0;
+        for (Version head : heads.values()) {
+            for (Version version = head; version != null; version = version.previous) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void write(Long memberId, Member member) {
+        ConcurrentHashMap<Long, Version> map = heads;
+        finishWrite(map, memberId, install(map, memberId, member));
+    }
+
+    /**
+     * 새 버전을 사슬에 걸기만 하고 커밋은 돌려준 작업을 실행할 때 한다 (테스트용: 커밋 직전에 멈춘 쓰기 흉내)
+     */
+    Runnable stalledWrite(Long memberId, Member member) {
+        ConcurrentHashMap<Long, Version> map = heads;
+        Version installed = install(map, memberId, member);
+        return () -> finishWrite(map, memberId, installed);
+    }
+
+    private static Version install(ConcurrentHashMap<Long, Version> map, Long memberId, Member member) {
+        return map.compute(memberId, (id, previous) -> new Version(member, UNCOMMITTED, previous));
+    }
+
+    // 새 버전을 커밋하고, 열린 스냅샷이 없으면 이전 버전을 바로 떼어 낸다
+    private void finishWrite(ConcurrentHashMap<Long, Version> map, Long memberId, Version installed) {
+        Member member = installed.member;
+        // 사슬에 단 뒤에 순번을 받으므로 이 순번 이상을 고정한 스냅샷은 이 버전을 반드시 본다
+        installed.commit = commitClock.incrementAndGet();
+        if (installed.previous == null && member != null) {
+            return;
+        }
+        if (pinned.isEmpty()) {
+            // 커밋 뒤에 열리는 스냅샷은 이 버전 이후만 본다
+            installed.previous = null;
+            if (member == null) {
+                map.remove(memberId, installed);
+            }
+        } else {
+            retained.add(memberId);
+        }
+    }
+
+    private long horizon() {
+        long horizon = commitClock.get();
+        for (Snapshot snapshot : pinned) {
+            horizon = Math.min(horizon, snapshot.sequence);
+        }
+        return horizon;
+    }
+
+    /**
+     * 버전 (사슬의 한 칸)
+     */
+    private static final class Version {
+
+        final Member member;
+        // 커밋 순번 (사슬에 단 뒤 한 번 정해진다)
+        volatile long commit;
+        // 정리 시 떼어 내므로 volatile
+        volatile Version previous;
+
+        Version(Member member, long commit, Version previous) {
+            this.member = member;
+            this.commit = commit;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * 고정된 시점의 뷰
+     */
+    public final class Snapshot implements MemberSnapshot {
+
+        private volatile long sequence = UNPINNED;
+        private Map<Long, Version> view;
+
+        private Snapshot() {
+        }
+
+        /**
+         * @return 고정한 커밋 순번
+         */
+        public long sequence() {
+            return sequence;
+        }
+
+        @Override
+        public Member findById(Long memberId) {
+            return visible(view.get(memberId));
+        }
+
+        @Override
+        public int estimatedSize() {
+            return view.size();
+        }
+
+        @Override
+        public void forEach(Consumer<Member> action) {
+            for (Version head : view.values()) {
+                Member member = visible(head);
+                if (member != null) {
+                    action.accept(member);
+                }
+            }
+        }
+
+        private Member visible(Version head) {
+            Version version = head;
+            while (version != null && version.commit > sequence) {
+                version = version.previous;
+            }
+            return version == null ? null : version.member;
+        }
+
+        /**
+         * 고정을 풀고 더는 필요 없는 이전 버전을 정리한다
+         */
+        @Override
+        public void close() {
+            if (pinned.remove(this)) {
+                vacuum();
+            }
+        }
+    }
+
+    /**
+     * 현재 상태
+     * @param committedSequence 마지막으로 내준 커밋 순번
+     * @param pinnedSnapshots 열려 있는 스냅샷 수
+     * @param retainedMembers 이전 버전을 남겨 둔 회원 수
+     */
+    public record Stats(long committedSequence, int pinnedSnapshots, int retainedMembers) {
+    }
+}
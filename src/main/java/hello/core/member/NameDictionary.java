@@ -0,0 +1,291 @@
+package hello.core.member;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 회원 이름 사전 (중복 제거 + 앞부분 공유 압축)
+ * 흔한 이름과 "guest123456" 같은 생성된 이름은 반복이 많아, 회원마다 String과 byte[]를 따로 두면 메모리 대부분이 이름이다.
+ * 이름을 한 번만 저장하고 회원에게는 int 코드만 준다.
+ *
+ * 저장 구조:
+ * - 이름은 들어온 순서대로 코드(0부터)를 받고, 코드 16개가 한 블록이다.
+ * - 블록 안에서는 앞 이름과 같은 앞부분 길이 + 나머지 바이트만 적는다. (front coding)
+ *   순번으로 만든 손님 이름이나 정렬된 가져오기 파일처럼 이웃한 이름이 비슷하면 이름당 몇 바이트로 줄어든다.
+ * - 바이트는 64KB 페이지를 이어 붙인 하나의 추가 전용 로그이며, 블록마다 시작 위치만 따로 둔다. (페이지가 늘어도 복사하지 않음)
+ *
+ * 조회:
+ * - decode는 블록 처음부터 원하는 이름까지 최대 16개를 풀어 String을 만든다. 락이 없다.
+ * - 자주 쓰는 이름은 코드로 바로 찾는 작은 캐시(직접 사상 배열)에 String으로 둔다. 드물게 쓰는 이름만 블록에서 푼다.
+ *
+ * 추가:
+ * - intern은 먼저 락 없이 이름 해시 표를 찾는다(후보는 풀어서 바이트 비교). 이미 있는 이름은 락을 잡지 않는다.
+ * - 없으면 쓰기 락을 잡고 지금 표에서 다시 찾은 뒤, 그래도 없으면 끝에 덧붙인다. 덧붙이기만 직렬화한다.
+ * - 바이트와 블록 위치를 쓰고 크기(volatile)를 올린 뒤 표 항목을 원자적으로 쓰므로, 락 없이 항목을 본 스레드는 항상 풀 수 있다.
+ *   표가 커지면 새 표를 다 채운 뒤 참조(volatile)를 바꾼다. 옛 표를 보던 조회가 새 이름을 놓치면 락 안에서 다시 찾는다.
+ *
+ * 크기의 상한:
+ * - 이름은 지우지 않는다. 회원이 삭제되거나 이름을 바꿔도 옛 이름은 사전에 남는다.
+ * - 따라서 사전 크기는 지금까지 들어온 서로 다른 이름 수에 비례한다. 같은 이름으로 다시 가입/개명하면 늘지 않는다.
+ * - 이름 집합이 한정된 작업(실명, 순번 손님 이름의 재사용 등)에 맞다. 이름이 계속 새로 생기며 회원을 비우는 만료 설정과는
+ *   함께 쓸 수 없다. (MemberStores)
+ */
+public class NameDictionary {
+
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    static final int BLOCK_SIZE = 16;
+    private static final int BLOCK_SHIFT = 4;
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private volatile byte[][] pages = new byte[][] {new byte[PAGE_SIZE]};
+    private volatile long[] blockStarts = new long[64];
+    private volatile int size;
+
+    private final AtomicReferenceArray<CachedName> cache;
+    private final int cacheMask;
+
+    // 이름 해시 표 (상위 32비트: 이름 해시, 하위 32비트: 코드 + 1, 0이면 빈 슬롯)
+    // 락 없이 읽고, 항목 쓰기와 표 교체는 쓰기 락 안에서 한다
+    private volatile AtomicLongArray table = new AtomicLongArray(1024);
+
+    // 아래는 쓰기 락 안에서만 쓴다
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private long position;
+    private byte[] previous = new byte[0];
+    private int tableSize;
+
+    public NameDictionary() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize 자주 쓰는 이름 캐시 슬롯 수 (2의 제곱수로 올림, 0이면 캐시 없음)
+     */
+    public NameDictionary(int cacheSize) {
+        int slots = cacheSize <= 0 ? 0 : Integer.highestOneBit(Math.max(cacheSize, 2) - 1) << 1;
+        this.cache = new AtomicReferenceArray<>(slots);
+        this.cacheMask = slots - 1;
+    }
+
+    /**
+     * 이름의 코드 (처음 보는 이름이면 추가한다)
+     * @param name 이름
+     * @return 코드 (0 이상)
+     */
+    public int intern(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytes);
+        int found = find(table, hash, bytes);
+        if (found >= 0) {
+            return found;
+        }
+        writeLock.lock();
+        try {
+            AtomicLongArray current = table;
+            int mask = current.length() - 1;
+            int slot = hash & mask;
+            for (long entry = current.get(slot); entry != 0; entry = current.get(slot)) {
+                if (matches(entry, hash, bytes)) {
+                    return (int) entry - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int code = append(bytes);
+            // 바이트와 크기를 모두 쓴 뒤 항목을 올린다 (락 없는 조회가 항목을 보면 풀 수 있다)
+            current.set(slot, ((long) hash << 32) | (code + 1L));
+            if (++tableSize > current.length() * LOAD_FACTOR) {
+                rehash(current);
+            }
+            return code;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 표에서 이름의 코드를 찾는다 (없으면 -1, 락 없이 불러도 된다)
+    private int find(AtomicLongArray current, int hash, byte[] bytes) {
+        int mask = current.length() - 1;
+        int slot = hash & mask;
+        for (long entry = current.get(slot); entry != 0; entry = current.get(slot)) {
+            if (matches(entry, hash, bytes)) {
+                return (int) entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean matches(long entry, int hash, byte[] bytes) {
+        return (int) (entry >>> 32) == hash && Arrays.equals(bytesOf((int) entry - 1), bytes);
+    }
+
+    /**
+     * 코드의 이름
+     * @param code intern이 돌려준 코드
+     * @return 이름
+     */
+    public String decode(int code) {
+        if (cacheMask < 0) {
+            return new String(bytesOf(code), StandardCharsets.UTF_8);
+        }
+        int slot = code & cacheMask;
+        CachedName cached = cache.get(slot);
+        if (cached != null && cached.code == code) {
+            return cached.name;
+        }
+        String name = new String(bytesOf(code), StandardCharsets.UTF_8);
+        cache.set(slot, new CachedName(code, name));
+        return name;
+    }
+
+    /**
+     * @return 저장된 서로 다른 이름 수
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 이름 바이트와 색인이 차지하는 바이트 수 (캐시의 String 제외, 배열 헤더 제외)
+     */
+    public long footprintBytes() {
+        writeLock.lock();
+        try {
+            return (long) pages.length * PAGE_SIZE + (long) blockStarts.length * Long.BYTES
+                    + (long) table.length() * Long.BYTES + (long) cache.length() * Integer.BYTES;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 블록 처음부터 code까지 앞부분을 이어 붙여 푼다
+    private byte[] bytesOf(int code) {
+        if (code < 0 || code >= size) {
+            throw new IllegalArgumentException("사전에 없는 이름 코드입니다: " + code);
+        }
+        byte[][] pageArray = pages;
+        long cursor = blockStarts[code >>> BLOCK_SHIFT];
+        byte[] current = new byte[32];
+        int length = 0;
+        for (int index = code & ~(BLOCK_SIZE - 1); ; index++) {
+            int prefix = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = byteAt(pageArray, cursor++);
+                prefix |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int suffix = 0;
+            shift = 0;
+            do {
+                b = byteAt(pageArray, cursor++);
+                suffix |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            length = prefix + suffix;
+            if (length > current.length) {
+                current = Arrays.copyOf(current, Math.max(length, current.length * 2));
+            }
+            copy(pageArray, cursor, current, prefix, suffix);
+            cursor += suffix;
+            if (index == code) {
+                return Arrays.copyOf(current, length);
+            }
+        }
+    }
+
+    // 쓰기 락 안에서 호출된다
+    private int append(byte[] bytes) {
+        int code = size;
+        int prefix = 0;
+        if ((code & (BLOCK_SIZE - 1)) == 0) {
+            int block = code >>> BLOCK_SHIFT;
+            if (block == blockStarts.length) {
+                blockStarts = Arrays.copyOf(blockStarts, block * 2);
+            }
+            blockStarts[block] = position;
+        } else {
+            int limit = Math.min(previous.length, bytes.length);
+            while (prefix < limit && previous[prefix] == bytes[prefix]) {
+                prefix++;
+            }
+        }
+        writeVarInt(prefix);
+        writeVarInt(bytes.length - prefix);
+        for (int i = prefix; i < bytes.length; i++) {
+            writeByte(bytes[i]);
+        }
+        previous = bytes;
+        size = code + 1;
+        return code;
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((byte) value);
+    }
+
+    private void writeByte(byte value) {
+        int page = (int) (position >>> PAGE_SHIFT);
+        byte[][] pageArray = pages;
+        if (page == pageArray.length) {
+            pageArray = Arrays.copyOf(pageArray, page + 1);
+            pageArray[page] = new byte[PAGE_SIZE];
+            pages = pageArray;
+        }
+        pageArray[page][(int) (position & PAGE_MASK)] = value;
+        position++;
+    }
+
+    // 새 표를 다 채운 뒤 바꾼다 (옛 표는 그대로 두어 락 없이 찾던 조회가 계속 읽을 수 있다)
+    private void rehash(AtomicLongArray old) {
+        long[] entries = new long[old.length() * 2];
+        int mask = entries.length - 1;
+        for (int i = 0; i < old.length(); i++) {
+            long entry = old.get(i);
+            if (entry != 0) {
+                int slot = (int) (entry >>> 32) & mask;
+                while (entries[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                entries[slot] = entry;
+            }
+        }
+        table = new AtomicLongArray(entries);
+    }
+
+    private static byte byteAt(byte[][] pages, long position) {
+        return pages[(int) (position >>> PAGE_SHIFT)][(int) (position & PAGE_MASK)];
+    }
+
+    // 페이지 경계에 걸친 바이트도 이어서 복사한다
+    private static void copy(byte[][] pages, long position, byte[] target, int offset, int length) {
+        while (length > 0) {
+            int inPage = (int) (position & PAGE_MASK);
+            int chunk = Math.min(length, PAGE_SIZE - inPage);
+            System.arraycopy(pages[(int) (position >>> PAGE_SHIFT)], inPage, target, offset, chunk);
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    private static int hash(byte[] bytes) {
+        int h = Arrays.hashCode(bytes) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private record CachedName(int code, String name) {
+    }
+}
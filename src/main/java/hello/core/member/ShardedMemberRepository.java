@@ -0,0 +1,746 @@
+package hello.core.member;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 해시 분할 회원 저장소 (프로세스 안의 여러 샤드)
+ * 저장소 하나에 몰리던 경합과 GC 부담을 서로 독립된 샤드 저장소로 나눈다.
+ *
+ * 라우팅 (일관된 해싱):
+ * - 샤드마다 가상 노드를 virtualNodes개씩 64비트 해시 링에 뿌리고, 회원 ID 해시 다음에 처음 만나는 점의 샤드가 주인이다.
+ * - 링은 불변 배열(정렬된 점 + 점별 샤드)이며 바뀔 때 통째로 교체하므로 조회에 락이 없다.
+ * - 해시 상위 비트로 나눈 구간별 첫 점 위치를 미리 적어 두어, 라우팅은 이진 탐색 없이 한두 번 비교로 끝난다.
+ * - 샤드를 더하거나 빼면 그 샤드와 맞닿은 구간의 회원만 옮겨진다. (평균 1/N)
+ *
+ * 온라인 이동 (addShard / removeShard):
+ * 1. 이동 상태(이전 링, 새 링, 이동 중에 쓰인 ID)를 게시하고 모든 스트라이프 락을 한 번씩 잡았다 놓는다.
+ *    쓰기는 스트라이프 락 안에서 링을 읽으므로, 이 뒤로는 이전 링을 보고 진행 중인 쓰기가 남아 있지 않다.
+ * 2. 이동 중 쓰기는 새 주인에게 가고 ID를 "쓰임"으로 표시한다. (삭제는 양쪽에서 지운다)
+ *    조회는 새 주인에 없고 쓰이지 않았으면 이전 주인을 본다.
+ * 3. 이전 주인 샤드를 순회하며, 옮길 ID를 스트라이프 락 안에서 (쓰이지 않았으면) 이전 주인의 현재 값으로 새 주인에 복사한다.
+ * 4. 새 링으로 바꾸고 이동 상태를 내린 뒤, 남는 샤드에서 옮긴 ID를 지운다. (빠진 샤드는 내용을 그대로 둔다)
+ * 복사 중 예외가 나면 이동 상태로 남아 읽기/쓰기는 계속 올바르게 동작하며, resumeRebalance()로 다시 시도한다.
+ *
+ * 샤드는 MemberRepository 구현체 아무거나 쓸 수 있으나, 이동하려면 forEach/delete를 지원해야 한다.
+ * MemoryMemberRepository는 기본 생성자가 저장 공간을 공유하므로 샤드로는 isolated()로 만든 것을 쓴다.
+ * 락은 가상 스레드가 캐리어 스레드에 고정되지 않도록 ReentrantLock을 쓴다.
+ *
+ * 스냅샷/복원은 모든 샤드가 지원할 때만 쓸 수 있다. (snapshotable()이 null이 아닐 때)
+ * 뷰는 샤드마다 차례로 연 뷰를 링에 따라 합친다. 샤드 사이의 시점은 조금씩 다르나 회원 하나는 한 샤드에만 있으므로
+ * 회원별로는 연 시점의 값이 보인다. 복원은 회원을 링에 따라 샤드별 적재기로 나눠 담고 모두 교체한다.
+ */
+public class ShardedMemberRepository implements SnapshotableMemberRepository, AutoCloseable {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private static final int STRIPES = 1024;
+
+    private final int virtualNodes;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final ReentrantLock rebalanceLock = new ReentrantLock();
+
+    private volatile Ring ring;
+    private volatile Migration migration;
+
+    /**
+     * 생성자를 통한 의존성 주입 (샤드당 가상 노드 DEFAULT_VIRTUAL_NODES개)
+     * @param shards 샤드 이름별 저장소
+     */
+    public ShardedMemberRepository(Map<String, ? extends MemberRepository> shards) {
+        this(shards, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param shards 샤드 이름별 저장소 (이름이 링 위치를 정하므로 재시작해도 같은 이름을 쓴다)
+     * @param virtualNodes 샤드당 가상 노드 수 (많을수록 고르게 나뉘고 라우팅 탐색이 조금 길어진다)
+     */
+    public ShardedMemberRepository(Map<String, ? extends MemberRepository> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("샤드가 하나 이상 필요합니다.");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("가상 노드 수는 1 이상이어야 합니다: " + virtualNodes);
+        }
+        this.virtualNodes = virtualNodes;
+        this.ring = Ring.of(new LinkedHashMap<>(shards), virtualNodes);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void save(Member member) {
+        ReentrantLock lock = stripeOf(member.getId());
+        lock.lock();
+        try {
+            write(member);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 샤드별로 나눠 한 번씩 일괄 저장
+     * 관련 스트라이프 락을 번호 순서로 모두 잡으므로 (교착 없음) 큰 배치는 그동안 같은 스트라이프의 쓰기를 막는다.
+     */
+    @Override
+    public void saveAll(Collection<Member> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+        BitSet locked = new BitSet(STRIPES);
+        for (Member member : members) {
+            locked.set(stripeIndex(member.getId()));
+        }
+        for (int i = locked.nextSetBit(0); i >= 0; i = locked.nextSetBit(i + 1)) {
+            stripes[i].lock();
+        }
+        try {
+            if (migration != null) {
+                for (Member member : members) {
+                    write(member);
+                }
+                return;
+            }
+            Ring current = ring;
+            Map<MemberRepository, List<Member>> groups = new IdentityHashMap<>();
+            for (Member member : members) {
+                groups.computeIfAbsent(current.shardOf(member.getId()), shard -> new ArrayList<>()).add(member);
+            }
+            groups.forEach(MemberRepository::saveAll);
+        } finally {
+            for (int i = locked.nextSetBit(0); i >= 0; i = locked.nextSetBit(i + 1)) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        Migration moving = migration;
+        if (moving == null) {
+            return ring.shardOf(memberId).findById(memberId);
+        }
+        return moving.find(memberId);
+    }
+
+    /**
+     * 샤드별로 나눠 한 번씩 일괄 조회 (이동 중에는 한 건씩 조회)
+     */
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        if (migration != null) {
+            return SnapshotableMemberRepository.super.findAllById(memberIds);
+        }
+        Ring current = ring;
+        Map<MemberRepository, List<Long>> groups = new IdentityHashMap<>();
+        for (Long memberId : memberIds) {
+            groups.computeIfAbsent(current.shardOf(memberId), shard -> new ArrayList<>()).add(memberId);
+        }
+        if (groups.size() == 1) {
+            Map.Entry<MemberRepository, List<Long>> only = groups.entrySet().iterator().next();
+            return only.getKey().findAllById(only.getValue());
+        }
+        Map<Long, Member> found = new HashMap<>(memberIds.size() * 4 / 3 + 1);
+        groups.forEach((shard, ids) -> found.putAll(shard.findAllById(ids)));
+        return found;
+    }
+
+    /**
+     * 회원 등급 조건부 변경 (스트라이프 락 안에서)
+     * 이동 중이 아니면 주인 샤드의 조건부 변경에 맡기고,
+     * 이동 중이면 조회와 같은 규칙으로 지금 값을 찾아 확인한 뒤 저장과 같은 규칙으로 새 주인에 쓴다.
+     */
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        ReentrantLock lock = stripeOf(memberId);
+        lock.lock();
+        try {
+            Migration moving = migration;
+            if (moving == null) {
+                return ring.shardOf(memberId).changeGrade(memberId, expected, grade);
+            }
+            Member current = moving.find(memberId);
+            if (current == null || current.getGrade() != expected) {
+                return current;
+            }
+            Member changed = new Member(memberId, current.getName(), grade);
+            write(changed);
+            return changed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(Long memberId) {
+        ReentrantLock lock = stripeOf(memberId);
+        lock.lock();
+        try {
+            Migration moving = migration;
+            if (moving == null) {
+                ring.shardOf(memberId).delete(memberId);
+                return;
+            }
+            MemberRepository target = moving.to.shardOf(memberId);
+            target.delete(memberId);
+            MemberRepository source = moving.from.shardOf(memberId);
+            if (source != target) {
+                source.delete(memberId);
+                moving.written.add(memberId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 샤드마다 자기 몫의 회원만 순회 (이동 중이면 이동이 끝날 때까지 기다린다)
+     */
+    @Override
+    public void forEach(Consumer<Member> action) {
+        rebalanceLock.lock();
+        try {
+            Ring current = ring;
+            for (MemberRepository shard : current.distinctShards()) {
+                shard.forEach(member -> {
+                    if (current.shardOf(member.getId()) == shard) {
+                        action.accept(member);
+                    }
+                });
+            }
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * 샤드 추가 후 새 샤드 몫의 회원을 옮긴다 (이동 중에도 읽기/쓰기는 계속된다)
+     * @param name 샤드 이름
+     * @param shard 샤드 저장소
+     * @return 이동 결과
+     * @throws IllegalArgumentException 같은 이름의 샤드가 이미 있을 때
+     * @throws IllegalStateException 끝나지 않은 이동이 있을 때
+     */
+    public Rebalance addShard(String name, MemberRepository shard) {
+        rebalanceLock.lock();
+        try {
+            Ring current = checkIdle();
+            if (current.indexOf(name) >= 0) {
+                throw new IllegalArgumentException("이미 있는 샤드입니다: " + name);
+            }
+            Map<String, MemberRepository> shards = current.asMap();
+            shards.put(name, shard);
+            return migrate(new Migration(name, current, Ring.of(shards, virtualNodes)));
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * 샤드의 회원을 남는 샤드로 옮긴 뒤 링에서 뺀다
+     * 빠진 샤드의 내용은 지우지 않으며 닫지도 않는다. (호출자가 정리)
+     * @param name 샤드 이름
+     * @return 이동 결과
+     * @throws IllegalArgumentException 없는 샤드일 때
+     * @throws IllegalStateException 마지막 샤드이거나 끝나지 않은 이동이 있을 때
+     */
+    public Rebalance removeShard(String name) {
+        rebalanceLock.lock();
+        try {
+            Ring current = checkIdle();
+            if (current.indexOf(name) < 0) {
+                throw new IllegalArgumentException("없는 샤드입니다: " + name);
+            }
+            Map<String, MemberRepository> shards = current.asMap();
+            shards.remove(name);
+            if (shards.isEmpty()) {
+                throw new IllegalStateException("마지막 샤드는 뺄 수 없습니다: " + name);
+            }
+            return migrate(new Migration(name, current, Ring.of(shards, virtualNodes)));
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * 예외로 멈춘 이동을 처음부터 다시 복사해 마친다
+     * @return 이동 결과
+     * @throws IllegalStateException 멈춘 이동이 없을 때
+     */
+    public Rebalance resumeRebalance() {
+        rebalanceLock.lock();
+        try {
+            Migration moving = migration;
+            if (moving == null) {
+                throw new IllegalStateException("진행 중인 이동이 없습니다.");
+            }
+            return complete(moving, System.nanoTime());
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * 현재 샤드 이름 목록 (추가한 순서)
+     * @return 샤드 이름
+     */
+    public List<String> shardNames() {
+        return List.of(ring.names);
+    }
+
+    /**
+     * 회원 ID의 주인 샤드 이름
+     * @param memberId 회원 ID
+     * @return 샤드 이름
+     */
+    public String shardNameOf(Long memberId) {
+        Ring current = ring;
+        return current.names[current.ownerOf(memberId)];
+    }
+
+    /**
+     * 샤드별 회원 수 (전체를 순회하므로 모니터링/테스트용)
+     * @return 샤드 이름별 회원 수
+     */
+    public Map<String, Long> distribution() {
+        rebalanceLock.lock();
+        try {
+            Ring current = ring;
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < current.names.length; i++) {
+                MemberRepository shard = current.shards[i];
+                long[] count = new long[1];
+                shard.forEach(member -> {
+                    if (current.shardOf(member.getId()) == shard) {
+                        count[0]++;
+                    }
+                });
+                counts.put(current.names[i], count[0]);
+            }
+            return counts;
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    @Override
+    public SnapshotableMemberRepository snapshotable() {
+        for (MemberRepository shard : ring.distinctShards()) {
+            if (shard.snapshotable() == null) {
+                return null;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 샤드마다 뷰를 열어 합친 특정 시점 뷰 (연 뒤의 이동은 뷰에 영향이 없다)
+     * @return 특정 시점 뷰
+     * @throws UnsupportedOperationException 스냅샷을 지원하지 않는 샤드가 있을 때
+     * @throws IllegalStateException 끝나지 않은 이동이 있을 때
+     */
+    @Override
+    public MemberSnapshot openSnapshot() {
+        rebalanceLock.lock();
+        try {
+            Ring current = checkIdle();
+            Map<MemberRepository, MemberSnapshot> snapshots = new IdentityHashMap<>();
+            try {
+                for (MemberRepository shard : current.distinctShards()) {
+                    snapshots.put(shard, snapshotStore(shard).openSnapshot());
+                }
+            } catch (RuntimeException e) {
+                snapshots.values().forEach(MemberSnapshot::close);
+                throw e;
+            }
+            return new ShardSnapshot(current, snapshots);
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * 샤드별 내용 교체 (트래픽을 받기 전에, 이동하지 않는 동안 복원한다)
+     * @param expectedSize 적재할 회원 수
+     * @return 링에 따라 샤드별 적재기로 나눠 담는 적재기
+     * @throws UnsupportedOperationException 스냅샷을 지원하지 않는 샤드가 있을 때
+     * @throws IllegalStateException 끝나지 않은 이동이 있을 때
+     */
+    @Override
+    public MemberLoader beginRestore(long expectedSize) {
+        rebalanceLock.lock();
+        try {
+            Ring current = checkIdle();
+            List<MemberRepository> shards = current.distinctShards();
+            Map<MemberRepository, MemberLoader> loaders = new IdentityHashMap<>();
+            for (MemberRepository shard : shards) {
+                loaders.put(shard, snapshotStore(shard).beginRestore(expectedSize / shards.size() + 1));
+            }
+            return new MemberLoader() {
+                @Override
+                public void add(Member member) {
+                    loaders.get(current.shardOf(member.getId())).add(member);
+                }
+
+                @Override
+                public void commit() {
+                    loaders.values().forEach(MemberLoader::commit);
+                }
+            };
+        } finally {
+            rebalanceLock.unlock();
+        }
+    }
+
+    private static SnapshotableMemberRepository snapshotStore(MemberRepository shard) {
+        SnapshotableMemberRepository store = shard.snapshotable();
+        if (store == null) {
+            throw new UnsupportedOperationException("스냅샷을 지원하지 않는 샤드입니다: " + shard.getClass().getSimpleName());
+        }
+        return store;
+    }
+
+    /**
+     * AutoCloseable인 샤드를 모두 닫는다 (첫 예외를 던지고 나머지도 닫는다)
+     */
+    @Override
+    public void close() {
+        RuntimeException failure = null;
+        for (MemberRepository shard : ring.distinctShards()) {
+            if (shard instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    RuntimeException wrapped = e instanceof RuntimeException runtime
+                            ? runtime : new IllegalStateException("샤드를 닫지 못했습니다.", e);
+                    if (failure == null) {
+                        failure = wrapped;
+                    } else {
+                        failure.addSuppressed(wrapped);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // 스트라이프 락을 잡은 상태에서 호출
+    private void write(Member member) {
+        Long memberId = member.getId();
+        Migration moving = migration;
+        if (moving == null) {
+            ring.shardOf(memberId).save(member);
+            return;
+        }
+        MemberRepository target = moving.to.shardOf(memberId);
+        target.save(member);
+        // 저장 뒤에 표시해야 "쓰임"을 본 조회가 새 주인에서 이 값을 찾는다
+        if (moving.from.shardOf(memberId) != target) {
+            moving.written.add(memberId);
+        }
+    }
+
+    private Ring checkIdle() {
+        if (migration != null) {
+            throw new IllegalStateException("끝나지 않은 이동이 있습니다. resumeRebalance()로 먼저 마치세요.");
+        }
+        return ring;
+    }
+
+    private Rebalance migrate(Migration moving) {
+        long started = System.nanoTime();
+        migration = moving;
+        // 이전 링을 보고 락을 잡은 쓰기가 모두 끝나기를 기다린다
+        for (ReentrantLock lock : stripes) {
+            lock.lock();
+            lock.unlock();
+        }
+        return complete(moving, started);
+    }
+
+    private Rebalance complete(Migration moving, long started) {
+        List<Long> moved = new ArrayList<>();
+        for (MemberRepository source : moving.from.distinctShards()) {
+            source.forEach(member -> {
+                Long memberId = member.getId();
+                if (moving.from.shardOf(memberId) != source) {
+                    return;
+                }
+                MemberRepository target = moving.to.shardOf(memberId);
+                if (target == source) {
+                    return;
+                }
+                ReentrantLock lock = stripeOf(memberId);
+                lock.lock();
+                try {
+                    if (!moving.written.contains(memberId)) {
+                        Member current = source.findById(memberId);
+                        if (current != null) {
+                            target.save(current);
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                moved.add(memberId);
+            });
+        }
+        ring = moving.to;
+        migration = null;
+
+        // 새 링으로 바뀐 뒤에는 옮긴 ID가 이전 주인에게 쓰이지 않는다
+        Set<MemberRepository> remaining = Collections.newSetFromMap(new IdentityHashMap<>());
+        remaining.addAll(moving.to.distinctShards());
+        for (Long memberId : moved) {
+            MemberRepository source = moving.from.shardOf(memberId);
+            if (remaining.contains(source)) {
+                source.delete(memberId);
+            }
+        }
+        return new Rebalance(moving.shard, moved.size(), System.nanoTime() - started);
+    }
+
+    private ReentrantLock stripeOf(Long memberId) {
+        return stripes[stripeIndex(memberId)];
+    }
+
+    private static int stripeIndex(long memberId) {
+        return (int) (mix(memberId) >>> 32) & (STRIPES - 1);
+    }
+
+    // murmur3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 이동 결과
+     * @param shard 더하거나 뺀 샤드 이름
+     * @param moved 옮긴 회원 수
+     * @param elapsedNanos 걸린 시간
+     */
+    public record Rebalance(String shard, long moved, long elapsedNanos) {
+    }
+
+    /**
+     * 샤드별 뷰를 합친 뷰 (샤드마다 연 시점의 링에서 자기 몫인 회원만 보인다)
+     */
+    private static final class ShardSnapshot implements MemberSnapshot {
+
+        private final Ring ring;
+        private final Map<MemberRepository, MemberSnapshot> snapshots;
+
+        ShardSnapshot(Ring ring, Map<MemberRepository, MemberSnapshot> snapshots) {
+            this.ring = ring;
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public int estimatedSize() {
+            long total = 0;
+            for (MemberSnapshot snapshot : snapshots.values()) {
+                total += snapshot.estimatedSize();
+            }
+            return (int) Math.min(Integer.MAX_VALUE, total);
+        }
+
+        @Override
+        public Member findById(Long memberId) {
+            return snapshots.get(ring.shardOf(memberId)).findById(memberId);
+        }
+
+        @Override
+        public void forEach(Consumer<Member> action) {
+            snapshots.forEach((shard, snapshot) -> snapshot.forEach(member -> {
+                if (ring.shardOf(member.getId()) == shard) {
+                    action.accept(member);
+                }
+            }));
+        }
+
+        @Override
+        public void close() {
+            RuntimeException failure = null;
+            for (MemberSnapshot snapshot : snapshots.values()) {
+                try {
+                    snapshot.close();
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * 진행 중인 이동 (이전 링 -> 새 링)
+     */
+    private static final class Migration {
+
+        final String shard;
+        final Ring from;
+        final Ring to;
+        // 이동 중에 새 주인에게 쓰이거나 지워진, 옮길 구간의 ID (복사하지 않는다)
+        final Set<Long> written = ConcurrentHashMap.newKeySet();
+
+        Migration(String shard, Ring from, Ring to) {
+            this.shard = shard;
+            this.from = from;
+            this.to = to;
+        }
+
+        Member find(Long memberId) {
+            MemberRepository target = to.shardOf(memberId);
+            Member member = target.findById(memberId);
+            if (member != null) {
+                return member;
+            }
+            MemberRepository source = from.shardOf(memberId);
+            if (source == target) {
+                return null;
+            }
+            // 쓰임 표시는 저장 뒤에 하므로, 표시를 봤다면 새 주인을 다시 보면 된다
+            return written.contains(memberId) ? target.findById(memberId) : source.findById(memberId);
+        }
+    }
+
+    /**
+     * 불변 해시 링
+     */
+    private static final class Ring {
+
+        final String[] names;
+        final MemberRepository[] shards;
+        final long[] points;
+        final int[] owners;
+        // 해시 상위 비트 구간별 첫 점 위치 (구간 수는 점 수의 두 배 이상인 2의 제곱수라 구간당 점은 평균 0.5개 이하)
+        final int[] bucketStart;
+        final int bucketShift;
+
+        private Ring(String[] names, MemberRepository[] shards, long[] points, int[] owners) {
+            this.names = names;
+            this.shards = shards;
+            this.points = points;
+            this.owners = owners;
+            int bits = 64 - Long.numberOfLeadingZeros(Math.max(1, points.length * 2L - 1));
+            this.bucketShift = 64 - bits;
+            this.bucketStart = new int[(1 << bits) + 1];
+            for (int bucket = 0, i = 0; bucket < bucketStart.length; bucket++) {
+                while (i < points.length && bucketOf(points[i]) < bucket) {
+                    i++;
+                }
+                bucketStart[bucket] = i;
+            }
+        }
+
+        static Ring of(Map<String, ? extends MemberRepository> shards, int virtualNodes) {
+            String[] names = shards.keySet().toArray(new String[0]);
+            MemberRepository[] repositories = shards.values().toArray(new MemberRepository[0]);
+            int total = names.length * virtualNodes;
+            long[][] placed = new long[total][];
+            for (int shard = 0, k = 0; shard < names.length; shard++) {
+                long base = fnv(names[shard]);
+                for (int replica = 0; replica < virtualNodes; replica++) {
+                    placed[k++] = new long[]{mix(base + replica * 0x9E3779B97F4A7C15L), shard};
+                }
+            }
+            // 점이 겹치면 (거의 없다) 이름 순서로 정해 어느 인스턴스에서나 같은 링이 되게 한다
+            Arrays.sort(placed, (a, b) -> a[0] != b[0]
+                    ? Long.compare(a[0], b[0]) : names[(int) a[1]].compareTo(names[(int) b[1]]));
+            long[] points = new long[total];
+            int[] owners = new int[total];
+            for (int i = 0; i < total; i++) {
+                points[i] = placed[i][0];
+                owners[i] = (int) placed[i][1];
+            }
+            return new Ring(names, repositories, points, owners);
+        }
+
+        int ownerOf(long memberId) {
+            long h = mix(memberId);
+            int bucket = bucketOf(h);
+            int i = bucketStart[bucket];
+            int end = bucketStart[bucket + 1];
+            while (i < end && points[i] < h) {
+                i++;
+            }
+            return owners[i == points.length ? 0 : i];
+        }
+
+        // 부호 비트를 뒤집어 부호 있는 정렬 순서와 같은 순서의 구간 번호로 만든다
+        private int bucketOf(long h) {
+            return (int) ((h ^ Long.MIN_VALUE) >>> bucketShift);
+        }
+
+        MemberRepository shardOf(long memberId) {
+            return shards[ownerOf(memberId)];
+        }
+
+        int indexOf(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Map<String, MemberRepository> asMap() {
+            Map<String, MemberRepository> map = new LinkedHashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                map.put(names[i], shards[i]);
+            }
+            return map;
+        }
+
+        // 같은 저장소를 여러 이름으로 등록했어도 한 번씩만
+        List<MemberRepository> distinctShards() {
+            Set<MemberRepository> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<MemberRepository> distinct = new ArrayList<>(shards.length);
+            for (MemberRepository shard : shards) {
+                if (seen.add(shard)) {
+                    distinct.add(shard);
+                }
+            }
+            return distinct;
+        }
+
+        // FNV-1a 64비트
+        private static long fnv(String name) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < name.length(); i++) {
+                h ^= name.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            return h;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package hello.core.member;
+
+/**
+ * 스냅샷/복원을 지원하는 회원 저장소
+ * 저장 중인 가입을 멈추지 않고 특정 시점 뷰를 만들 수 있고, 내용을 통째로 교체할 수 있다.
+ */
+public interface SnapshotableMemberRepository extends MemberRepository {
+
+    /**
+     * 지금 시점의 뷰 열기 (여러 개를 동시에 열 수 있다)
+     * @return 특정 시점 뷰
+     */
+    MemberSnapshot openSnapshot();
+
+    /**
+     * 내용 교체 시작
+     * @param expectedSize 적재할 회원 수 (해시 테이블을 미리 이 크기로 잡는다)
+     * @return 적재기
+     */
+    MemberLoader beginRestore(long expectedSize);
+
+    @Override
+    default SnapshotableMemberRepository snapshotable() {
+        return this;
+    }
+}
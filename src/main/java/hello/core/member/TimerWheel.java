@@ -0,0 +1,166 @@
+package hello.core.member;
+
+/**
+ * 계층형 타이밍 휠 (만료 예정 항목을 시각별 버킷에 담아 두는 구조)
+ * 단계마다 버킷 64개를 두고, 0단계 버킷 하나는 tick, 1단계는 tick * 64, ... 5단계까지 넓어진다.
+ *
+ * - schedule: 마감 시각이 들어갈 가장 낮은 단계를 골라 버킷 목록 앞에 붙인다. O(1)
+ * - advance: 지나간 틱과 지금 틱의 버킷만 떼어 내 마감된 항목을 알리고, 아직 남은 항목은 더 낮은 단계로 다시 넣는다.
+ *   항목은 단계 수(5) 이하로만 옮겨지므로 항목당 비용은 상수이고, 전체를 훑는 일이 없다.
+ * - 마감 알림은 마감 시각이 속한 틱이 끝난 뒤에 온다. (최대 tick 만큼 늦음)
+ * - 처리기가 다음 마감 시각을 돌려주면 다시 넣는다. 항목의 실제 만료가 늦춰졌을 때(접근 등) 휠을 건드리지 않고
+ *   마감 때 한 번에 옮기기 위한 것으로, 휠에 있는 마감 시각은 실제 만료의 하한이면 된다.
+ *
+ * 시각은 0 이상의 상대 나노초이며, 동기화하지 않으므로 호출자가 락으로 감싼다.
+ */
+final class TimerWheel<T extends TimerWheel.Node> {
+
+    static final int BUCKETS = 64;
+    static final int LEVELS = 5;
+
+    /**
+     * advance 처리기가 돌려주는 값: 항목을 휠에서 뺀다
+     */
+    static final long DROP = -1;
+
+    private static final int BUCKET_BITS = 6;
+    private static final int MASK = BUCKETS - 1;
+
+    private final int[] shifts = new int[LEVELS];
+    private final Node[][] buckets = new Node[LEVELS][BUCKETS];
+    private final long tick;
+    private long time;
+    private int size;
+
+    /**
+     * @param tick 0단계 버킷 하나의 폭 (나노초, 2의 제곱수로 내림)
+     */
+    TimerWheel(long tick) {
+        if (tick < 1) {
+            throw new IllegalArgumentException("틱은 1나노초 이상이어야 합니다: " + tick);
+        }
+        this.tick = Long.highestOneBit(tick);
+        int shift = Long.numberOfTrailingZeros(this.tick);
+        for (int level = 0; level < LEVELS; level++) {
+            shifts[level] = shift + level * BUCKET_BITS;
+        }
+    }
+
+    /**
+     * 항목 추가
+     * @param node 휠에 없는 항목
+     * @param deadline 마감 시각 (지났으면 다음 틱에 알린다)
+     */
+    void schedule(T node, long deadline) {
+        node.deadline = deadline;
+        // 너무 먼 마감은 가장 높은 단계의 가장 먼 버킷에 두었다가 그 버킷이 돌아올 때 다시 넣는다
+        long placed = Math.min(Math.max(deadline, time), time + ((long) (BUCKETS - 1) << shifts[LEVELS - 1]));
+        long delta = placed - time;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << shifts[level + 1])) {
+            level++;
+        }
+        int index = (int) ((placed >>> shifts[level]) & MASK);
+        node.next = buckets[level][index];
+        buckets[level][index] = node;
+        size++;
+    }
+
+    /**
+     * 지금 시각까지 휠을 돌리며 마감된 항목을 처리기에 넘긴다
+     * @param now 지금 시각 (이전 시각보다 작으면 아무것도 하지 않는다)
+     * @param handler 마감 처리기 (다음 마감 시각 또는 DROP을 돌려준다)
+     * @return 처리기에 넘긴 항목 수
+     */
+    int advance(long now, Handler<T> handler) {
+        long previous = time;
+        if (now <= previous) {
+            return 0;
+        }
+        time = now;
+        int due = 0;
+        for (int level = 0; level < LEVELS; level++) {
+            long previousTicks = previous >>> shifts[level];
+            long delta = (now >>> shifts[level]) - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+            due += expire(level, previousTicks, delta, now, handler);
+        }
+        return due;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int expire(int level, long previousTicks, long delta, long now, Handler<T> handler) {
+        int due = 0;
+        // 지금 틱의 버킷도 본다: 높은 단계 버킷에는 지금 틱 안에 마감되는 항목이 있으므로 미리 낮은 단계로 내려 둔다
+        int start = (int) (previousTicks & MASK);
+        int count = (int) Math.min(delta + 1, BUCKETS);
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) & MASK;
+            Node node = buckets[level][index];
+            buckets[level][index] = null;
+            while (node != null) {
+                Node next = node.next;
+                node.next = null;
+                size--;
+                if (node.deadline > now) {
+                    // 높은 단계에서 내려오는 항목: 더 촘촘한 단계로 다시 넣는다
+                    schedule((T) node, node.deadline);
+                } else {
+                    due++;
+                    long nextDeadline = handler.onDue((T) node, now);
+                    if (nextDeadline != DROP) {
+                        schedule((T) node, nextDeadline);
+                    }
+                }
+                node = next;
+            }
+        }
+        return due;
+    }
+
+    /**
+     * @return 휠에 들어 있는 항목 수
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return 0단계 버킷 폭 (나노초)
+     */
+    long tick() {
+        return tick;
+    }
+
+    /**
+     * @return 마지막으로 돌린 시각
+     */
+    long time() {
+        return time;
+    }
+
+    /**
+     * 휠 항목 (버킷 목록의 한 칸)
+     */
+    static class Node {
+
+        long deadline;
+        Node next;
+    }
+
+    /**
+     * 마감 처리기
+     */
+    @FunctionalInterface
+    interface Handler<T extends Node> {
+
+        /**
+         * @param node 마감된 항목
+         * @param now 지금 시각
+         * @return 다시 넣을 마감 시각 (지금보다 뒤), 휠에서 빼려면 DROP
+         */
+        long onDue(T node, long now);
+    }
+}
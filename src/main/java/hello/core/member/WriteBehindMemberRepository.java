@@ -0,0 +1,432 @@
+package hello.core.member;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * 쓰기 지연(write-behind) 회원 저장소 데코레이터
+ * save는 메모리의 대기 맵에만 반영하고 바로 돌아오며, 백그라운드 플러셔가 감싼 저장소에 일괄 저장한다.
+ *
+ * - 조회: 대기 중인 변경을 먼저 보고, 없으면 감싼 저장소를 본다. (자기가 쓴 값은 바로 읽힌다)
+ * - 병합: 같은 ID의 대기 중 변경은 마지막 값 하나로 합쳐져 한 번만 기록된다.
+ * - 플러시: 대기 건수가 batchSize에 이르거나 flushInterval이 지나면 batchSize씩 saveAll한다.
+ *           배치 기록에 실패하면 그 배치를 한 건씩 다시 기록하고, 다음 배치로 넘어간다.
+ *           한 건씩도 모두 실패하면 감싼 저장소 장애로 보고 대기 맵에 그대로 둔 채 다음 주기에 다시 시도한다.
+ *           다른 회원은 기록되는데 혼자 MAX_ATTEMPTS번 실패한 회원(제약 조건 위반 등)은 버리고 rejected로 센다.
+ *           (한 건 때문에 뒤의 배치가 모두 막히고 대기 맵이 차서 쓰기 전체가 멈추지 않도록)
+ * - 역압: 대기 ID 수가 maxPending이면 save가 자리가 날 때까지 기다리고,
+ *         BACKPRESSURE_TIMEOUT 안에 자리가 나지 않으면 IllegalStateException이 발생한다.
+ * - 종료: close()가 남은 변경을 모두 기록하고 플러셔를 멈춘다. (스프링 빈이면 컨테이너 종료 시 호출된다)
+ *
+ * 지연(lag)은 변경이 처음 대기 맵에 들어온 시점부터 감싼 저장소에 기록된 시점까지이며,
+ * 기록한 변경마다 lagRecorder에 나노초로 전달한다.
+ */
+public class WriteBehindMemberRepository implements MemberRepository, AutoCloseable {
+
+    static final Duration BACKPRESSURE_TIMEOUT = Duration.ofSeconds(5);
+    // 다른 회원은 기록되는데 혼자 실패한 횟수가 이만큼이면 버린다
+    static final int MAX_ATTEMPTS = 3;
+
+    private final MemberRepository delegate;
+    private final int maxPending;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final LongConsumer lagRecorder;
+
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final Object flushLock = new Object();
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    private final LongAdder saved = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder backpressureWaits = new LongAdder();
+    private volatile RuntimeException lastFailure;
+
+    /**
+     * @param delegate 실제 회원 저장소
+     * @param maxPending 대기할 수 있는 최대 회원 ID 수
+     * @param batchSize 한 번에 saveAll할 회원 수 (플러시 시작 기준이기도 하다)
+     * @param flushInterval 대기 건수가 적어도 플러시하는 주기
+     */
+    public WriteBehindMemberRepository(MemberRepository delegate, int maxPending, int batchSize, Duration flushInterval) {
+        this(delegate, maxPending, batchSize, flushInterval, lag -> { });
+    }
+
+    /**
+     * @param delegate 실제 회원 저장소
+     * @param maxPending 대기할 수 있는 최대 회원 ID 수
+     * @param batchSize 한 번에 saveAll할 회원 수 (플러시 시작 기준이기도 하다)
+     * @param flushInterval 대기 건수가 적어도 플러시하는 주기
+     * @param lagRecorder 기록한 변경마다 대기 시간(나노초)을 받을 기록기
+     */
+    public WriteBehindMemberRepository(MemberRepository delegate, int maxPending, int batchSize, Duration flushInterval,
+                                       LongConsumer lagRecorder) {
+        if (batchSize < 1 || maxPending < batchSize) {
+            throw new IllegalArgumentException("배치 크기는 1 이상, 최대 대기 수는 배치 크기 이상이어야 합니다.");
+        }
+        this.delegate = delegate;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.lagRecorder = lagRecorder;
+        this.capacity = new Semaphore(maxPending);
+        this.flusher = new Thread(this::runFlusher, "member-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 대기 맵에 반영하고 바로 반환 (대기 ID가 가득 차면 자리가 날 때까지 대기)
+     * @param member 저장할 회원 정보
+     */
+    @Override
+    public void save(Member member) {
+        if (closed) {
+            throw new IllegalStateException("쓰기 지연 저장소가 닫혔습니다.");
+        }
+        acquireSlot();
+        long now = System.nanoTime();
+        Pending result = pending.compute(member.getId(),
+                (id, previous) -> previous == null ? new Pending(member, now, true) : new Pending(member, previous.since, false));
+        saved.increment();
+        if (!result.fresh) {
+            // 이미 대기 중인 ID는 자리를 하나만 차지한다
+            capacity.release();
+            coalesced.increment();
+        }
+        if (maxPending - capacity.availablePermits() >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Member> members) {
+        for (Member member : members) {
+            save(member);
+        }
+    }
+
+    /**
+     * 회원 등급 조건부 변경 (바꾼 값은 저장처럼 대기 맵에 넣는다)
+     * 감싼 저장소에 쓰는 플러시와 삭제가 flushLock 안에서만 일어나므로, 이 락을 잡고 있으면 대기 중인 변경이 없을 때
+     * 감싼 저장소의 값이 지금 값이다. 확인과 변경은 대기 맵의 compute 안에서 하므로 같은 회원의 저장과도 엇갈리지 않는다.
+     * 자리는 락을 잡기 전에 받는다. (자리를 기다리는 동안 플러셔가 이 락을 잡아 자리를 비워야 한다)
+     */
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        if (closed) {
+            throw new IllegalStateException("쓰기 지연 저장소가 닫혔습니다.");
+        }
+        acquireSlot();
+        long now = System.nanoTime();
+        Pending[] created = new Pending[1];
+        Member current;
+        synchronized (flushLock) {
+            Member stored = pending.containsKey(memberId) ? null : delegate.findById(memberId);
+            Pending result = pending.compute(memberId, (id, previous) -> {
+                Member base = previous != null ? previous.member : stored;
+                if (base == null || base.getGrade() != expected) {
+                    return previous;
+                }
+                Member changed = new Member(id, base.getName(), grade);
+                created[0] = previous == null ? new Pending(changed, now, true) : new Pending(changed, previous.since, false);
+                return created[0];
+            });
+            current = result != null ? result.member : stored;
+        }
+        if (created[0] == null || !created[0].fresh) {
+            // 바꾸지 않았거나 이미 대기 중인 ID면 받은 자리를 돌려준다
+            capacity.release();
+        }
+        if (created[0] != null) {
+            saved.increment();
+            if (!created[0].fresh) {
+                coalesced.increment();
+            }
+        }
+        if (maxPending - capacity.availablePermits() >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return current;
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        Pending change = pending.get(memberId);
+        return change != null ? change.member : delegate.findById(memberId);
+    }
+
+    /**
+     * 대기 중인 변경을 먼저 보고, 나머지만 감싼 저장소에서 한 번에 조회
+     */
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        Map<Long, Member> found = new HashMap<>(memberIds.size() * 4 / 3 + 1);
+        List<Long> rest = new ArrayList<>(memberIds.size());
+        for (Long memberId : memberIds) {
+            Pending change = pending.get(memberId);
+            if (change != null) {
+                found.put(memberId, change.member);
+            } else {
+                rest.add(memberId);
+            }
+        }
+        if (!rest.isEmpty()) {
+            delegate.findAllById(rest).forEach(found::putIfAbsent);
+        }
+        return found;
+    }
+
+    /**
+     * 대기 중인 변경을 버리고 감싼 저장소에서 삭제
+     * 플러시와 같은 락 안에서 처리하므로 기록 중이던 변경이 삭제 뒤에 되살아나지 않는다.
+     */
+    @Override
+    public void delete(Long memberId) {
+        synchronized (flushLock) {
+            if (pending.remove(memberId) != null) {
+                capacity.release();
+            }
+            delegate.delete(memberId);
+        }
+    }
+
+    /**
+     * 지금 대기 중인 변경을 기록한 뒤 감싼 저장소를 순회
+     */
+    @Override
+    public void forEach(Consumer<Member> action) {
+        flush();
+        delegate.forEach(action);
+    }
+
+    private void acquireSlot() {
+        if (capacity.tryAcquire()) {
+            return;
+        }
+        backpressureWaits.increment();
+        LockSupport.unpark(flusher);
+        try {
+            if (!capacity.tryAcquire(BACKPRESSURE_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("쓰기 지연 버퍼가 가득 찼습니다. (대기 " + maxPending + "건)", lastFailure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("쓰기 지연 대기 중 중단되었습니다.", e);
+        }
+    }
+
+    private void runFlusher() {
+        while (!closed) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            if (!closed) {
+                try {
+                    flush();
+                } catch (RuntimeException e) {
+                    // 지연 기록기 등에서 난 예외로 플러셔가 죽지 않게 한다
+                    failures.increment();
+                    lastFailure = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 지금 대기 중인 변경을 모두 감싼 저장소에 기록
+     * @return 기록한 변경 수 (감싼 저장소 장애로 멈추면 그때까지 기록한 수)
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            int written = 0;
+            List<Member> members = new ArrayList<>(batchSize);
+            List<Map.Entry<Long, Pending>> entries = new ArrayList<>(batchSize);
+            for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+                members.add(entry.getValue().member);
+                entries.add(Map.entry(entry.getKey(), entry.getValue()));
+                if (members.size() == batchSize) {
+                    int batchWritten = write(members, entries);
+                    if (batchWritten == 0) {
+                        return written;
+                    }
+                    written += batchWritten;
+                    members.clear();
+                    entries.clear();
+                }
+            }
+            if (!members.isEmpty()) {
+                written += write(members, entries);
+            }
+            return written;
+        }
+    }
+
+    // 한 건도 기록하지 못하면 0 (감싼 저장소 장애로 보고 이번 플러시를 멈춘다)
+    private int write(List<Member> members, List<Map.Entry<Long, Pending>> entries) {
+        try {
+            delegate.saveAll(members);
+        } catch (RuntimeException e) {
+            failures.increment();
+            lastFailure = e;
+            return writeEach(entries);
+        }
+        long now = System.nanoTime();
+        for (Map.Entry<Long, Pending> entry : entries) {
+            written(entry, now);
+        }
+        flushed.add(members.size());
+        batches.increment();
+        return members.size();
+    }
+
+    // 실패한 배치를 한 건씩 기록해, 기록되지 않는 회원만 남긴다
+    private int writeEach(List<Map.Entry<Long, Pending>> entries) {
+        List<Map.Entry<Long, Pending>> failed = new ArrayList<>();
+        int written = 0;
+        for (Map.Entry<Long, Pending> entry : entries) {
+            try {
+                delegate.save(entry.getValue().member);
+            } catch (RuntimeException e) {
+                lastFailure = e;
+                failed.add(entry);
+                continue;
+            }
+            written(entry, System.nanoTime());
+            written++;
+        }
+        if (written == 0) {
+            // 모두 실패하면 회원 탓인지 알 수 없으므로 시도 횟수를 세지 않는다
+            return 0;
+        }
+        flushed.add(written);
+        for (Map.Entry<Long, Pending> entry : failed) {
+            Pending change = entry.getValue();
+            // attempts는 flushLock 안에서만 바뀐다. 그사이 새 값이 들어왔으면 새 값은 처음부터 다시 센다
+            if (++change.attempts >= MAX_ATTEMPTS && pending.remove(entry.getKey(), change)) {
+                capacity.release();
+                rejected.increment();
+            }
+        }
+        return written;
+    }
+
+    private void written(Map.Entry<Long, Pending> entry, long now) {
+        Pending change = entry.getValue();
+        // 기록하는 동안 새 값이 들어왔으면 그 값은 남겨 두고 다음에 기록한다
+        if (pending.remove(entry.getKey(), change)) {
+            capacity.release();
+        }
+        lagRecorder.accept(now - change.since);
+    }
+
+    /**
+     * 현재 상태 (지연 지표)
+     */
+    public Stats stats() {
+        long now = System.nanoTime();
+        long oldest = now;
+        for (Pending change : pending.values()) {
+            oldest = Math.min(oldest, change.since);
+        }
+        return new Stats(pending.size(), now - oldest, saved.sum(), coalesced.sum(), flushed.sum(), batches.sum(),
+                failures.sum(), rejected.sum(), backpressureWaits.sum());
+    }
+
+    @Override
+    public MemberRepository delegate() {
+        return delegate;
+    }
+
+    /**
+     * 스냅샷을 지원하지 않는다 (복원한 내용을 아직 기록하지 않은 쓰기가 나중에 덮어쓴다)
+     * @return null
+     */
+    @Override
+    public SnapshotableMemberRepository snapshotable() {
+        return null;
+    }
+
+    /**
+     * 플러셔를 멈추고 남은 변경을 모두 기록한 뒤, 감싼 저장소가 AutoCloseable이면 닫는다
+     * @throws IllegalStateException 남은 변경을 기록하지 못한 경우
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 닫는 동안 끝난 save까지 기록 (기록 실패가 아니면 빌 때까지)
+        while (!pending.isEmpty() && flush() > 0) {
+            Thread.onSpinWait();
+        }
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException("쓰기 지연 변경 " + pending.size() + "건을 기록하지 못했습니다.", lastFailure);
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("감싼 저장소를 닫지 못했습니다.", e);
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 변경 (같은 ID로 합쳐져도 처음 들어온 시각을 유지)
+     * 플러셔가 기록한 값과 현재 값을 구별하려고 값이 아닌 객체 동일성으로 비교한다.
+     */
+    private static final class Pending {
+
+        final Member member;
+        final long since;
+        final boolean fresh;
+        // 다른 회원은 기록되는데 이 값만 실패한 횟수 (flushLock 안에서만 읽고 쓴다)
+        int attempts;
+
+        Pending(Member member, long since, boolean fresh) {
+            this.member = member;
+            this.since = since;
+            this.fresh = fresh;
+        }
+    }
+
+    /**
+     * 쓰기 지연 상태
+     *
+     * @param pending 대기 중인 회원 ID 수
+     * @param oldestPendingNanos 가장 오래 기다린 변경의 대기 시간 (현재 지연)
+     * @param saved save 호출 수
+     * @param coalesced 대기 중인 변경에 합쳐진 save 수
+     * @param flushed 감싼 저장소에 기록한 변경 수
+     * @param batches saveAll 호출 수
+     * @param failures 배치 기록 실패 수
+     * @param rejected 혼자 계속 실패해 버린 변경 수
+     * @param backpressureWaits 자리가 없어 기다린 save 수
+     */
+    public record Stats(int pending, long oldestPendingNanos, long saved, long coalesced, long flushed, long batches,
+                        long failures, long rejected, long backpressureWaits) {
+    }
+}
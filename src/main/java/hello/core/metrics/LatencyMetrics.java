@@ -0,0 +1,56 @@
+package hello.core.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 연산별 지연 시간 기록기 모음
+ * 서비스 데코레이터가 연산 이름으로 기록기를 받아 가고, 조회/보고는 여기서 한 번에 한다.
+ */
+public class LatencyMetrics {
+
+    public static final String MEMBER_JOIN = "member.join";
+    public static final String MEMBER_JOIN_ALL = "member.joinAll";
+    public static final String MEMBER_FIND = "member.findMember";
+    public static final String MEMBER_FIND_ALL = "member.findMembers";
+    /** 쓰기 지연 저장소에서 변경이 실제 저장소에 기록되기까지 기다린 시간 */
+    public static final String MEMBER_WRITE_BEHIND_LAG = "member.writeBehindLag";
+    public static final String ORDER_CREATE = "order.createOrder";
+
+    private final Map<String, OperationLatency> operations = new ConcurrentHashMap<>();
+
+    /**
+     * 연산 기록기 조회 (없으면 생성)
+     * 데코레이터 생성 시 한 번 받아 필드로 보관해야 기록 경로에 맵 조회가 없다.
+     *
+     * @param name 연산 이름
+     * @return 연산 기록기
+     */
+    public OperationLatency operation(String name) {
+        return operations.computeIfAbsent(name, OperationLatency::new);
+    }
+
+    /**
+     * 모든 연산의 누적 스냅샷
+     * @return 연산 이름순 스냅샷 목록
+     */
+    public List<LatencySnapshot> snapshot() {
+        List<LatencySnapshot> snapshots = new ArrayList<>();
+        operations.values().forEach(operation -> snapshots.add(operation.snapshot()));
+        snapshots.sort((a, b) -> a.operation().compareTo(b.operation()));
+        return snapshots;
+    }
+
+    /**
+     * 모든 연산의 구간 스냅샷 (마지막 호출 이후)
+     * @return 연산 이름순 스냅샷 목록
+     */
+    public List<LatencySnapshot> intervalSnapshot() {
+        List<LatencySnapshot> snapshots = new ArrayList<>();
+        operations.values().forEach(operation -> snapshots.add(operation.intervalSnapshot()));
+        snapshots.sort((a, b) -> a.operation().compareTo(b.operation()));
+        return snapshots;
+    }
+}
@@ -0,0 +1,108 @@
+package hello.core.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 시간 주기 보고기
+ * 일정 주기마다 구간 스냅샷을 로컬 파일에 CSV 한 줄씩 덧붙인다.
+ * 형식: timestamp,operation,count,p50_ns,p99_ns,p999_ns,max_ns
+ *
+ * 보고 파일이 지정되지 않으면 아무 일도 하지 않는다. 종료(close) 시 남은 구간을 마지막으로 기록한다.
+ * 주기 보고나 종료 보고가 실패하면(디스크 가득 참 등) 로그를 남기고 세어 둔 뒤 다음 주기에 다시 한다.
+ * (예약 작업 밖으로 예외가 나가면 이후 보고가 모두 취소되므로 밖으로 던지지 않는다)
+ */
+public class LatencyReporter implements AutoCloseable {
+
+    /**
+     * 보고 파일 경로 시스템 프로퍼티
+     */
+    public static final String FILE_PROPERTY = "core.metrics.latency-file";
+
+    private static final System.Logger log = System.getLogger(LatencyReporter.class.getName());
+
+    private final LatencyMetrics metrics;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * @param metrics 보고할 지연 시간 기록기 모음
+     * @param file 보고 파일 (null이면 보고하지 않음)
+     * @param interval 보고 주기
+     */
+    public LatencyReporter(LatencyMetrics metrics, Path file, Duration interval) {
+        this.metrics = metrics;
+        this.file = file;
+        if (file == null) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "latency-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::reportQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 구간 스냅샷을 파일에 기록
+     */
+    public synchronized void report() {
+        if (file == null) {
+            return;
+        }
+        String timestamp = Instant.now().toString();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (LatencySnapshot snapshot : metrics.intervalSnapshot()) {
+                if (snapshot.count() == 0) {
+                    continue;
+                }
+                writer.write(timestamp + "," + snapshot.operation() + "," + snapshot.count() + "," + snapshot.p50()
+                        + "," + snapshot.p99() + "," + snapshot.p999() + "," + snapshot.max());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("지연 시간 보고 파일에 쓰지 못했습니다: " + file, e);
+        }
+    }
+
+    /**
+     * @return 보고에 실패한 횟수
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    // 주기 보고/종료 보고: 실패는 로그로 남기고 다음 주기에 다시 한다 (그 구간의 분포는 잃는다)
+    private void reportQuietly() {
+        try {
+            report();
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.log(System.Logger.Level.WARNING, "지연 시간 보고에 실패했습니다. 다음 주기에 다시 합니다.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            reportQuietly();
+        }
+    }
+}
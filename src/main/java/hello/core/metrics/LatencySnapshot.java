@@ -0,0 +1,26 @@
+package hello.core.metrics;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * 지연 시간 분포 스냅샷
+ * 한 연산의 호출 수와 주요 백분위 지연 시간(나노초)을 담는다.
+ *
+ * @param operation 연산 이름 (예: order.createOrder)
+ * @param count 호출 수
+ * @param p50 50번째 백분위
+ * @param p99 99번째 백분위
+ * @param p999 99.9번째 백분위
+ * @param max 최댓값
+ */
+public record LatencySnapshot(String operation, long count, long p50, long p99, long p999, long max) {
+
+    static LatencySnapshot of(String operation, Histogram histogram) {
+        return new LatencySnapshot(operation,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50.0),
+                histogram.getValueAtPercentile(99.0),
+                histogram.getValueAtPercentile(99.9),
+                histogram.getMaxValue());
+    }
+}
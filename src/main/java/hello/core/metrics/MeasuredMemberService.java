@@ -0,0 +1,73 @@
+package hello.core.metrics;
+
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 지연 시간 측정 회원 서비스 데코레이터
+ * join, joinAll, findMember, findMembers 호출마다 소요 시간을 기록한다. (예외가 발생해도 기록)
+ */
+public class MeasuredMemberService implements MemberService {
+
+    private final MemberService delegate;
+    private final OperationLatency joinLatency;
+    private final OperationLatency joinAllLatency;
+    private final OperationLatency findLatency;
+    private final OperationLatency findAllLatency;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param delegate 실제 회원 서비스
+     * @param metrics 지연 시간 기록기 모음
+     */
+    public MeasuredMemberService(MemberService delegate, LatencyMetrics metrics) {
+        this.delegate = delegate;
+        this.joinLatency = metrics.operation(LatencyMetrics.MEMBER_JOIN);
+        this.joinAllLatency = metrics.operation(LatencyMetrics.MEMBER_JOIN_ALL);
+        this.findLatency = metrics.operation(LatencyMetrics.MEMBER_FIND);
+        this.findAllLatency = metrics.operation(LatencyMetrics.MEMBER_FIND_ALL);
+    }
+
+    @Override
+    public void join(Member member) {
+        long start = System.nanoTime();
+        try {
+            delegate.join(member);
+        } finally {
+            joinLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Member findMember(Long memberId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findMember(memberId);
+        } finally {
+            findLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void joinAll(Collection<Member> members) {
+        long start = System.nanoTime();
+        try {
+            delegate.joinAll(members);
+        } finally {
+            joinAllLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<Member> findMembers(Collection<Long> memberIds) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findMembers(memberIds);
+        } finally {
+            findAllLatency.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package hello.core.metrics;
+
+import hello.core.order.Order;
+import hello.core.order.OrderService;
+
+/**
+ * 지연 시간 측정 주문 서비스 데코레이터
+ * createOrder 호출마다 소요 시간을 기록한다. (처리율 제한 거절 등 예외가 발생해도 기록)
+ */
+public class MeasuredOrderService implements OrderService {
+
+    private final OrderService delegate;
+    private final OperationLatency createLatency;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param delegate 실제 주문 서비스
+     * @param metrics 지연 시간 기록기 모음
+     */
+    public MeasuredOrderService(OrderService delegate, LatencyMetrics metrics) {
+        this.delegate = delegate;
+        this.createLatency = metrics.operation(LatencyMetrics.ORDER_CREATE);
+    }
+
+    @Override
+    public Order createOrder(Long memberId, String itemName, int itemPrice) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createOrder(memberId, itemName, itemPrice);
+        } finally {
+            createLatency.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package hello.core.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 연산 하나의 지연 시간 기록기
+ * 스레드 ID로 고른 스트라이프의 Recorder에 기록한다. 기록 경로에는 락이 없고, 같은 스트라이프를 쓰는 스레드끼리만 경합한다.
+ * 스트라이프 수는 CPU 수의 두 배(최대 16)로 고정이라, 가상 스레드처럼 스레드가 계속 생기고 사라져도 기록기가 늘지 않는다.
+ * 스트라이프의 기록기는 처음 기록할 때 만든다. (쓰지 않는 스트라이프는 만들지 않는다)
+ *
+ * 메모리: 1ns~1분을 유효 숫자 3자리로 담는 히스토그램은 카운트 배열이 27,648칸(약 221 KB)이고,
+ * Recorder는 교체용 히스토그램을 하나 더 두어 약 442 KB다. 연산 하나는 최대 16 x 442 KB(약 7 MB)에
+ * 누적/구간/임시 히스토그램 약 663 KB를 더해 8 MB 안팎으로 고정되며, 연산 수만큼 곱해진다. (지금 연산 6개면 최대 약 48 MB)
+ * 스트라이프 상한을 16으로 둔 것은 이 고정 비용 때문이다. (Recorder 기록은 CAS 몇 번이라 16개면 경합이 충분히 흩어진다)
+ * 조회 시에는 각 기록기의 구간 히스토그램을 교체(interval swap)해 가져와 합친다.
+ */
+public class OperationLatency {
+
+    // 1분을 넘는 값은 1분으로 기록 (유효 숫자 3자리)
+    static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    static final int MAX_STRIPES = 16;
+    static final int STRIPES = Math.min(MAX_STRIPES,
+            Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1);
+    private static final int STRIPE_SHIFT = 64 - Integer.numberOfTrailingZeros(STRIPES);
+
+    private final String name;
+    private final AtomicReferenceArray<Recorder> recorders = new AtomicReferenceArray<>(STRIPES);
+
+    // 시작 이후 누적 분포와, 마지막 주기 보고 이후 분포
+    private final Histogram cumulative = newHistogram();
+    private final Histogram pendingInterval = newHistogram();
+    private final Histogram scratch = newHistogram();
+
+    OperationLatency(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 지연 시간 기록
+     * @param nanos 소요 시간(나노초)
+     */
+    public void record(long nanos) {
+        int stripe = stripeIndex(Thread.currentThread().threadId());
+        Recorder recorder = recorders.get(stripe);
+        if (recorder == null) {
+            recorder = newRecorder(stripe);
+        }
+        recorder.recordValue(Math.min(Math.max(nanos, 0), HIGHEST_TRACKABLE_NANOS));
+    }
+
+    // 스레드 ID를 섞어 위 비트로 스트라이프를 고른다 (연속된 ID가 한 스트라이프에 몰리지 않도록)
+    static int stripeIndex(long threadId) {
+        return (int) (threadId * 0x9E3779B97F4A7C15L >>> STRIPE_SHIFT);
+    }
+
+    /**
+     * 연산 이름 반환
+     * @return 연산 이름
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 시작 이후 누적 분포 스냅샷
+     * @return 누적 스냅샷
+     */
+    public synchronized LatencySnapshot snapshot() {
+        harvest();
+        return LatencySnapshot.of(name, cumulative);
+    }
+
+    /**
+     * 마지막 호출 이후 구간 분포 스냅샷 (주기 보고용, 호출 후 구간이 초기화됨)
+     * @return 구간 스냅샷
+     */
+    public synchronized LatencySnapshot intervalSnapshot() {
+        harvest();
+        LatencySnapshot snapshot = LatencySnapshot.of(name, pendingInterval);
+        pendingInterval.reset();
+        return snapshot;
+    }
+
+    // 스트라이프 기록기의 활성 히스토그램을 교체해 가져와 누적/구간 분포에 더한다
+    private void harvest() {
+        for (int i = 0; i < STRIPES; i++) {
+            Recorder recorder = recorders.get(i);
+            if (recorder != null) {
+                recorder.getIntervalHistogramInto(scratch);
+                cumulative.add(scratch);
+                pendingInterval.add(scratch);
+            }
+        }
+    }
+
+    // 지금까지 만든 스트라이프 기록기 수 (메모리 확인용)
+    int recorderCount() {
+        int count = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            if (recorders.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // 스트라이프의 첫 기록: 동시에 만들면 먼저 넣은 기록기를 쓴다
+    private Recorder newRecorder(int stripe) {
+        Recorder created = new Recorder(1, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        return recorders.compareAndSet(stripe, null, created) ? created : recorders.get(stripe);
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(1, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    }
+}
@@ -0,0 +1,57 @@
+package hello.core.order;
+
+import java.util.List;
+
+/**
+ * 여러 주문 리스너를 순서대로 호출하는 리스너
+ * 주문 서비스에는 리스너를 하나만 주입하므로 이벤트 기록과 등급 승급처럼 여러 후속 처리가 필요할 때 묶어서 주입한다.
+ * 앞 리스너가 예외를 던지면 뒤 리스너는 호출되지 않는다.
+ * 닫을 때 AutoCloseable인 리스너를 역순으로 닫는다.
+ */
+public class CompositeOrderListener implements OrderListener, AutoCloseable {
+
+    private final OrderListener[] listeners;
+
+    /**
+     * @param listeners 호출 순서대로 나열한 리스너
+     */
+    public CompositeOrderListener(OrderListener... listeners) {
+        this.listeners = listeners.clone();
+    }
+
+    @Override
+    public void onOrder(Order order) {
+        for (OrderListener listener : listeners) {
+            listener.onOrder(order);
+        }
+    }
+
+    /**
+     * 묶인 리스너 목록
+     */
+    public List<OrderListener> listeners() {
+        return List.of(listeners);
+    }
+
+    @Override
+    public void close() {
+        RuntimeException failure = null;
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            if (listeners[i] instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e instanceof RuntimeException runtime
+                                ? runtime : new IllegalStateException("주문 리스너를 닫지 못했습니다.", e);
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package hello.core.order;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.util.LongLongHashMap;
+
+/**
+ * 누적 결제 금액 기반 등급 자동 승급 리스너
+ * 주문이 생성될 때마다 회원별 누적 결제 금액을 증분 갱신하고,
+ * 누적 금액이 승급 기준 이상이면 저장소의 회원 등급을 VIP로 바꾼다. (일괄 재계산 없음)
+ *
+ * 회원 ID를 스트라이프로 나누어 스트라이프마다 원시 long 맵 하나와 락 하나를 둔다.
+ * 같은 회원의 동시 주문은 같은 스트라이프 락으로 직렬화되므로 누적과 기준 통과 판정이 정확하고,
+ * 주문당 비용은 락 1회와 해시 조회 1회로 제한된다.
+ * 승급은 저장소의 조건부 변경(BASIC일 때만 VIP로)으로 하므로, 그사이 회원 정보가 바뀌거나 삭제되어도 덮어쓰지 않는다.
+ *
+ * 승급은 기준을 넘긴 주문 하나에만 맡기지 않는다. 저장소 변경이 실패하면(예외) 그 회원의 다음 주문이 다시 시도한다.
+ * - 누적 금액 값의 위 두 비트에 승급 상태를 둔다. SETTLED는 저장소가 더는 BASIC이 아니라고 답한 회원(승급/삭제)이고,
+ *   CLAIMED는 지금 한 스레드가 승급을 시도 중인 회원이다.
+ * - 기준 이상이고 두 비트가 모두 없는 주문만 CLAIMED를 세우고 저장소를 부르므로, 시도는 회원당 한 번에 하나이고
+ *   승급을 마친 회원의 이후 주문은 저장소를 부르지 않는다.
+ */
+public class GradePromotionListener implements OrderListener {
+
+    // 스트라이프 수 (2의 제곱수)
+    private static final int STRIPES = 64;
+    // 누적 금액 값의 승급 상태 비트 (금액은 아래 62비트)
+    private static final long SETTLED = Long.MIN_VALUE;
+    private static final long CLAIMED = 1L << 62;
+    private static final long AMOUNT = CLAIMED - 1;
+
+    private final MemberRepository memberRepository;
+    private final long promotionThreshold;
+    private final LongLongHashMap[] spendByStripe = new LongLongHashMap[STRIPES];
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param memberRepository 회원 저장소 구현체
+     * @param promotionThreshold VIP 승급 기준 누적 결제 금액
+     */
+    public GradePromotionListener(MemberRepository memberRepository, long promotionThreshold) {
+        this(memberRepository, promotionThreshold, 1024);
+    }
+
+    /**
+     * 스트라이프별 초기 용량 지정 (인스턴스를 대량으로 만드는 스트레스 테스트용)
+     * @param memberRepository 회원 저장소 구현체
+     * @param promotionThreshold VIP 승급 기준 누적 결제 금액
+     * @param expectedMembersPerStripe 스트라이프별 예상 회원 수
+     */
+    GradePromotionListener(MemberRepository memberRepository, long promotionThreshold, int expectedMembersPerStripe) {
+        this.memberRepository = memberRepository;
+        this.promotionThreshold = promotionThreshold;
+        for (int i = 0; i < STRIPES; i++) {
+            spendByStripe[i] = new LongLongHashMap(expectedMembersPerStripe);
+        }
+    }
+
+    /**
+     * 주문의 최종 결제 금액을 누적하고, 누적 금액이 기준 이상인데 아직 승급하지 못했으면 VIP로 승급
+     * @param order 생성된 주문 정보
+     */
+    @Override
+    public void onOrder(Order order) {
+        long paid = order.calculatePrice();
+        if (paid <= 0) {
+            return;
+        }
+        long memberId = order.getMemberId();
+        LongLongHashMap spend = stripeOf(memberId);
+
+        boolean claimed;
+        synchronized (spend) {
+            long value = spend.get(memberId, 0L);
+            long state = value & ~AMOUNT;
+            long after = (value & AMOUNT) + paid;
+            claimed = state == 0 && after >= promotionThreshold;
+            spend.put(memberId, after | state | (claimed ? CLAIMED : 0));
+        }
+
+        if (claimed) {
+            promote(memberId);
+        }
+    }
+
+    /**
+     * 회원의 누적 결제 금액 조회
+     * @param memberId 회원 ID
+     * @return 누적 결제 금액, 주문 이력이 없으면 0
+     */
+    public long totalSpend(long memberId) {
+        LongLongHashMap spend = stripeOf(memberId);
+        synchronized (spend) {
+            return spend.get(memberId, 0L) & AMOUNT;
+        }
+    }
+
+    // 등급 확인과 변경을 저장소 안에서 한 번에 해, 그사이 바뀐 이름이나 삭제를 조회해 둔 이전 값으로 덮어쓰지 않는다
+    // 저장소가 BASIC이 아니라고 답하면(승급했거나 없는 회원) 끝내고, 그 밖에는 CLAIMED를 풀어 다음 주문이 다시 시도한다
+    private void promote(long memberId) {
+        boolean settled = false;
+        try {
+            Member current = memberRepository.changeGrade(memberId, Grade.BASIC, Grade.VIP);
+            settled = current == null || current.getGrade() != Grade.BASIC;
+        } finally {
+            LongLongHashMap spend = stripeOf(memberId);
+            synchronized (spend) {
+                long value = spend.get(memberId, 0L) & ~CLAIMED;
+                spend.put(memberId, settled ? value | SETTLED : value);
+            }
+        }
+    }
+
+    private LongLongHashMap stripeOf(long memberId) {
+        return spendByStripe[stripeIndex(memberId)];
+    }
+
+    static int stripeIndex(long memberId) {
+        // 연속된 회원 ID가 한 스트라이프에 몰리지 않도록 비트를 섞는다
+        long h = memberId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 58) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,26 @@
+package hello.core.order;
+
+/**
+ * 주문한 회원이 저장소에 없을 때 발생하는 예외
+ * 잘못된 회원 ID는 요청 오류(HTTP 404 등)로 응답하는 정상 흐름이므로 스택 트레이스를 만들지 않는다.
+ */
+public class MemberNotFoundException extends RuntimeException {
+
+    private final long memberId;
+
+    /**
+     * @param memberId 찾지 못한 회원 ID
+     */
+    public MemberNotFoundException(long memberId) {
+        super("회원을 찾을 수 없습니다. memberId=" + memberId, null, false, false);
+        this.memberId = memberId;
+    }
+
+    /**
+     * 찾지 못한 회원 ID 반환
+     * @return 회원 ID
+     */
+    public long getMemberId() {
+        return memberId;
+    }
+}
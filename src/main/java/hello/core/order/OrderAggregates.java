@@ -0,0 +1,196 @@
+package hello.core.order;
+
+import hello.core.codec.VarInts;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 주문 이벤트에서 파생한 집계
+ * 회원별 주문 수/결제 금액/할인 금액, 상품별 주문 수, 전체 합계를 유지한다.
+ *
+ * 갱신(apply)은 OrderEventLog가 로그 락 안에서 이벤트 순서대로만 호출하고,
+ * 조회는 락 없이 어느 스레드에서나 할 수 있다. (회원별 값은 불변 레코드로 통째로 바꾼다)
+ */
+public class OrderAggregates {
+
+    /**
+     * 회원별 주문 합계
+     *
+     * @param orders 주문 수
+     * @param paid 최종 결제 금액 합계
+     * @param discount 할인 금액 합계
+     */
+    public record MemberTotals(long orders, long paid, long discount) {
+
+        public static final MemberTotals EMPTY = new MemberTotals(0, 0, 0);
+
+        MemberTotals plus(Order order) {
+            return new MemberTotals(orders + 1, paid + order.calculatePrice(), discount + order.getDiscountPrice());
+        }
+    }
+
+    private final ConcurrentHashMap<Long, MemberTotals> members;
+    private final ConcurrentHashMap<String, Long> items;
+    private volatile long orderCount;
+    private volatile long totalPaid;
+    private volatile long totalDiscount;
+
+    public OrderAggregates() {
+        this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    private OrderAggregates(ConcurrentHashMap<Long, MemberTotals> members, ConcurrentHashMap<String, Long> items) {
+        this.members = members;
+        this.items = items;
+    }
+
+    /**
+     * 이벤트 하나 반영 (OrderEventLog 락 안에서만 호출)
+     */
+    void apply(Order order) {
+        members.merge(order.getMemberId(), MemberTotals.EMPTY.plus(order), (before, ignored) -> before.plus(order));
+        if (order.getItemName() != null) {
+            items.merge(order.getItemName(), 1L, Long::sum);
+        }
+        orderCount = orderCount + 1;
+        totalPaid = totalPaid + order.calculatePrice();
+        totalDiscount = totalDiscount + order.getDiscountPrice();
+    }
+
+    /**
+     * 회원별 주문 합계 조회
+     * @param memberId 회원 ID
+     * @return 합계, 주문 이력이 없으면 {@link MemberTotals#EMPTY}
+     */
+    public MemberTotals memberTotals(long memberId) {
+        return members.getOrDefault(memberId, MemberTotals.EMPTY);
+    }
+
+    /**
+     * 상품별 주문 수 조회
+     * @param itemName 상품명
+     * @return 주문 수
+     */
+    public long itemCount(String itemName) {
+        return items.getOrDefault(itemName, 0L);
+    }
+
+    public int memberCount() {
+        return members.size();
+    }
+
+    public long orderCount() {
+        return orderCount;
+    }
+
+    public long totalPaid() {
+        return totalPaid;
+    }
+
+    public long totalDiscount() {
+        return totalDiscount;
+    }
+
+    /**
+     * 스냅샷용 사본 (OrderEventLog 락 안에서 호출해 이벤트 순번과 일치시킨다)
+     */
+    OrderAggregates copy() {
+        OrderAggregates copy = new OrderAggregates(new ConcurrentHashMap<>(members), new ConcurrentHashMap<>(items));
+        copy.orderCount = orderCount;
+        copy.totalPaid = totalPaid;
+        copy.totalDiscount = totalDiscount;
+        return copy;
+    }
+
+    /**
+     * 스냅샷 본문 기록
+     * 형식: [전체 주문 수/결제/할인 varlong] [회원 수 varint] (회원 ID, 주문 수, 결제, 할인 varlong)*
+     *       [상품 수 varint] (상품명 길이 varint, UTF-8, 주문 수 varlong)*
+     * @param out 기록 대상 (버퍼가 찰 때마다 비운다)
+     */
+    void writeTo(SnapshotOutput out) {
+        out.ensure(30 + 5);
+        VarInts.writeVarLong(out.buffer(), orderCount);
+        VarInts.writeVarLong(out.buffer(), totalPaid);
+        VarInts.writeVarLong(out.buffer(), totalDiscount);
+        VarInts.writeVarInt(out.buffer(), members.size());
+        for (Map.Entry<Long, MemberTotals> entry : members.entrySet()) {
+            out.ensure(40);
+            MemberTotals totals = entry.getValue();
+            VarInts.writeVarLong(out.buffer(), entry.getKey());
+            VarInts.writeVarLong(out.buffer(), totals.orders());
+            VarInts.writeVarLong(out.buffer(), totals.paid());
+            VarInts.writeVarLong(out.buffer(), totals.discount());
+        }
+        out.ensure(5);
+        VarInts.writeVarInt(out.buffer(), items.size());
+        for (Map.Entry<String, Long> entry : items.entrySet()) {
+            byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            out.ensure(5);
+            VarInts.writeVarInt(out.buffer(), name.length);
+            out.put(name);
+            out.ensure(10);
+            VarInts.writeVarLong(out.buffer(), entry.getValue());
+        }
+    }
+
+    /**
+     * 스냅샷 본문 읽기 (사본의 크기는 회원 수로 미리 잡는다)
+     * @throws IllegalArgumentException 본문이 잘린 경우
+     */
+    static OrderAggregates readFrom(ByteBuffer in) {
+        try {
+            long orderCount = VarInts.readVarLong(in);
+            long totalPaid = VarInts.readVarLong(in);
+            long totalDiscount = VarInts.readVarLong(in);
+            int memberCount = VarInts.readVarInt(in);
+            ConcurrentHashMap<Long, MemberTotals> members = new ConcurrentHashMap<>(memberCount * 4 / 3 + 1);
+            for (int i = 0; i < memberCount; i++) {
+                long memberId = VarInts.readVarLong(in);
+                members.put(memberId, new MemberTotals(VarInts.readVarLong(in), VarInts.readVarLong(in),
+                        VarInts.readVarLong(in)));
+            }
+            int itemCount = VarInts.readVarInt(in);
+            ConcurrentHashMap<String, Long> items = new ConcurrentHashMap<>(itemCount * 4 / 3 + 1);
+            for (int i = 0; i < itemCount; i++) {
+                byte[] name = new byte[VarInts.readVarInt(in)];
+                in.get(name);
+                items.put(new String(name, StandardCharsets.UTF_8), VarInts.readVarLong(in));
+            }
+            OrderAggregates aggregates = new OrderAggregates(members, items);
+            aggregates.orderCount = orderCount;
+            aggregates.totalPaid = totalPaid;
+            aggregates.totalDiscount = totalDiscount;
+            return aggregates;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("집계 스냅샷이 잘렸습니다.", e);
+        }
+    }
+
+    /**
+     * 스냅샷 기록 버퍼 (가득 차면 파일로 비운다)
+     */
+    interface SnapshotOutput {
+
+        ByteBuffer buffer();
+
+        /**
+         * 버퍼에 bytes 이상 남도록 비운다
+         */
+        void ensure(int bytes);
+
+        default void put(byte[] bytes) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int length = Math.min(bytes.length - offset, buffer().remaining());
+                buffer().put(bytes, offset, length);
+                offset += length;
+            }
+        }
+    }
+}
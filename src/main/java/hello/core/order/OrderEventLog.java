@@ -0,0 +1,424 @@
+package hello.core.order;
+
+import hello.core.codec.OrderCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32C;
+
+/**
+ * 주문 이벤트 로그 (이벤트 소싱)
+ * 생성된 주문을 순번을 붙여 디렉터리의 세그먼트 파일에 덧붙이고, 파생 집계({@link OrderAggregates})를 갱신한다.
+ *
+ * 스냅샷: snapshotEvery건마다 백그라운드 스레드가 집계 사본을 snapshot-순번.snap 으로 기록하고,
+ *        스냅샷보다 앞선 세그먼트와 이전 스냅샷을 지운다.
+ *        세그먼트는 스냅샷 순번에서 새로 시작하므로 남는 로그는 항상 마지막 스냅샷 이후 이벤트뿐이다.
+ * 복구: 가장 최근의 온전한 스냅샷을 읽고, 그 뒤 이벤트(최대 약 snapshotEvery건)만 재생한다.
+ *       따라서 기동 시간은 전체 이력이 아니라 스냅샷 간격에 비례한다.
+ *       마지막 세그먼트 끝의 잘린 레코드(기록 중 종료)는 잘라 내고 이어서 기록한다.
+ *
+ * 레코드 형식: [길이 int][순번 long][OrderCodec 레코드][CRC32C int (순번+레코드)]
+ * 스냅샷 형식: [매직 'OSNP' int][형식 버전 int][순번 long][집계 본문][CRC32C int][매직 int]
+ *
+ * 기록은 로그 락 하나로 직렬화된다. 주문마다 파일 쓰기(write 시스템 콜)를 하지만 fsync는 세그먼트를 넘길 때와
+ * 닫을 때만 하므로, 프로세스가 죽어도 기록은 남고 OS가 죽으면 마지막 세그먼트 일부를 잃을 수 있다.
+ */
+public class OrderEventLog implements OrderListener, AutoCloseable {
+
+    /** 이벤트 로그 디렉터리를 지정하는 시스템 속성 (-Dcore.order.event-log=경로) */
+    public static final String DIRECTORY_PROPERTY = "core.order.event-log";
+    public static final long DEFAULT_SNAPSHOT_EVERY = 100_000;
+
+    static final int SNAPSHOT_MAGIC = 0x4F534E50;
+    static final int SNAPSHOT_VERSION = 1;
+    static final long MAX_SNAPSHOT_EVERY = 10_000_000;
+    private static final int SNAPSHOT_HEADER_BYTES = 16;
+    private static final int SNAPSHOT_FOOTER_BYTES = 8;
+    private static final int FRAME_OVERHEAD = 4 + 8 + 4;
+    private static final String SEGMENT_PREFIX = "events-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final Path directory;
+    private final long snapshotEvery;
+    private final ExecutorService snapshotter;
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+    private final CRC32C appendCrc = new CRC32C();
+    private final Object snapshotLock = new Object();
+    private final Recovery recovery;
+
+    // 아래 필드는 this 락으로 보호
+    private OrderAggregates aggregates;
+    private FileChannel segment;
+    private ByteBuffer frame = ByteBuffer.allocate(256);
+    private long lastSequence;
+    private long lastSnapshotSequence;
+    private boolean closed;
+
+    private OrderEventLog(Path directory, long snapshotEvery) throws IOException {
+        this.directory = directory;
+        this.snapshotEvery = snapshotEvery;
+        this.snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-event-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.recovery = recover();
+    }
+
+    /**
+     * 디렉터리의 스냅샷과 이벤트로 상태를 복구하고 로그를 연다
+     * @param directory 로그 디렉터리 (없으면 만든다)
+     * @param snapshotEvery 스냅샷 간격 (이벤트 수)
+     * @return 이벤트 로그
+     */
+    public static OrderEventLog open(Path directory, long snapshotEvery) {
+        if (snapshotEvery < 1 || snapshotEvery > MAX_SNAPSHOT_EVERY) {
+            throw new IllegalArgumentException("스냅샷 간격은 1 ~ " + MAX_SNAPSHOT_EVERY + " 이어야 합니다.");
+        }
+        try {
+            Files.createDirectories(directory);
+            return new OrderEventLog(directory, snapshotEvery);
+        } catch (IOException e) {
+            throw new UncheckedIOException("주문 이벤트 로그를 열지 못했습니다: " + directory, e);
+        }
+    }
+
+    /**
+     * 주문을 이벤트로 기록하고 집계에 반영
+     * @param order 생성된 주문 정보
+     */
+    @Override
+    public void onOrder(Order order) {
+        boolean snapshotDue;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("주문 이벤트 로그가 닫혔습니다.");
+            }
+            long sequence = lastSequence + 1;
+            try {
+                append(sequence, order);
+            } catch (IOException e) {
+                throw new UncheckedIOException("주문 이벤트를 기록하지 못했습니다.", e);
+            }
+            lastSequence = sequence;
+            aggregates.apply(order);
+            snapshotDue = sequence - lastSnapshotSequence >= snapshotEvery;
+        }
+        if (snapshotDue && snapshotting.compareAndSet(false, true)) {
+            snapshotter.execute(() -> {
+                try {
+                    snapshot();
+                } finally {
+                    snapshotting.set(false);
+                }
+            });
+        }
+    }
+
+    private void append(long sequence, Order order) throws IOException {
+        int recordSize = OrderCodec.encodedSize(order);
+        int frameSize = FRAME_OVERHEAD + recordSize;
+        if (frame.capacity() < frameSize) {
+            frame = ByteBuffer.allocate(Math.max(frameSize, frame.capacity() * 2));
+        }
+        frame.clear();
+        frame.putInt(8 + recordSize).putLong(sequence);
+        OrderCodec.encode(order, frame);
+        appendCrc.reset();
+        appendCrc.update(frame.array(), 4, 8 + recordSize);
+        frame.putInt((int) appendCrc.getValue());
+        frame.flip();
+        while (frame.hasRemaining()) {
+            segment.write(frame);
+        }
+    }
+
+    /**
+     * 지금 스냅샷을 기록 (백그라운드 주기 스냅샷과 같은 절차)
+     * 1. 락 안에서 집계를 복사하고 새 세그먼트로 넘긴다.
+     * 2. 락 밖에서 이전 세그먼트를 fsync하고 스냅샷을 임시 파일에 쓴 뒤 원자적으로 이름을 바꾼다.
+     * 3. 스냅샷 이전 세그먼트와 스냅샷을 지운다.
+     * @return 스냅샷 순번
+     */
+    public long snapshot() {
+        synchronized (snapshotLock) {
+            return snapshotLocked();
+        }
+    }
+
+    private long snapshotLocked() {
+        OrderAggregates copy;
+        long sequence;
+        FileChannel previous;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("주문 이벤트 로그가 닫혔습니다.");
+            }
+            sequence = lastSequence;
+            if (sequence == lastSnapshotSequence) {
+                return sequence;
+            }
+            copy = aggregates.copy();
+            previous = segment;
+            try {
+                segment = openSegment(sequence + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("새 세그먼트를 열지 못했습니다.", e);
+            }
+            lastSnapshotSequence = sequence;
+        }
+        try {
+            previous.force(false);
+            previous.close();
+            writeSnapshot(copy, sequence);
+            deleteBefore(sequence);
+            return sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("주문 이벤트 스냅샷을 기록하지 못했습니다.", e);
+        }
+    }
+
+    private void writeSnapshot(OrderAggregates copy, long sequence) throws IOException {
+        Path file = directory.resolve(name(SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            CRC32C crc = new CRC32C();
+            OrderAggregates.SnapshotOutput out = new OrderAggregates.SnapshotOutput() {
+                @Override
+                public ByteBuffer buffer() {
+                    return buffer;
+                }
+
+                @Override
+                public void ensure(int bytes) {
+                    if (buffer.remaining() < bytes) {
+                        drain(channel, buffer, crc);
+                    }
+                }
+            };
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(sequence);
+            copy.writeTo(out);
+            drain(channel, buffer, crc);
+            buffer.putInt((int) crc.getValue()).putInt(SNAPSHOT_MAGIC);
+            drain(channel, buffer, null);
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer, CRC32C crc) {
+        buffer.flip();
+        if (crc != null) {
+            crc.update(buffer.duplicate());
+        }
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private void deleteBefore(long sequence) throws IOException {
+        for (Path file : list(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (sequenceOf(file, SEGMENT_PREFIX, SEGMENT_SUFFIX) <= sequence) {
+                Files.deleteIfExists(file);
+            }
+        }
+        for (Path file : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (sequenceOf(file, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < sequence) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * 가장 최근의 온전한 스냅샷을 읽고 그 뒤 이벤트를 재생한다
+     */
+    private Recovery recover() throws IOException {
+        long start = System.nanoTime();
+        aggregates = new OrderAggregates();
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            OrderAggregates loaded = readSnapshot(snapshots.get(i));
+            if (loaded != null) {
+                aggregates = loaded;
+                lastSequence = sequenceOf(snapshots.get(i), SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+                break;
+            }
+        }
+        lastSnapshotSequence = lastSequence;
+
+        long replayed = 0;
+        List<Path> segments = list(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        for (int i = 0; i < segments.size(); i++) {
+            replayed += replay(segments.get(i), i == segments.size() - 1);
+        }
+        segment = openSegment(lastSequence + 1);
+        return new Recovery(lastSnapshotSequence, replayed, System.nanoTime() - start);
+    }
+
+    private static OrderAggregates readSnapshot(Path file) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+        int size = content.limit();
+        if (size < SNAPSHOT_HEADER_BYTES + SNAPSHOT_FOOTER_BYTES
+                || content.getInt(0) != SNAPSHOT_MAGIC || content.getInt(size - 4) != SNAPSHOT_MAGIC
+                || content.getInt(4) != SNAPSHOT_VERSION) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(content.array(), 0, size - SNAPSHOT_FOOTER_BYTES);
+        if ((int) crc.getValue() != content.getInt(size - SNAPSHOT_FOOTER_BYTES)) {
+            return null;
+        }
+        content.position(SNAPSHOT_HEADER_BYTES).limit(size - SNAPSHOT_FOOTER_BYTES);
+        return OrderAggregates.readFrom(content);
+    }
+
+    /**
+     * 세그먼트의 이벤트 중 현재 순번 다음 것만 재생
+     * @param last 마지막 세그먼트면 끝의 잘린 레코드를 잘라 낸다
+     * @return 재생한 이벤트 수
+     */
+    private long replay(Path file, boolean last) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+        CRC32C crc = new CRC32C();
+        long replayed = 0;
+        int position = 0;
+        while (position < content.limit()) {
+            int length = content.limit() - position >= 4 ? content.getInt(position) : -1;
+            boolean complete = length >= 8 && length <= content.limit() - position - 8;
+            if (complete) {
+                crc.reset();
+                crc.update(content.array(), position + 4, length);
+                complete = (int) crc.getValue() == content.getInt(position + 4 + length);
+            }
+            if (!complete) {
+                if (!last) {
+                    throw new IllegalStateException("주문 이벤트 로그가 손상되었습니다: " + file + " 위치 " + position);
+                }
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(position);
+                }
+                break;
+            }
+            long sequence = content.getLong(position + 4);
+            if (sequence > lastSequence) {
+                if (sequence != lastSequence + 1) {
+                    throw new IllegalStateException("주문 이벤트 순번이 끊겼습니다: " + lastSequence + " 다음 " + sequence);
+                }
+                aggregates.apply(OrderCodec.decode(content.position(position + 12)));
+                lastSequence = sequence;
+                replayed++;
+            }
+            position += 4 + length + 4;
+        }
+        return replayed;
+    }
+
+    private FileChannel openSegment(long firstSequence) throws IOException {
+        return FileChannel.open(directory.resolve(name(SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            stream.forEach(files::add);
+        }
+        // 순번을 20자리로 맞춰 쓰므로 이름 순서가 순번 순서다
+        files.sort(null);
+        return files;
+    }
+
+    private static String name(String prefix, long sequence, String suffix) {
+        return prefix + String.format(Locale.ROOT, "%020d", sequence) + suffix;
+    }
+
+    private static long sequenceOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    /**
+     * 파생 집계 (락 없이 조회 가능)
+     */
+    public synchronized OrderAggregates aggregates() {
+        return aggregates;
+    }
+
+    /**
+     * 마지막으로 기록한 이벤트 순번
+     */
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * 열 때의 복구 결과
+     */
+    public Recovery recovery() {
+        return recovery;
+    }
+
+    /**
+     * 진행 중인 스냅샷을 기다리고 세그먼트를 fsync한 뒤 닫는다
+     */
+    @Override
+    public void close() {
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (snapshotLock) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    segment.force(false);
+                    segment.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("주문 이벤트 로그를 닫지 못했습니다.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 복구 결과
+     *
+     * @param snapshotSequence 읽은 스냅샷의 순번 (없으면 0)
+     * @param replayedEvents 스냅샷 뒤로 재생한 이벤트 수
+     * @param elapsedNanos 걸린 시간
+     */
+    public record Recovery(long snapshotSequence, long replayedEvents, long elapsedNanos) {
+
+        public double elapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+    }
+}
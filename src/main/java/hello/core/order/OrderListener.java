@@ -0,0 +1,21 @@
+package hello.core.order;
+
+/**
+ * 주문 생성 리스너 인터페이스
+ * OrderServiceImpl이 주문을 만든 직후 호출되며, 주문 결과를 후속 처리(등급 승급, 집계 등)에 전달하는 계약
+ */
+public interface OrderListener {
+
+    /**
+     * 아무 일도 하지 않는 리스너 (리스너를 주입하지 않은 경우 사용)
+     */
+    OrderListener NONE = order -> { };
+
+    /**
+     * 주문 생성 후 호출
+     * 주문 처리 스레드에서 바로 실행되므로 구현체는 주문당 상수 시간 안에 끝나야 한다.
+     *
+     * @param order 생성된 주문 정보
+     */
+    void onOrder(Order order);
+}
@@ -0,0 +1,17 @@
+package hello.core.order;
+
+/**
+ * 주문 처리율 제한 인터페이스
+ * 회원별로 주문 허용 여부를 판단하는 계약
+ */
+public interface OrderRateLimiter {
+
+    /**
+     * 주문 1건에 대한 허용 여부 판단
+     * 허용되면 해당 회원의 한도를 1건 소모한다.
+     *
+     * @param memberId 주문한 회원 ID
+     * @return 허용되면 true, 한도를 넘으면 false
+     */
+    boolean tryAcquire(long memberId);
+}
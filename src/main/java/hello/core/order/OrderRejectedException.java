@@ -0,0 +1,26 @@
+package hello.core.order;
+
+/**
+ * 처리율 제한으로 주문이 거절되었을 때 발생하는 예외
+ * 거절은 정상적인 부하 제어 흐름이므로 스택 트레이스를 만들지 않아 빠르게 던질 수 있다.
+ */
+public class OrderRejectedException extends RuntimeException {
+
+    private final long memberId;
+
+    /**
+     * @param memberId 거절된 주문의 회원 ID
+     */
+    public OrderRejectedException(long memberId) {
+        super("주문 처리율 한도를 초과했습니다. memberId=" + memberId, null, false, false);
+        this.memberId = memberId;
+    }
+
+    /**
+     * 거절된 주문의 회원 ID 반환
+     * @return 회원 ID
+     */
+    public long getMemberId() {
+        return memberId;
+    }
+}
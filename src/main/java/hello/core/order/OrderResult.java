@@ -0,0 +1,88 @@
+package hello.core.order;
+
+/**
+ * 주문 시도 결과
+ * 주문이 처리되었는지, 처리율 제한이나 없는 회원으로 거절되었는지, 그 밖의 오류로 실패했는지를 예외 없이 구분해 전달한다.
+ */
+public class OrderResult {
+
+    /**
+     * 주문 처리 상태
+     */
+    public enum Status {
+        ACCEPTED,
+        RATE_LIMITED,
+        MEMBER_NOT_FOUND,
+        ERROR
+    }
+
+    // 거절 결과는 내용이 같으므로 하나를 재사용 (거절 경로에서 할당 없음)
+    private static final OrderResult RATE_LIMITED = new OrderResult(Status.RATE_LIMITED, null);
+    private static final OrderResult MEMBER_NOT_FOUND = new OrderResult(Status.MEMBER_NOT_FOUND, null);
+    private static final OrderResult ERROR = new OrderResult(Status.ERROR, null);
+
+    private final Status status;
+    private final Order order;
+
+    private OrderResult(Status status, Order order) {
+        this.status = status;
+        this.order = order;
+    }
+
+    /**
+     * 처리된 주문 결과 생성
+     * @param order 생성된 주문
+     * @return ACCEPTED 결과
+     */
+    public static OrderResult accepted(Order order) {
+        return new OrderResult(Status.ACCEPTED, order);
+    }
+
+    /**
+     * 처리율 제한으로 거절된 결과 반환
+     * @return RATE_LIMITED 결과
+     */
+    public static OrderResult rateLimited() {
+        return RATE_LIMITED;
+    }
+
+    /**
+     * 회원이 없어 거절된 결과 반환
+     * @return MEMBER_NOT_FOUND 결과
+     */
+    public static OrderResult memberNotFound() {
+        return MEMBER_NOT_FOUND;
+    }
+
+    /**
+     * 그 밖의 오류(저장소 장애 등)로 실패한 결과 반환
+     * @return ERROR 결과
+     */
+    public static OrderResult error() {
+        return ERROR;
+    }
+
+    /**
+     * 주문 처리 상태 반환
+     * @return 처리 상태
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * 주문이 처리되었는지 여부
+     * @return ACCEPTED이면 true
+     */
+    public boolean isAccepted() {
+        return status == Status.ACCEPTED;
+    }
+
+    /**
+     * 생성된 주문 반환
+     * @return 생성된 주문, 거절된 경우 null
+     */
+    public Order getOrder() {
+        return order;
+    }
+}
@@ -14,6 +14,7 @@ public interface OrderService {
      * @param itemName 주문 상품명
      * @param itemPrice 상품 가격
      * @return 생성된 주문 정보
+     * @throws MemberNotFoundException 저장소에 회원이 없는 경우
      */
     Order createOrder(Long memberId, String itemName, int itemPrice);
 }
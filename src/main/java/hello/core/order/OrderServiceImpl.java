@@ -23,6 +23,7 @@ public class OrderServiceImpl implements OrderService {
      */
     private final MemberRepository memberRepository;
     private final DiscountPolicy discountPolicy;
+    private final OrderListener orderListener;
 
     /**
      * 생성자를 통한 의존성 주입
@@ -30,30 +31,50 @@ public class OrderServiceImpl implements OrderService {
      * @param discountPolicy 할인 정책 구현체
      */
     public OrderServiceImpl(MemberRepository memberRepository, DiscountPolicy discountPolicy) {
+        this(memberRepository, discountPolicy, OrderListener.NONE);
+    }
+
+    /**
+     * 생성자를 통한 의존성 주입 (주문 리스너 포함)
+     * @param memberRepository 회원 저장소 구현체
+     * @param discountPolicy 할인 정책 구현체
+     * @param orderListener 주문 생성 후 호출할 리스너
+     */
+    public OrderServiceImpl(MemberRepository memberRepository, DiscountPolicy discountPolicy, OrderListener orderListener) {
         this.memberRepository = memberRepository;
         this.discountPolicy = discountPolicy;
+        this.orderListener = orderListener;
     }
 
     /**
      * 주문 생성 처리
-     * 1. 회원 정보 조회
+     * 1. 회원 정보 조회 (없으면 예외)
      * 2. 할인 정책 적용
-     * 3. 주문 객체 생성 및 반환
+     * 3. 주문 객체 생성
+     * 4. 주문 리스너에 전달 후 반환
      * 
      * @param memberId 주문한 회원 ID
      * @param itemName 주문 상품명
      * @param itemPrice 상품 가격
      * @return 생성된 주문 정보
+     * @throws MemberNotFoundException 저장소에 회원이 없는 경우
      */
     @Override
     public Order createOrder(Long memberId, String itemName, int itemPrice) {
         // 1. 회원 정보 조회
         Member member = memberRepository.findById(memberId);
-        
+        if (member == null) {
+            throw new MemberNotFoundException(memberId);
+        }
+
         // 2. 할인 정책 적용하여 할인 금액 계산
         int discountPrice = discountPolicy.discount(member, itemPrice);
         
-        // 3. 주문 객체 생성 및 반환
-        return new Order(memberId, itemName, itemPrice, discountPrice);
+        // 3. 주문 객체 생성
+        Order order = new Order(memberId, itemName, itemPrice, discountPrice);
+
+        // 4. 주문 리스너에 전달 (등급 승급 등 후속 처리)
+        orderListener.onOrder(order);
+        return order;
     }
 }
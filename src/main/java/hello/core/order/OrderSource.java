@@ -0,0 +1,18 @@
+package hello.core.order;
+
+import java.util.stream.Stream;
+
+/**
+ * 주문 데이터 공급원 인터페이스
+ * 과거 주문 이력(파일, DB 커서 등)을 한 번에 메모리에 올리지 않고 스트림으로 흘려보내는 계약
+ */
+public interface OrderSource {
+
+    /**
+     * 주문 스트림 열기
+     * 호출자는 사용 후 스트림을 닫아야 한다.
+     *
+     * @return 주문 스트림
+     */
+    Stream<Order> orders();
+}
@@ -0,0 +1,53 @@
+package hello.core.order;
+
+/**
+ * 처리율 제한 주문 서비스 데코레이터
+ * 주문을 실제 서비스에 넘기기 전에 회원별 한도를 확인하고, 한도를 넘은 주문은 즉시 거절한다.
+ * 회원 조회나 할인 계산 전에 거절하므로 남용 회원이 다른 회원의 처리 자원을 빼앗지 못한다.
+ */
+public class RateLimitedOrderService implements OrderService {
+
+    private final OrderService delegate;
+    private final OrderRateLimiter rateLimiter;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param delegate 실제 주문을 처리할 서비스
+     * @param rateLimiter 회원별 처리율 제한기
+     */
+    public RateLimitedOrderService(OrderService delegate, OrderRateLimiter rateLimiter) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * 주문 생성 (한도 초과 시 예외)
+     * @param memberId 주문한 회원 ID
+     * @param itemName 주문 상품명
+     * @param itemPrice 상품 가격
+     * @return 생성된 주문 정보
+     * @throws OrderRejectedException 회원의 주문 한도를 초과한 경우
+     */
+    @Override
+    public Order createOrder(Long memberId, String itemName, int itemPrice) {
+        OrderResult result = tryCreateOrder(memberId, itemName, itemPrice);
+        if (!result.isAccepted()) {
+            throw new OrderRejectedException(memberId);
+        }
+        return result.getOrder();
+    }
+
+    /**
+     * 주문 생성 시도 (한도 초과 시 예외 없이 거절 결과 반환)
+     * @param memberId 주문한 회원 ID
+     * @param itemName 주문 상품명
+     * @param itemPrice 상품 가격
+     * @return 처리 결과 (ACCEPTED 또는 RATE_LIMITED)
+     */
+    public OrderResult tryCreateOrder(Long memberId, String itemName, int itemPrice) {
+        if (!rateLimiter.tryAcquire(memberId)) {
+            return OrderResult.rateLimited();
+        }
+        return OrderResult.accepted(delegate.createOrder(memberId, itemName, itemPrice));
+    }
+}
@@ -0,0 +1,66 @@
+package hello.core.order;
+
+/**
+ * 재계산 결과 집계 단위
+ * 한 (등급, 상품) 조합에 대한 주문 수와 기존/신규 할인 금액 합계를 담는다.
+ */
+public class RepricingDelta {
+
+    private long orderCount;
+    private long oldDiscountTotal;
+    private long newDiscountTotal;
+
+    void add(int oldDiscount, int newDiscount) {
+        orderCount++;
+        oldDiscountTotal += oldDiscount;
+        newDiscountTotal += newDiscount;
+    }
+
+    void merge(RepricingDelta other) {
+        orderCount += other.orderCount;
+        oldDiscountTotal += other.oldDiscountTotal;
+        newDiscountTotal += other.newDiscountTotal;
+    }
+
+    /**
+     * 집계된 주문 수 반환
+     * @return 주문 수
+     */
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * 기존 할인 금액 합계 반환
+     * @return 주문에 기록된 할인 금액 합계
+     */
+    public long getOldDiscountTotal() {
+        return oldDiscountTotal;
+    }
+
+    /**
+     * 신규 할인 금액 합계 반환
+     * @return 후보 정책으로 다시 계산한 할인 금액 합계
+     */
+    public long getNewDiscountTotal() {
+        return newDiscountTotal;
+    }
+
+    /**
+     * 할인 금액 변화량 반환
+     * @return 신규 - 기존 (양수면 할인이 늘어난 것)
+     */
+    public long getDelta() {
+        return newDiscountTotal - oldDiscountTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "RepricingDelta{" +
+                "orderCount=" + orderCount +
+                ", oldDiscountTotal=" + oldDiscountTotal +
+                ", newDiscountTotal=" + newDiscountTotal +
+                ", delta=" + getDelta() +
+                '}';
+    }
+}
@@ -0,0 +1,121 @@
+package hello.core.order;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemberSnapshot;
+import hello.core.member.SnapshotableMemberRepository;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 할인 정책 변경 영향 분석 작업
+ * 과거 주문 전체에 후보 할인 정책을 다시 적용해 기존 할인 금액과 비교하고,
+ * 등급별/상품별 변화량을 집계한다.
+ *
+ * 주문은 OrderSource의 스트림을 한 스레드가 순서대로 읽어 CHUNK_SIZE건씩 묶고, 묶음마다 전용 ForkJoinPool에 넘긴다.
+ * 풀에 넘긴 묶음이 parallelism x 2개면 가장 먼저 넘긴 묶음의 결과를 합친 뒤에 더 읽으므로,
+ * 메모리에 올라오는 주문은 이력 크기와 관계없이 (parallelism x 2 + 1) x CHUNK_SIZE건 이하다.
+ * (크기를 모르는 스트림을 parallel()로 나누면 분할할 때마다 점점 커지는 배치를 버퍼에 담아 이력 대부분을 메모리에 올린다)
+ * 묶음마다 RepricingReport를 따로 누적한 뒤 읽는 스레드가 합치므로 주문당 공유 자원 경합이 없고,
+ * 리포트 크기는 주문 수가 아니라 (등급 x 상품) 조합 수에 비례한다.
+ *
+ * 회원 저장소가 스냅샷을 지원하면 (데코레이터 안쪽 포함, MemberRepository.snapshotable())
+ * 시작 시점의 뷰를 열어 두고 등급을 조회하므로, 작업 도중 가입/승급이 일어나도 모든 주문이 같은 시점의 등급으로 재계산된다.
+ * 지원하지 않는 저장소(JDBC 등)는 현재 등급으로 조회한다.
+ */
+public class RepricingJob {
+
+    // 풀에 한 번에 넘기는 주문 수 (작업 전달 비용이 묻힐 만큼 크고, 앞서 읽는 양이 작을 만큼)
+    static final int CHUNK_SIZE = 4096;
+
+    private final MemberRepository memberRepository;
+    private final DiscountPolicy candidatePolicy;
+    private final int parallelism;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param memberRepository 회원 등급 조회용 저장소
+     * @param candidatePolicy 새로 적용해 볼 할인 정책
+     * @param parallelism 병렬 처리 스레드 수
+     */
+    public RepricingJob(MemberRepository memberRepository, DiscountPolicy candidatePolicy, int parallelism) {
+        this.memberRepository = memberRepository;
+        this.candidatePolicy = candidatePolicy;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 재계산 실행
+     * @param source 과거 주문 공급원
+     * @return 등급별/상품별 할인 변화량 리포트
+     */
+    public RepricingReport run(OrderSource source) {
+        SnapshotableMemberRepository snapshotable = memberRepository.snapshotable();
+        if (snapshotable != null) {
+            try (MemberSnapshot snapshot = snapshotable.openSnapshot()) {
+                return run(source, snapshot::findById);
+            }
+        }
+        return run(source, memberRepository::findById);
+    }
+
+    private RepricingReport run(OrderSource source, Function<Long, Member> members) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        // 읽는 동안 풀이 놀지 않을 만큼만 앞서 넘긴다
+        int maxInFlight = parallelism * 2;
+        Deque<ForkJoinTask<RepricingReport>> inFlight = new ArrayDeque<>(maxInFlight);
+        RepricingReport total = new RepricingReport();
+        try (Stream<Order> orders = source.orders()) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                if (inFlight.size() == maxInFlight) {
+                    total.merge(inFlight.removeFirst().get());
+                }
+                Order[] chunk = new Order[CHUNK_SIZE];
+                int size = 0;
+                while (size < CHUNK_SIZE && iterator.hasNext()) {
+                    chunk[size++] = iterator.next();
+                }
+                int length = size;
+                inFlight.addLast(pool.submit(() -> reprice(chunk, length, members)));
+            }
+            while (!inFlight.isEmpty()) {
+                total.merge(inFlight.removeFirst().get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재계산 작업이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("재계산 작업에 실패했습니다.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private RepricingReport reprice(Order[] chunk, int length, Function<Long, Member> members) {
+        RepricingReport report = new RepricingReport();
+        for (int i = 0; i < length; i++) {
+            reprice(report, chunk[i], members);
+        }
+        return report;
+    }
+
+    private void reprice(RepricingReport report, Order order, Function<Long, Member> members) {
+        Member member = members.apply(order.getMemberId());
+        if (member == null) {
+            report.skip();
+            return;
+        }
+        int newDiscount = candidatePolicy.discount(member, order.getItemPrice());
+        report.add(member.getGrade(), order.getItemName(), order.getDiscountPrice(), newDiscount);
+    }
+}
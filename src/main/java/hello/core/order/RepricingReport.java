@@ -0,0 +1,82 @@
+package hello.core.order;
+
+import hello.core.member.Grade;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 할인 정책 재계산 결과 리포트
+ * 등급별, 상품별로 기존 할인과 후보 정책 할인의 차이를 집계한다.
+ *
+ * 병렬 작업 중에는 주문 묶음마다 하나씩 만들어 누적하고, merge로 합친다.
+ */
+public class RepricingReport {
+
+    private final Map<Grade, Map<String, RepricingDelta>> deltas = new EnumMap<>(Grade.class);
+    private long skippedOrders;
+
+    void add(Grade grade, String itemName, int oldDiscount, int newDiscount) {
+        deltas.computeIfAbsent(grade, g -> new HashMap<>())
+                .computeIfAbsent(itemName, i -> new RepricingDelta())
+                .add(oldDiscount, newDiscount);
+    }
+
+    void skip() {
+        skippedOrders++;
+    }
+
+    RepricingReport merge(RepricingReport other) {
+        other.deltas.forEach((grade, items) -> {
+            Map<String, RepricingDelta> mine = deltas.computeIfAbsent(grade, g -> new HashMap<>());
+            items.forEach((item, delta) -> mine.merge(item, delta, (a, b) -> {
+                a.merge(b);
+                return a;
+            }));
+        });
+        skippedOrders += other.skippedOrders;
+        return this;
+    }
+
+    /**
+     * 등급별 상품 집계 조회
+     * @param grade 회원 등급
+     * @return 상품명 - 집계 맵 (읽기 전용)
+     */
+    public Map<String, RepricingDelta> byItem(Grade grade) {
+        return Collections.unmodifiableMap(deltas.getOrDefault(grade, Map.of()));
+    }
+
+    /**
+     * 등급 전체 합계 조회
+     * @param grade 회원 등급
+     * @return 해당 등급의 모든 상품 합계
+     */
+    public RepricingDelta byGrade(Grade grade) {
+        RepricingDelta total = new RepricingDelta();
+        deltas.getOrDefault(grade, Map.of()).values().forEach(total::merge);
+        return total;
+    }
+
+    /**
+     * 전체 합계 조회
+     * @return 모든 등급, 모든 상품 합계
+     */
+    public RepricingDelta total() {
+        RepricingDelta total = new RepricingDelta();
+        for (Grade grade : Grade.values()) {
+            total.merge(byGrade(grade));
+        }
+        return total;
+    }
+
+    /**
+     * 회원 정보를 찾지 못해 제외된 주문 수 반환
+     * @return 제외된 주문 수
+     */
+    public long getSkippedOrders() {
+        return skippedOrders;
+    }
+}
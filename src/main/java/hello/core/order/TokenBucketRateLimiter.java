@@ -0,0 +1,202 @@
+package hello.core.order;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * 회원별 토큰 버킷 처리율 제한 구현체
+ * 회원 ID(원시 long)를 스트라이프로 나누고, 스트라이프마다 오픈 어드레싱 테이블과 락 하나를 둔다.
+ *
+ * - 토큰 충전은 타이머 없이 조회 시점에 경과 시간만큼 한 번에 계산한다. (지연 충전)
+ * - 토큰이 가득 찬 버킷은 새 버킷과 구분되지 않으므로, 테이블이 찰 때 이런 유휴 항목을 먼저 비우고
+ *   그래도 부족할 때만 테이블을 키운다. 메모리는 최근 주문한 회원 수에 비례한다.
+ * - 주문당 비용은 락 1회, 해시 조회 1회, 산술 몇 번으로 일정하다.
+ */
+public class TokenBucketRateLimiter implements OrderRateLimiter {
+
+    // 토큰 1개를 나노초 단위 정밀도로 표현하기 위한 고정 소수점 배율
+    private static final long UNIT = 1_000_000_000L;
+    private static final int STRIPES = 256;
+
+    private final long capacityUnits;
+    private final long permitsPerSecond;
+    private final long fullRefillNanos;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * @param permitsPerSecond 회원당 초당 허용 주문 수
+     * @param burst 회원당 순간 최대 허용 주문 수 (버킷 크기)
+     */
+    public TokenBucketRateLimiter(long permitsPerSecond, long burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * @param permitsPerSecond 회원당 초당 허용 주문 수
+     * @param burst 회원당 순간 최대 허용 주문 수 (버킷 크기)
+     * @param nanoClock 현재 시각(나노초) 공급자
+     */
+    public TokenBucketRateLimiter(long permitsPerSecond, long burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond와 burst는 0보다 커야 합니다.");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacityUnits = burst * UNIT;
+        this.fullRefillNanos = Math.ceilDiv(capacityUnits, permitsPerSecond);
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(64);
+        }
+    }
+
+    /**
+     * 토큰 1개 소모 시도
+     * @param memberId 주문한 회원 ID
+     * @return 토큰이 있으면 true
+     */
+    @Override
+    public boolean tryAcquire(long memberId) {
+        long now = nanoClock.getAsLong();
+        Stripe stripe = stripeOf(memberId);
+        synchronized (stripe) {
+            return stripe.tryAcquire(memberId, now);
+        }
+    }
+
+    /**
+     * 현재 추적 중인 회원 수 반환
+     * @return 버킷이 가득 차지 않아 테이블에 남아 있는 회원 수 (정리 전 유휴 항목 포함)
+     */
+    public int trackedMembers() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.size + (stripe.freeKeyTracked ? 1 : 0);
+            }
+        }
+        return total;
+    }
+
+    private Stripe stripeOf(long memberId) {
+        long h = memberId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 56) & (STRIPES - 1)];
+    }
+
+    private long refill(long tokens, long lastRefill, long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed >= fullRefillNanos) {
+            return capacityUnits;
+        }
+        return Math.min(capacityUnits, tokens + elapsed * permitsPerSecond);
+    }
+
+    /**
+     * 스트라이프 하나의 버킷 테이블 (Long.MIN_VALUE를 빈 슬롯 표시로 사용)
+     * 회원 ID가 Long.MIN_VALUE이면 빈 슬롯과 구분되지 않으므로 테이블 밖의 별도 버킷에 둔다.
+     */
+    private final class Stripe {
+
+        private static final long FREE = Long.MIN_VALUE;
+
+        private long[] keys;
+        private long[] tokens;
+        private long[] lastRefill;
+        private int size;
+
+        // 회원 ID가 FREE(Long.MIN_VALUE)인 버킷
+        private boolean freeKeyTracked;
+        private long freeKeyTokens;
+        private long freeKeyLastRefill;
+
+        Stripe(int capacity) {
+            allocate(capacity);
+        }
+
+        boolean tryAcquire(long memberId, long now) {
+            if (memberId == FREE) {
+                return tryAcquireFreeKey(now);
+            }
+            int slot = slotOf(keys, memberId);
+            if (keys[slot] == memberId) {
+                long available = refill(tokens[slot], lastRefill[slot], now);
+                lastRefill[slot] = now;
+                if (available < UNIT) {
+                    tokens[slot] = available;
+                    return false;
+                }
+                tokens[slot] = available - UNIT;
+                return true;
+            }
+
+            // 처음 보는 회원(또는 유휴로 정리된 회원)은 가득 찬 버킷에서 시작
+            keys[slot] = memberId;
+            tokens[slot] = capacityUnits - UNIT;
+            lastRefill[slot] = now;
+            if (++size > keys.length * 3 / 4) {
+                compact(now);
+            }
+            return true;
+        }
+
+        private boolean tryAcquireFreeKey(long now) {
+            long available = freeKeyTracked ? refill(freeKeyTokens, freeKeyLastRefill, now) : capacityUnits;
+            freeKeyTracked = true;
+            freeKeyLastRefill = now;
+            if (available < UNIT) {
+                freeKeyTokens = available;
+                return false;
+            }
+            freeKeyTokens = available - UNIT;
+            return true;
+        }
+
+        // 유휴(가득 찬) 버킷을 제거하고, 그래도 절반 넘게 차 있으면 두 배로 키운다
+        private void compact(long now) {
+            if (freeKeyTracked && refill(freeKeyTokens, freeKeyLastRefill, now) >= capacityUnits) {
+                freeKeyTracked = false;
+            }
+            long[] oldKeys = keys;
+            long[] oldTokens = tokens;
+            long[] oldLastRefill = lastRefill;
+
+            int live = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE && refill(oldTokens[i], oldLastRefill[i], now) < capacityUnits) {
+                    live++;
+                }
+            }
+            int capacity = live > oldKeys.length / 2 ? oldKeys.length << 1 : oldKeys.length;
+
+            allocate(capacity);
+            for (int i = 0; i < oldKeys.length; i++) {
+                long key = oldKeys[i];
+                if (key != FREE && refill(oldTokens[i], oldLastRefill[i], now) < capacityUnits) {
+                    int slot = slotOf(keys, key);
+                    keys[slot] = key;
+                    tokens[slot] = oldTokens[i];
+                    lastRefill[slot] = oldLastRefill[i];
+                    size++;
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            tokens = new long[capacity];
+            lastRefill = new long[capacity];
+            Arrays.fill(keys, FREE);
+            size = 0;
+        }
+
+        private int slotOf(long[] table, long key) {
+            int mask = table.length - 1;
+            long h = key * 0xC2B2AE3D27D4EB4FL;
+            int slot = (int) (h ^ (h >>> 29)) & mask;
+            while (table[slot] != FREE && table[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
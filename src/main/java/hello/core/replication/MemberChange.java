@@ -0,0 +1,20 @@
+package hello.core.replication;
+
+import hello.core.member.Member;
+
+/**
+ * 복제 로그 항목 (회원 한 명의 변경)
+ * @param sequence 로그 순번 (1부터 빈틈없이 증가)
+ * @param memberId 회원 ID
+ * @param member 저장된 회원, 삭제면 null
+ * @param appendedAtNanos 주 저장소가 기록한 시각 (System.nanoTime, 복제 지연 계산용)
+ */
+public record MemberChange(long sequence, Long memberId, Member member, long appendedAtNanos) {
+
+    /**
+     * @return 삭제 변경이면 true
+     */
+    public boolean deleted() {
+        return member == null;
+    }
+}
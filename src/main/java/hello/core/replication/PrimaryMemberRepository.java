@@ -0,0 +1,168 @@
+package hello.core.replication;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberLoader;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemberSnapshot;
+import hello.core.member.SnapshotableMemberRepository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 복제의 주 저장소
+ * 모든 쓰기를 로컬 저장소에 반영하고 같은 락 안에서 복제 로그에 추가하므로, 로그 순서가 곧 반영 순서다.
+ * 가입(save)은 주문 조회(findById)보다 훨씬 드물어 쓰기를 락 하나로 직렬화해도 병목이 되지 않는다.
+ *
+ * 뒤처진 복제본은 restoreInto()로 특정 시점 스냅샷과 그 시점의 로그 순번을 받아 따라잡는다.
+ * 스냅샷은 쓰기 락 안에서 열어 순번과 정확히 맞추고, 내용을 옮기는 동안에는 쓰기를 막지 않는다.
+ */
+public class PrimaryMemberRepository implements MemberRepository, AutoCloseable {
+
+    private final SnapshotableMemberRepository store;
+    private final ReplicationLog log;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // 여러 복제본이 동시에 뒤처져도 전체 복사는 한 번에 하나씩 한다 (변경 전 값 보관이 겹쳐 쌓이지 않도록)
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param store 로컬 저장소 (다른 곳과 공유하지 않는 저장소, 예: MemoryMemberRepository.isolated())
+     * @param log 복제 로그
+     */
+    public PrimaryMemberRepository(SnapshotableMemberRepository store, ReplicationLog log) {
+        this.store = store;
+        this.log = log;
+    }
+
+    @Override
+    public void save(Member member) {
+        writeLock.lock();
+        try {
+            store.save(member);
+            log.append(member.getId(), member);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Member> members) {
+        writeLock.lock();
+        try {
+            store.saveAll(members);
+            for (Member member : members) {
+                log.append(member.getId(), member);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(Long memberId) {
+        writeLock.lock();
+        try {
+            store.delete(memberId);
+            log.append(memberId, null);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 회원 등급 조건부 변경 (쓰기 락 안에서 확인하고, 바꿨을 때만 로그에 추가한다)
+     */
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        writeLock.lock();
+        try {
+            Member current = store.findById(memberId);
+            if (current == null || current.getGrade() != expected) {
+                return current;
+            }
+            Member changed = new Member(memberId, current.getName(), grade);
+            store.save(changed);
+            log.append(memberId, changed);
+            return changed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        return store.findById(memberId);
+    }
+
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        return store.findAllById(memberIds);
+    }
+
+    @Override
+    public void forEach(Consumer<Member> action) {
+        store.forEach(action);
+    }
+
+    /**
+     * @return 복제 로그
+     */
+    public ReplicationLog log() {
+        return log;
+    }
+
+    /**
+     * @return 마지막으로 반영한 변경의 순번
+     */
+    public long lastSequence() {
+        return log.lastSequence();
+    }
+
+    /**
+     * 지금 시점의 내용으로 대상 저장소를 통째로 교체
+     * @param target 교체할 저장소 (복제본의 로컬 저장소)
+     * @return 옮긴 내용이 반영하고 있는 마지막 로그 순번 (이다음 순번부터 로그를 읽으면 된다)
+     */
+    public long restoreInto(SnapshotableMemberRepository target) {
+        snapshotLock.lock();
+        try {
+            MemberSnapshot snapshot;
+            long sequence;
+            writeLock.lock();
+            try {
+                snapshot = store.openSnapshot();
+                sequence = log.lastSequence();
+            } finally {
+                writeLock.unlock();
+            }
+            try (snapshot) {
+                MemberLoader loader = target.beginRestore(snapshot.estimatedSize());
+                snapshot.forEach(loader::add);
+                loader.commit();
+            }
+            return sequence;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * 로컬 저장소가 AutoCloseable이면 닫는다
+     */
+    @Override
+    public void close() {
+        if (store instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("주 저장소를 닫지 못했습니다.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package hello.core.replication;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.SnapshotableMemberRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 복제본 (읽기 전용 회원 저장소)
+ * 주 저장소의 복제 로그를 따라 읽으며 로컬 저장소에 비동기로 반영한다.
+ *
+ * - start() 후에는 "member-replica-이름" 스레드가 로그를 읽고, 읽을 것이 없으면 다음 추가까지 잠든다.
+ * - 읽으려는 순번이 이미 잘려 나갔으면 주 저장소의 스냅샷으로 로컬 저장소를 통째로 교체하고 그 시점부터 다시 읽는다.
+ * - 반영한 순번(appliedSequence)은 로컬 저장소에 반영한 뒤에 올리므로,
+ *   순번이 토큰 이상인 것을 확인하고 읽으면 그 토큰까지의 쓰기가 보인다. (자기 쓰기 읽기)
+ */
+public class ReplicaMemberRepository implements MemberRepository, AutoCloseable {
+
+    static final int BATCH = 4096;
+
+    // 깨우기를 놓쳐도 이 간격으로는 로그를 다시 확인한다
+    private static final long IDLE_PARK_NANOS = Duration.ofMillis(10).toNanos();
+
+    private final String name;
+    private final PrimaryMemberRepository primary;
+    private final ReplicationLog log;
+    private final SnapshotableMemberRepository store;
+    private final ReentrantLock applyLock = new ReentrantLock();
+
+    private volatile long appliedSequence;
+    private volatile long catchUps;
+    private volatile RuntimeException lastFailure;
+    private volatile boolean closed;
+    private boolean synced;
+    private Thread applier;
+
+    /**
+     * 생성자를 통한 의존성 주입 (처음 poll에서 주 저장소의 스냅샷으로 동기화한다)
+     * @param name 복제본 이름
+     * @param primary 주 저장소
+     * @param store 로컬 저장소 (다른 곳과 공유하지 않는 저장소, 예: MemoryMemberRepository.isolated())
+     */
+    public ReplicaMemberRepository(String name, PrimaryMemberRepository primary, SnapshotableMemberRepository store) {
+        this.name = name;
+        this.primary = primary;
+        this.log = primary.log();
+        this.store = store;
+    }
+
+    /**
+     * 로그를 따라 읽는 스레드 시작
+     * @return 이 복제본
+     */
+    public synchronized ReplicaMemberRepository start() {
+        if (applier == null) {
+            applier = new Thread(this::run, "member-replica-" + name);
+            applier.setDaemon(true);
+            log.follow(applier);
+            applier.start();
+        }
+        return this;
+    }
+
+    /**
+     * 지금 읽을 수 있는 변경을 한 묶음 반영 (처음이거나 뒤처져 있으면 스냅샷으로 따라잡는다)
+     * @return 반영한 변경 수 (따라잡기를 했으면 0)
+     */
+    public int poll() {
+        applyLock.lock();
+        try {
+            int applied = synced ? log.read(appliedSequence + 1, BATCH, this::apply) : ReplicationLog.TRUNCATED;
+            if (applied == ReplicationLog.TRUNCATED) {
+                appliedSequence = primary.restoreInto(store);
+                synced = true;
+                catchUps++;
+                return 0;
+            }
+            return applied;
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    private void apply(MemberChange change) {
+        if (change.deleted()) {
+            store.delete(change.memberId());
+        } else {
+            store.save(change.member());
+        }
+        appliedSequence = change.sequence();
+    }
+
+    private void run() {
+        while (!closed) {
+            int applied;
+            try {
+                applied = poll();
+                lastFailure = null;
+            } catch (RuntimeException e) {
+                // 따라잡기 실패 등은 기록만 하고 다음 주기에 다시 시도한다
+                lastFailure = e;
+                applied = 0;
+            }
+            if (applied == 0 && !closed && appliedSequence >= log.lastSequence()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * @return 로컬 저장소에 반영한 마지막 순번
+     */
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * 반영하지 못한 가장 오래된 변경이 기록된 뒤 지난 시간
+     * @param nowNanos 현재 시각 (System.nanoTime)
+     * @return 지연 시간 (뒤처져 있으면 최소 1), 다 따라잡았으면 0, 잘려 나간 순번에 머물러 있으면 Long.MAX_VALUE
+     */
+    public long stalenessNanos(long nowNanos) {
+        long next = appliedSequence + 1;
+        if (next > log.lastSequence()) {
+            return 0;
+        }
+        long appendedAt = log.appendedAt(next);
+        return appendedAt < 0 ? Long.MAX_VALUE : Math.max(1, nowNanos - appendedAt);
+    }
+
+    /**
+     * @return 스냅샷으로 따라잡은 횟수 (처음 동기화 포함)
+     */
+    public long catchUps() {
+        return catchUps;
+    }
+
+    /**
+     * @return 마지막 반영 실패 (다음 반영이 성공하면 지워진다)
+     */
+    public RuntimeException lastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * @return 복제본 이름
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 복제본은 읽기 전용이다
+     * @throws UnsupportedOperationException 항상
+     */
+    @Override
+    public void save(Member member) {
+        throw new UnsupportedOperationException("복제본은 읽기 전용입니다. 쓰기는 주 저장소로 보냅니다: " + name);
+    }
+
+    /**
+     * 복제본은 읽기 전용이다
+     * @throws UnsupportedOperationException 항상
+     */
+    @Override
+    public void delete(Long memberId) {
+        throw new UnsupportedOperationException("복제본은 읽기 전용입니다. 쓰기는 주 저장소로 보냅니다: " + name);
+    }
+
+    /**
+     * 복제본은 읽기 전용이다
+     * @throws UnsupportedOperationException 항상
+     */
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        throw new UnsupportedOperationException("복제본은 읽기 전용입니다. 쓰기는 주 저장소로 보냅니다: " + name);
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        return store.findById(memberId);
+    }
+
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        return store.findAllById(memberIds);
+    }
+
+    @Override
+    public void forEach(Consumer<Member> action) {
+        store.forEach(action);
+    }
+
+    /**
+     * 로그 읽기 스레드를 멈춘다 (로컬 저장소는 그대로 둔다)
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            closed = true;
+            thread = applier;
+        }
+        if (thread != null) {
+            log.unfollow(thread);
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package hello.core.replication;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemoryMemberRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 주 저장소 + 복제본 읽기 분산 회원 저장소
+ * 쓰기는 모두 주 저장소로 보내고, 읽기는 지연이 허용 범위 안인 복제본으로 나눈다.
+ *
+ * 읽기 규칙:
+ * - 제한된 지연: 반영하지 못한 가장 오래된 변경이 maxStaleness보다 오래된 복제본은 고르지 않는다.
+ *   고를 복제본이 없으면 주 저장소에서 읽는다.
+ * - 복제본에 없는 회원은 주 저장소에서 다시 찾는다. (방금 가입해 아직 복제되지 않은 회원도 주문할 수 있다)
+ * - session()으로 얻은 세션은 자기가 쓴 순번 이상을 반영한 복제본에서만 읽어 자기 쓰기를 항상 보며 (read-your-writes),
+ *   한 번 읽은 복제본의 순번보다 뒤로 가지 않는다. (단조 읽기)
+ *
+ * 복제본은 같은 프로세스 안에 있으며, 로그 순번(long)이 세션 토큰이라 요청 사이에 주고받으면 세션을 이어 갈 수 있다.
+ */
+public class ReplicatedMemberRepository implements MemberRepository, AutoCloseable {
+
+    private final PrimaryMemberRepository primary;
+    private final ReplicaMemberRepository[] replicas;
+    private final long maxStalenessNanos;
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+
+    /**
+     * 생성자를 통한 의존성 주입 (복제본은 호출자가 start()한다)
+     * @param primary 주 저장소
+     * @param replicas 복제본 목록
+     * @param maxStaleness 복제본에서 읽어도 되는 최대 지연
+     */
+    public ReplicatedMemberRepository(PrimaryMemberRepository primary, List<ReplicaMemberRepository> replicas,
+                                      Duration maxStaleness) {
+        this.primary = primary;
+        this.replicas = replicas.toArray(new ReplicaMemberRepository[0]);
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    /**
+     * 메모리 주 저장소와 복제본을 만들고 복제본을 시작
+     * @param replicaCount 복제본 수
+     * @param maxStaleness 복제본에서 읽어도 되는 최대 지연
+     * @return 복제 회원 저장소
+     */
+    public static ReplicatedMemberRepository inMemory(int replicaCount, Duration maxStaleness) {
+        PrimaryMemberRepository primary = new PrimaryMemberRepository(MemoryMemberRepository.isolated(),
+                new ReplicationLog(ReplicationLog.DEFAULT_CAPACITY));
+        List<ReplicaMemberRepository> replicas = new ArrayList<>(replicaCount);
+        for (int i = 0; i < replicaCount; i++) {
+            replicas.add(new ReplicaMemberRepository("replica-" + i, primary, MemoryMemberRepository.isolated()).start());
+        }
+        return new ReplicatedMemberRepository(primary, replicas, maxStaleness);
+    }
+
+    @Override
+    public void save(Member member) {
+        primary.save(member);
+    }
+
+    @Override
+    public void saveAll(Collection<Member> members) {
+        primary.saveAll(members);
+    }
+
+    @Override
+    public void delete(Long memberId) {
+        primary.delete(memberId);
+    }
+
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        return primary.changeGrade(memberId, expected, grade);
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        return read(memberId, 0).member;
+    }
+
+    /**
+     * 복제본에서 한 번에 읽고, 복제본에 없는 회원만 주 저장소에서 다시 찾는다
+     */
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        return readAll(memberIds, 0).members;
+    }
+
+    /**
+     * 주 저장소 기준으로 순회
+     */
+    @Override
+    public void forEach(Consumer<Member> action) {
+        primary.forEach(action);
+    }
+
+    /**
+     * 자기 쓰기 읽기/단조 읽기를 보장하는 세션 시작
+     * @return 세션
+     */
+    public Session session() {
+        return new Session(0);
+    }
+
+    /**
+     * 이전 세션의 토큰으로 세션 이어 가기
+     * @param token Session.token()으로 받은 로그 순번
+     * @return 세션
+     */
+    public Session session(long token) {
+        return new Session(token);
+    }
+
+    /**
+     * @return 주 저장소
+     */
+    public PrimaryMemberRepository primary() {
+        return primary;
+    }
+
+    /**
+     * @return 복제본 목록
+     */
+    public List<ReplicaMemberRepository> replicas() {
+        return List.of(replicas);
+    }
+
+    /**
+     * @return 읽기 분산 현황
+     */
+    public Stats stats() {
+        return new Stats(replicaReads.sum(), primaryReads.sum());
+    }
+
+    /**
+     * 복제본을 멈추고 주 저장소를 닫는다
+     */
+    @Override
+    public void close() {
+        for (ReplicaMemberRepository replica : replicas) {
+            replica.close();
+        }
+        primary.close();
+    }
+
+    private Read read(Long memberId, long minSequence) {
+        ReplicaMemberRepository replica = pick(minSequence);
+        if (replica != null) {
+            // 순번을 먼저 읽어야 돌려준 값이 최소 그 순번까지 반영한 값이다
+            long applied = replica.appliedSequence();
+            Member member = replica.findById(memberId);
+            if (member != null) {
+                replicaReads.increment();
+                return new Read(member, applied);
+            }
+        }
+        primaryReads.increment();
+        long sequence = primary.lastSequence();
+        return new Read(primary.findById(memberId), sequence);
+    }
+
+    private ReadAll readAll(Collection<Long> memberIds, long minSequence) {
+        ReplicaMemberRepository replica = pick(minSequence);
+        if (replica == null) {
+            primaryReads.increment();
+            long sequence = primary.lastSequence();
+            return new ReadAll(primary.findAllById(memberIds), sequence);
+        }
+        long applied = replica.appliedSequence();
+        Map<Long, Member> found = replica.findAllById(memberIds);
+        replicaReads.increment();
+        if (found.size() < memberIds.size()) {
+            List<Long> missing = new ArrayList<>(memberIds.size() - found.size());
+            for (Long memberId : memberIds) {
+                if (!found.containsKey(memberId)) {
+                    missing.add(memberId);
+                }
+            }
+            primaryReads.increment();
+            long sequence = primary.lastSequence();
+            primary.findAllById(missing).forEach(found::put);
+            applied = Math.max(applied, sequence);
+        }
+        return new ReadAll(found, applied);
+    }
+
+    // 임의의 복제본부터 돌며 조건에 맞는 첫 복제본 (없으면 null)
+    private ReplicaMemberRepository pick(long minSequence) {
+        int count = replicas.length;
+        if (count == 0) {
+            return null;
+        }
+        long now = System.nanoTime();
+        int start = count == 1 ? 0 : ThreadLocalRandom.current().nextInt(count);
+        for (int i = 0; i < count; i++) {
+            ReplicaMemberRepository replica = replicas[(start + i) % count];
+            if (replica.appliedSequence() >= minSequence && replica.stalenessNanos(now) <= maxStalenessNanos) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private record Read(Member member, long sequence) {
+    }
+
+    private record ReadAll(Map<Long, Member> members, long sequence) {
+    }
+
+    /**
+     * 읽기 분산 현황
+     * @param replicaReads 복제본이 처리한 읽기 수
+     * @param primaryReads 주 저장소가 처리한 읽기 수 (복제본 지연/누락으로 넘어온 읽기 포함)
+     */
+    public record Stats(long replicaReads, long primaryReads) {
+    }
+
+    /**
+     * 세션 (자기 쓰기 읽기 + 단조 읽기)
+     * 쓰거나 읽을 때마다 토큰(본 적 있는 가장 큰 로그 순번)을 올리고, 읽기는 토큰 이상을 반영한 복제본에서만 한다.
+     * MemberRepository이므로 new MemberServiceImpl(replicated.session()) 처럼 서비스에 그대로 줄 수 있다.
+     */
+    public final class Session implements MemberRepository {
+
+        // 한 세션을 여러 스레드가 쓰더라도 토큰은 줄지 않는다
+        private final AtomicLong token;
+
+        private Session(long token) {
+            this.token = new AtomicLong(token);
+        }
+
+        /**
+         * 주 저장소에 저장하고, 저장 직후의 마지막 순번(자기 쓰기 이상)을 토큰으로 삼는다
+         */
+        @Override
+        public void save(Member member) {
+            primary.save(member);
+            advance(primary.lastSequence());
+        }
+
+        @Override
+        public void saveAll(Collection<Member> members) {
+            primary.saveAll(members);
+            advance(primary.lastSequence());
+        }
+
+        @Override
+        public void delete(Long memberId) {
+            primary.delete(memberId);
+            advance(primary.lastSequence());
+        }
+
+        /**
+         * 주 저장소에서 조건부로 바꾸고, 바꾸지 않았어도 확인한 값 이상을 토큰으로 삼는다
+         */
+        @Override
+        public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+            Member current = primary.changeGrade(memberId, expected, grade);
+            advance(primary.lastSequence());
+            return current;
+        }
+
+        @Override
+        public Member findById(Long memberId) {
+            Read read = read(memberId, token.get());
+            advance(read.sequence);
+            return read.member;
+        }
+
+        @Override
+        public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+            ReadAll read = readAll(memberIds, token.get());
+            advance(read.sequence);
+            return read.members;
+        }
+
+        @Override
+        public void forEach(Consumer<Member> action) {
+            primary.forEach(action);
+        }
+
+        /**
+         * @return 세션 토큰 (이 세션이 본 가장 큰 로그 순번)
+         */
+        public long token() {
+            return token.get();
+        }
+
+        private void advance(long sequence) {
+            token.accumulateAndGet(sequence, Math::max);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package hello.core.replication;
+
+import hello.core.member.Member;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 주 저장소의 변경을 순서대로 담는 프로세스 내 복제 로그
+ *
+ * - 최근 capacity개 변경만 고리 배열에 남기며, 그보다 오래된 순번은 잘려 나간다.
+ *   뒤처져 잘린 순번을 읽으려는 복제본은 스냅샷으로 따라잡은 뒤 그 시점부터 다시 읽는다.
+ * - 기록자는 하나(주 저장소의 쓰기 락 안)이고, 읽기는 락 없이 여러 복제본이 동시에 한다.
+ *   항목을 먼저 넣고 마지막 순번(volatile)을 올리므로, 마지막 순번까지의 항목은 반드시 보인다.
+ * - 항목은 자기 순번을 들고 있어, 읽은 항목의 순번이 다르면 그사이 덮어써진(잘린) 것이다.
+ */
+public class ReplicationLog {
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    /**
+     * read 결과: 요청한 순번이 이미 잘려 나감
+     */
+    public static final int TRUNCATED = -1;
+
+    private final AtomicReferenceArray<MemberChange> slots;
+    private final int mask;
+    private final List<Thread> followers = new CopyOnWriteArrayList<>();
+
+    private volatile long lastSequence;
+
+    /**
+     * @param capacity 남겨 둘 변경 수 (2의 제곱수로 올림)
+     */
+    public ReplicationLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("로그 크기는 1 이상이어야 합니다: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 변경 추가 (기록자 한 스레드만 호출한다) 후 따라 읽는 스레드를 깨운다
+     * @param memberId 회원 ID
+     * @param member 저장된 회원, 삭제면 null
+     * @return 부여한 순번
+     */
+    long append(Long memberId, Member member) {
+        long sequence = lastSequence + 1;
+        slots.set((int) (sequence & mask), new MemberChange(sequence, memberId, member, System.nanoTime()));
+        lastSequence = sequence;
+        for (Thread follower : followers) {
+            LockSupport.unpark(follower);
+        }
+        return sequence;
+    }
+
+    /**
+     * @return 마지막으로 추가한 순번 (비어 있으면 0)
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * 순번부터 차례로 읽기
+     * @param fromSequence 처음 읽을 순번
+     * @param max 최대 항목 수
+     * @param action 항목마다 호출할 동작
+     * @return 읽은 항목 수 (없으면 0), 처음 순번이 이미 잘려 나갔으면 TRUNCATED
+     */
+    public int read(long fromSequence, int max, Consumer<MemberChange> action) {
+        long last = lastSequence;
+        int count = 0;
+        for (long sequence = fromSequence; sequence <= last && count < max; sequence++) {
+            MemberChange change = slots.get((int) (sequence & mask));
+            if (change == null || change.sequence() != sequence) {
+                return count == 0 ? TRUNCATED : count;
+            }
+            action.accept(change);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 순번의 기록 시각
+     * @param sequence 순번
+     * @return System.nanoTime 기준 시각, 아직 없거나 잘려 나갔으면 -1
+     */
+    public long appendedAt(long sequence) {
+        MemberChange change = slots.get((int) (sequence & mask));
+        return change != null && change.sequence() == sequence ? change.appendedAtNanos() : -1;
+    }
+
+    void follow(Thread follower) {
+        followers.add(follower);
+    }
+
+    void unfollow(Thread follower) {
+        followers.remove(follower);
+    }
+}
@@ -0,0 +1,254 @@
+package hello.core.snapshot;
+
+import hello.core.codec.MemberCodec;
+import hello.core.member.Member;
+import hello.core.member.MemberLoader;
+import hello.core.member.MemberSnapshot;
+import hello.core.member.SnapshotableMemberRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 회원 저장소 스냅샷 파일 기록/복원
+ *
+ * 파일 형식 (빅 엔디언):
+ *   머리말  [매직 'MSNP' int][형식 버전 int][예약 long]
+ *   청크들  청크마다 회원 ID 오름차순으로 MemberCodec 레코드를 이어 쓴다 (청크당 최대 CHUNK_MEMBERS명)
+ *   색인    청크마다 [파일 위치 long][바이트 수 int][회원 수 int]
+ *   꼬리말  [색인 위치 long][청크 수 int][전체 회원 수 long][매직 int]
+ *
+ * 기록: 스냅샷 뷰에서 회원을 모아 ID 순으로 정렬하고 곧바로 뷰를 닫은 뒤(변경 전 값 보관 종료)
+ *       임시 파일에 쓰고 원자적으로 이름을 바꾼다. 기록 중에도 가입은 멈추지 않는다.
+ * 복원: 꼬리말과 색인을 읽고 청크를 여러 스레드가 나누어 매핑/디코딩해
+ *       전체 회원 수로 미리 크기를 잡은 새 테이블에 넣은 뒤 한 번에 교체한다.
+ */
+public class MemberSnapshotter implements AutoCloseable {
+
+    static final int MAGIC = 0x4D534E50;
+    static final int FORMAT_VERSION = 1;
+    static final int CHUNK_MEMBERS = 64 * 1024;
+    static final int HEADER_BYTES = 16;
+    static final int INDEX_ENTRY_BYTES = 16;
+    static final int FOOTER_BYTES = 24;
+
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private final int restoreParallelism;
+    private final ExecutorService background;
+
+    /**
+     * @param restoreParallelism 복원 시 청크를 나누어 읽을 스레드 수
+     */
+    public MemberSnapshotter(int restoreParallelism) {
+        this.restoreParallelism = restoreParallelism;
+        this.background = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "member-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 백그라운드 스레드에서 스냅샷 기록
+     * 뷰는 호출한 시점에 바로 열리므로 스냅샷 시점은 이 메서드를 부른 순간이다.
+     * @param repository 스냅샷을 뜰 저장소
+     * @param file 기록할 파일
+     * @return 기록 결과
+     */
+    public CompletableFuture<SnapshotResult> writeAsync(SnapshotableMemberRepository repository, Path file) {
+        MemberSnapshot snapshot = repository.openSnapshot();
+        return CompletableFuture.supplyAsync(() -> write(snapshot, file), background);
+    }
+
+    /**
+     * 호출한 스레드에서 스냅샷 기록
+     * @param repository 스냅샷을 뜰 저장소
+     * @param file 기록할 파일
+     * @return 기록 결과
+     */
+    public SnapshotResult write(SnapshotableMemberRepository repository, Path file) {
+        return write(repository.openSnapshot(), file);
+    }
+
+    private SnapshotResult write(MemberSnapshot snapshot, Path file) {
+        long start = System.nanoTime();
+        Member[] members;
+        try (snapshot) {
+            List<Member> collected = new ArrayList<>(snapshot.estimatedSize() + 1024);
+            snapshot.forEach(collected::add);
+            members = collected.toArray(new Member[0]);
+        }
+        Arrays.parallelSort(members, Comparator.comparingLong(Member::getId));
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            long bytes;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                bytes = writeChunks(channel, members);
+                channel.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new SnapshotResult(members.length, bytes, System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 기록하지 못했습니다: " + file, e);
+        }
+    }
+
+    private static long writeChunks(FileChannel channel, Member[] members) throws IOException {
+        int chunkCount = (members.length + CHUNK_MEMBERS - 1) / CHUNK_MEMBERS;
+        ByteBuffer index = ByteBuffer.allocate(chunkCount * INDEX_ENTRY_BYTES);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(0);
+        long position = HEADER_BYTES;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int from = chunk * CHUNK_MEMBERS;
+            int to = Math.min(from + CHUNK_MEMBERS, members.length);
+            long chunkStart = position;
+            for (int i = from; i < to; i++) {
+                if (buffer.remaining() < MemberCodec.encodedSize(members[i])) {
+                    drain(channel, buffer);
+                }
+                position += MemberCodec.encode(members[i], buffer);
+            }
+            index.putLong(chunkStart).putInt((int) (position - chunkStart)).putInt(to - from);
+        }
+        drain(channel, buffer);
+
+        long indexPosition = position;
+        index.flip();
+        while (index.hasRemaining()) {
+            channel.write(index);
+        }
+        buffer.putLong(indexPosition).putInt(chunkCount).putLong(members.length).putInt(MAGIC);
+        drain(channel, buffer);
+        return indexPosition + (long) chunkCount * INDEX_ENTRY_BYTES + FOOTER_BYTES;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * 스냅샷 파일로 저장소 내용을 교체
+     * @param repository 복원할 저장소
+     * @param file 스냅샷 파일
+     * @return 복원 결과
+     */
+    public SnapshotResult restore(SnapshotableMemberRepository repository, Path file) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + FOOTER_BYTES) {
+                throw new IllegalArgumentException("스냅샷 파일이 너무 짧습니다: " + file);
+            }
+            ByteBuffer header = read(channel, 0, HEADER_BYTES);
+            ByteBuffer footer = read(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+            if (header.getInt(0) != MAGIC || footer.getInt(20) != MAGIC) {
+                throw new IllegalArgumentException("스냅샷 파일이 아닙니다: " + file);
+            }
+            if (header.getInt(4) != FORMAT_VERSION) {
+                throw new IllegalArgumentException("지원하지 않는 스냅샷 형식 버전: " + header.getInt(4));
+            }
+            long indexPosition = footer.getLong(0);
+            int chunkCount = footer.getInt(8);
+            long total = footer.getLong(12);
+            ByteBuffer index = read(channel, indexPosition, chunkCount * INDEX_ENTRY_BYTES);
+
+            MemberLoader loader = repository.beginRestore(total);
+            loadChunks(channel, index, chunkCount, loader);
+            loader.commit();
+            return new SnapshotResult(total, size, System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 읽지 못했습니다: " + file, e);
+        }
+    }
+
+    private void loadChunks(FileChannel channel, ByteBuffer index, int chunkCount, MemberLoader loader)
+            throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(restoreParallelism);
+        try {
+            List<Future<?>> chunks = new ArrayList<>(chunkCount);
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                long position = index.getLong(chunk * INDEX_ENTRY_BYTES);
+                int length = index.getInt(chunk * INDEX_ENTRY_BYTES + 8);
+                int count = index.getInt(chunk * INDEX_ENTRY_BYTES + 12);
+                chunks.add(workers.submit(() -> {
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    for (int i = 0; i < count; i++) {
+                        loader.add(MemberCodec.decode(mapped));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("복원이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IllegalStateException("스냅샷 청크를 읽지 못했습니다.", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("스냅샷 파일이 잘렸습니다.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public void close() {
+        background.shutdown();
+    }
+
+    /**
+     * 기록/복원 결과
+     *
+     * @param members 회원 수
+     * @param bytes 파일 크기
+     * @param elapsedNanos 걸린 시간
+     */
+    public record SnapshotResult(long members, long bytes, long elapsedNanos) {
+
+        public double elapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+    }
+}
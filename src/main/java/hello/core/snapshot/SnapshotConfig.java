@@ -0,0 +1,69 @@
+package hello.core.snapshot;
+
+import hello.core.member.MemberRepository;
+import hello.core.member.SnapshotableMemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 회원 스냅샷 설정
+ * core.snapshot.file 을 지정하면 기동 시 파일이 있으면 복원하고, 종료 시 스냅샷을 기록한다.
+ *
+ * memberRepository 빈을 주입받아 데코레이터 안쪽의 스냅샷 저장소(snapshotable())로 기록/복원한다.
+ * 메모리/다중 버전 저장소(샤드, 만료 포함)만 지원하며, JDBC/복제/이름 사전 저장소이면 기동 시 바로 실패한다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "core.snapshot.file")
+public class SnapshotConfig {
+
+    @Bean(destroyMethod = "close")
+    public MemberSnapshotter memberSnapshotter() {
+        return new MemberSnapshotter(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Bean
+    public SmartLifecycle memberSnapshotLifecycle(MemberRepository memberRepository,
+                                                  MemberSnapshotter memberSnapshotter,
+                                                  @Value("${core.snapshot.file}") Path file) {
+        SnapshotableMemberRepository repository = memberRepository.snapshotable();
+        if (repository == null) {
+            throw new IllegalStateException("회원 저장소가 스냅샷을 지원하지 않습니다. (core.snapshot.file 을 빼거나 "
+                    + "메모리/다중 버전 저장소를 쓰세요): " + memberRepository.getClass().getSimpleName());
+        }
+        return new SmartLifecycle() {
+
+            private volatile boolean running;
+
+            @Override
+            public void start() {
+                if (Files.exists(file)) {
+                    memberSnapshotter.restore(repository, file);
+                }
+                running = true;
+            }
+
+            @Override
+            public void stop() {
+                memberSnapshotter.write(repository, file);
+                running = false;
+            }
+
+            @Override
+            public boolean isRunning() {
+                return running;
+            }
+
+            @Override
+            public int getPhase() {
+                // 웹 서버보다 먼저 시작(복원)하고 나중에 멈춘다(기록)
+                return Integer.MIN_VALUE + 1000;
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package hello.core.startup;
+
+import hello.core.AppConfig;
+import hello.core.CoreApplication;
+import hello.core.FastStartAppConfig;
+import hello.core.FunctionalAppConfig;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+import hello.core.order.OrderService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 기동 시간 벤치마크
+ * 설정 방식별로 새 JVM을 띄워 컨텍스트 준비 시점과 첫 주문 완료 시점을 측정하고 중앙값을 출력한다.
+ * 시간은 JVM 시작부터의 경과 시간(uptime)이므로 클래스 로딩 비용이 모두 포함된다.
+ *
+ * 실행:
+ *     java -cp <classpath> hello.core.startup.StartupBenchmark [반복횟수] [모드...]
+ * 모드: appConfig, fastStart, functional, boot
+ */
+public class StartupBenchmark {
+
+    private static final List<String> MODES = List.of("appConfig", "fastStart", "functional", "boot");
+    private static final String RESULT_PREFIX = StartupWorkloadRunner.RESULT_PREFIX;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && "run".equals(args[0])) {
+            runOnce(args[1]);
+            return;
+        }
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        List<String> modes = args.length > 1 ? List.of(args).subList(1, args.length) : MODES;
+
+        System.out.printf("%-12s %-22s %-22s%n", "mode", "context-ready(ms,p50)", "first-order(ms,p50)");
+        for (String mode : modes) {
+            List<Long> ready = new ArrayList<>();
+            List<Long> firstOrder = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                long[] result = fork(mode);
+                ready.add(result[0]);
+                firstOrder.add(result[1]);
+            }
+            System.out.printf("%-12s %-22d %-22d%n", mode, median(ready), median(firstOrder));
+        }
+    }
+
+    /**
+     * 한 가지 모드로 기동해 첫 주문까지 실행하고 결과 한 줄을 출력
+     * @param mode 설정 방식
+     */
+    static void runOnce(String mode) {
+        try (ConfigurableApplicationContext context = start(mode)) {
+            long contextReady = uptime();
+
+            MemberService memberService = context.getBean("memberService", MemberService.class);
+            OrderService orderService = context.getBean("orderService", OrderService.class);
+            memberService.join(new Member(1L, "memberA", Grade.VIP));
+            orderService.createOrder(1L, "itemA", 10000);
+            long firstOrder = uptime();
+
+            System.out.println(RESULT_PREFIX + " " + contextReady + " " + firstOrder);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mode) {
+        switch (mode) {
+            case "appConfig":
+                return new AnnotationConfigApplicationContext(AppConfig.class);
+            case "fastStart": {
+                AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+                context.getEnvironment().setActiveProfiles(FastStartAppConfig.PROFILE);
+                context.register(FastStartAppConfig.class);
+                context.refresh();
+                return context;
+            }
+            case "functional": {
+                GenericApplicationContext context = new GenericApplicationContext();
+                new FunctionalAppConfig().initialize(context);
+                context.refresh();
+                return context;
+            }
+            case "boot": {
+                SpringApplication application = new SpringApplication(CoreApplication.class);
+                application.setWebApplicationType(WebApplicationType.NONE);
+                return application.run();
+            }
+            default:
+                throw new IllegalArgumentException("알 수 없는 모드입니다: " + mode);
+        }
+    }
+
+    private static long[] fork(String mode) throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                StartupBenchmark.class.getName(), "run", mode);
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+
+        long[] result = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    String[] parts = line.split(" ");
+                    result = new long[]{Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException("기동 측정에 실패했습니다. mode=" + mode);
+        }
+        return result;
+    }
+
+    private static long uptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,119 @@
+package hello.core.startup;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.StartupStep;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스프링 기동 단계 프로파일러
+ * ApplicationStartup이 기록한 단계 중 빈 생성(spring.beans.instantiate) 단계를 모아
+ * 빈별 생성 시간을 오래 걸린 순으로 정렬한 리포트를 파일로 남긴다.
+ *
+ * - total: 의존 빈 생성까지 포함한 시간
+ * - self: 의존 빈(자식 단계) 생성 시간을 뺀 해당 빈 자체의 시간
+ */
+public class StartupProfiler {
+
+    /**
+     * 프로파일링 모드 활성화 시스템 프로퍼티 (값은 리포트 파일 경로)
+     */
+    public static final String REPORT_PROPERTY = "core.startup.profile";
+
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+    private static final int BUFFER_CAPACITY = 20_000;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * 기동 단계를 버퍼에 기록하는 ApplicationStartup 생성
+     * @return 기록용 ApplicationStartup
+     */
+    public static BufferingApplicationStartup newApplicationStartup() {
+        return new BufferingApplicationStartup(BUFFER_CAPACITY);
+    }
+
+    /**
+     * 기록된 빈 생성 시간을 정렬해 파일로 저장
+     * @param startup 기동 시 사용한 ApplicationStartup
+     * @param reportFile 리포트 파일 경로
+     * @return 리포트에 기록된 빈 생성 항목 (self 시간 내림차순)
+     */
+    public static List<BeanTiming> writeReport(BufferingApplicationStartup startup, Path reportFile) {
+        List<BeanTiming> timings = beanTimings(startup.getBufferedTimeline());
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-10s %-10s %s", "self(ms)", "total(ms)", "bean"));
+        for (BeanTiming timing : timings) {
+            lines.add(String.format("%-10.3f %-10.3f %s", millis(timing.self()), millis(timing.total()), timing.beanName()));
+        }
+        try {
+            Path parent = reportFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(reportFile, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("기동 리포트를 저장하지 못했습니다: " + reportFile, e);
+        }
+        return timings;
+    }
+
+    static List<BeanTiming> beanTimings(StartupTimeline timeline) {
+        // 단계 ID별 자식 단계 시간 합계 (self 시간 계산용)
+        Map<Long, Duration> childTotals = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childTotals.merge(parentId, event.getDuration(), Duration::plus);
+            }
+        }
+
+        List<BeanTiming> timings = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            StartupStep step = event.getStartupStep();
+            if (!BEAN_INSTANTIATE_STEP.equals(step.getName())) {
+                continue;
+            }
+            Duration total = event.getDuration();
+            Duration self = total.minus(childTotals.getOrDefault(step.getId(), Duration.ZERO));
+            timings.add(new BeanTiming(beanName(step), total, self.isNegative() ? Duration.ZERO : self));
+        }
+        timings.sort(Comparator.comparing(BeanTiming::self).reversed());
+        return timings;
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "(unknown)";
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * 빈 하나의 생성 시간
+     * @param beanName 빈 이름
+     * @param total 의존 빈 생성까지 포함한 시간
+     * @param self 빈 자체 생성 시간
+     */
+    public record BeanTiming(String beanName, Duration total, Duration self) {
+    }
+}
@@ -0,0 +1,21 @@
+package hello.core.startup;
+
+import hello.core.member.MemberService;
+import hello.core.order.OrderService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 기동 측정/학습용 작업 설정
+ * AOT 처리 시 빈 구성이 고정되므로 조건부 등록 대신 항상 등록하고, 실행 여부는 실행 시점 프로퍼티로 판단한다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupWorkloadConfig {
+
+    @Bean
+    public StartupWorkloadRunner startupWorkloadRunner(Environment environment, MemberService memberService,
+                                                       OrderService orderService) {
+        return new StartupWorkloadRunner(environment, memberService, orderService);
+    }
+}
@@ -0,0 +1,82 @@
+package hello.core.startup;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+import hello.core.order.OrderService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 기동 직후 실행하는 측정/학습용 작업
+ * core.workload 프로퍼티가 있을 때만 동작하고, 작업이 끝나면 CoreApplication이 애플리케이션을 종료한다.
+ *
+ * - training: CDS 아카이브 학습 실행용. 회원 가입과 주문을 반복해 실제 요청 경로의 클래스를 모두 로딩시킨다.
+ * - timing: 기동 벤치마크용. 컨텍스트 준비 시점과 첫 주문 완료 시점(JVM uptime, ms)을 한 줄로 출력한다.
+ */
+public class StartupWorkloadRunner implements ApplicationRunner {
+
+    /**
+     * 작업 종류 프로퍼티 (training, timing)
+     */
+    public static final String PROPERTY = "core.workload";
+
+    /**
+     * timing 작업 결과 출력 접두어 (STARTUP_RESULT 컨텍스트준비ms 첫주문ms)
+     */
+    public static final String RESULT_PREFIX = "STARTUP_RESULT";
+
+    private static final int TRAINING_MEMBERS = 10_000;
+
+    private final Environment environment;
+    private final MemberService memberService;
+    private final OrderService orderService;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param environment 프로퍼티 조회용 환경
+     * @param memberService 회원 서비스
+     * @param orderService 주문 서비스
+     */
+    public StartupWorkloadRunner(Environment environment, MemberService memberService, OrderService orderService) {
+        this.environment = environment;
+        this.memberService = memberService;
+        this.orderService = orderService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String workload = environment.getProperty(PROPERTY);
+        if (workload == null) {
+            return;
+        }
+        switch (workload) {
+            case "training" -> training();
+            case "timing" -> timing();
+            default -> throw new IllegalArgumentException("알 수 없는 작업입니다: " + workload);
+        }
+    }
+
+    private void training() {
+        for (long id = 1; id <= TRAINING_MEMBERS; id++) {
+            memberService.join(new Member(id, "member" + id, id % 2 == 0 ? Grade.VIP : Grade.BASIC));
+            memberService.findMember(id);
+            orderService.createOrder(id, "item" + (id % 100), 10000);
+        }
+    }
+
+    private void timing() {
+        long contextReady = uptime();
+        memberService.join(new Member(1L, "memberA", Grade.VIP));
+        orderService.createOrder(1L, "itemA", 10000);
+        long firstOrder = uptime();
+        System.out.println(RESULT_PREFIX + " " + contextReady + " " + firstOrder);
+    }
+
+    private static long uptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -0,0 +1,148 @@
+package hello.core.stream;
+
+/**
+ * 변경 스트림 소비자
+ * 처리한 순번을 스스로 들고, 발행을 마친 변경을 최대 batchSize개씩 묶어 처리한다.
+ *
+ * - drain(): 지금 읽을 수 있는 변경을 한 묶음 처리한다. (직접 부르거나 start() 스레드가 부른다)
+ * - start() 후에는 "member-change-이름" 스레드가 drain()을 반복하고, 읽을 것이 없으면 대기 방법에 따라 기다린다.
+ * - 처리 순번은 묶음을 다 처리한 뒤 한 번 올리므로, 생산자는 묶음이 끝나기 전에는 그 슬롯들을 덮어쓰지 않는다.
+ * - 처리기가 예외를 던지면 그 변경까지 처리한 것으로 보고(건너뛰고) 예외를 전달한다. 스레드에서는 기록만 하고 계속한다.
+ */
+public final class MemberChangeConsumer implements AutoCloseable {
+
+    private final String name;
+    private final MemberChangeStream stream;
+    private final MemberChangeHandler handler;
+    private final WaitStrategy waitStrategy;
+    private final int batchSize;
+    // 처리를 마친 마지막 순번 (생산자가 덮어써도 되는 경계)
+    final Sequence sequence;
+
+    private volatile RuntimeException lastFailure;
+    private volatile boolean closed;
+    private Thread thread;
+
+    MemberChangeConsumer(String name, MemberChangeStream stream, MemberChangeHandler handler,
+                         WaitStrategy waitStrategy, int batchSize, long initialSequence) {
+        this.name = name;
+        this.stream = stream;
+        this.handler = handler;
+        this.waitStrategy = waitStrategy;
+        this.batchSize = batchSize;
+        this.sequence = new Sequence(initialSequence);
+    }
+
+    /**
+     * 소비 스레드 시작
+     * @return 이 소비자
+     */
+    public synchronized MemberChangeConsumer start() {
+        if (closed) {
+            throw new IllegalStateException("이미 닫힌 소비자입니다: " + name);
+        }
+        if (thread == null) {
+            thread = new Thread(this::run, "member-change-" + name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return this;
+    }
+
+    /**
+     * 지금 읽을 수 있는 변경을 한 묶음 처리 (한 번에 한 스레드만 호출한다)
+     * @return 처리한 변경 수
+     */
+    public int drain() {
+        long processed = sequence.getPlain();
+        long claimed = stream.cursor();
+        if (claimed <= processed) {
+            return 0;
+        }
+        // 앞 순번을 차지한 생산자가 아직 슬롯을 채우는 중이면 그 앞까지만 읽는다
+        long end = stream.highestPublished(processed + 1, Math.min(claimed, processed + batchSize));
+        if (end <= processed) {
+            return 0;
+        }
+        long next = processed + 1;
+        try {
+            for (; next <= end; next++) {
+                handler.onChange(stream.slot(next), next == end);
+            }
+        } catch (RuntimeException e) {
+            sequence.setRelease(next);
+            throw e;
+        }
+        sequence.setRelease(end);
+        return (int) (end - processed);
+    }
+
+    private void run() {
+        int attempt = 0;
+        while (!closed) {
+            int drained;
+            try {
+                drained = drain();
+            } catch (RuntimeException e) {
+                lastFailure = e;
+                drained = 1;
+            }
+            if (drained > 0) {
+                attempt = 0;
+            } else {
+                waitStrategy.idle(attempt);
+                if (attempt < Integer.MAX_VALUE) {
+                    attempt++;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 처리를 마친 마지막 순번
+     */
+    public long sequence() {
+        return sequence.getAcquire();
+    }
+
+    /**
+     * @return 순번을 차지했지만 아직 처리하지 않은 변경 수
+     */
+    public long lag() {
+        return stream.cursor() - sequence.getAcquire();
+    }
+
+    /**
+     * @return 마지막 처리 실패 (스레드에서 처리하는 경우)
+     */
+    public RuntimeException lastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * @return 소비자 이름
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 소비 스레드를 멈추고 등록을 푼다 (생산자가 더는 이 소비자를 기다리지 않는다)
+     */
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            closed = true;
+            current = thread;
+        }
+        stream.unsubscribe(this);
+        if (current != null && current != Thread.currentThread()) {
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
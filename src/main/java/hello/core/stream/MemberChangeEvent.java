@@ -0,0 +1,52 @@
+package hello.core.stream;
+
+import hello.core.member.Member;
+
+/**
+ * 변경 스트림의 슬롯 (미리 만들어 두고 계속 덮어쓴다)
+ * 소비자는 onChange 안에서만 내용을 읽고 객체를 보관하지 않는다. 보관이 필요하면 값을 꺼내 둔다.
+ * 필드는 생산자가 발행 표시를 남기기 전에 쓰고 소비자는 발행 표시를 읽은 뒤에 읽으므로 volatile이 아니어도 보인다.
+ */
+public final class MemberChangeEvent {
+
+    private long sequence;
+    private long memberId;
+    private Member member;
+
+    MemberChangeEvent() {
+    }
+
+    void set(long sequence, long memberId, Member member) {
+        this.sequence = sequence;
+        this.memberId = memberId;
+        this.member = member;
+    }
+
+    /**
+     * @return 스트림 순번 (1부터)
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * @return 회원 ID
+     */
+    public long memberId() {
+        return memberId;
+    }
+
+    /**
+     * @return 저장된 회원, 삭제면 null
+     */
+    public Member member() {
+        return member;
+    }
+
+    /**
+     * @return 삭제 여부
+     */
+    public boolean deleted() {
+        return member == null;
+    }
+}
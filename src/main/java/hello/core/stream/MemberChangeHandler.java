@@ -0,0 +1,16 @@
+package hello.core.stream;
+
+/**
+ * 회원 변경 처리기 인터페이스
+ * 소비자 스레드 하나가 순번 차례대로 호출하므로 구현체는 동기화 없이 자기 상태를 다뤄도 된다.
+ */
+@FunctionalInterface
+public interface MemberChangeHandler {
+
+    /**
+     * 변경 하나 처리
+     * @param event 변경 (다음 호출에서 재사용되므로 보관하지 않는다)
+     * @param endOfBatch 이번 묶음의 마지막 변경 여부 (색인 반영/캐시 무효화 등을 묶음 단위로 모아 할 때 사용)
+     */
+    void onChange(MemberChangeEvent event, boolean endOfBatch);
+}
@@ -0,0 +1,203 @@
+package hello.core.stream;
+
+import hello.core.member.Member;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 회원 변경 스트림 (생산자 여럿, 소비자 여럿의 고리 버퍼)
+ * 가입/삭제를 캐시, 색인, 검색, 분석 같은 후속 처리에 순서대로 전달한다.
+ *
+ * - 슬롯(MemberChangeEvent)은 생성 시 모두 만들어 두고 덮어쓰므로 발행에 할당이 없다.
+ * - 생산자는 커서를 CAS로 올려 순번을 먼저 차지하고, 슬롯을 채운 뒤 그 슬롯에 발행 표시(고리를 돈 횟수)를 남긴다.
+ *   순번을 차지한 순서와 채우기를 마치는 순서가 다를 수 있으므로, 소비자는 커서가 아니라 발행 표시가 이어진 데까지만 읽는다.
+ * - 소비자는 각자 처리한 순번을 들고 있고, 읽을 수 있는 데까지 한 번에 묶어 처리한 뒤 자기 순번을 한 번 올린다.
+ * - 생산자는 가장 느린 소비자가 아직 읽지 않은 슬롯을 덮어쓰지 않는다. 고리가 가득 차면 생산자 대기 방법으로 기다린다.
+ *   (느린 소비자가 가입을 늦추므로, 처리 시간이 들쭉날쭉한 소비자는 고리를 크게 잡거나 자체 큐로 넘긴다)
+ * - 가장 느린 소비자 순번은 고리가 찰 때만 다시 계산하므로, 평소 발행은 CAS 한 번과 슬롯 쓰기, 발행 표시뿐이다.
+ *
+ * 소비자는 구독한 뒤의 변경부터 받는다. 그 전 상태가 필요하면 저장소를 먼저 훑고 구독 시점 이후 변경을 덧입힌다.
+ * 같은 회원의 변경 순서는 발행하는 쪽(PublishingMemberRepository)이 회원별로 맞춘다.
+ */
+public class MemberChangeStream implements AutoCloseable {
+
+    public static final String ENABLED_PROPERTY = "core.member.change-stream";
+    public static final String SIZE_PROPERTY = "core.member.change-stream-size";
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final MemberChangeConsumer[] NO_CONSUMERS = new MemberChangeConsumer[0];
+
+    private final MemberChangeEvent[] slots;
+    // 슬롯별로 마지막으로 발행을 마친 순번의 고리 회차 (순번 >>> indexShift)
+    private final AtomicIntegerArray published;
+    private final int mask;
+    private final int indexShift;
+    private final WaitStrategy producerWait;
+    // 마지막으로 차지한 순번 (비어 있으면 0)
+    private final Sequence cursor = new Sequence(0);
+    // 생산자들이 마지막으로 계산한 가장 느린 소비자 순번
+    private final Sequence cachedGating = new Sequence(0);
+
+    private volatile MemberChangeConsumer[] consumers = NO_CONSUMERS;
+
+    /**
+     * @param capacity 슬롯 수 (2의 제곱수로 올림)
+     * @param producerWait 고리가 가득 찼을 때 생산자 대기 방법
+     */
+    public MemberChangeStream(int capacity, WaitStrategy producerWait) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("스트림 크기는 1 이상이어야 합니다: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new MemberChangeEvent[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new MemberChangeEvent();
+        }
+        this.published = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            published.setPlain(i, -1);
+        }
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.producerWait = producerWait;
+    }
+
+    /**
+     * -Dcore.member.change-stream-size=65536 으로 크기를 정한 스트림 (가득 차면 생산자는 돌고 양보한 뒤 50µs씩 잠든다)
+     * @return 변경 스트림
+     */
+    public static MemberChangeStream fromSystemProperties() {
+        return new MemberChangeStream(Integer.getInteger(SIZE_PROPERTY, DEFAULT_CAPACITY),
+                WaitStrategy.parking(Duration.ofNanos(50_000)));
+    }
+
+    /**
+     * 변경 발행 (여러 스레드가 동시에 호출해도 된다)
+     * @param memberId 회원 ID
+     * @param member 저장된 회원, 삭제면 null
+     * @return 부여한 순번
+     */
+    long publish(long memberId, Member member) {
+        long next;
+        for (int attempt = 0; ; ) {
+            long current = cursor.getAcquire();
+            next = current + 1;
+            long wrapPoint = next - slots.length;
+            long gating = cachedGating.getAcquire();
+            if (wrapPoint > gating || gating > current) {
+                gating = minimumSequence(Math.min(gating, current), current);
+                if (wrapPoint > gating) {
+                    producerWait.idle(attempt++);
+                    continue;
+                }
+                cachedGating.setRelease(gating);
+            } else if (cursor.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        slots[(int) (next & mask)].set(next, memberId, member);
+        published.setRelease((int) (next & mask), (int) (next >>> indexShift));
+        return next;
+    }
+
+    /**
+     * from부터 발행을 마친 순번이 이어지는 마지막 순번 (from도 아직이면 from - 1)
+     * 슬롯이 이미 다음 회차로 덮어쓰였으면 그 순번도 발행을 마친 것으로 본다.
+     * @param from 처음 확인할 순번
+     * @param to 마지막으로 확인할 순번 (차지된 순번 이하)
+     */
+    long highestPublished(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            if (published.getAcquire((int) (sequence & mask)) - (int) (sequence >>> indexShift) < 0) {
+                return sequence - 1;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * 소비자 등록 (지금 커서 다음 변경부터 받는다)
+     * 묶음 처리만 하려면 drain()을 직접 부르고, 전용 스레드가 필요하면 start()를 부른다.
+     * @param name 소비자 이름 (스레드 이름에 쓴다)
+     * @param handler 변경 처리기
+     * @param waitStrategy 읽을 것이 없을 때 대기 방법 (start() 스레드에서 사용)
+     * @param batchSize 한 번에 처리할 최대 변경 수
+     * @return 소비자
+     */
+    public synchronized MemberChangeConsumer subscribe(String name, MemberChangeHandler handler,
+                                                       WaitStrategy waitStrategy, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("묶음 크기는 1 이상이어야 합니다: " + batchSize);
+        }
+        MemberChangeConsumer consumer = new MemberChangeConsumer(
+                name, this, handler, waitStrategy, batchSize, cursor.getAcquire());
+        MemberChangeConsumer[] current = consumers;
+        MemberChangeConsumer[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = consumer;
+        consumers = updated;
+        // 등록 전에 계산된 생산자의 가장 느린 순번은 지금 커서 이하이므로, 커서에서 시작하면 덮어쓰인 슬롯을 읽지 않는다
+        // (커서 이하에서 아직 채우는 중인 순번은 구독 전 변경으로 보고 건너뛴다. 그 슬롯은 채우기를 마칠 때까지 덮어쓰지 않는다)
+        consumer.sequence.setRelease(cursor.getAcquire());
+        return consumer;
+    }
+
+    synchronized void unsubscribe(MemberChangeConsumer consumer) {
+        MemberChangeConsumer[] current = consumers;
+        int index = Arrays.asList(current).indexOf(consumer);
+        if (index < 0) {
+            return;
+        }
+        MemberChangeConsumer[] updated = new MemberChangeConsumer[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        consumers = updated;
+    }
+
+    /**
+     * @return 마지막으로 차지한 순번 (비어 있으면 0, 아직 채우는 중인 순번일 수 있다)
+     */
+    public long cursor() {
+        return cursor.getAcquire();
+    }
+
+    /**
+     * @return 슬롯 수
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return 등록된 소비자 수
+     */
+    public int consumerCount() {
+        return consumers.length;
+    }
+
+    MemberChangeEvent slot(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    // 생산자가 덮어써도 되는 마지막 순번: 가장 느린 소비자 순번과, 아직 채우는 중인 가장 앞 순번의 바로 앞 중 작은 값
+    // (소비자가 없을 때나 구독하며 건너뛴 순번도 채우기를 마치기 전에 다른 생산자가 그 슬롯을 덮어쓰지 않는다)
+    // 발행 확인은 지난번 계산 값 다음부터 하므로 순번마다 한 번 정도만 확인한다
+    private long minimumSequence(long previous, long current) {
+        long minimum = current;
+        for (MemberChangeConsumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.getAcquire());
+        }
+        return highestPublished(previous + 1, minimum);
+    }
+
+    /**
+     * 등록된 소비자를 모두 멈추고 등록을 푼다
+     */
+    @Override
+    public void close() {
+        for (MemberChangeConsumer consumer : consumers) {
+            consumer.close();
+        }
+    }
+}
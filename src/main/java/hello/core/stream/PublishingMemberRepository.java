@@ -0,0 +1,171 @@
+package hello.core.stream;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 변경 발행 회원 저장소 데코레이터
+ * 쓰기를 감싼 저장소에 반영한 뒤, 쓴 회원(삭제면 null)을 그대로 변경 스트림에 발행한다. 저장소를 다시 읽지 않는다.
+ *
+ * 같은 회원을 동시에 저장하면 저장소에 남는 값은 반영 순서로 정해지므로, 발행 순서도 반영 순서와 같아야 한다.
+ * - 회원 ID 스트라이프 락(미리 만든 STRIPES개) 안에서 반영과 발행을 함께 한다. 같은 스트라이프의 쓰기만 서로 기다린다.
+ * - 일괄 저장은 포함된 회원의 스트라이프를 번호 순으로 모두 잡고(비트 집합, 할당 없음) 한 번에 반영한 뒤 차례로 발행한다.
+ * 따라서 회원별 발행 순서가 반영 순서와 같고, 소비자가 마지막으로 받는 값이 저장소에 남은 값과 같다.
+ * 쓰기마다 추가 할당이나 저장소 조회가 없으며, 스트림이 가득 차면 그 스트라이프의 쓰기가 발행을 기다린다.
+ *
+ * 스트림에 소비자가 없으면 락 없이 바로 위임한다. (소비자는 구독한 뒤의 변경부터 받는다)
+ * 조회는 바로 위임하며, 감싼 저장소가 AutoCloseable이면 닫기도 전달한다.
+ */
+public class PublishingMemberRepository implements MemberRepository, AutoCloseable {
+
+    // 쓰기 스트라이프 수 (2의 제곱수, 일괄 저장이 long 비트 집합으로 고르도록 64 이하)
+    private static final int STRIPES = 64;
+
+    private final MemberRepository delegate;
+    private final MemberChangeStream stream;
+    private final ReentrantLock[] writeLocks = new ReentrantLock[STRIPES];
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param delegate 실제 회원 저장소
+     * @param stream 변경을 발행할 스트림
+     */
+    public PublishingMemberRepository(MemberRepository delegate, MemberChangeStream stream) {
+        this.delegate = delegate;
+        this.stream = stream;
+        for (int i = 0; i < STRIPES; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void save(Member member) {
+        if (stream.consumerCount() == 0) {
+            delegate.save(member);
+            return;
+        }
+        ReentrantLock lock = writeLocks[stripeIndex(member.getId())];
+        lock.lock();
+        try {
+            delegate.save(member);
+            stream.publish(member.getId(), member);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Member> members) {
+        if (stream.consumerCount() == 0) {
+            delegate.saveAll(members);
+            return;
+        }
+        long stripes = 0;
+        for (Member member : members) {
+            stripes |= 1L << stripeIndex(member.getId());
+        }
+        // 번호 순으로 잡아 일괄 저장끼리 교착하지 않는다
+        for (long remaining = stripes; remaining != 0; remaining &= remaining - 1) {
+            writeLocks[Long.numberOfTrailingZeros(remaining)].lock();
+        }
+        try {
+            delegate.saveAll(members);
+            for (Member member : members) {
+                stream.publish(member.getId(), member);
+            }
+        } finally {
+            for (long remaining = stripes; remaining != 0; remaining &= remaining - 1) {
+                writeLocks[Long.numberOfTrailingZeros(remaining)].unlock();
+            }
+        }
+    }
+
+    @Override
+    public void delete(Long memberId) {
+        if (stream.consumerCount() == 0) {
+            delegate.delete(memberId);
+            return;
+        }
+        ReentrantLock lock = writeLocks[stripeIndex(memberId)];
+        lock.lock();
+        try {
+            delegate.delete(memberId);
+            stream.publish(memberId, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 감싼 저장소에서 조건부로 바꾸고, 결과가 바꿀 등급이면 그 회원을 발행한다
+     * (이미 그 등급이었어도 저장소 값과 같은 값을 한 번 더 발행할 뿐이다)
+     */
+    @Override
+    public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+        if (stream.consumerCount() == 0) {
+            return delegate.changeGrade(memberId, expected, grade);
+        }
+        ReentrantLock lock = writeLocks[stripeIndex(memberId)];
+        lock.lock();
+        try {
+            Member current = delegate.changeGrade(memberId, expected, grade);
+            if (current != null && current.getGrade() == grade) {
+                stream.publish(memberId, current);
+            }
+            return current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static int stripeIndex(long memberId) {
+        // 연속된 회원 ID가 한 스트라이프에 몰리지 않도록 비트를 섞는다
+        return (int) (memberId * 0x9E3779B97F4A7C15L >>> 58) & (STRIPES - 1);
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        return delegate.findById(memberId);
+    }
+
+    @Override
+    public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+        return delegate.findAllById(memberIds);
+    }
+
+    @Override
+    public void forEach(Consumer<Member> action) {
+        delegate.forEach(action);
+    }
+
+    /**
+     * @return 발행 대상 스트림
+     */
+    public MemberChangeStream stream() {
+        return stream;
+    }
+
+    @Override
+    public MemberRepository delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() {
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("회원 저장소를 닫지 못했습니다.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package hello.core.stream;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 다른 스레드와 주고받는 순번 (생산자 커서, 소비자 진행 순번, 가장 느린 소비자 순번 캐시)
+ * 배열 가운데 칸 하나만 쓰고 앞뒤 7칸(56바이트)을 비워, 자주 쓰는 순번끼리 캐시 라인을 나눠 쓰지 않게 한다. (거짓 공유 방지)
+ * 배열 칸은 연속으로 배치되므로 필드 채움과 달리 JVM 필드 배치에 기대지 않는다.
+ */
+final class Sequence {
+
+    private static final int PADDING = 7;
+
+    private final AtomicLongArray cells = new AtomicLongArray(PADDING * 2 + 1);
+
+    Sequence(long initial) {
+        cells.setPlain(PADDING, initial);
+    }
+
+    /**
+     * 소유 스레드가 자기 값을 읽을 때 (다른 스레드의 쓰기를 볼 필요가 없다)
+     */
+    long getPlain() {
+        return cells.getPlain(PADDING);
+    }
+
+    /**
+     * 다른 스레드가 올린 값과, 올리기 전에 쓴 내용을 함께 볼 때
+     */
+    long getAcquire() {
+        return cells.getAcquire(PADDING);
+    }
+
+    /**
+     * 앞서 쓴 내용(슬롯 내용/처리 결과)이 값보다 먼저 보이도록 올린다
+     */
+    void setRelease(long value) {
+        cells.setRelease(PADDING, value);
+    }
+
+    /**
+     * 여러 생산자가 다음 순번을 차지할 때 (expected일 때만 value로 바꾼다)
+     */
+    boolean compareAndSet(long expected, long value) {
+        return cells.compareAndSet(PADDING, expected, value);
+    }
+}
@@ -0,0 +1,67 @@
+package hello.core.stream;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 읽을 것이 없을 때(소비자) 또는 고리가 가득 찼을 때(생산자) 기다리는 방법
+ * attempt는 연속으로 허탕 친 횟수(0부터)로, 진행이 생기면 다시 0부터 센다.
+ *
+ * - busySpin: 코어 하나를 계속 쓰며 가장 빨리 반응한다. 코어 수보다 소비자가 적을 때만 쓴다.
+ * - yielding: 잠깐 돌다가 CPU를 양보한다. 반응은 빠르고 다른 스레드가 있으면 자리를 내준다.
+ * - parking: 돌고 양보한 뒤에도 없으면 정해진 시간 잠든다. 느린 소비자(분석 등)에 맞고, 반응 지연은 최대 잠드는 시간이다.
+ *
+ * 생산자는 소비자를 깨우지 않는다. (발행 경로에 시스템 호출과 할당이 없도록)
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+    int SPIN_TRIES = 100;
+    int YIELD_TRIES = 100;
+
+    /**
+     * 한 번 기다린다
+     * @param attempt 연속으로 허탕 친 횟수
+     */
+    void idle(int attempt);
+
+    /**
+     * @return 계속 도는 대기
+     */
+    static WaitStrategy busySpin() {
+        return attempt -> Thread.onSpinWait();
+    }
+
+    /**
+     * @return 돌다가 양보하는 대기
+     */
+    static WaitStrategy yielding() {
+        return attempt -> {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        };
+    }
+
+    /**
+     * @param park 한 번에 잠드는 시간
+     * @return 돌고 양보한 뒤 잠드는 대기
+     */
+    static WaitStrategy parking(Duration park) {
+        long parkNanos = park.toNanos();
+        if (parkNanos <= 0) {
+            throw new IllegalArgumentException("잠드는 시간은 0보다 커야 합니다: " + park);
+        }
+        return attempt -> {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+            }
+        };
+    }
+}
@@ -0,0 +1,253 @@
+package hello.core.util;
+
+import java.util.Arrays;
+
+/**
+ * long 키 - long 값 해시맵 (오픈 어드레싱, 선형 탐사)
+ * Long/박싱 객체 없이 원시 배열 두 개에만 저장하므로 항목당 추가 할당이 없다.
+ *
+ * 스레드 안전하지 않으므로 동시 접근 시 호출자가 락(스트라이프 등)으로 보호해야 한다.
+ * 예외로 getOptimistic은 락 없이 불러도 되며, 결과는 호출자가 StampedLock 검증 등으로 확인한다.
+ */
+public class LongLongHashMap {
+
+    // 비어 있는 슬롯 표시용 키 (키 0은 별도 필드로 관리)
+    private static final long FREE_KEY = 0L;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    /**
+     * @param expectedSize 예상 항목 수 (재할당 없이 담을 수 있도록 미리 크기를 잡는다)
+     */
+    public LongLongHashMap(int expectedSize) {
+        int capacity = tableSizeFor((int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR));
+        allocate(capacity);
+    }
+
+    /**
+     * 키에 해당하는 값 조회
+     * @param key 조회할 키
+     * @param defaultValue 키가 없을 때 반환할 값
+     * @return 저장된 값, 없으면 defaultValue
+     */
+    public long get(long key, long defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * 락 없이 읽기 위한 조회 (StampedLock 낙관적 읽기용)
+     * 동시 쓰기(재할당, 삭제 시 당겨 채우기) 중에 불려도 예외나 무한 탐사 없이 끝나지만 결과가 틀릴 수 있으므로,
+     * 호출자는 쓰기가 겹치지 않았음을 확인한 뒤에만 결과를 쓴다.
+     * @param key 조회할 키
+     * @param defaultValue 키가 없을 때 반환할 값
+     * @return 저장된 값, 없으면 defaultValue
+     */
+    public long getOptimistic(long key, long defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        // 재할당과 겹치면 필드끼리 세대가 다를 수 있으므로 배열을 한 번씩만 읽고 마스크는 배열 길이에서 구한다
+        long[] keys = this.keys;
+        long[] values = this.values;
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        for (int probes = 0; probes < keys.length; probes++) {
+            long current = keys[slot];
+            if (current == key) {
+                return slot < values.length ? values[slot] : defaultValue;
+            }
+            if (current == FREE_KEY) {
+                return defaultValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * 키 존재 여부 확인
+     * @param key 확인할 키
+     * @return 존재하면 true
+     */
+    public boolean containsKey(long key) {
+        return key == FREE_KEY ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * 값 저장 (기존 값은 덮어쓴다)
+     * @param key 저장할 키
+     * @param value 저장할 값
+     */
+    public void put(long key, long value) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == FREE_KEY) {
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size > resizeAt) {
+                rehash(keys.length << 1);
+            }
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * 키의 값에 delta를 더한다 (없으면 0에서 시작)
+     * @param key 누적할 키
+     * @param delta 더할 값
+     * @return 누적 후의 값
+     */
+    public long addTo(long key, long delta) {
+        long updated = get(key, 0L) + delta;
+        put(key, updated);
+        return updated;
+    }
+
+    /**
+     * 키 삭제 (뒤따르는 항목을 당겨 채우므로 삭제 표시가 남지 않는다)
+     * @param key 삭제할 키
+     * @return 있었으면 true
+     */
+    public boolean remove(long key) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            size--;
+            return true;
+        }
+        int slot = indexOf(key);
+        if (slot < 0) {
+            return false;
+        }
+        // 비운 자리 뒤의 항목 중 원래 자리에서 여기까지 탐사해 온 항목을 당겨 온다
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != FREE_KEY) {
+            int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = FREE_KEY;
+        size--;
+        return true;
+    }
+
+    /**
+     * 모든 항목 순회 (순회 중 변경하지 않는다)
+     * @param action 키/값마다 호출할 동작
+     */
+    public void forEach(EntryConsumer action) {
+        if (hasZeroKey) {
+            action.accept(FREE_KEY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * 저장된 항목 수 반환
+     * @return 항목 수
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 모든 항목 삭제 (배열 크기는 유지)
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int slot = slotOf(key);
+        return keys[slot] == key ? slot : -1;
+    }
+
+    // 키가 있으면 그 슬롯, 없으면 삽입할 빈 슬롯을 반환
+    private int slotOf(long key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != FREE_KEY) {
+                int slot = slotOf(key);
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * @return 키/값 배열이 차지하는 바이트 수 (배열 헤더 제외)
+     */
+    public long tableBytes() {
+        return (long) keys.length * Long.BYTES * 2;
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        return Math.max(capacity, 4);
+    }
+
+    /**
+     * 항목 순회 동작 (박싱 없이 키/값을 받는다)
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        void accept(long key, long value);
+    }
+}
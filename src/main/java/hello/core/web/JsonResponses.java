@@ -0,0 +1,49 @@
+package hello.core.web;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+/**
+ * JsonWriter로 작성한 응답 생성
+ * 버퍼는 응답을 실제로 쓸 때(구독 시점) 서버의 버퍼 팩토리에서 할당하므로
+ * 연결이 먼저 끊기면 할당 자체가 일어나지 않는다. 본문 작성 중 예외가 나면 할당한 버퍼를 돌려주고 예외를 넘긴다.
+ * 본문이 단일 버퍼(Mono)라 Reactor Netty는 chunked 인코딩 없이 Content-Length로 한 번에 보낸다.
+ */
+final class JsonResponses {
+
+    // 회원/주문 한 건이 재할당 없이 들어가는 크기
+    private static final int INITIAL_CAPACITY = 128;
+
+    private JsonResponses() {
+    }
+
+    static Mono<ServerResponse> json(ServerRequest request, HttpStatus status, Consumer<JsonWriter> body) {
+        Mono<DataBuffer> buffer = Mono.fromSupplier(() -> {
+            JsonWriter writer = new JsonWriter(
+                    request.exchange().getResponse().bufferFactory().allocateBuffer(INITIAL_CAPACITY));
+            try {
+                body.accept(writer);
+            } catch (RuntimeException | Error e) {
+                // 풀링 버퍼(Netty)는 돌려주지 않으면 새어 나간다
+                DataBufferUtils.release(writer.buffer());
+                throw e;
+            }
+            return writer.buffer();
+        });
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(buffer));
+    }
+
+    static Mono<ServerResponse> ok(ServerRequest request, Consumer<JsonWriter> body) {
+        return json(request, HttpStatus.OK, body);
+    }
+}
@@ -0,0 +1,180 @@
+package hello.core.web;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 응답 버퍼에 JSON을 직접 쓰는 작성기
+ * 작은 응답(회원, 주문)을 Jackson 객체 매핑이나 중간 String/byte[] 없이
+ * 서버가 할당한 DataBuffer(Netty에서는 풀링된 버퍼)에 바로 기록한다.
+ *
+ * 쉼표와 이름/값 구분은 작성기가 처리하므로 호출자는 구조만 순서대로 쓰면 된다.
+ * 중첩 깊이는 63단계까지 지원한다.
+ */
+public final class JsonWriter {
+
+    private final DataBuffer buffer;
+    private final byte[] digits = new byte[20];
+
+    // 깊이별 "다음 값 앞에 쉼표 필요" 비트
+    private long commaBits;
+    private int depth;
+    private boolean afterName;
+
+    /**
+     * @param buffer JSON을 기록할 버퍼
+     */
+    public JsonWriter(DataBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public JsonWriter beginObject() {
+        beforeValue();
+        buffer.write((byte) '{');
+        push();
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        depth--;
+        buffer.write((byte) '}');
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        beforeValue();
+        buffer.write((byte) '[');
+        push();
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        depth--;
+        buffer.write((byte) ']');
+        return this;
+    }
+
+    /**
+     * 객체 필드 이름 (다음에 값이 와야 한다)
+     * @param name 필드 이름
+     */
+    public JsonWriter name(String name) {
+        beforeValue();
+        writeString(name);
+        buffer.write((byte) ':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        beforeValue();
+        if (value == null) {
+            buffer.write((byte) 'n').write((byte) 'u').write((byte) 'l').write((byte) 'l');
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    public JsonWriter field(String name, long value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    /**
+     * @return JSON이 기록된 버퍼
+     */
+    public DataBuffer buffer() {
+        return buffer;
+    }
+
+    private void push() {
+        depth++;
+        commaBits &= ~(1L << depth);
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        long bit = 1L << depth;
+        if ((commaBits & bit) != 0) {
+            buffer.write((byte) ',');
+        } else {
+            commaBits |= bit;
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            buffer.write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            buffer.write((byte) '-');
+            value = -value;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.write(digits, pos, digits.length - pos);
+    }
+
+    private void writeString(String value) {
+        buffer.write((byte) '"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                buffer.write((byte) c);
+            } else if (c < 0x80) {
+                writeEscaped(c);
+            } else if (c < 0x800) {
+                buffer.write((byte) (0xC0 | c >> 6));
+                buffer.write((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buffer.write((byte) (0xF0 | cp >> 18));
+                buffer.write((byte) (0x80 | cp >> 12 & 0x3F));
+                buffer.write((byte) (0x80 | cp >> 6 & 0x3F));
+                buffer.write((byte) (0x80 | cp & 0x3F));
+            } else {
+                // 짝 없는 서로게이트는 유니코드 대체 문자로 기록
+                char out = Character.isSurrogate(c) ? '\uFFFD' : c;
+                buffer.write((byte) (0xE0 | out >> 12));
+                buffer.write((byte) (0x80 | out >> 6 & 0x3F));
+                buffer.write((byte) (0x80 | out & 0x3F));
+            }
+        }
+        buffer.write((byte) '"');
+    }
+
+    private void writeEscaped(char c) {
+        buffer.write((byte) '\\');
+        switch (c) {
+            case '"' -> buffer.write((byte) '"');
+            case '\\' -> buffer.write((byte) '\\');
+            case '\n' -> buffer.write((byte) 'n');
+            case '\r' -> buffer.write((byte) 'r');
+            case '\t' -> buffer.write((byte) 't');
+            default -> {
+                buffer.write((byte) 'u').write((byte) '0').write((byte) '0');
+                buffer.write((byte) Character.forDigit(c >> 4, 16));
+                buffer.write((byte) Character.forDigit(c & 0xF, 16));
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package hello.core.web;
+
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 회원 API 핸들러
+ * 서비스 호출은 주입받은 스케줄러에서 실행한다. (WebConfig 참고)
+ * 메모리 저장소면 이벤트 루프 스레드에서 바로, JDBC 등 블로킹 저장소면 boundedElastic 스레드에서 처리한다.
+ */
+public class MemberHandler {
+
+    // 일괄 조회 한 번에 허용하는 최대 ID 수
+    static final int MAX_BULK_IDS = 1000;
+    // 일괄 가입 한 번에 허용하는 최대 회원 수
+    static final int MAX_BULK_MEMBERS = 10_000;
+
+    private final MemberService memberService;
+    private final Scheduler scheduler;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param memberService 회원 서비스
+     * @param scheduler 서비스 호출을 실행할 스케줄러
+     */
+    public MemberHandler(MemberService memberService, Scheduler scheduler) {
+        this.memberService = memberService;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * POST /members 회원 가입
+     */
+    public Mono<ServerResponse> join(ServerRequest request) {
+        return request.bodyToMono(MemberRequest.class)
+                .map(MemberRequest::toMember)
+                .flatMap(member -> call(() -> {
+                    memberService.join(member);
+                    return member;
+                }))
+                .flatMap(member -> JsonResponses.ok(request, json -> writeMember(json, member)))
+                .onErrorResume(IllegalArgumentException.class, e -> badRequest(request, e));
+    }
+
+    /**
+     * GET /members/{id} 회원 조회
+     */
+    public Mono<ServerResponse> findMember(ServerRequest request) {
+        long memberId;
+        try {
+            memberId = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return badRequest(request, e);
+        }
+        return call(() -> memberService.findMember(memberId))
+                .flatMap(member -> JsonResponses.ok(request, json -> writeMember(json, member)))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * POST /members/bulk 회원 일괄 가입 (본문: 회원 배열)
+     * 배열 전체를 저장소 일괄 저장 한 번으로 처리한다.
+     */
+    public Mono<ServerResponse> joinAll(ServerRequest request) {
+        return request.bodyToFlux(MemberRequest.class)
+                .take(MAX_BULK_MEMBERS + 1)
+                .map(MemberRequest::toMember)
+                .collectList()
+                .flatMap(members -> {
+                    if (members.size() > MAX_BULK_MEMBERS) {
+                        throw new IllegalArgumentException("한 번에 가입할 수 있는 회원은 " + MAX_BULK_MEMBERS + "명까지입니다.");
+                    }
+                    return call(() -> {
+                        memberService.joinAll(members);
+                        return members.size();
+                    });
+                })
+                .flatMap(joined -> JsonResponses.ok(request, json -> json.beginObject().field("joined", joined).endObject()))
+                .onErrorResume(IllegalArgumentException.class, e -> badRequest(request, e));
+    }
+
+    /**
+     * GET /members?ids=1,2,3 회원 일괄 조회 (없는 회원은 제외)
+     */
+    public Mono<ServerResponse> findMembers(ServerRequest request) {
+        List<Long> memberIds;
+        try {
+            memberIds = parseIds(request.queryParam("ids").orElse(""));
+        } catch (IllegalArgumentException e) {
+            return badRequest(request, e);
+        }
+        return call(() -> memberService.findMembers(memberIds))
+                .flatMap(members -> JsonResponses.ok(request, json -> {
+                    json.beginArray();
+                    for (Member member : members) {
+                        writeMember(json, member);
+                    }
+                    json.endArray();
+                }));
+    }
+
+    // 서비스 호출을 스케줄러에서 실행 (null을 돌려주면 빈 Mono)
+    private <T> Mono<T> call(Supplier<T> service) {
+        return Mono.fromSupplier(service).subscribeOn(scheduler);
+    }
+
+    static void writeMember(JsonWriter json, Member member) {
+        json.beginObject()
+                .field("id", member.getId())
+                .field("name", member.getName())
+                .field("grade", member.getGrade().name())
+                .endObject();
+    }
+
+    static Mono<ServerResponse> badRequest(ServerRequest request, Exception e) {
+        return JsonResponses.json(request, HttpStatus.BAD_REQUEST,
+                json -> json.beginObject().field("error", String.valueOf(e.getMessage())).endObject());
+    }
+
+    private static List<Long> parseIds(String ids) {
+        List<Long> memberIds = new ArrayList<>();
+        int start = 0;
+        while (start < ids.length()) {
+            int end = ids.indexOf(',', start);
+            if (end < 0) {
+                end = ids.length();
+            }
+            if (end > start) {
+                memberIds.add(Long.parseLong(ids, start, end, 10));
+            }
+            start = end + 1;
+        }
+        if (memberIds.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 회원은 " + MAX_BULK_IDS + "명까지입니다.");
+        }
+        return memberIds;
+    }
+}
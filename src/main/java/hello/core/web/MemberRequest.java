@@ -0,0 +1,21 @@
+package hello.core.web;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+/**
+ * 회원 가입 요청 본문
+ *
+ * @param id 회원 ID
+ * @param name 회원 이름
+ * @param grade 회원 등급
+ */
+public record MemberRequest(Long id, String name, Grade grade) {
+
+    Member toMember() {
+        if (id == null || name == null || grade == null) {
+            throw new IllegalArgumentException("id, name, grade는 필수입니다.");
+        }
+        return new Member(id, name, grade);
+    }
+}
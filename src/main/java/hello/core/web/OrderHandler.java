@@ -0,0 +1,127 @@
+package hello.core.web;
+
+import hello.core.order.MemberNotFoundException;
+import hello.core.order.Order;
+import hello.core.order.OrderRejectedException;
+import hello.core.order.OrderResult;
+import hello.core.order.OrderService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 주문 API 핸들러
+ * 처리율 제한으로 거절된 주문은 429(Too Many Requests), 없는 회원의 주문은 404(Not Found)로 응답한다.
+ * 서비스 호출은 주입받은 스케줄러에서 실행한다. (블로킹 저장소나 이벤트 로그를 쓰면 이벤트 루프 밖, WebConfig 참고)
+ */
+public class OrderHandler {
+
+    // 일괄 주문 한 번에 허용하는 최대 건수
+    static final int MAX_BULK_ORDERS = 1000;
+
+    private final OrderService orderService;
+    private final Scheduler scheduler;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param orderService 주문 서비스
+     * @param scheduler 서비스 호출을 실행할 스케줄러
+     */
+    public OrderHandler(OrderService orderService, Scheduler scheduler) {
+        this.orderService = orderService;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * POST /orders 주문 생성
+     */
+    public Mono<ServerResponse> createOrder(ServerRequest request) {
+        return request.bodyToMono(OrderRequest.class)
+                .flatMap(order -> {
+                    order.validate();
+                    return call(() -> orderService.createOrder(order.memberId(), order.itemName(), order.itemPrice()));
+                })
+                .flatMap(created -> JsonResponses.ok(request, json -> writeOrder(json, created)))
+                .onErrorResume(OrderRejectedException.class, e -> JsonResponses.json(request, HttpStatus.TOO_MANY_REQUESTS,
+                        json -> writeRejected(json, OrderResult.Status.RATE_LIMITED, e.getMemberId())))
+                .onErrorResume(MemberNotFoundException.class, e -> JsonResponses.json(request, HttpStatus.NOT_FOUND,
+                        json -> writeRejected(json, OrderResult.Status.MEMBER_NOT_FOUND, e.getMemberId())))
+                .onErrorResume(IllegalArgumentException.class, e -> MemberHandler.badRequest(request, e));
+    }
+
+    /**
+     * POST /orders/bulk 주문 일괄 생성 (본문: 주문 배열)
+     * 건별로 처리율 제한을 적용하며, 거절된 건은 결과 배열에 status=RATE_LIMITED (없는 회원이면 MEMBER_NOT_FOUND)로 표시한다.
+     * 그 밖의 예외로 실패한 건은 status=ERROR로 표시하고 나머지 건은 계속 처리한다. (앞서 처리된 주문이 응답에서 사라지지 않도록)
+     */
+    public Mono<ServerResponse> createOrders(ServerRequest request) {
+        return request.bodyToFlux(OrderRequest.class)
+                .take(MAX_BULK_ORDERS + 1)
+                .collectList()
+                .flatMap(orders -> {
+                    if (orders.size() > MAX_BULK_ORDERS) {
+                        throw new IllegalArgumentException("한 번에 생성할 수 있는 주문은 " + MAX_BULK_ORDERS + "건까지입니다.");
+                    }
+                    orders.forEach(OrderRequest::validate);
+                    return call(() -> createAll(orders)).flatMap(results -> JsonResponses.ok(request, json -> {
+                        json.beginArray();
+                        for (int i = 0; i < results.size(); i++) {
+                            OrderResult result = results.get(i);
+                            if (result.isAccepted()) {
+                                writeOrder(json, result.getOrder());
+                            } else {
+                                writeRejected(json, result.getStatus(), orders.get(i).memberId());
+                            }
+                        }
+                        json.endArray();
+                    }));
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> MemberHandler.badRequest(request, e));
+    }
+
+    private List<OrderResult> createAll(List<OrderRequest> orders) {
+        List<OrderResult> results = new ArrayList<>(orders.size());
+        for (OrderRequest order : orders) {
+            try {
+                results.add(OrderResult.accepted(
+                        orderService.createOrder(order.memberId(), order.itemName(), order.itemPrice())));
+            } catch (OrderRejectedException e) {
+                results.add(OrderResult.rateLimited());
+            } catch (MemberNotFoundException e) {
+                results.add(OrderResult.memberNotFound());
+            } catch (RuntimeException e) {
+                results.add(OrderResult.error());
+            }
+        }
+        return results;
+    }
+
+    // 서비스 호출을 스케줄러에서 실행
+    private <T> Mono<T> call(Supplier<T> service) {
+        return Mono.fromSupplier(service).subscribeOn(scheduler);
+    }
+
+    static void writeOrder(JsonWriter json, Order order) {
+        json.beginObject()
+                .field("status", "ACCEPTED")
+                .field("memberId", order.getMemberId())
+                .field("itemName", order.getItemName())
+                .field("itemPrice", order.getItemPrice())
+                .field("discountPrice", order.getDiscountPrice())
+                .field("price", order.calculatePrice())
+                .endObject();
+    }
+
+    static void writeRejected(JsonWriter json, OrderResult.Status status, long memberId) {
+        json.beginObject()
+                .field("status", status.name())
+                .field("memberId", memberId)
+                .endObject();
+    }
+}
@@ -0,0 +1,17 @@
+package hello.core.web;
+
+/**
+ * 주문 생성 요청 본문
+ *
+ * @param memberId 주문 회원 ID
+ * @param itemName 상품명
+ * @param itemPrice 상품 가격
+ */
+public record OrderRequest(Long memberId, String itemName, int itemPrice) {
+
+    void validate() {
+        if (memberId == null || itemName == null || itemPrice < 0) {
+            throw new IllegalArgumentException("memberId, itemName은 필수이고 itemPrice는 0 이상이어야 합니다.");
+        }
+    }
+}
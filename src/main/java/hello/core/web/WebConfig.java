@@ -0,0 +1,79 @@
+package hello.core.web;
+
+import hello.core.AppComponents;
+import hello.core.member.MemberService;
+import hello.core.order.OrderService;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.*;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * HTTP API 설정 (WebFlux 함수형 라우팅, Reactor Netty)
+ * 애너테이션 컨트롤러 대신 라우터 함수를 써서 요청마다 리플렉션/인자 해석 비용이 없다.
+ *
+ * POST /members          회원 가입
+ * GET  /members/{id}     회원 조회
+ * POST /members/bulk     회원 일괄 가입 (MemberService.joinAll -> 저장소 saveAll)
+ * GET  /members?ids=1,2  회원 일괄 조회
+ * POST /orders           주문 생성 (처리율 초과 시 429)
+ * POST /orders/bulk      주문 일괄 생성
+ *
+ * keep-alive 관련 설정(유휴 시간, 연결당 최대 요청 수)은 application.properties의 server.netty.* 에 있다.
+ * HTTP/1.1 파이프라이닝 요청은 Reactor Netty가 연결별로 순서대로 처리한다.
+ *
+ * 서비스 호출은 메모리 저장소면 이벤트 루프 스레드에서 바로 실행하고,
+ * 블로킹 I/O를 하는 구성(AppComponents.blockingServices())이면 boundedElastic 스레드로 옮겨 이벤트 루프를 막지 않는다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WebConfig {
+
+    @Bean
+    public MemberHandler memberHandler(MemberService memberService) {
+        return new MemberHandler(memberService, serviceScheduler());
+    }
+
+    @Bean
+    public OrderHandler orderHandler(OrderService orderService) {
+        return new OrderHandler(orderService, serviceScheduler());
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> coreRoutes(MemberHandler memberHandler, OrderHandler orderHandler) {
+        return route()
+                .POST("/members/bulk", memberHandler::joinAll)
+                .GET("/members/{id}", memberHandler::findMember)
+                .GET("/members", queryParam("ids", ids -> true), memberHandler::findMembers)
+                .POST("/members", memberHandler::join)
+                .POST("/orders/bulk", orderHandler::createOrders)
+                .POST("/orders", orderHandler::createOrder)
+                .build();
+    }
+
+    private static Scheduler serviceScheduler() {
+        return AppComponents.blockingServices() ? Schedulers.boundedElastic() : Schedulers.immediate();
+    }
+
+    /**
+     * Netty 소켓 옵션
+     * 작은 응답을 바로 보내도록 Nagle 알고리즘을 끄고(TCP_NODELAY),
+     * 연결이 몰릴 때를 대비해 accept 대기열(backlog)을 늘린다.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> nettySocketCustomizer(
+            @Value("${core.web.backlog:1024}") int backlog) {
+        return factory -> factory.addServerCustomizers(server -> server
+                .option(ChannelOption.SO_BACKLOG, backlog)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true));
+    }
+}
@@ -0,0 +1,67 @@
+package hello.core.wire;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * 고정 크기 다이렉트 버퍼 풀
+ * 다이렉트 버퍼는 할당/해제 비용이 크고 GC로 늦게 회수되므로 연결마다 새로 만들지 않고 재사용한다.
+ * 채널 입출력에 다이렉트 버퍼를 쓰면 JDK가 내부 임시 다이렉트 버퍼로 한 번 더 복사하지 않는다.
+ */
+public class DirectBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ArrayDeque<ByteBuffer> pooled = new ArrayDeque<>();
+    private long allocated;
+
+    /**
+     * @param bufferSize 버퍼 하나의 크기 (바이트)
+     * @param maxPooled 풀에 보관할 최대 버퍼 수 (넘치는 반납 버퍼는 버린다)
+     */
+    public DirectBufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize < WireProtocol.LENGTH_BYTES + WireProtocol.MAX_BODY) {
+            throw new IllegalArgumentException("버퍼는 최대 프레임보다 커야 합니다: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * 버퍼 대여 (비어 있는 쓰기 모드 상태)
+     * @return 다이렉트 버퍼
+     */
+    public synchronized ByteBuffer acquire() {
+        ByteBuffer buffer = pooled.pollFirst();
+        if (buffer == null) {
+            allocated++;
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+        return buffer;
+    }
+
+    /**
+     * 버퍼 반납
+     * @param buffer acquire로 빌린 버퍼
+     */
+    public synchronized void release(ByteBuffer buffer) {
+        buffer.clear();
+        if (pooled.size() < maxPooled) {
+            pooled.addFirst(buffer);
+        }
+    }
+
+    /**
+     * @return 지금까지 새로 할당한 버퍼 수
+     */
+    public synchronized long allocatedCount() {
+        return allocated;
+    }
+
+    /**
+     * @return 풀에 보관 중인 버퍼 수
+     */
+    public synchronized int pooledCount() {
+        return pooled.size();
+    }
+}
@@ -0,0 +1,87 @@
+package hello.core.wire;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemoryMemberRepository;
+import hello.core.order.OrderServiceImpl;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 루프백 처리량 벤치마크
+ * 같은 프로세스에 서버를 띄우고 파이프라인 깊이별로 초당 주문 수를 잰다.
+ * (처리율 제한 없이 프로토콜과 주문 처리 비용만 측정)
+ *
+ * 인자: [연결 수=4] [측정 초=5] [회원 수=10000]
+ * 예) ./gradlew wireBenchmark -PwireArgs="8 10"
+ */
+public class WireBenchmark {
+
+    private static final int[] PIPELINE_DEPTHS = {1, 16, 128, 512};
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int members = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        MemberRepository memberRepository = new MemoryMemberRepository();
+        for (long id = 1; id <= members; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 5 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        DirectBufferPool bufferPool = new DirectBufferPool(64 * 1024, 2 * connections + 2);
+        InetSocketAddress bind = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+        try (WireServer server = new WireServer(
+                new OrderServiceImpl(memberRepository, new FixDiscountPolicy()), bind, bufferPool).start()) {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port());
+            System.out.printf("%-10s %-12s %14s%n", "pipeline", "connections", "orders/s");
+            for (int depth : PIPELINE_DEPTHS) {
+                // 워밍업 후 측정
+                run(address, bufferPool, connections, depth, 1, members);
+                double perSecond = run(address, bufferPool, connections, depth, seconds, members);
+                System.out.printf("%-10d %-12d %14.0f%n", depth, connections, perSecond);
+            }
+        }
+    }
+
+    private static double run(InetSocketAddress address, DirectBufferPool bufferPool, int connections,
+                              int depth, int seconds, int members) throws InterruptedException {
+        LongAdder completed = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> workers = new ArrayList<>();
+        for (int c = 0; c < connections; c++) {
+            SplittableRandom random = new SplittableRandom(c);
+            workers.add(Thread.ofPlatform().name("wire-client-" + c).start(() -> {
+                WireResponse response = new WireResponse();
+                try (WireClient client = new WireClient(address, bufferPool)) {
+                    int correlationId = 0;
+                    while (System.nanoTime() < deadline) {
+                        for (int i = 0; i < depth; i++) {
+                            client.send(correlationId++, 1 + random.nextInt(members), random.nextInt(100), 10000);
+                        }
+                        client.flush();
+                        for (int i = 0; i < depth; i++) {
+                            client.read(response);
+                        }
+                        completed.add(depth);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException("벤치마크 연결 실패", e);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return completed.sum() / (double) seconds;
+    }
+}
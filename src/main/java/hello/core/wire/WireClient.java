@@ -0,0 +1,118 @@
+package hello.core.wire;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * 이진 프로토콜 클라이언트 (블로킹 소켓, 한 스레드 전용)
+ * send로 요청을 출력 버퍼에 쌓고 flush로 한 번에 보낸 뒤, 보낸 수만큼 read로 응답을 받는다.
+ * 응답을 기다리지 않고 여러 요청을 보내면 한 연결에서 파이프라이닝된다.
+ *
+ * 응답을 읽지 않은 채 보낼 수 있는 요청 수는 양쪽 소켓 버퍼에 응답이 들어가는 만큼이다.
+ * (수천 건 이상을 읽지 않고 보내면 서버가 역압으로 읽기를 멈춰 서로 기다릴 수 있다)
+ */
+public class WireClient implements Closeable {
+
+    private final SocketChannel channel;
+    private final DirectBufferPool bufferPool;
+    private final ByteBuffer out;
+    // 읽기 모드로 유지: 아직 소비하지 않은 응답 바이트
+    private final ByteBuffer in;
+
+    /**
+     * 서버에 연결
+     * @param address 서버 주소
+     * @param bufferPool 입출력 버퍼 풀
+     */
+    public WireClient(InetSocketAddress address, DirectBufferPool bufferPool) throws IOException {
+        this.channel = SocketChannel.open(address);
+        this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        this.bufferPool = bufferPool;
+        this.out = bufferPool.acquire();
+        this.in = bufferPool.acquire().flip();
+    }
+
+    /**
+     * 주문 요청을 출력 버퍼에 추가 (버퍼가 차면 먼저 보낸다)
+     */
+    public void send(int correlationId, long memberId, int itemId, int itemPrice) throws IOException {
+        if (out.remaining() < WireProtocol.REQUEST_FRAME) {
+            flush();
+        }
+        WireProtocol.writeOrderRequest(out, correlationId, memberId, itemId, itemPrice);
+    }
+
+    /**
+     * 쌓인 요청을 모두 전송
+     */
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * 다음 응답을 읽어 response에 채움 (도착할 때까지 대기)
+     * @param response 채울 응답 객체
+     */
+    public void read(WireResponse response) throws IOException {
+        fill(WireProtocol.LENGTH_BYTES);
+        int length = in.getInt(in.position());
+        if (length != WireProtocol.RESPONSE_BODY) {
+            throw new IOException("잘못된 응답 프레임 길이: " + length);
+        }
+        fill(WireProtocol.RESPONSE_FRAME);
+        in.position(in.position() + WireProtocol.LENGTH_BYTES);
+        response.type = in.get();
+        response.correlationId = in.getInt();
+        response.discountPrice = in.getInt();
+        response.price = in.getInt();
+    }
+
+    /**
+     * 주문 하나를 보내고 응답을 기다림
+     */
+    public WireResponse createOrder(long memberId, int itemId, int itemPrice) throws IOException {
+        send(0, memberId, itemId, itemPrice);
+        flush();
+        WireResponse response = new WireResponse();
+        read(response);
+        return response;
+    }
+
+    private void fill(int bytes) throws IOException {
+        if (in.remaining() >= bytes) {
+            return;
+        }
+        in.compact();
+        try {
+            while (in.position() < bytes) {
+                if (channel.read(in) < 0) {
+                    throw new EOFException("서버가 연결을 닫았습니다.");
+                }
+            }
+        } finally {
+            in.flip();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            bufferPool.release(out);
+            bufferPool.release(in);
+        }
+    }
+}
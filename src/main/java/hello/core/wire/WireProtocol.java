@@ -0,0 +1,78 @@
+package hello.core.wire;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 주문 제출용 이진 프로토콜 정의
+ * 모든 프레임은 [길이 int32][본문] 형식이며 길이는 본문 바이트 수다. (빅 엔디언)
+ *
+ * 요청 본문 (21바이트):  [타입 1][상관 ID int32][회원 ID int64][상품 ID int32][가격 int32]
+ * 응답 본문 (13바이트):  [타입 1][상관 ID int32][할인 금액 int32][결제 금액 int32]
+ *
+ * 한 연결에서 응답을 기다리지 않고 요청을 연달아 보낼 수 있으며(파이프라이닝),
+ * 서버는 요청 순서대로 응답한다. 상관 ID는 클라이언트가 정해 그대로 돌려받는다.
+ */
+public final class WireProtocol {
+
+    public static final byte CREATE_ORDER = 0x01;
+
+    public static final byte ORDER_ACCEPTED = (byte) 0x81;
+    public static final byte ORDER_RATE_LIMITED = (byte) 0x82;
+    public static final byte ERROR = (byte) 0x83;
+
+    public static final int LENGTH_BYTES = 4;
+    public static final int REQUEST_BODY = 1 + 4 + 8 + 4 + 4;
+    public static final int RESPONSE_BODY = 1 + 4 + 4 + 4;
+    public static final int REQUEST_FRAME = LENGTH_BYTES + REQUEST_BODY;
+    public static final int RESPONSE_FRAME = LENGTH_BYTES + RESPONSE_BODY;
+
+    // 이보다 긴 프레임은 잘못된 스트림으로 보고 연결을 끊는다
+    public static final int MAX_BODY = 1024;
+
+    // 상품 ID -> 상품명 캐시 (요청마다 문자열을 만들지 않도록)
+    private static final String[] ITEM_NAMES = new String[4096];
+
+    private WireProtocol() {
+    }
+
+    /**
+     * 주문 요청 프레임 기록
+     */
+    public static void writeOrderRequest(ByteBuffer out, int correlationId, long memberId, int itemId, int itemPrice) {
+        out.putInt(REQUEST_BODY)
+                .put(CREATE_ORDER)
+                .putInt(correlationId)
+                .putLong(memberId)
+                .putInt(itemId)
+                .putInt(itemPrice);
+    }
+
+    /**
+     * 응답 프레임 기록
+     */
+    public static void writeResponse(ByteBuffer out, byte type, int correlationId, int discountPrice, int price) {
+        out.putInt(RESPONSE_BODY)
+                .put(type)
+                .putInt(correlationId)
+                .putInt(discountPrice)
+                .putInt(price);
+    }
+
+    /**
+     * 상품 ID에 대응하는 상품명
+     * 자주 쓰는 작은 ID는 캐시한다. (경쟁 상태에서 같은 문자열을 두 번 만들 수는 있지만 결과는 같다)
+     * @param itemId 상품 ID
+     * @return 상품명
+     */
+    public static String itemName(int itemId) {
+        if (itemId >= 0 && itemId < ITEM_NAMES.length) {
+            String name = ITEM_NAMES[itemId];
+            if (name == null) {
+                name = "item" + itemId;
+                ITEM_NAMES[itemId] = name;
+            }
+            return name;
+        }
+        return "item" + itemId;
+    }
+}
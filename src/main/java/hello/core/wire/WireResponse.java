@@ -0,0 +1,37 @@
+package hello.core.wire;
+
+/**
+ * 응답 프레임 하나의 내용
+ * WireClient.read가 같은 인스턴스를 채워 주므로 응답마다 객체를 만들지 않는다.
+ */
+public class WireResponse {
+
+    byte type;
+    int correlationId;
+    int discountPrice;
+    int price;
+
+    public byte getType() {
+        return type;
+    }
+
+    public boolean isAccepted() {
+        return type == WireProtocol.ORDER_ACCEPTED;
+    }
+
+    public boolean isRateLimited() {
+        return type == WireProtocol.ORDER_RATE_LIMITED;
+    }
+
+    public int getCorrelationId() {
+        return correlationId;
+    }
+
+    public int getDiscountPrice() {
+        return discountPrice;
+    }
+
+    public int getPrice() {
+        return price;
+    }
+}
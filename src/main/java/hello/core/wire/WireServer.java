@@ -0,0 +1,401 @@
+package hello.core.wire;
+
+import hello.core.order.Order;
+import hello.core.order.OrderRejectedException;
+import hello.core.order.OrderService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 이진 프로토콜 주문 서버 (NIO 셀렉터, 단일 이벤트 루프 스레드)
+ * 읽은 바이트에서 완성된 요청 프레임을 모두 꺼내 OrderService를 호출하고,
+ * 응답은 주문 필드를 연결의 출력 버퍼에 바로 기록한 뒤 한 번에 쓴다.
+ * 한 번의 읽기에 여러 요청이 들어 있으면(파이프라이닝) 응답도 한 번의 쓰기로 모아 보낸다.
+ *
+ * 출력 버퍼가 가득 차 소켓에 다 쓰지 못하면 그 연결의 읽기를 멈추고 쓰기가 끝나면 남은 요청을 이어서 처리한다.
+ * (느린 클라이언트가 서버 메모리를 끝없이 쓰지 못하도록 하는 역압)
+ *
+ * 작업 스레드 풀을 주면 OrderService 호출을 이벤트 루프 대신 그 풀에서 실행한다. (JDBC 저장소 등 블로킹 구성용)
+ * - 이벤트 루프는 요청을 풀에 넘기고 다음 프레임을 계속 읽으며, 끝난 응답은 큐로 돌려받아 기록한다.
+ * - 응답은 연결별로 요청 순서대로 기록한다. 앞 요청이 끝나지 않았으면 뒤 요청의 응답은 기다린다.
+ * - 처리 중인 요청의 응답 자리를 출력 버퍼에 미리 잡아 두므로, 돌아온 응답은 항상 버퍼에 들어간다.
+ * - 잘못된 요청의 ERROR 응답도 앞 요청이 처리 중이면 끝난 응답으로 줄에 세워, 앞 응답을 앞지르지 않는다.
+ */
+public class WireServer implements Closeable {
+
+    private final OrderService orderService;
+    private final InetSocketAddress address;
+    private final DirectBufferPool bufferPool;
+    private final Executor workers;
+    // 서버를 닫을 때 작업 스레드 풀도 멈출지
+    private final boolean ownsWorkers;
+    // 작업 스레드가 처리를 마친 응답 (이벤트 루프가 꺼내 기록)
+    private final Queue<Response> completed = new ConcurrentLinkedQueue<>();
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread eventLoop;
+    private volatile boolean running;
+
+    /**
+     * 생성자를 통한 의존성 주입
+     * @param orderService 주문 서비스
+     * @param address 바인딩 주소 (포트 0이면 임의 포트)
+     * @param bufferPool 연결별 입출력 버퍼 풀
+     */
+    public WireServer(OrderService orderService, InetSocketAddress address, DirectBufferPool bufferPool) {
+        this(orderService, address, bufferPool, null);
+    }
+
+    /**
+     * 생성자를 통한 의존성 주입 (작업 스레드 풀 포함)
+     * @param orderService 주문 서비스
+     * @param address 바인딩 주소 (포트 0이면 임의 포트)
+     * @param bufferPool 연결별 입출력 버퍼 풀
+     * @param workers 주문 서비스를 호출할 스레드 풀 (null이면 이벤트 루프에서 호출, 닫기는 호출한 쪽이 한다)
+     */
+    public WireServer(OrderService orderService, InetSocketAddress address, DirectBufferPool bufferPool,
+                      Executor workers) {
+        this(orderService, address, bufferPool, workers, false);
+    }
+
+    /**
+     * 생성자를 통한 의존성 주입 (작업 스레드 풀 소유 여부 포함)
+     * @param orderService 주문 서비스
+     * @param address 바인딩 주소 (포트 0이면 임의 포트)
+     * @param bufferPool 연결별 입출력 버퍼 풀
+     * @param workers 주문 서비스를 호출할 스레드 풀 (null이면 이벤트 루프에서 호출)
+     * @param ownsWorkers true면 close 시 이벤트 루프를 멈춘 뒤 풀도 멈춘다 (ExecutorService일 때)
+     */
+    public WireServer(OrderService orderService, InetSocketAddress address, DirectBufferPool bufferPool,
+                      Executor workers, boolean ownsWorkers) {
+        this.orderService = orderService;
+        this.address = address;
+        this.bufferPool = bufferPool;
+        this.workers = workers;
+        this.ownsWorkers = ownsWorkers;
+    }
+
+    /**
+     * 소켓을 열고 이벤트 루프 스레드 시작
+     * @return 이 서버
+     */
+    public synchronized WireServer start() throws IOException {
+        if (running) {
+            return this;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        eventLoop = Thread.ofPlatform().name("wire-server").daemon().start(this::loop);
+        return this;
+    }
+
+    /**
+     * @return 실제 바인딩된 포트
+     */
+    public int port() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!running) {
+            shutdownWorkers();
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            eventLoop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection connection) {
+                connection.close();
+            }
+        }
+        serverChannel.close();
+        selector.close();
+        completed.clear();
+        shutdownWorkers();
+    }
+
+    // 소유한 작업 스레드 풀은 이벤트 루프가 멈춘 뒤 멈춘다 (처리 중인 요청은 마치고 끝난다)
+    private void shutdownWorkers() {
+        if (ownsWorkers && workers instanceof ExecutorService pool) {
+            pool.shutdown();
+        }
+    }
+
+    private void loop() {
+        try {
+            while (running) {
+                selector.select();
+                writeCompleted();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isWritable()) {
+                                connection.onWritable();
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                connection.onReadable();
+                            }
+                        } catch (IOException e) {
+                            connection.close();
+                        }
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            running = false;
+        }
+    }
+
+    private void writeCompleted() {
+        Response response;
+        while ((response = completed.poll()) != null) {
+            response.done = true;
+            Connection connection = response.connection;
+            try {
+                connection.onCompleted();
+            } catch (IOException e) {
+                connection.close();
+            }
+        }
+    }
+
+    // 주문 서비스를 호출해 응답 프레임을 target에 기록
+    private void respond(ByteBuffer target, int correlationId, long memberId, int itemId, int itemPrice) {
+        try {
+            Order order = orderService.createOrder(memberId, WireProtocol.itemName(itemId), itemPrice);
+            WireProtocol.writeResponse(target, WireProtocol.ORDER_ACCEPTED, correlationId,
+                    order.getDiscountPrice(), order.calculatePrice());
+        } catch (OrderRejectedException e) {
+            WireProtocol.writeResponse(target, WireProtocol.ORDER_RATE_LIMITED, correlationId, 0, 0);
+        } catch (RuntimeException e) {
+            WireProtocol.writeResponse(target, WireProtocol.ERROR, correlationId, 0, 0);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key));
+        }
+    }
+
+    /**
+     * 연결 하나의 상태 (이벤트 루프 스레드에서만 접근)
+     */
+    private final class Connection {
+
+        private static final int DONE = 0;
+        private static final int BLOCKED = 1;
+        private static final int CLOSED = 2;
+
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        // 둘 다 쓰기 모드로 유지: in은 소켓에서 읽어 채우고, out은 응답을 기록한다
+        private ByteBuffer in = bufferPool.acquire();
+        private ByteBuffer out = bufferPool.acquire();
+        // 작업 스레드에 넘긴 요청의 응답 (요청 순서)
+        private final ArrayDeque<Response> inFlight = new ArrayDeque<>();
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void onReadable() throws IOException {
+            int read = channel.read(in);
+            if (read < 0) {
+                close();
+                return;
+            }
+            drive();
+        }
+
+        void onWritable() throws IOException {
+            if (flush()) {
+                // 출력 버퍼가 비었으니 멈춰 두었던 요청을 이어서 처리
+                drive();
+            }
+        }
+
+        void onCompleted() throws IOException {
+            if (in == null) {
+                return;
+            }
+            Response head;
+            while ((head = inFlight.peek()) != null && head.done) {
+                out.put(head.frame.flip());
+                inFlight.poll();
+            }
+            drive();
+        }
+
+        /**
+         * 요청 처리와 응답 기록을 번갈아 반복
+         * 출력 버퍼가 차서 멈췄는데 소켓에 모두 쓸 수 있었다면, 다음 읽기를 기다리지 않고 남은 요청을 계속 처리한다.
+         */
+        private void drive() throws IOException {
+            while (true) {
+                int status = process();
+                if (status == CLOSED) {
+                    return;
+                }
+                boolean drained = flush();
+                if (status != BLOCKED || !drained) {
+                    return;
+                }
+                if (!inFlight.isEmpty()) {
+                    // 처리 중인 응답이 자리를 잡고 있다: 응답이 돌아오면(onCompleted) 이어서 처리하고 그동안은 읽지 않는다
+                    key.interestOps(0);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 입력 버퍼의 완성된 프레임을 처리
+         * @return DONE(완성된 프레임 없음), BLOCKED(출력 버퍼 부족), CLOSED(잘못된 프레임으로 연결 종료)
+         */
+        private int process() {
+            in.flip();
+            int status = DONE;
+            while (in.remaining() >= WireProtocol.LENGTH_BYTES) {
+                int length = in.getInt(in.position());
+                if (length < 5 || length > WireProtocol.MAX_BODY) {
+                    close();
+                    return CLOSED;
+                }
+                if (in.remaining() < WireProtocol.LENGTH_BYTES + length) {
+                    break;
+                }
+                if (out.remaining() < (inFlight.size() + 1) * WireProtocol.RESPONSE_FRAME) {
+                    status = BLOCKED;
+                    break;
+                }
+                in.position(in.position() + WireProtocol.LENGTH_BYTES);
+                handle(length);
+            }
+            in.compact();
+            return status;
+        }
+
+        private void handle(int length) {
+            int end = in.position() + length;
+            byte type = in.get();
+            int correlationId = in.getInt();
+            if (type != WireProtocol.CREATE_ORDER || length != WireProtocol.REQUEST_BODY) {
+                in.position(end);
+                if (inFlight.isEmpty()) {
+                    WireProtocol.writeResponse(out, WireProtocol.ERROR, correlationId, 0, 0);
+                    return;
+                }
+                // 앞 요청의 응답이 아직 오지 않았다: 끝난 응답으로 줄 끝에 세워 요청 순서를 지킨다
+                Response error = new Response(this);
+                WireProtocol.writeResponse(error.frame, WireProtocol.ERROR, correlationId, 0, 0);
+                error.done = true;
+                inFlight.add(error);
+                return;
+            }
+            long memberId = in.getLong();
+            int itemId = in.getInt();
+            int itemPrice = in.getInt();
+            if (workers == null) {
+                respond(out, correlationId, memberId, itemId, itemPrice);
+                return;
+            }
+            Response response = new Response(this);
+            inFlight.add(response);
+            workers.execute(() -> {
+                respond(response.frame, correlationId, memberId, itemId, itemPrice);
+                completed.add(response);
+                selector.wakeup();
+            });
+        }
+
+        /**
+         * 출력 버퍼를 소켓에 기록
+         * @return 모두 기록했으면 true
+         */
+        private boolean flush() throws IOException {
+            if (out.position() == 0) {
+                key.interestOps(SelectionKey.OP_READ);
+                return true;
+            }
+            out.flip();
+            channel.write(out);
+            boolean drained = !out.hasRemaining();
+            out.compact();
+            key.interestOps(drained ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+            return drained;
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 이미 끊긴 연결
+            }
+            if (in != null) {
+                bufferPool.release(in);
+                bufferPool.release(out);
+                in = null;
+                out = null;
+            }
+            inFlight.clear();
+        }
+    }
+
+    /**
+     * 작업 스레드에서 처리 중인 요청 하나의 응답
+     * 작업 스레드가 frame을 채워 completed 큐에 넣고, 이벤트 루프가 꺼내 연결의 출력 버퍼로 옮긴다.
+     */
+    private static final class Response {
+
+        final Connection connection;
+        final ByteBuffer frame = ByteBuffer.allocate(WireProtocol.RESPONSE_FRAME);
+        // 큐에서 꺼낸 뒤 이벤트 루프가 표시 (이벤트 루프 스레드에서만 접근)
+        boolean done;
+
+        Response(Connection connection) {
+            this.connection = connection;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package hello.core.wire;
+
+import hello.core.AppComponents;
+import hello.core.order.OrderService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 이진 프로토콜 서버 설정
+ * core.wire.enabled=true 일 때만 서버를 띄운다. (서비스 간 내부 통신용)
+ * 서비스 호출이 블로킹 I/O를 하는 구성(AppComponents.blockingServices())이면
+ * core.wire.workers 개의 작업 스레드에서 주문 서비스를 호출한다.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "core.wire.enabled", havingValue = "true")
+public class WireServerConfig {
+
+    @Bean
+    public DirectBufferPool wireBufferPool(@Value("${core.wire.buffer-size:65536}") int bufferSize,
+                                           @Value("${core.wire.max-pooled-buffers:256}") int maxPooled) {
+        return new DirectBufferPool(bufferSize, maxPooled);
+    }
+
+    @Bean(destroyMethod = "close")
+    public WireServer wireServer(OrderService orderService, DirectBufferPool wireBufferPool,
+                                 @Value("${core.wire.port:7070}") int port,
+                                 @Value("${core.wire.workers:16}") int workers) throws IOException {
+        // 데몬 스레드라 프로세스 종료를 막지 않으며, 서버가 풀을 소유해 close 시 함께 멈춘다
+        ExecutorService pool = AppComponents.blockingServices()
+                ? Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("wire-worker-", 0).daemon().factory())
+                : null;
+        return new WireServer(orderService, new InetSocketAddress(port), wireBufferPool, pool, true).start();
+    }
+}
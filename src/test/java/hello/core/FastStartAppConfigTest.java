@@ -0,0 +1,78 @@
+package hello.core;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+import hello.core.order.Order;
+import hello.core.order.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 빠른 기동 설정 테스트
+ * FastStartAppConfig와 FunctionalAppConfig가 AppConfig와 같은 빈을 같은 이름으로 제공하는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. fast-start 프로파일로 기동하면 FastStartAppConfig 빈으로 주문이 정상 처리된다.
+ * 2. fast-start 프로파일에서는 지연 생성 빈(orderListener)이 기동 직후 생성되지 않는다.
+ * 3. 함수형 등록(FunctionalAppConfig)으로 기동해도 같은 이름으로 조회해 주문이 정상 처리된다.
+ * 4. fast-start 프로파일이 아니면 AppConfig가 사용된다. (기존 동작 유지)
+ */
+class FastStartAppConfigTest {
+
+    @Test
+    @DisplayName("fast-start 프로파일 주문 처리")
+    void fastStart() {
+        // Given
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().setActiveProfiles(FastStartAppConfig.PROFILE);
+        context.register(FastStartAppConfig.class, AppConfig.class);
+        context.refresh();
+
+        // Then: 지연 빈은 아직 생성 전
+        assertThat(context.getBeanFactory().containsSingleton("orderListener")).isFalse();
+
+        // When & Then
+        assertOrderFlow(context.getBean("memberService", MemberService.class),
+                context.getBean("orderService", OrderService.class));
+        context.close();
+    }
+
+    @Test
+    @DisplayName("함수형 등록 주문 처리")
+    void functional() {
+        // Given
+        GenericApplicationContext context = new GenericApplicationContext();
+        new FunctionalAppConfig().initialize(context);
+        context.refresh();
+
+        // When & Then
+        assertOrderFlow(context.getBean("memberService", MemberService.class),
+                context.getBean("orderService", OrderService.class));
+        context.close();
+    }
+
+    @Test
+    @DisplayName("기본 프로파일은 AppConfig 사용")
+    void defaultProfile() {
+        AnnotationConfigApplicationContext context =
+                new AnnotationConfigApplicationContext(FastStartAppConfig.class, AppConfig.class);
+
+        assertThat(context.getBeansOfType(FastStartAppConfig.class)).isEmpty();
+        assertThat(context.getBeansOfType(AppConfig.class)).hasSize(1);
+        context.close();
+    }
+
+    private void assertOrderFlow(MemberService memberService, OrderService orderService) {
+        memberService.join(new Member(401L, "memberVIP", Grade.VIP));
+
+        Order order = orderService.createOrder(401L, "itemA", 10000);
+
+        assertThat(order.getDiscountPrice()).isEqualTo(1000);
+        assertThat(order.calculatePrice()).isEqualTo(9000);
+    }
+}
@@ -0,0 +1,140 @@
+package hello.core.codec;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 회원 코덱 테스트
+ * MemberCodec과 MemberView가 회원을 손실 없이 기록/복원하는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 힙/다이렉트 버퍼 모두에서 한글, 이모지, null 이름을 포함한 회원이 그대로 복원된다.
+ * 2. encodedSize와 실제 기록 바이트 수가 같고, 여러 레코드를 이어 쓰고 차례로 읽을 수 있다.
+ * 3. MemberView는 디코딩 없이 ID, 등급을 읽고 이름을 비교한다.
+ * 4. 공간이 모자라면 아무것도 쓰지 않고 예외가 발생한다.
+ * 5. 필드가 추가된 새 버전 레코드도 아는 필드만 읽고 다음 레코드로 넘어간다.
+ */
+class MemberCodecTest {
+
+    private static final Member[] MEMBERS = {
+            new Member(1L, "memberA", Grade.BASIC),
+            new Member(1_000_000_000_000L, "회원B", Grade.VIP),
+            new Member(3L, "emoji😀", Grade.VIP),
+            new Member(4L, "", Grade.BASIC),
+            new Member(5L, null, Grade.BASIC),
+    };
+
+    @Test
+    @DisplayName("힙/다이렉트 버퍼 왕복")
+    void roundTrip() {
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(256), ByteBuffer.allocateDirect(256)}) {
+            // given
+            int expectedBytes = 0;
+            for (Member member : MEMBERS) {
+                expectedBytes += MemberCodec.encodedSize(member);
+            }
+
+            // when
+            for (Member member : MEMBERS) {
+                MemberCodec.encode(member, buffer);
+            }
+            assertThat(buffer.position()).isEqualTo(expectedBytes);
+            buffer.flip();
+
+            // then
+            for (Member member : MEMBERS) {
+                Member decoded = MemberCodec.decode(buffer);
+                assertThat(decoded).usingRecursiveComparison().isEqualTo(member);
+            }
+            assertThat(buffer.hasRemaining()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("플라이웨이트 읽기")
+    void view() {
+        // given
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        for (Member member : MEMBERS) {
+            MemberCodec.encode(member, buffer);
+        }
+
+        // when & then
+        MemberView view = new MemberView();
+        int offset = 0;
+        for (Member member : MEMBERS) {
+            view.wrap(buffer, offset);
+            assertThat(view.version()).isEqualTo(MemberCodec.VERSION);
+            assertThat(view.id()).isEqualTo(member.getId());
+            assertThat(view.grade()).isEqualTo(member.getGrade());
+            assertThat(view.nameEquals(member.getName())).isTrue();
+            assertThat(view.nameEquals("other")).isFalse();
+            assertThat(view.name()).isEqualTo(member.getName());
+            offset += view.encodedLength();
+        }
+        assertThat(offset).isEqualTo(buffer.position());
+    }
+
+    @Test
+    @DisplayName("이름 비교는 접두사/길이 차이를 구분")
+    void nameEquals() {
+        // given
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        MemberCodec.encode(new Member(1L, "회원AB", Grade.BASIC), buffer);
+        MemberView view = new MemberView().wrap(buffer, 0);
+
+        // then
+        assertThat(view.nameEquals("회원AB")).isTrue();
+        assertThat(view.nameEquals("회원A")).isFalse();
+        assertThat(view.nameEquals("회원ABC")).isFalse();
+        assertThat(view.nameEquals("회원AC")).isFalse();
+        assertThat(view.nameEquals(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("공간 부족 시 쓰지 않고 예외")
+    void overflow() {
+        // given
+        Member member = new Member(1L, "memberA", Grade.VIP);
+        ByteBuffer buffer = ByteBuffer.allocate(MemberCodec.encodedSize(member) - 1);
+
+        // when & then
+        assertThatThrownBy(() -> MemberCodec.encode(member, buffer)).isInstanceOf(BufferOverflowException.class);
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    @DisplayName("새 버전 레코드의 추가 필드는 건너뜀")
+    void forwardCompatible() {
+        // given: 버전 2 레코드 = 버전 1 본문 + 뒤에 추가된 필드 3바이트, 이어서 다음 레코드
+        ByteBuffer v1 = ByteBuffer.allocate(64);
+        MemberCodec.encode(new Member(7L, "memberC", Grade.VIP), v1);
+        v1.flip();
+        int bodyLength = VarInts.getVarInt(v1, 1);
+        int bodyStart = VarInts.skip(v1, 1);
+
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        buffer.put((byte) 2);
+        VarInts.writeVarInt(buffer, bodyLength + 3);
+        buffer.put(v1.slice(bodyStart, bodyLength));
+        buffer.put(new byte[]{9, 9, 9});
+        MemberCodec.encode(new Member(8L, "memberD", Grade.BASIC), buffer);
+        buffer.flip();
+
+        // when
+        Member first = MemberCodec.decode(buffer);
+        Member second = MemberCodec.decode(buffer);
+
+        // then
+        assertThat(first.getId()).isEqualTo(7L);
+        assertThat(first.getName()).isEqualTo("memberC");
+        assertThat(second.getId()).isEqualTo(8L);
+    }
+}
@@ -0,0 +1,84 @@
+package hello.core.codec;
+
+import hello.core.order.Order;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 주문 코덱 테스트
+ * OrderCodec과 OrderView가 주문을 손실 없이 기록/복원하는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 여러 주문을 이어 쓰고 차례로 읽으면 모든 필드가 그대로 복원된다.
+ * 2. OrderView는 상품명을 디코딩하지 않고 금액을 읽어 합계를 낼 수 있다.
+ * 3. 작은 주문은 고정 길이 형식보다 훨씬 작게 기록된다.
+ */
+class OrderCodecTest {
+
+    private static final Order[] ORDERS = {
+            new Order(1L, "itemA", 10000, 1000),
+            new Order(2L, "상품B", 25000, 0),
+            new Order(300_000L, null, 0, 0),
+            new Order(4L, "itemD", Integer.MAX_VALUE, 5000),
+    };
+
+    @Test
+    @DisplayName("주문 왕복")
+    void roundTrip() {
+        // given
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+
+        // when
+        for (Order order : ORDERS) {
+            assertThat(OrderCodec.encode(order, buffer)).isEqualTo(OrderCodec.encodedSize(order));
+        }
+        buffer.flip();
+
+        // then
+        for (Order order : ORDERS) {
+            assertThat(OrderCodec.decode(buffer)).usingRecursiveComparison().isEqualTo(order);
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    @DisplayName("플라이웨이트로 금액 합계")
+    void view() {
+        // given
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        long expectedTotal = 0;
+        for (Order order : ORDERS) {
+            OrderCodec.encode(order, buffer);
+            expectedTotal += order.calculatePrice();
+        }
+
+        // when
+        OrderView view = new OrderView();
+        long total = 0;
+        int index = 0;
+        for (int offset = 0; offset < buffer.position(); offset += view.encodedLength()) {
+            view.wrap(buffer, offset);
+            total += view.price();
+            Order order = ORDERS[index++];
+            assertThat(view.memberId()).isEqualTo(order.getMemberId());
+            assertThat(view.itemPrice()).isEqualTo(order.getItemPrice());
+            assertThat(view.discountPrice()).isEqualTo(order.getDiscountPrice());
+            assertThat(view.itemNameEquals(order.getItemName())).isTrue();
+        }
+
+        // then
+        assertThat(index).isEqualTo(ORDERS.length);
+        assertThat(total).isEqualTo(expectedTotal);
+    }
+
+    @Test
+    @DisplayName("작은 주문은 작은 레코드")
+    void compact() {
+        // 머리말 2 + 회원 ID 1 + 가격 2 + 할인 2 + 길이 1 + 상품명 5
+        assertThat(OrderCodec.encodedSize(new Order(1L, "itemA", 10000, 1000))).isEqualTo(13);
+    }
+}
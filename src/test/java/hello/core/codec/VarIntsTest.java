@@ -0,0 +1,84 @@
+package hello.core.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 가변 길이 정수 인코딩 테스트
+ * VarInts의 기록/읽기/크기 계산이 서로 일치하는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 경계값(0, 127, 128, 최댓값, 음수)을 기록하고 그대로 읽는다.
+ * 2. 기록한 바이트 수와 sizeOf 계산이 같고, 작은 값은 1바이트다.
+ * 3. skip은 값을 읽지 않고 다음 필드 위치를 돌려준다.
+ */
+class VarIntsTest {
+
+    private static final long[] LONGS = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE, -1, Long.MIN_VALUE};
+    private static final int[] INTS = {0, 1, 127, 128, 10_000, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+
+    @Test
+    @DisplayName("long 경계값 왕복")
+    void longRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        for (long value : LONGS) {
+            // when
+            buffer.clear();
+            VarInts.writeVarLong(buffer, value);
+            int written = buffer.position();
+            buffer.flip();
+
+            // then
+            assertThat(written).isEqualTo(VarInts.sizeOfVarLong(value));
+            assertThat(VarInts.readVarLong(buffer)).isEqualTo(value);
+            assertThat(buffer.position()).isEqualTo(written);
+        }
+    }
+
+    @Test
+    @DisplayName("int 경계값 왕복")
+    void intRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        for (int value : INTS) {
+            // when
+            buffer.clear();
+            VarInts.writeVarInt(buffer, value);
+            int written = buffer.position();
+            buffer.flip();
+
+            // then
+            assertThat(written).isEqualTo(VarInts.sizeOfVarInt(value));
+            assertThat(VarInts.readVarInt(buffer)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    @DisplayName("작은 값은 1바이트, 음수는 최대 길이")
+    void sizes() {
+        assertThat(VarInts.sizeOfVarLong(0)).isEqualTo(1);
+        assertThat(VarInts.sizeOfVarLong(127)).isEqualTo(1);
+        assertThat(VarInts.sizeOfVarLong(128)).isEqualTo(2);
+        assertThat(VarInts.sizeOfVarLong(-1)).isEqualTo(10);
+        assertThat(VarInts.sizeOfVarInt(-1)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("skip은 다음 필드 위치")
+    void skip() {
+        // given
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        VarInts.writeVarLong(buffer, 300);
+        VarInts.writeVarInt(buffer, 5);
+
+        // when
+        int next = VarInts.skip(buffer, 0);
+
+        // then
+        assertThat(next).isEqualTo(2);
+        assertThat(VarInts.getVarInt(buffer, next)).isEqualTo(5);
+    }
+}
@@ -0,0 +1,109 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 할인 금액 캐시 데코레이터 테스트
+ * CachingDiscountPolicy가 감싼 정책과 같은 결과를 내면서 호출을 줄이는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 같은 (등급, 가격)을 반복 조회하면 감싼 정책은 한 번만 호출되고 이후는 캐시에서 반환된다.
+ * 2. 등급이 다르면 가격이 같아도 별도 항목으로 계산된다.
+ * 3. invalidate() 후에는 감싼 정책의 바뀐 결과가 반영된다.
+ * 4. 캐시 용량보다 많은 조합을 넣어도 결과는 항상 감싼 정책과 같다. (교체 발생)
+ * 5. 적중률과 미적중 평균 계산 시간이 집계된다.
+ */
+class CachingDiscountPolicyTest {
+
+    AtomicInteger calls;
+    AtomicInteger percent;
+    CachingDiscountPolicy cachingPolicy;
+
+    Member vip = new Member(1L, "memberVIP", Grade.VIP);
+    Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+
+    @BeforeEach
+    void beforeEach() {
+        calls = new AtomicInteger();
+        percent = new AtomicInteger(10);
+        // 호출 횟수를 세고 할인율을 바꿀 수 있는 정률 정책
+        DiscountPolicy countingPolicy = (member, price) -> {
+            calls.incrementAndGet();
+            return member.getGrade() == Grade.VIP ? price * percent.get() / 100 : 0;
+        };
+        cachingPolicy = new CachingDiscountPolicy(countingPolicy, 64);
+    }
+
+    @Test
+    @DisplayName("반복 조회는 캐시에서 반환")
+    void cacheHit() {
+        // When
+        int first = cachingPolicy.discount(vip, 10000);
+        int second = cachingPolicy.discount(vip, 10000);
+        int third = cachingPolicy.discount(vip, 10000);
+
+        // Then
+        assertThat(first).isEqualTo(1000);
+        assertThat(second).isEqualTo(1000);
+        assertThat(third).isEqualTo(1000);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("등급별로 별도 항목")
+    void gradeIsPartOfKey() {
+        assertThat(cachingPolicy.discount(vip, 10000)).isEqualTo(1000);
+        assertThat(cachingPolicy.discount(basic, 10000)).isEqualTo(0);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("invalidate 후 새 결과 반영")
+    void invalidate() {
+        // Given
+        cachingPolicy.discount(vip, 10000);
+
+        // When: 할인율 변경 후 무효화
+        percent.set(20);
+        cachingPolicy.invalidate();
+
+        // Then
+        assertThat(cachingPolicy.discount(vip, 10000)).isEqualTo(2000);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("용량 초과 시에도 결과 일치")
+    void eviction() {
+        // When & Then: 64 슬롯에 1000개 가격 조합을 두 바퀴 조회
+        for (int round = 0; round < 2; round++) {
+            for (int price = 1000; price < 2000; price++) {
+                assertThat(cachingPolicy.discount(vip, price)).isEqualTo(price * 10 / 100);
+            }
+        }
+        assertThat(calls.get()).isGreaterThan(1000);
+    }
+
+    @Test
+    @DisplayName("적중률 집계")
+    void stats() {
+        // When: 미적중 1회, 적중 3회
+        for (int i = 0; i < 4; i++) {
+            cachingPolicy.discount(vip, 5000);
+        }
+
+        // Then
+        assertThat(cachingPolicy.getMissCount()).isEqualTo(1);
+        assertThat(cachingPolicy.getHitCount()).isEqualTo(3);
+        assertThat(cachingPolicy.getHitRate()).isEqualTo(0.75);
+        assertThat(cachingPolicy.getAverageMissNanos()).isGreaterThanOrEqualTo(0.0);
+    }
+}
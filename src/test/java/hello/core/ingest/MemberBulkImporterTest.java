@@ -0,0 +1,190 @@
+package hello.core.ingest;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 회원 일괄 가입기 테스트
+ * 공유 저장소를 건드리지 않도록 saveAll 호출을 기록하는 테스트용 저장소를 사용
+ *
+ * 테스트 시나리오:
+ * 1. CSV: 머리글/BOM/CRLF/따옴표 이름/빈 줄/마지막 줄바꿈 없음을 처리한다.
+ * 2. 잘못된 줄은 건너뛰고 파일 위치(바이트)와 사유를 남긴다.
+ * 3. NDJSON: 키 순서 무관, 이스케이프, 모르는 키를 처리하고 빠진 필드는 잘못된 줄로 센다.
+ * 4. 여러 구간/스레드로 나누어도 모든 줄을 정확히 한 번씩 배치 크기 이하로 저장한다.
+ * 5. 구간 경계는 항상 줄의 시작이다.
+ */
+class MemberBulkImporterTest {
+
+    @TempDir
+    Path dir;
+
+    RecordingRepository repository = new RecordingRepository();
+
+    @Test
+    @DisplayName("CSV 가져오기")
+    void csv() throws IOException {
+        // given
+        Path file = write("members.csv", "﻿id,name,grade\r\n"
+                + "1,kim,VIP\r\n"
+                + "2,\"lee, \"\"jr\"\"\",basic\n"
+                + "\n"
+                + "3,박회원, BASIC \n"
+                + "4,park,VIP");
+
+        // when
+        MemberBulkImporter.ImportResult result = new MemberBulkImporter(repository, 2, 100).importFile(file);
+
+        // then
+        assertThat(result.rows()).isEqualTo(4);
+        assertThat(result.malformed()).isZero();
+        assertThat(repository.members.get(1L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(repository.members.get(2L).getName()).isEqualTo("lee, \"jr\"");
+        assertThat(repository.members.get(3L).getName()).isEqualTo("박회원");
+        assertThat(repository.members.get(4L).getName()).isEqualTo("park");
+    }
+
+    @Test
+    @DisplayName("잘못된 줄 진단")
+    void malformedLines() throws IOException {
+        // given
+        String valid = "1,kim,VIP\n";
+        String badId = "abc,lee,VIP\n";
+        String badGrade = "2,park,GOLD\n";
+        Path file = write("members.csv", valid + badId + badGrade + "3,\"open,VIP\n4,choi\n");
+
+        // when
+        MemberBulkImporter.ImportResult result = new MemberBulkImporter(repository, 1, 100).importFile(file);
+
+        // then
+        assertThat(result.rows()).isEqualTo(1);
+        assertThat(result.malformed()).isEqualTo(4);
+        assertThat(result.diagnostics()).extracting(MemberBulkImporter.Malformed::offset)
+                .containsExactly(10L, 22L, 34L, 46L);
+        assertThat(result.diagnostics().get(0).excerpt()).isEqualTo("abc,lee,VIP");
+        assertThat(result.diagnostics().get(1).reason()).isEqualTo("알 수 없는 등급");
+    }
+
+    @Test
+    @DisplayName("NDJSON 가져오기")
+    void ndjson() throws IOException {
+        // given
+        Path file = write("members.ndjson",
+                "{\"grade\":\"VIP\",\"id\":1,\"name\":\"kim\"}\n"
+                        + "{ \"id\": 2, \"name\": \"caf\\u00e9 \\\"lee\\\"\", \"age\": 30, \"memo\": null, \"grade\": \"basic\" }\n"
+                        + "{\"id\":3,\"name\":\"park\"}\n"
+                        + "{\"id\":4.5,\"name\":\"choi\",\"grade\":\"VIP\"}\n"
+                        + "{\"id\":5,\"name\":\"jung\",\"grade\":\"VIP\",\"tags\":[1]}\n");
+
+        // when
+        MemberBulkImporter.ImportResult result = new MemberBulkImporter(repository, 2, 100).importFile(file);
+
+        // then
+        assertThat(result.rows()).isEqualTo(2);
+        assertThat(repository.members.get(1L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(repository.members.get(2L).getName()).isEqualTo("café \"lee\"");
+        assertThat(result.diagnostics()).extracting(MemberBulkImporter.Malformed::reason)
+                .containsExactly("grade가 없음", "ID가 정수가 아님", "중첩된 객체/배열은 지원하지 않음");
+    }
+
+    @Test
+    @DisplayName("병렬 구간 나누기와 배치 저장")
+    void parallelBatches() throws IOException {
+        // given
+        StringBuilder content = new StringBuilder("id,name,grade\n");
+        for (int id = 1; id <= 5000; id++) {
+            content.append(id).append(",회원").append(id).append(',').append(id % 3 == 0 ? "VIP" : "BASIC").append('\n');
+        }
+        Path file = write("members.csv", content.toString());
+
+        // when
+        MemberBulkImporter.ImportResult result = new MemberBulkImporter(repository, 4, 64).importFile(file);
+
+        // then
+        assertThat(result.rows()).isEqualTo(5000);
+        assertThat(result.malformed()).isZero();
+        assertThat(repository.saved).isEqualTo(5000);
+        assertThat(repository.members).hasSize(5000);
+        assertThat(repository.members.get(4999L).getName()).isEqualTo("회원4999");
+        assertThat(repository.batchSizes).allSatisfy(size -> assertThat(size).isBetween(1, 64));
+        assertThat(result.rowsPerSecond()).isPositive();
+    }
+
+    @Test
+    @DisplayName("구간 경계는 줄의 시작")
+    void splitAtLines() throws IOException {
+        // given
+        Path file = write("members.csv", "1,a,VIP\n22,bb,VIP\n333,ccc,VIP\n4444,dddd,VIP\n");
+        byte[] bytes = Files.readAllBytes(file);
+
+        // when
+        long[] boundaries;
+        try (FileChannel channel = FileChannel.open(file)) {
+            boundaries = MemberBulkImporter.splitAtLines(channel, bytes.length, 16);
+        }
+
+        // then
+        assertThat(boundaries[0]).isZero();
+        assertThat(boundaries[boundaries.length - 1]).isEqualTo(bytes.length);
+        assertThat(boundaries).isSorted().doesNotHaveDuplicates();
+        for (int i = 1; i < boundaries.length - 1; i++) {
+            assertThat(bytes[(int) boundaries[i] - 1]).isEqualTo((byte) '\n');
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static class RecordingRepository implements MemberRepository {
+
+        final Map<Long, Member> members = new ConcurrentHashMap<>();
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        volatile int saved;
+
+        @Override
+        public void save(Member member) {
+            members.put(member.getId(), member);
+        }
+
+        @Override
+        public Member findById(Long memberId) {
+            return members.get(memberId);
+        }
+
+        @Override
+        public void delete(Long memberId) {
+            members.remove(memberId);
+        }
+
+        @Override
+        public void forEach(Consumer<Member> action) {
+            members.values().forEach(action);
+        }
+
+        @Override
+        public synchronized void saveAll(Collection<Member> batch) {
+            batchSizes.add(batch.size());
+            saved += batch.size();
+            batch.forEach(this::save);
+        }
+    }
+}
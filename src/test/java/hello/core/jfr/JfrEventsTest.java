@@ -0,0 +1,103 @@
+package hello.core.jfr;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemoryMemberRepository;
+import hello.core.order.OrderService;
+import hello.core.order.OrderServiceImpl;
+import hello.core.stream.MemberChangeStream;
+import hello.core.stream.PublishingMemberRepository;
+import hello.core.stream.WaitStrategy;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * JFR 커스텀 이벤트 테스트
+ * 데코레이터가 주문 생성, 회원 조회, 할인 계산 이벤트를 기록하고 분석기가 연산별로 집계하는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 이벤트를 켠 기록 중 주문을 만들면 주문 생성 이벤트에 회원 ID, 상품, 가격, 할인 금액이 남는다.
+ * 2. 회원 조회 이벤트는 적중/미적중과 저장소 종류(데코레이터를 벗긴 맨 안쪽 저장소)를 구분해 남는다.
+ * 3. 할인 이벤트에는 감싼 정책 클래스가 남는다.
+ * 4. 분석기는 기록 파일을 연산별 지연 시간 분포로 묶는다.
+ * 5. 이벤트가 꺼져 있으면 기록 없이 결과만 그대로 반환된다.
+ */
+class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    MemberRepository memberRepository = new JfrMemberRepository(new PublishingMemberRepository(
+            new MemoryMemberRepository(), new MemberChangeStream(16, WaitStrategy.busySpin())));
+    OrderService orderService = new JfrOrderService(
+            new OrderServiceImpl(memberRepository, new JfrDiscountPolicy(new FixDiscountPolicy())));
+
+    @Test
+    @DisplayName("이벤트 기록과 분석")
+    void recordAndAnalyze() throws Exception {
+        // Given
+        memberRepository.save(new Member(601L, "memberVIP", Grade.VIP));
+        Path file = tempDir.resolve("core.jfr");
+
+        // When: 임계 시간 0으로 모든 호출 기록
+        try (Recording recording = new Recording()) {
+            recording.enable(OrderCreateEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(MemberLookupEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(DiscountEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            orderService.createOrder(601L, "itemA", 10000);
+            memberRepository.findById(999_999L);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then: 주문 생성 이벤트
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent order = single(events, OrderCreateEvent.NAME);
+        assertThat(order.getLong("memberId")).isEqualTo(601L);
+        assertThat(order.getString("itemName")).isEqualTo("itemA");
+        assertThat(order.getInt("itemPrice")).isEqualTo(10000);
+        assertThat(order.getInt("discountPrice")).isEqualTo(1000);
+
+        // Then: 할인 이벤트
+        RecordedEvent discount = single(events, DiscountEvent.NAME);
+        assertThat(discount.getClass("policyClass").getName()).isEqualTo(FixDiscountPolicy.class.getName());
+
+        // Then: 분석 결과
+        Map<String, Histogram> table = JfrRecordingAnalyzer.analyze(file);
+        assertThat(table.get("order.createOrder").getTotalCount()).isEqualTo(1);
+        assertThat(table.get("member.findById[MemoryMemberRepository,hit]").getTotalCount()).isEqualTo(1);
+        assertThat(table.get("member.findById[MemoryMemberRepository,miss]").getTotalCount()).isEqualTo(1);
+        assertThat(table).containsKey("discount[" + FixDiscountPolicy.class.getName() + "]");
+    }
+
+    @Test
+    @DisplayName("이벤트가 꺼져 있으면 결과만 반환")
+    void disabled() {
+        memberRepository.save(new Member(602L, "memberBASIC", Grade.BASIC));
+
+        assertThat(orderService.createOrder(602L, "itemA", 10000).getDiscountPrice()).isEqualTo(0);
+    }
+
+    private RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matched = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertThat(matched).hasSize(1);
+        return matched.get(0);
+    }
+}
@@ -0,0 +1,158 @@
+package hello.core.load;
+
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+import hello.core.order.Order;
+import hello.core.order.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 열린 루프 부하 생성기 테스트
+ * OpenLoopLoadGenerator가 목표 속도로 요청을 보내고 coordinated omission을 보정한 지연 시간을 기록하는지 검증
+ * (공유 저장소를 건드리지 않도록 테스트 전용 서비스를 사용)
+ *
+ * 테스트 시나리오:
+ * 1. 설정한 회원 수만큼 가입시키고, 목표 속도 x 측정 시간만큼 요청을 보내며 주문 비율을 따른다.
+ * 2. 서비스가 요청 간격보다 느리면 보정 지연 시간이 보정 전 서비스 시간보다 훨씬 크게 기록된다.
+ * 3. 결과는 CSV에 헤더와 함께 덧붙여진다.
+ * 4. 잘못된 인자는 예외가 발생한다.
+ * 5. 1초를 나누어떨어지지 않는 속도에서도 예정 시각과 요청 수가 밀리지 않는다.
+ */
+class OpenLoopLoadGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("목표 속도와 주문 비율대로 요청")
+    void targetRate() throws InterruptedException {
+        // given
+        FakeServices services = new FakeServices(0);
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse("--rate=2000", "--duration=500ms",
+                "--warmup=0s", "--members=100", "--order-ratio=0.5", "--threads=2",
+                "--csv=" + dir.resolve("results.csv"));
+
+        // when
+        List<OpenLoopLoadGenerator.LoadResult> results = services.generator(options).run();
+
+        // then
+        long total = results.stream().mapToLong(OpenLoopLoadGenerator.LoadResult::count).sum();
+        assertThat(services.members).hasSize(100);
+        assertThat(total).isEqualTo(1000);
+        assertThat(services.orders.get()).isBetween(350L, 650L);
+        assertThat(results).extracting(OpenLoopLoadGenerator.LoadResult::operation)
+                .containsExactly(OpenLoopLoadGenerator.FIND, OpenLoopLoadGenerator.ORDER);
+    }
+
+    @Test
+    @DisplayName("느린 서비스는 대기 시간까지 지연 시간에 포함")
+    void coordinatedOmission() throws InterruptedException {
+        // given: 요청 간격 1ms, 서비스 시간 2ms, 워커 1개 -> 요청이 계속 밀린다
+        FakeServices services = new FakeServices(2_000_000);
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse("--rate=1000", "--duration=200ms",
+                "--warmup=0s", "--members=10", "--order-ratio=1", "--threads=1", "--virtual-threads",
+                "--zipf=0", "--csv=" + dir.resolve("results.csv"));
+
+        // when
+        OpenLoopLoadGenerator.LoadResult order = services.generator(options).run().get(1);
+
+        // then
+        assertThat(order.uncorrectedP99()).isLessThan(20_000);
+        assertThat(order.p99()).isGreaterThan(order.uncorrectedP99() * 5);
+    }
+
+    @Test
+    @DisplayName("결과는 CSV에 덧붙임")
+    void csv() throws Exception {
+        // given
+        Path csv = dir.resolve("nested").resolve("results.csv");
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse("--rate=1000", "--duration=50ms",
+                "--warmup=0s", "--members=10", "--label=build-1", "--csv=" + csv);
+
+        // when
+        new FakeServices(0).generator(options).run();
+        new FakeServices(0).generator(options).run();
+
+        // then
+        List<String> lines = Files.readAllLines(csv);
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(0)).startsWith("timestamp,label,");
+        assertThat(lines.subList(1, 5)).allMatch(line -> line.contains(",build-1,"));
+    }
+
+    @Test
+    @DisplayName("잘못된 인자는 예외")
+    void invalidArgs() {
+        assertThatThrownBy(() -> LoadGeneratorOptions.parse("--rate=0"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadGeneratorOptions.parse("--unknown=1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadGeneratorOptions.parse("--rate=1000000001"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("나누어떨어지지 않는 속도에서도 예정 시각이 밀리지 않음")
+    void scheduleWithoutDrift() {
+        // given: 초당 3건 (요청 간격 333,333,333.3ns)
+        OpenLoopLoadGenerator generator = new FakeServices(0).generator(LoadGeneratorOptions.parse("--rate=3"));
+
+        // when & then: 정수 간격(333,333,333ns)을 누적하면 1초에 1ns씩 밀린다
+        assertThat(generator.scheduledOffset(1)).isEqualTo(333_333_333L);
+        assertThat(generator.scheduledOffset(3)).isEqualTo(1_000_000_000L);
+        assertThat(generator.scheduledOffset(3 * 3600)).isEqualTo(3_600_000_000_000L);
+        assertThat(generator.requestsWithin(1_000_000_000L)).isEqualTo(3);
+        assertThat(generator.requestsWithin(3_600_000_000_000L)).isEqualTo(3 * 3600);
+
+        // 요청 간격이 1ns인 최대 속도에서도 0으로 나누지 않는다
+        OpenLoopLoadGenerator fast = new FakeServices(0).generator(LoadGeneratorOptions.parse("--rate=1000000000"));
+        assertThat(fast.scheduledOffset(7)).isEqualTo(7);
+        assertThat(fast.requestsWithin(1_000_000L)).isEqualTo(1_000_000);
+    }
+
+    static class FakeServices implements MemberService, OrderService {
+
+        final ConcurrentHashMap<Long, Member> members = new ConcurrentHashMap<>();
+        final AtomicLong orders = new AtomicLong();
+        final long serviceNanos;
+
+        FakeServices(long serviceNanos) {
+            this.serviceNanos = serviceNanos;
+        }
+
+        OpenLoopLoadGenerator generator(LoadGeneratorOptions options) {
+            return new OpenLoopLoadGenerator(this, this, options);
+        }
+
+        @Override
+        public void join(Member member) {
+            members.put(member.getId(), member);
+        }
+
+        @Override
+        public Member findMember(Long memberId) {
+            return members.get(memberId);
+        }
+
+        @Override
+        public Order createOrder(Long memberId, String itemName, int itemPrice) {
+            long end = System.nanoTime() + serviceNanos;
+            while (System.nanoTime() < end) {
+                LockSupport.parkNanos(end - System.nanoTime());
+            }
+            orders.incrementAndGet();
+            return new Order(memberId, itemName, itemPrice, 0);
+        }
+    }
+}
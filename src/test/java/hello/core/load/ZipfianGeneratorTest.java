@@ -0,0 +1,86 @@
+package hello.core.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 지프 분포 생성기 테스트
+ * ZipfianGenerator가 범위 안의 값을 치우친 분포로 만들어 내는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 생성된 값은 항상 1 이상 itemCount 이하이다.
+ * 2. 순위 1의 값이 가장 자주 나오고, 상위 1% 값이 전체 요청의 상당 부분을 차지한다.
+ * 3. 같은 시드는 같은 수열을, withSeed는 정규화 상수를 공유한 독립 수열을 만든다.
+ * 4. 잘못된 치우침 값은 예외가 발생한다.
+ */
+class ZipfianGeneratorTest {
+
+    @Test
+    @DisplayName("생성 값은 1부터 itemCount 범위")
+    void range() {
+        // given
+        ZipfianGenerator generator = new ZipfianGenerator(1000, 0.99, 1);
+
+        // when & then
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(generator.next()).isBetween(1L, 1000L);
+        }
+    }
+
+    @Test
+    @DisplayName("낮은 순위 값에 요청이 몰린다")
+    void skewed() {
+        // given
+        int items = 10_000;
+        ZipfianGenerator generator = new ZipfianGenerator(items, 0.99, 7);
+        long[] counts = new long[items + 1];
+
+        // when
+        int samples = 200_000;
+        for (int i = 0; i < samples; i++) {
+            counts[(int) generator.next()]++;
+        }
+
+        // then
+        long top = 0;
+        for (int rank = 1; rank <= items / 100; rank++) {
+            top += counts[rank];
+        }
+        assertThat(counts[1]).isGreaterThan(counts[2]).isGreaterThan(counts[items]);
+        assertThat((double) top / samples).isGreaterThan(0.4);
+    }
+
+    @Test
+    @DisplayName("같은 시드는 같은 수열")
+    void deterministic() {
+        // given
+        ZipfianGenerator first = new ZipfianGenerator(500, 0.8, 3);
+        ZipfianGenerator second = first.withSeed(3);
+        ZipfianGenerator other = first.withSeed(4);
+
+        // when
+        long[] a = new long[50];
+        long[] b = new long[50];
+        long[] c = new long[50];
+        for (int i = 0; i < 50; i++) {
+            a[i] = first.next();
+            b[i] = second.next();
+            c[i] = other.next();
+        }
+
+        // then
+        assertThat(b).isEqualTo(a);
+        assertThat(c).isNotEqualTo(a);
+    }
+
+    @Test
+    @DisplayName("잘못된 치우침 값은 예외")
+    void invalidTheta() {
+        assertThatThrownBy(() -> new ZipfianGenerator(100, 1.0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ZipfianGenerator(100, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
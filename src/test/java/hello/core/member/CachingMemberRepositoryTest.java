@@ -0,0 +1,135 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 회원 조회 캐시 테스트
+ * 조회 횟수를 세는 테스트용 저장소를 감싸서 검증
+ *
+ * 테스트 시나리오:
+ * 1. 처음 조회는 감싼 저장소를 조회하고, 다시 조회하면 캐시에서 돌려준다.
+ * 2. 저장하면 캐시가 무효화되어 다음 조회는 새 값을 읽는다.
+ * 3. 일괄 조회는 캐시에 없는 회원만 감싼 저장소에서 한 번에 조회한다.
+ * 4. 조회 도중 같은 회원이 저장되면 조회한 (오래된) 값을 캐시에 채우지 않는다.
+ */
+class CachingMemberRepositoryTest {
+
+    CountingRepository delegate = new CountingRepository();
+    CachingMemberRepository repository = new CachingMemberRepository(delegate, 1024);
+
+    @Test
+    @DisplayName("두 번째 조회는 캐시 적중")
+    void cacheHit() {
+        // given
+        delegate.members.put(1L, new Member(1L, "memberA", Grade.BASIC));
+
+        // when
+        repository.findById(1L);
+        Member second = repository.findById(1L);
+
+        // then
+        assertThat(second.getName()).isEqualTo("memberA");
+        assertThat(delegate.finds.get()).isEqualTo(1);
+        assertThat(repository.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("저장하면 무효화")
+    void invalidateOnSave() {
+        // given
+        repository.save(new Member(1L, "before", Grade.BASIC));
+        repository.findById(1L);
+
+        // when
+        repository.save(new Member(1L, "after", Grade.VIP));
+
+        // then
+        assertThat(repository.findById(1L).getName()).isEqualTo("after");
+        assertThat(delegate.finds.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("일괄 조회는 미적중분만 위임")
+    void findAllById() {
+        // given
+        repository.saveAll(List.of(new Member(1L, "memberA", Grade.BASIC), new Member(2L, "memberB", Grade.VIP)));
+        repository.findById(1L);
+
+        // when
+        Map<Long, Member> found = repository.findAllById(List.of(1L, 2L, 3L));
+
+        // then
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        assertThat(delegate.lastBatch).containsExactly(2L, 3L);
+        assertThat(repository.findAllById(List.of(1L, 2L))).hasSize(2);
+        assertThat(delegate.lastBatch).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("조회 중 저장되면 오래된 값을 채우지 않음")
+    void noStaleFill() {
+        // given: 감싼 저장소 조회 도중 새 값이 저장된다
+        delegate.members.put(1L, new Member(1L, "old", Grade.BASIC));
+        delegate.duringFind = () -> repository.save(new Member(1L, "new", Grade.VIP));
+
+        // when
+        Member first = repository.findById(1L);
+        delegate.duringFind = null;
+        Member second = repository.findById(1L);
+
+        // then
+        assertThat(first.getName()).isEqualTo("old");
+        assertThat(second.getName()).isEqualTo("new");
+    }
+
+    static class CountingRepository implements MemberRepository {
+
+        final Map<Long, Member> members = new ConcurrentHashMap<>();
+        final AtomicInteger finds = new AtomicInteger();
+        volatile Collection<Long> lastBatch;
+        volatile Runnable duringFind;
+
+        @Override
+        public void save(Member member) {
+            members.put(member.getId(), member);
+        }
+
+        @Override
+        public Member findById(Long memberId) {
+            finds.incrementAndGet();
+            Member member = members.get(memberId);
+            Runnable hook = duringFind;
+            if (hook != null) {
+                duringFind = null;
+                hook.run();
+            }
+            return member;
+        }
+
+        @Override
+        public void delete(Long memberId) {
+            members.remove(memberId);
+        }
+
+        @Override
+        public void forEach(Consumer<Member> action) {
+            members.values().forEach(action);
+        }
+
+        @Override
+        public Map<Long, Member> findAllById(Collection<Long> memberIds) {
+            lastBatch = List.copyOf(memberIds);
+            return MemberRepository.super.findAllById(memberIds);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 이름 사전 회원 저장소 테스트
+ *
+ * 테스트 시나리오:
+ * 1. 저장한 회원을 조회하면 ID/등급/이름이 같고, 같은 이름은 사전에 한 번만 저장된다.
+ * 2. 덮어쓰기/삭제가 반영되고, forEach는 남은 회원을 모두 넘긴다.
+ * 3. 이름이나 등급이 null인 회원도 그대로 되찾는다.
+ * 4. 조회한 회원을 다시 저장하면 이름을 다시 추가하지 않는다. (사전을 나눠 쓰는 저장소 사이에서도)
+ * 5. 회원 100만 명의 해시맵 + 사전 크기가 회원당 64바이트 미만이다.
+ * 6. 락 없이 조회하는 동안 다른 회원 저장으로 해시맵이 커지고 항목이 지워져도, 조회는 항상 저장된 값을 돌려준다.
+ * 7. 이름 사전은 만료(유휴/생존 시간) 설정과 함께 쓸 수 없다. (MemberStores)
+ * 8. 등급 조건부 변경은 등급이 맞을 때만 등급 자리만 바꾸고, 이름을 다시 사전에 넣지 않는다.
+ * 9. 사전은 지금까지 들어온 서로 다른 이름 수만큼만 커진다: 같은 이름으로 삭제/재가입/개명을 반복해도 크기가 그대로이고,
+ *    새 이름으로 개명할 때만 이름 하나씩 늘며 옛 이름은 남는다.
+ */
+class DictionaryMemberRepositoryTest {
+
+    @Test
+    @DisplayName("저장/조회와 이름 중복 제거")
+    void saveAndFind() {
+        // given
+        DictionaryMemberRepository repository = new DictionaryMemberRepository();
+
+        // when
+        for (long id = 1; id <= 1_000; id++) {
+            repository.save(new Member(id, id % 2 == 0 ? "memberA" : "회원" + id, Grade.VIP));
+        }
+
+        // then
+        Member even = repository.findById(2L);
+        Member odd = repository.findById(3L);
+        assertThat(even.getId()).isEqualTo(2L);
+        assertThat(even.getGrade()).isEqualTo(Grade.VIP);
+        assertThat(even.getName()).isEqualTo("memberA");
+        assertThat(odd.getName()).isEqualTo("회원3");
+        assertThat(repository.findById(1_001L)).isNull();
+        assertThat(repository.names().size()).isEqualTo(501);
+    }
+
+    @Test
+    @DisplayName("덮어쓰기/삭제/순회")
+    void updateDeleteForEach() {
+        // given
+        DictionaryMemberRepository repository = new DictionaryMemberRepository();
+        for (long id = 1; id <= 10_000; id++) {
+            repository.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        // when
+        repository.save(new Member(7L, "renamed", Grade.VIP));
+        for (long id = 1; id <= 10_000; id += 2) {
+            repository.delete(id);
+        }
+        repository.delete(20_000L);
+
+        // then
+        assertThat(repository.findById(7L)).isNull();
+        assertThat(repository.findById(8L).getName()).isEqualTo("member8");
+        assertThat(repository.size()).isEqualTo(5_000L);
+        Map<Long, String> visited = new HashMap<>();
+        repository.forEach(member -> visited.put(member.getId(), member.getName()));
+        assertThat(visited).hasSize(5_000);
+        assertThat(visited.get(10_000L)).isEqualTo("member10000");
+    }
+
+    @Test
+    @DisplayName("null 이름/등급")
+    void nullNameAndGrade() {
+        // given
+        DictionaryMemberRepository repository = new DictionaryMemberRepository();
+
+        // when
+        repository.save(new Member(1L, null, Grade.BASIC));
+        repository.save(new Member(2L, "memberB", null));
+
+        // then
+        assertThat(repository.findById(1L).getName()).isNull();
+        assertThat(repository.findById(1L).getGrade()).isEqualTo(Grade.BASIC);
+        assertThat(repository.findById(2L).getName()).isEqualTo("memberB");
+        assertThat(repository.findById(2L).getGrade()).isNull();
+    }
+
+    @Test
+    @DisplayName("조회한 회원을 다시 저장하면 코드를 그대로 씀")
+    void reuseCode() {
+        // given
+        NameDictionary names = new NameDictionary();
+        DictionaryMemberRepository source = new DictionaryMemberRepository(names);
+        DictionaryMemberRepository target = new DictionaryMemberRepository(names);
+        source.save(new Member(1L, "memberA", Grade.BASIC));
+
+        // when
+        Member found = source.findById(1L);
+        target.save(found);
+        source.save(found);
+
+        // then
+        assertThat(names.size()).isEqualTo(1);
+        assertThat(target.findById(1L).getName()).isEqualTo("memberA");
+    }
+
+    @Test
+    @DisplayName("등급 조건부 변경")
+    void changeGrade() {
+        // given
+        DictionaryMemberRepository repository = new DictionaryMemberRepository();
+        repository.save(new Member(1L, "memberA", Grade.BASIC));
+        repository.save(new Member(2L, "memberB", Grade.VIP));
+
+        // when
+        Member changed = repository.changeGrade(1L, Grade.BASIC, Grade.VIP);
+        Member unchanged = repository.changeGrade(2L, Grade.BASIC, Grade.VIP);
+        Member absent = repository.changeGrade(3L, Grade.BASIC, Grade.VIP);
+
+        // then
+        assertThat(changed.getGrade()).isEqualTo(Grade.VIP);
+        assertThat(repository.findById(1L).getName()).isEqualTo("memberA");
+        assertThat(repository.findById(1L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(unchanged.getName()).isEqualTo("memberB");
+        assertThat(absent).isNull();
+        assertThat(repository.size()).isEqualTo(2L);
+        assertThat(repository.names().size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("쓰기와 겹친 락 없는 조회")
+    void optimisticReads() throws InterruptedException {
+        // given: 조회할 회원 64명 (스트라이프마다 작은 해시맵에서 시작)
+        DictionaryMemberRepository repository = new DictionaryMemberRepository();
+        for (long id = 1; id <= 64; id++) {
+            repository.save(new Member(id, "fixed" + id, Grade.VIP));
+        }
+
+        // when: 쓰기 스레드가 다른 회원을 넣고 지우며 해시맵을 키우는 동안 조회
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = Thread.ofPlatform().start(() -> {
+            for (long id = 1_001; id <= 201_000; id++) {
+                repository.save(new Member(id, "guest", Grade.BASIC));
+                if (id % 2 == 0) {
+                    repository.delete(id - 1);
+                }
+            }
+        });
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            readers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    while (writer.isAlive()) {
+                        for (long id = 1; id <= 64; id++) {
+                            Member member = repository.findById(id);
+                            if (member == null || member.getGrade() != Grade.VIP) {
+                                throw new AssertionError("회원 " + id + "을 잘못 읽었습니다: " + member);
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            }));
+        }
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        // then
+        assertThat(failure.get()).isNull();
+        assertThat(repository.findById(64L).getName()).isEqualTo("fixed64");
+        assertThat(repository.size()).isEqualTo(64 + 100_000);
+    }
+
+    @Test
+    @DisplayName("이름 사전 + 만료는 거절")
+    void rejectsExpiry() {
+        System.setProperty(MemberStores.NAME_DICTIONARY_PROPERTY, "true");
+        System.setProperty(MemberStores.TIME_TO_IDLE_PROPERTY, "60000");
+        try {
+            assertThatThrownBy(() -> MemberStores.fromSystemProperties(lag -> { }))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            System.clearProperty(MemberStores.NAME_DICTIONARY_PROPERTY);
+            System.clearProperty(MemberStores.TIME_TO_IDLE_PROPERTY);
+        }
+    }
+
+    @Test
+    @DisplayName("회원 100만 명의 크기")
+    void footprint() {
+        // given
+        DictionaryMemberRepository repository = new DictionaryMemberRepository();
+        int count = 1_000_000;
+
+        // when
+        for (long id = 1; id <= count; id++) {
+            repository.save(new Member(id, "guest" + (1_000_000 + id), Grade.BASIC));
+        }
+
+        // then
+        // HashMap<Long, Member>는 회원당 노드 + Long + Member + String + byte[]로 150바이트 안팎이다
+        long bytes = repository.tableBytes() + repository.names().footprintBytes();
+        assertThat(bytes / count).isBetween(1L, 63L);
+        assertThat(repository.findById(500_000L).getName()).isEqualTo("guest1500000");
+    }
+
+    @Test
+    @DisplayName("사전 크기는 서로 다른 이름 수로 묶임")
+    void dictionaryBound() {
+        // given: 손님 1000명
+        DictionaryMemberRepository repository = new DictionaryMemberRepository();
+        for (long id = 1; id <= 1000; id++) {
+            repository.save(new Member(id, "guest" + id, Grade.BASIC));
+        }
+        int initialNames = repository.names().size();
+        long initialBytes = repository.names().footprintBytes();
+
+        // when: 같은 이름들로 삭제/재가입/개명을 100번 반복
+        for (int round = 0; round < 100; round++) {
+            for (long id = 1; id <= 1000; id++) {
+                repository.delete(id);
+                repository.save(new Member(id, "guest" + (1001 - id), Grade.BASIC));
+            }
+        }
+        int churnedNames = repository.names().size();
+        long churnedBytes = repository.names().footprintBytes();
+        // 처음 보는 이름으로 10명 개명
+        for (long id = 1; id <= 10; id++) {
+            repository.save(new Member(id, "renamed" + id, Grade.BASIC));
+        }
+
+        // then
+        assertThat(churnedNames).isEqualTo(initialNames);
+        assertThat(churnedBytes).isEqualTo(initialBytes);
+        assertThat(repository.names().size()).isEqualTo(initialNames + 10);
+        assertThat(repository.names().intern("guest1")).isLessThan(initialNames);
+        assertThat(repository.size()).isEqualTo(1000);
+    }
+}
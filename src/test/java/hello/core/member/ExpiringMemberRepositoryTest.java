@@ -0,0 +1,426 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 회원 만료 데코레이터 테스트
+ * 시계를 직접 돌려 시간 흐름을 흉내 내며, 감싼 저장소는 독립된 메모리 저장소를 쓴다.
+ *
+ * 테스트 시나리오:
+ * 1. 유휴 시간: 조회가 없는 회원은 만료되고, 계속 조회되는 회원은 남는다.
+ * 2. 생존 시간: 계속 조회되더라도 저장 후 생존 시간이 지나면 만료되고, 다시 저장하면 연장된다.
+ * 3. 만료 시각이 지나면 휠이 회수하기 전에도 조회되지 않는다.
+ * 4. 만료 대상이 아닌 회원(VIP)은 남고, BASIC -> VIP 승급 저장 시 만료에서 빠진다.
+ * 5. 삭제 후 다시 가입한 회원은 새로 만료 시간을 잰다.
+ * 6. 메모리(시간 경과): 손님이 계속 가입해도 저장된 회원 수가 가입 속도 x 유휴 시간 근처에서 더 늘지 않는다.
+ * 7. 메모리(시간 경과): 가입이 멈추면 트래픽 없이 cleanUp()만으로 모두 회수되고 추적 항목도 남지 않는다.
+ * 8. 스냅샷은 이미 만료된 회원을 빼고, 복원한 만료 대상 회원은 복원 시각부터 다시 잰다.
+ *    감싼 저장소가 스냅샷을 지원하지 않으면 snapshotable()이 null이다.
+ * 9. 감싼 저장소의 만료 삭제가 멈춰 있어도 휠 락을 잡고 있지 않으므로 다른 회원의 저장은 기다리지 않는다.
+ * 10. 조건부 등급 변경으로 VIP가 된 회원은 만료에서 빠지고, 이미 만료된 회원은 바뀌지 않는다.
+ * 11. 한꺼번에 마감된 회원이 많아도 조회 한 번은 RECLAIM_BATCH명까지만 지우고, 나머지는 이어지는 호출과 cleanUp이 지운다.
+ * 12. 배경 회수는 트래픽 없이 만료 회원을 지우고, 감싼 저장소가 실패해도 다음 주기에 못 지운 회원까지 다시 지운다.
+ */
+class ExpiringMemberRepositoryTest {
+
+    static final Duration IDLE = Duration.ofMinutes(10);
+    static final Duration LIVE = Duration.ofHours(1);
+
+    AtomicLong clock = new AtomicLong(1_000_000_000L);
+    MemoryMemberRepository store = MemoryMemberRepository.isolated();
+
+    @Test
+    @DisplayName("조회가 없는 회원만 유휴 시간 후 만료")
+    void timeToIdle() {
+        // given
+        ExpiringMemberRepository repository = repository(IDLE, Duration.ZERO);
+        repository.save(new Member(1L, "idle", Grade.BASIC));
+        repository.save(new Member(2L, "active", Grade.BASIC));
+
+        // when: 1분마다 2번 회원만 조회하며 30분이 지난다
+        for (int minute = 1; minute <= 30; minute++) {
+            advance(Duration.ofMinutes(1));
+            assertThat(repository.findById(2L)).isNotNull();
+        }
+
+        // then
+        assertThat(repository.findById(1L)).isNull();
+        assertThat(store.findById(1L)).isNull();
+        assertThat(repository.findById(2L).getName()).isEqualTo("active");
+        assertThat(repository.expiredCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("계속 조회해도 생존 시간 후 만료, 다시 저장하면 연장")
+    void timeToLive() {
+        // given
+        ExpiringMemberRepository repository = repository(IDLE, LIVE);
+        repository.save(new Member(1L, "member", Grade.BASIC));
+        repository.save(new Member(2L, "resaved", Grade.BASIC));
+
+        // when: 1분마다 둘 다 조회하고, 2번 회원은 30분마다 다시 저장한다
+        for (int minute = 1; minute <= 61; minute++) {
+            advance(Duration.ofMinutes(1));
+            repository.findById(1L);
+            repository.findById(2L);
+            if (minute % 30 == 0) {
+                repository.save(new Member(2L, "resaved", Grade.BASIC));
+            }
+        }
+
+        // then
+        assertThat(repository.findById(1L)).isNull();
+        assertThat(repository.findById(2L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("만료 시각이 지나면 회수 전에도 조회되지 않음")
+    void expiredBeforeReclaim() {
+        // given
+        ExpiringMemberRepository repository = repository(IDLE, Duration.ZERO);
+        repository.save(new Member(1L, "member", Grade.BASIC));
+
+        // when: 만료 1초 전까지는 감싼 저장소에 있다가 만료 시각에 이른다 (그사이 휠을 돌리는 호출 없음)
+        advance(IDLE.minusSeconds(1));
+        Member beforeExpiry = store.findById(1L);
+        advance(Duration.ofSeconds(1));
+
+        // then
+        assertThat(beforeExpiry).isNotNull();
+        assertThat(repository.findById(1L)).isNull();
+        assertThat(repository.findAllById(List.of(1L))).isEmpty();
+        List<Member> visible = new ArrayList<>();
+        repository.forEach(visible::add);
+        assertThat(visible).isEmpty();
+    }
+
+    @Test
+    @DisplayName("VIP는 남고 승급 저장 시 만료에서 빠짐")
+    void nonExpirableMembers() {
+        // given
+        ExpiringMemberRepository repository = repository(IDLE, Duration.ZERO);
+        repository.save(new Member(1L, "vip", Grade.VIP));
+        repository.save(new Member(2L, "promoted", Grade.BASIC));
+
+        // when
+        advance(Duration.ofMinutes(5));
+        repository.save(new Member(2L, "promoted", Grade.VIP));
+        advance(Duration.ofHours(2));
+        repository.cleanUp();
+
+        // then
+        assertThat(repository.findById(1L)).isNotNull();
+        assertThat(repository.findById(2L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(repository.trackedSize()).isZero();
+        assertThat(repository.expiredCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("삭제 후 재가입하면 새로 잼")
+    void deleteAndRejoin() {
+        // given
+        ExpiringMemberRepository repository = repository(IDLE, Duration.ZERO);
+        repository.save(new Member(1L, "first", Grade.BASIC));
+        advance(Duration.ofMinutes(8));
+        repository.delete(1L);
+
+        // when
+        repository.save(new Member(1L, "second", Grade.BASIC));
+        advance(Duration.ofMinutes(8));
+        repository.cleanUp();
+
+        // then: 처음 가입 기준이면 만료됐을 시각이지만 재가입 기준으로는 남는다
+        assertThat(repository.findById(1L).getName()).isEqualTo("second");
+        advance(Duration.ofMinutes(11));
+        repository.cleanUp();
+        assertThat(store.findById(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("메모리: 손님이 계속 가입해도 저장 수가 일정 수준에서 멈춤")
+    void boundedOverTime() {
+        // given: 초당 50명 가입, 최근 가입자 중 무작위로 초당 50번 조회
+        ExpiringMemberRepository repository = repository(IDLE, Duration.ZERO);
+        int joinsPerSecond = 50;
+        long steadyState = joinsPerSecond * IDLE.toSeconds();
+        Random random = new Random(1);
+        List<Long> samples = new ArrayList<>();
+        long id = 0;
+
+        // when: 2시간 동안 10분마다 저장된 회원 수를 잰다
+        for (int second = 1; second <= 2 * 60 * 60; second++) {
+            advance(Duration.ofSeconds(1));
+            for (int i = 0; i < joinsPerSecond; i++) {
+                repository.save(new Member(++id, "guest" + id, Grade.BASIC));
+                repository.findById(Math.max(1, id - random.nextLong(steadyState)));
+            }
+            if (second % 600 == 0) {
+                samples.add(count(store));
+            }
+        }
+
+        // then: 유휴 시간이 지난 뒤에는 (조회로 연장된 회원까지) 정상 상태의 2배를 넘지 않고, 더 늘지도 않는다
+        List<Long> steady = samples.subList(2, samples.size());
+        assertThat(steady).allSatisfy(size -> assertThat(size).isBetween(steadyState, steadyState * 2));
+        long min = steady.stream().mapToLong(Long::longValue).min().orElseThrow();
+        long max = steady.stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertThat(max - min).isLessThan(steadyState / 10);
+        assertThat((long) repository.trackedSize()).isEqualTo(count(store));
+        assertThat(repository.expiredCount() + count(store)).isEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("메모리: 가입이 멈추면 cleanUp만으로 모두 회수")
+    void drainsWhenQuiet() {
+        // given
+        ExpiringMemberRepository repository = repository(IDLE, Duration.ZERO);
+        for (long id = 1; id <= 10_000; id++) {
+            repository.save(new Member(id, "guest" + id, Grade.BASIC));
+            if (id % 1000 == 0) {
+                advance(Duration.ofSeconds(30));
+            }
+        }
+
+        // when: 트래픽 없이 1분마다 cleanUp만 부른다
+        List<Long> samples = new ArrayList<>();
+        for (int minute = 1; minute <= 20; minute++) {
+            advance(Duration.ofMinutes(1));
+            repository.cleanUp();
+            samples.add(count(store));
+        }
+
+        // then: 저장 수는 줄기만 하고, 끝나면 아무것도 남지 않는다
+        for (int i = 1; i < samples.size(); i++) {
+            assertThat(samples.get(i)).isLessThanOrEqualTo(samples.get(i - 1));
+        }
+        assertThat(samples.get(samples.size() - 1)).isZero();
+        assertThat(repository.trackedSize()).isZero();
+        assertThat(repository.expiredCount()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("스냅샷은 만료 회원을 빼고 복원은 다시 잼")
+    void snapshotAndRestore() {
+        // given
+        ExpiringMemberRepository repository = repository(IDLE, Duration.ZERO);
+        repository.save(new Member(1L, "expired", Grade.BASIC));
+        advance(IDLE.plusMinutes(1));
+        repository.save(new Member(2L, "basic", Grade.BASIC));
+        repository.save(new Member(3L, "vip", Grade.VIP));
+
+        // when
+        List<Member> seen = new ArrayList<>();
+        try (MemberSnapshot snapshot = repository.snapshotable().openSnapshot()) {
+            snapshot.forEach(seen::add);
+        }
+        ExpiringMemberRepository restored = new ExpiringMemberRepository(MemoryMemberRepository.isolated(),
+                IDLE, Duration.ZERO, member -> member.getGrade() == Grade.BASIC, clock::get);
+        advance(Duration.ofMinutes(5));
+        MemberLoader loader = restored.snapshotable().beginRestore(seen.size());
+        seen.forEach(loader::add);
+        loader.commit();
+
+        // then: 2번은 원래 가입 기준이면 만료됐을 시각에도 복원 기준으로 남고, 그 뒤 유휴 시간이 지나면 만료된다
+        assertThat(seen).extracting(Member::getId).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(restored.trackedSize()).isEqualTo(1);
+        advance(IDLE.minusMinutes(1));
+        restored.cleanUp();
+        assertThat(restored.findById(2L)).isNotNull();
+        advance(IDLE.plusMinutes(1));
+        restored.cleanUp();
+        assertThat(restored.findById(2L)).isNull();
+        assertThat(restored.findById(3L)).isNotNull();
+        assertThat(new ExpiringMemberRepository(new DictionaryMemberRepository(new NameDictionary()), IDLE,
+                Duration.ZERO, member -> true).snapshotable()).isNull();
+    }
+
+    @Test
+    @DisplayName("만료 삭제가 느려도 다른 회원 저장은 기다리지 않음")
+    void slowReclaimDoesNotBlockWriters() throws InterruptedException {
+        // given: 1번 회원 삭제에서 멈추는 감싼 저장소
+        CountDownLatch deleting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MemberRepository slowStore = new MemberRepository() {
+            @Override
+            public void save(Member member) {
+                store.save(member);
+            }
+
+            @Override
+            public Member findById(Long memberId) {
+                return store.findById(memberId);
+            }
+
+            @Override
+            public void delete(Long memberId) {
+                if (memberId == 1L) {
+                    deleting.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                store.delete(memberId);
+            }
+
+            @Override
+            public void forEach(Consumer<Member> action) {
+                store.forEach(action);
+            }
+        };
+        ExpiringMemberRepository repository = new ExpiringMemberRepository(slowStore, IDLE, Duration.ZERO,
+                member -> member.getGrade() == Grade.BASIC, clock::get);
+        long other = 2L;
+        while (ExpiringMemberRepository.stripeIndex(other) == ExpiringMemberRepository.stripeIndex(1L)) {
+            other++;
+        }
+        repository.save(new Member(1L, "expiring", Grade.BASIC));
+        advance(IDLE.plusMinutes(1));
+        Thread cleaner = Thread.ofPlatform().start(repository::cleanUp);
+        assertThat(deleting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when: 1번 회원 삭제가 멈춰 있는 동안 다른 회원 저장
+        long otherId = other;
+        Thread saver = Thread.ofPlatform().start(() -> repository.save(new Member(otherId, "other", Grade.BASIC)));
+        saver.join(5000);
+
+        // then
+        assertThat(saver.isAlive()).isFalse();
+        release.countDown();
+        cleaner.join(5000);
+        assertThat(store.findById(1L)).isNull();
+        assertThat(repository.findById(otherId)).isNotNull();
+        assertThat(repository.expiredCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("조건부 등급 변경은 만료 추적에 반영")
+    void changeGrade() {
+        // given
+        ExpiringMemberRepository repository = repository(IDLE, Duration.ZERO);
+        repository.save(new Member(2L, "expired", Grade.BASIC));
+        advance(IDLE.plusMinutes(1));
+        repository.save(new Member(1L, "promoted", Grade.BASIC));
+
+        // when
+        Member promoted = repository.changeGrade(1L, Grade.BASIC, Grade.VIP);
+        Member expired = repository.changeGrade(2L, Grade.BASIC, Grade.VIP);
+        advance(IDLE.multipliedBy(3));
+        repository.cleanUp();
+
+        // then
+        assertThat(promoted.getName()).isEqualTo("promoted");
+        assertThat(expired).isNull();
+        assertThat(repository.findById(1L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(repository.findById(2L)).isNull();
+        assertThat(repository.trackedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("요청 한 번의 회수량은 RECLAIM_BATCH로 제한")
+    void boundedReclaimPerCall() {
+        // given: 같은 틱에 가입한 손님 100명이 한꺼번에 마감된다
+        ExpiringMemberRepository repository = repository(IDLE, Duration.ZERO);
+        for (long id = 1; id <= 100; id++) {
+            repository.save(new Member(id, "guest" + id, Grade.BASIC));
+        }
+        advance(IDLE.plusMinutes(1));
+
+        // when
+        repository.findById(1000L);
+        long afterFirst = repository.expiredCount();
+        repository.findById(1000L);
+        long afterSecond = repository.expiredCount();
+        long cleaned = repository.cleanUp();
+
+        // then: 조회마다 RECLAIM_BATCH명씩 지우고(같은 틱이어도 대기열이 남았으면 이어서), cleanUp이 나머지를 모두 지운다
+        assertThat(afterFirst).isEqualTo(ExpiringMemberRepository.RECLAIM_BATCH);
+        assertThat(afterSecond).isEqualTo(2L * ExpiringMemberRepository.RECLAIM_BATCH);
+        assertThat(cleaned).isEqualTo(100 - afterSecond);
+        assertThat(count(store)).isZero();
+        assertThat(repository.trackedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("배경 회수는 실패해도 다음 주기에 이어서 회수")
+    void scheduledCleanUp() throws InterruptedException {
+        // given: 처음 두 번의 삭제가 실패하는 감싼 저장소
+        AtomicLong failing = new AtomicLong(2);
+        MemberRepository flakyStore = new MemberRepository() {
+            @Override
+            public void save(Member member) {
+                store.save(member);
+            }
+
+            @Override
+            public Member findById(Long memberId) {
+                return store.findById(memberId);
+            }
+
+            @Override
+            public void delete(Long memberId) {
+                if (failing.getAndDecrement() > 0) {
+                    throw new IllegalStateException("삭제 실패");
+                }
+                store.delete(memberId);
+            }
+
+            @Override
+            public void forEach(Consumer<Member> action) {
+                store.forEach(action);
+            }
+        };
+        ExpiringMemberRepository repository = new ExpiringMemberRepository(flakyStore, IDLE, Duration.ZERO,
+                member -> member.getGrade() == Grade.BASIC, clock::get);
+        for (long id = 1; id <= 100; id++) {
+            repository.save(new Member(id, "guest" + id, Grade.BASIC));
+        }
+        advance(IDLE.plusMinutes(1));
+
+        // when: 트래픽 없이 배경 회수만 돈다
+        repository.scheduleCleanUp(Duration.ofMillis(10));
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (repository.trackedSize() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // then
+            assertThat(repository.trackedSize()).isZero();
+            assertThat(count(store)).isZero();
+            assertThat(repository.expiredCount()).isEqualTo(100);
+            assertThat(repository.cleanUpFailures()).isEqualTo(2);
+            assertThat(repository.lastFailure().getMessage()).isEqualTo("삭제 실패");
+        } finally {
+            repository.close();
+        }
+    }
+
+    private ExpiringMemberRepository repository(Duration timeToIdle, Duration timeToLive) {
+        return new ExpiringMemberRepository(store, timeToIdle, timeToLive,
+                member -> member.getGrade() == Grade.BASIC, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static long count(MemberRepository repository) {
+        long[] count = new long[1];
+        repository.forEach(member -> count[0]++);
+        return count[0];
+    }
+}
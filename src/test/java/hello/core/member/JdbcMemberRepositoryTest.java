@@ -0,0 +1,164 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * JDBC 회원 저장소 테스트
+ * 테스트마다 새 임베디드 H2 메모리 DB를 사용
+ *
+ * 테스트 시나리오:
+ * 1. 저장한 회원을 ID로 조회하고, 없는 회원은 null이다.
+ * 2. 같은 ID로 다시 저장하면 덮어쓴다.
+ * 3. 배치 크기보다 많은 회원을 일괄 저장해도 모두 저장된다.
+ * 4. 여러 ID를 한 번에 조회하면 있는 회원만 돌려준다.
+ * 5. 다른 저장소처럼 이름/등급이 null이거나 이름이 255자를 넘는 회원도 저장되고, 이전 스키마의 테이블도 맞춰진다.
+ * 6. 설정(MemberStores)으로 만든 JDBC 저장소(캐시 + 쓰기 지연)도 그런 회원을 기록한다.
+ */
+class JdbcMemberRepositoryTest {
+
+    JdbcMemberRepository repository;
+
+    @BeforeEach
+    void beforeEach() {
+        repository = JdbcMemberRepository.pooled("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", 2);
+    }
+
+    @AfterEach
+    void afterEach() {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("저장 후 조회")
+    void saveAndFind() {
+        // given
+        repository.save(new Member(1L, "회원A", Grade.VIP));
+
+        // when
+        Member found = repository.findById(1L);
+
+        // then
+        assertThat(found.getName()).isEqualTo("회원A");
+        assertThat(found.getGrade()).isEqualTo(Grade.VIP);
+        assertThat(repository.findById(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 ID는 덮어쓰기")
+    void overwrite() {
+        // given
+        repository.save(new Member(1L, "before", Grade.BASIC));
+
+        // when
+        repository.save(new Member(1L, "after", Grade.VIP));
+
+        // then
+        assertThat(repository.findById(1L).getName()).isEqualTo("after");
+        assertThat(repository.findById(1L).getGrade()).isEqualTo(Grade.VIP);
+    }
+
+    @Test
+    @DisplayName("배치 일괄 저장")
+    void saveAll() {
+        // given
+        List<Member> members = new ArrayList<>();
+        for (long id = 1; id <= JdbcMemberRepository.BATCH_SIZE * 2L + 500; id++) {
+            members.add(new Member(id, "member" + id, id % 2 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+
+        // when
+        repository.saveAll(members);
+
+        // then
+        assertThat(repository.findById(1L).getGrade()).isEqualTo(Grade.BASIC);
+        assertThat(repository.findById(2500L).getName()).isEqualTo("member2500");
+    }
+
+    @Test
+    @DisplayName("여러 ID 한 번에 조회")
+    void findAllById() {
+        // given
+        repository.saveAll(List.of(
+                new Member(1L, "memberA", Grade.BASIC),
+                new Member(2L, "memberB", Grade.VIP),
+                new Member(3L, "memberC", Grade.BASIC)));
+
+        // when
+        Map<Long, Member> found = repository.findAllById(List.of(3L, 1L, 99L));
+
+        // then
+        assertThat(found).containsOnlyKeys(1L, 3L);
+        assertThat(found.get(3L).getName()).isEqualTo("memberC");
+        assertThat(repository.findAllById(List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("null 이름/등급과 긴 이름 저장")
+    void nullAndLongNames() throws Exception {
+        // given: 이전 스키마로 만든 테이블
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE member (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, grade VARCHAR(16) NOT NULL)");
+        }
+        String longName = "n".repeat(10_000);
+
+        // when
+        try (JdbcMemberRepository migrated = JdbcMemberRepository.pooled(url, 1)) {
+            migrated.saveAll(List.of(
+                    new Member(1L, null, Grade.BASIC),
+                    new Member(2L, longName, Grade.VIP),
+                    new Member(3L, "memberC", null)));
+
+            // then
+            assertThat(migrated.findById(1L).getName()).isNull();
+            assertThat(migrated.findById(2L).getName()).isEqualTo(longName);
+            assertThat(migrated.findById(3L).getGrade()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("설정으로 만든 JDBC 저장소도 null 이름과 긴 이름 기록")
+    void nullAndLongNamesThroughMemberStores() throws Exception {
+        // given
+        System.setProperty(MemberStores.JDBC_URL_PROPERTY, "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        System.setProperty(MemberStores.JDBC_POOL_SIZE_PROPERTY, "2");
+        MemberRepository store;
+        try {
+            store = MemberStores.fromSystemProperties(lag -> { });
+        } finally {
+            System.clearProperty(MemberStores.JDBC_URL_PROPERTY);
+            System.clearProperty(MemberStores.JDBC_POOL_SIZE_PROPERTY);
+        }
+        String longName = "n".repeat(10_000);
+
+        try {
+            // when: forEach는 쓰기 지연 중인 변경을 기록한 뒤 DB를 읽는다
+            store.save(new Member(1L, null, Grade.BASIC));
+            store.save(new Member(2L, longName, Grade.VIP));
+            Map<Long, Member> stored = new HashMap<>();
+            store.forEach(member -> stored.put(member.getId(), member));
+
+            // then
+            assertThat(stored).containsOnlyKeys(1L, 2L);
+            assertThat(stored.get(1L).getName()).isNull();
+            assertThat(stored.get(2L).getName()).isEqualTo(longName);
+        } finally {
+            ((AutoCloseable) store).close();
+        }
+    }
+}
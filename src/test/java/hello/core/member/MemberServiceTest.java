@@ -4,6 +4,8 @@ import hello.core.AppConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 /**
@@ -16,6 +18,7 @@ import static org.assertj.core.api.Assertions.*;
  * 3. 존재하지 않는 회원 조회 시 null 반환 확인
  * 4. 회원 정보의 모든 필드가 올바르게 저장되고 조회되는지 확인
  * 5. 테스트 간 데이터 격리 보장 확인
+ * 6. 일괄 가입한 회원을 일괄 조회하면 요청 순서대로 반환되고 없는 회원은 제외된다
  */
 class MemberServiceTest {
 
@@ -79,4 +82,21 @@ class MemberServiceTest {
         // Then: null 반환 확인
         assertThat(findMember).isNull();
     }
+
+    /**
+     * 일괄 가입/조회 테스트
+     * 저장소 일괄 저장으로 가입한 회원을 요청 순서대로 조회하는지 확인
+     */
+    @Test
+    void joinAllAndFindMembers() {
+        // Given: 회원 두 명 일괄 가입
+        memberService.joinAll(List.of(new Member(801L, "member801", Grade.BASIC),
+                new Member(802L, "member802", Grade.VIP)));
+
+        // When: 없는 회원을 섞어 일괄 조회
+        List<Member> members = memberService.findMembers(List.of(802L, 899L, 801L));
+
+        // Then: 있는 회원만 요청 순서대로 반환
+        assertThat(members).extracting(Member::getId).containsExactly(802L, 801L);
+    }
 }
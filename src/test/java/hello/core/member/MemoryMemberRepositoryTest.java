@@ -3,6 +3,10 @@ package hello.core.member;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.assertj.core.api.Assertions.*;
 
 /**
@@ -16,6 +20,10 @@ import static org.assertj.core.api.Assertions.*;
  * 4. 같은 ID로 중복 저장 시 기존 데이터 덮어쓰기 확인
  * 5. 저장된 회원의 모든 필드 정보가 올바른지 확인
  * 6. 테스트 간 데이터 격리 보장 확인
+ * 7. isolated()로 만든 저장소는 다른 인스턴스와 저장 공간을 공유하지 않는지 확인
+ * 8. 삭제한 회원은 조회되지 않고 순회에서도 빠지는지 확인
+ * 9. 등급 조건부 변경은 등급이 맞을 때만 이름을 두고 등급만 바꾸며, 없는 회원을 만들지 않는지 확인
+ * 10. 이름을 바꾸는 저장과 조건부 변경이 동시에 일어나도 마지막 이름을 잃지 않는지 확인
  */
 class MemoryMemberRepositoryTest {
 
@@ -98,4 +106,97 @@ class MemoryMemberRepositoryTest {
         assertThat(findMember.getName()).isEqualTo("memberB");
         assertThat(findMember.getGrade()).isEqualTo(Grade.VIP);
     }
+
+    /**
+     * 독립 저장소 테스트
+     * isolated()로 만든 저장소끼리, 그리고 기본 저장소와 데이터가 섞이지 않는지 확인
+     */
+    @Test
+    void isolated() {
+        // Given: 독립 저장소 두 개
+        MemoryMemberRepository first = MemoryMemberRepository.isolated();
+        MemoryMemberRepository second = MemoryMemberRepository.isolated();
+
+        // When: 한쪽에만 저장
+        first.save(new Member(1401L, "isolated", Grade.VIP));
+
+        // Then: 다른 저장소에서는 보이지 않음
+        assertThat(first.findById(1401L)).isNotNull();
+        assertThat(second.findById(1401L)).isNull();
+        assertThat(repository.findById(1401L)).isNull();
+    }
+
+    /**
+     * 삭제/순회 테스트
+     * 삭제한 회원은 조회와 순회 모두에서 빠지는지 확인
+     */
+    @Test
+    void deleteAndForEach() {
+        // Given: 독립 저장소에 회원 두 명 저장
+        MemoryMemberRepository isolated = MemoryMemberRepository.isolated();
+        isolated.save(new Member(1L, "memberA", Grade.BASIC));
+        isolated.save(new Member(2L, "memberB", Grade.VIP));
+
+        // When: 한 명 삭제
+        isolated.delete(1L);
+
+        // Then: 남은 회원만 조회/순회됨
+        List<Member> members = new ArrayList<>();
+        isolated.forEach(members::add);
+        assertThat(isolated.findById(1L)).isNull();
+        assertThat(members).extracting(Member::getId).containsExactly(2L);
+    }
+
+    /**
+     * 등급 조건부 변경 테스트
+     * 저장된 등급이 기대한 등급일 때만 바뀌고, 없는 회원은 만들지 않는지 확인
+     */
+    @Test
+    void changeGrade() {
+        // Given: 독립 저장소에 BASIC 회원 저장
+        MemoryMemberRepository isolated = MemoryMemberRepository.isolated();
+        isolated.save(new Member(1L, "memberA", Grade.BASIC));
+
+        // When: BASIC -> VIP, 이미 VIP인 회원에 다시 BASIC -> VIP, 없는 회원에 BASIC -> VIP
+        Member changed = isolated.changeGrade(1L, Grade.BASIC, Grade.VIP);
+        Member unchanged = isolated.changeGrade(1L, Grade.BASIC, Grade.VIP);
+        Member absent = isolated.changeGrade(2L, Grade.BASIC, Grade.VIP);
+
+        // Then: 이름은 그대로, 등급만 바뀜
+        assertThat(changed.getName()).isEqualTo("memberA");
+        assertThat(changed.getGrade()).isEqualTo(Grade.VIP);
+        assertThat(unchanged).isSameAs(changed);
+        assertThat(absent).isNull();
+        assertThat(isolated.findById(2L)).isNull();
+    }
+
+    /**
+     * 조건부 변경과 동시 저장 테스트
+     * 조회 후 저장으로 바꾸면 그사이 저장된 새 이름을 조회해 둔 이전 이름으로 덮어쓸 수 있다.
+     * 조건부 변경은 같은 키의 락 안에서 확인하고 바꾸므로 마지막으로 저장한 이름이 남아야 한다.
+     */
+    @Test
+    void changeGradeConcurrentRename() throws Exception {
+        // Given
+        MemoryMemberRepository isolated = MemoryMemberRepository.isolated();
+        int renames = 100_000;
+        isolated.save(new Member(1L, "name0", Grade.BASIC));
+        AtomicBoolean done = new AtomicBoolean();
+
+        // When: 한 스레드는 이름을 바꿔 BASIC으로 계속 저장하고, 다른 스레드는 BASIC -> VIP 변경을 반복
+        Thread promoter = new Thread(() -> {
+            while (!done.get()) {
+                isolated.changeGrade(1L, Grade.BASIC, Grade.VIP);
+            }
+        });
+        promoter.start();
+        for (int i = 1; i <= renames; i++) {
+            isolated.save(new Member(1L, "name" + i, Grade.BASIC));
+        }
+        done.set(true);
+        promoter.join();
+
+        // Then: 마지막 이름이 남음 (등급은 마지막 저장 뒤에 바뀌었을 수 있다)
+        assertThat(isolated.findById(1L).getName()).isEqualTo("name" + renames);
+    }
 }
@@ -0,0 +1,233 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 다중 버전(MVCC) 회원 저장소 테스트
+ *
+ * 테스트 시나리오:
+ * 1. 스냅샷은 연 시점의 내용만 보고, 그 뒤의 저장/삭제/가입은 보지 않는다.
+ * 2. 시점이 다른 스냅샷을 여러 개 동시에 열 수 있다.
+ * 3. 스냅샷을 모두 닫으면 이전 버전과 삭제 표시가 정리된다.
+ * 4. 스냅샷이 없으면 쓰기마다 바로 정리되어 회원당 버전이 하나다.
+ * 5. 쓰기가 계속되는 동안 연 스냅샷도 순번 앞부분까지의 쓰기만 본다. (찢어진 뷰 없음)
+ * 6. 복원하면 내용이 통째로 바뀌고, 열려 있던 스냅샷은 이전 내용을 계속 본다.
+ * 7. 등급 조건부 변경은 조건이 맞을 때만 새 버전을 걸고 (스냅샷은 이전 버전을 본다), 삭제된 회원은 되살리지 않는다.
+ * 8. 커밋 직전에 멈춘 쓰기가 있어도 다른 쓰기는 기다리지 않고, 그사이 연 스냅샷은 그 쓰기를 커밋 뒤에도 보지 않는다.
+ */
+class MvccMemberRepositoryTest {
+
+    MvccMemberRepository repository = new MvccMemberRepository();
+
+    @Test
+    @DisplayName("스냅샷은 연 시점의 내용만 봄")
+    void snapshotIsolation() {
+        // given
+        repository.save(new Member(1L, "before", Grade.BASIC));
+        repository.save(new Member(2L, "deleted-later", Grade.BASIC));
+
+        // when
+        try (MvccMemberRepository.Snapshot snapshot = repository.openSnapshot()) {
+            repository.save(new Member(1L, "after", Grade.VIP));
+            repository.delete(2L);
+            repository.save(new Member(3L, "new", Grade.BASIC));
+
+            // then
+            assertThat(snapshot.findById(1L).getName()).isEqualTo("before");
+            assertThat(snapshot.findById(2L).getName()).isEqualTo("deleted-later");
+            assertThat(snapshot.findById(3L)).isNull();
+            assertThat(collect(snapshot)).containsOnlyKeys(1L, 2L);
+        }
+        assertThat(repository.findById(1L).getName()).isEqualTo("after");
+        assertThat(repository.findById(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("등급 조건부 변경")
+    void changeGrade() {
+        // given
+        repository.save(new Member(1L, "memberA", Grade.BASIC));
+        repository.save(new Member(2L, "memberB", Grade.VIP));
+        repository.save(new Member(3L, "deleted", Grade.BASIC));
+
+        try (MvccMemberRepository.Snapshot snapshot = repository.openSnapshot()) {
+            repository.delete(3L);
+
+            // when
+            Member changed = repository.changeGrade(1L, Grade.BASIC, Grade.VIP);
+            Member unchanged = repository.changeGrade(2L, Grade.BASIC, Grade.VIP);
+            Member deleted = repository.changeGrade(3L, Grade.BASIC, Grade.VIP);
+
+            // then: 바꾼 회원만 새 버전 (1L 두 개, 2L 하나, 3L 삭제 표시와 이전 버전 두 개)
+            assertThat(changed.getName()).isEqualTo("memberA");
+            assertThat(changed.getGrade()).isEqualTo(Grade.VIP);
+            assertThat(unchanged.getGrade()).isEqualTo(Grade.VIP);
+            assertThat(deleted).isNull();
+            assertThat(repository.findById(3L)).isNull();
+            assertThat(snapshot.findById(1L).getGrade()).isEqualTo(Grade.BASIC);
+            assertThat(repository.versionCount()).isEqualTo(5);
+        }
+        assertThat(repository.versionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("여러 시점의 스냅샷을 동시에")
+    void multipleSnapshots() {
+        // given
+        repository.save(new Member(1L, "v1", Grade.BASIC));
+        MvccMemberRepository.Snapshot first = repository.openSnapshot();
+        repository.save(new Member(1L, "v2", Grade.BASIC));
+        MvccMemberRepository.Snapshot second = repository.openSnapshot();
+
+        // when
+        repository.save(new Member(1L, "v3", Grade.BASIC));
+
+        // then
+        assertThat(first.findById(1L).getName()).isEqualTo("v1");
+        assertThat(second.findById(1L).getName()).isEqualTo("v2");
+        assertThat(second.sequence()).isGreaterThan(first.sequence());
+        first.close();
+        assertThat(second.findById(1L).getName()).isEqualTo("v2");
+        second.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷을 모두 닫으면 이전 버전 정리")
+    void vacuumAfterRelease() {
+        // given
+        for (long id = 1; id <= 100; id++) {
+            repository.save(new Member(id, "v1", Grade.BASIC));
+        }
+        MvccMemberRepository.Snapshot snapshot = repository.openSnapshot();
+        for (long id = 1; id <= 100; id++) {
+            repository.save(new Member(id, "v2", Grade.BASIC));
+            repository.save(new Member(id, "v3", Grade.BASIC));
+        }
+        for (long id = 1; id <= 10; id++) {
+            repository.delete(id);
+        }
+        assertThat(repository.versionCount()).isEqualTo(100 * 3 + 10);
+
+        // when
+        snapshot.close();
+
+        // then
+        assertThat(repository.versionCount()).isEqualTo(90);
+        assertThat(repository.stats().retainedMembers()).isZero();
+        assertThat(repository.stats().pinnedSnapshots()).isZero();
+    }
+
+    @Test
+    @DisplayName("스냅샷이 없으면 회원당 버전 하나")
+    void pruneWithoutSnapshots() {
+        // when
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 100; id++) {
+                repository.save(new Member(id, "v" + round, Grade.BASIC));
+            }
+        }
+        repository.delete(1L);
+
+        // then
+        assertThat(repository.versionCount()).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("쓰기 도중 연 스냅샷도 일관된 뷰")
+    void consistentScanDuringWrites() throws Exception {
+        // given: 라운드마다 ID 오름차순으로 이름을 라운드 번호로 바꾸는 쓰기
+        int members = 10_000;
+        for (long id = 1; id <= members; id++) {
+            repository.save(new Member(id, "0", Grade.BASIC));
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int round = 1; !stop.get(); round++) {
+                for (long id = 1; id <= members; id++) {
+                    repository.save(new Member(id, String.valueOf(round), Grade.VIP));
+                }
+            }
+        });
+
+        // when & then: 앞쪽 ID는 다음 라운드, 뒤쪽 ID는 이전 라운드인 한 경계만 있어야 한다
+        try {
+            for (int scan = 0; scan < 20; scan++) {
+                try (MvccMemberRepository.Snapshot snapshot = repository.openSnapshot()) {
+                    int[] rounds = new int[members + 1];
+                    snapshot.forEach(member -> rounds[member.getId().intValue()] = Integer.parseInt(member.getName()));
+                    assertThat(rounds[1] - rounds[members]).isBetween(0, 1);
+                    for (int id = 2; id <= members; id++) {
+                        assertThat(rounds[id]).isLessThanOrEqualTo(rounds[id - 1]);
+                    }
+                }
+            }
+        } finally {
+            stop.set(true);
+            writer.get();
+        }
+    }
+
+    @Test
+    @DisplayName("복원은 내용을 통째로 교체")
+    void restore() {
+        // given
+        repository.save(new Member(1L, "old", Grade.BASIC));
+        MvccMemberRepository.Snapshot snapshot = repository.openSnapshot();
+
+        // when
+        MemberLoader loader = repository.beginRestore(1);
+        loader.add(new Member(2L, "restored", Grade.VIP));
+        loader.commit();
+
+        // then
+        assertThat(repository.findById(1L)).isNull();
+        assertThat(repository.findById(2L).getName()).isEqualTo("restored");
+        assertThat(snapshot.findById(1L).getName()).isEqualTo("old");
+        snapshot.close();
+    }
+
+    @Test
+    @DisplayName("커밋 직전에 멈춘 쓰기가 다른 쓰기를 막지 않음")
+    void stalledWriteDoesNotBlock() throws Exception {
+        // given: 1번 회원의 쓰기가 버전을 건 뒤 커밋 전에 멈춰 있다
+        repository.save(new Member(1L, "v1", Grade.BASIC));
+        Runnable stalled = repository.stalledWrite(1L, new Member(1L, "v2", Grade.VIP));
+
+        // when: 다른 스레드의 쓰기와 스냅샷
+        CompletableFuture.runAsync(() -> {
+            for (long id = 2; id <= 1000; id++) {
+                repository.save(new Member(id, "member" + id, Grade.BASIC));
+            }
+        }).get(5, TimeUnit.SECONDS);
+        MvccMemberRepository.Snapshot snapshot = repository.openSnapshot();
+        Member before = snapshot.findById(1L);
+        stalled.run();
+        Member after = snapshot.findById(1L);
+
+        // then
+        assertThat(repository.findById(1L).getName()).isEqualTo("v2");
+        assertThat(before.getName()).isEqualTo("v1");
+        assertThat(after.getName()).isEqualTo("v1");
+        assertThat(snapshot.findById(1000L).getName()).isEqualTo("member1000");
+        snapshot.close();
+        try (MvccMemberRepository.Snapshot next = repository.openSnapshot()) {
+            assertThat(next.findById(1L).getName()).isEqualTo("v2");
+        }
+        assertThat(repository.versionCount()).isEqualTo(1000);
+    }
+
+    private static Map<Long, Member> collect(MemberSnapshot snapshot) {
+        Map<Long, Member> members = new HashMap<>();
+        snapshot.forEach(member -> members.put(member.getId(), member));
+        return members;
+    }
+}
@@ -0,0 +1,192 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 회원 이름 사전 테스트
+ *
+ * 테스트 시나리오:
+ * 1. 같은 이름은 같은 코드를 받고, 서로 다른 이름만 저장된다.
+ * 2. 한글/빈 문자열/긴 이름을 포함해 코드로 원래 이름을 되찾는다. (캐시 유무 모두)
+ * 3. 순번으로 만든 이름은 앞부분 공유로 이름당 몇 바이트만 쓴다.
+ * 4. 여러 페이지에 걸쳐 저장된 이름도 되찾는다.
+ * 5. 여러 스레드가 같은 이름들을 동시에 추가해도 이름마다 코드가 하나다.
+ * 6. 사전에 없는 코드는 예외가 발생한다.
+ * 7. 다른 스레드가 새 이름을 계속 덧붙여 표가 여러 번 커지는 동안에도, 락 없이 찾은 기존 이름의 코드는 그대로다.
+ */
+class NameDictionaryTest {
+
+    @Test
+    @DisplayName("같은 이름은 같은 코드")
+    void deduplicates() {
+        // given
+        NameDictionary names = new NameDictionary();
+
+        // when
+        int first = names.intern("memberA");
+        int second = names.intern("memberB");
+        int again = names.intern("memberA");
+
+        // then
+        assertThat(again).isEqualTo(first);
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(names.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("코드로 원래 이름을 되찾음")
+    void roundTrip() {
+        List<String> samples = List.of("memberA", "", "회원가나다", "회원가나라", "a".repeat(1_000), "memberB", "x");
+        for (NameDictionary names : List.of(new NameDictionary(), new NameDictionary(0))) {
+            // given
+            List<Integer> codes = new ArrayList<>();
+
+            // when
+            for (String sample : samples) {
+                codes.add(names.intern(sample));
+            }
+
+            // then
+            for (int i = 0; i < samples.size(); i++) {
+                assertThat(names.decode(codes.get(i))).isEqualTo(samples.get(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("순번 이름은 앞부분 공유로 압축")
+    void frontCoding() {
+        // given
+        NameDictionary names = new NameDictionary(0);
+        int count = 100_000;
+
+        // when
+        for (int i = 0; i < count; i++) {
+            names.intern("guest" + (1_000_000 + i));
+        }
+
+        // then
+        // String + byte[]로 두면 이름당 56바이트, 사전은 바뀐 끝자리 몇 바이트 + 중복 확인 테이블 슬롯
+        long bytesPerName = names.footprintBytes() / count;
+        assertThat(bytesPerName).isBetween(1L, 32L);
+        assertThat(names.decode(count - 1)).isEqualTo("guest" + (1_000_000 + count - 1));
+        assertThat(names.decode(12_345)).isEqualTo("guest1012345");
+    }
+
+    @Test
+    @DisplayName("여러 페이지에 걸친 이름")
+    void spansPages() {
+        // given
+        NameDictionary names = new NameDictionary(0);
+        List<String> samples = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            samples.add(i + "-" + "긴이름".repeat(100));
+        }
+
+        // when
+        List<Integer> codes = new ArrayList<>();
+        for (String sample : samples) {
+            codes.add(names.intern(sample));
+        }
+
+        // then
+        for (int i = 0; i < samples.size(); i++) {
+            assertThat(names.decode(codes.get(i))).isEqualTo(samples.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("동시에 추가해도 이름마다 코드 하나")
+    void concurrentIntern() throws Exception {
+        // given
+        NameDictionary names = new NameDictionary();
+        int threads = 4;
+        int count = 20_000;
+
+        // when
+        List<CompletableFuture<int[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                int[] codes = new int[count];
+                for (int i = 0; i < count; i++) {
+                    codes[i] = names.intern("member" + i);
+                }
+                return codes;
+            }));
+        }
+
+        // then
+        int[] expected = futures.get(0).get();
+        for (CompletableFuture<int[]> future : futures) {
+            int[] codes = future.get();
+            for (int i = 0; i < count; i++) {
+                assertThat(codes[i]).isEqualTo(expected[i]);
+            }
+        }
+        assertThat(names.size()).isEqualTo(count);
+        for (int i = 0; i < count; i++) {
+            assertThat(names.decode(expected[i])).isEqualTo("member" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("없는 코드는 예외")
+    void unknownCode() {
+        // given
+        NameDictionary names = new NameDictionary();
+        names.intern("memberA");
+
+        // when & then
+        assertThatThrownBy(() -> names.decode(1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> names.decode(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("덧붙이는 동안에도 기존 이름은 락 없이 같은 코드")
+    void lookupDuringAppend() throws Exception {
+        // given: 미리 넣은 이름 1000개
+        NameDictionary names = new NameDictionary();
+        int known = 1000;
+        int[] codes = new int[known];
+        for (int i = 0; i < known; i++) {
+            codes[i] = names.intern("known" + i);
+        }
+
+        // when: 한 스레드가 새 이름 20만 개를 덧붙이는 동안 (표가 여러 번 커진다) 다른 스레드들이 기존 이름을 찾는다
+        int added = 200_000;
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < added; i++) {
+                names.intern("guest" + i);
+            }
+        });
+        List<CompletableFuture<Integer>> readers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            readers.add(CompletableFuture.supplyAsync(() -> {
+                int mismatches = 0;
+                while (!writer.isDone()) {
+                    for (int i = 0; i < known; i++) {
+                        if (names.intern("known" + i) != codes[i]) {
+                            mismatches++;
+                        }
+                    }
+                }
+                return mismatches;
+            }));
+        }
+        writer.get();
+
+        // then
+        for (CompletableFuture<Integer> reader : readers) {
+            assertThat(reader.get()).isZero();
+        }
+        assertThat(names.size()).isEqualTo(known + added);
+        assertThat(names.decode(names.intern("guest" + (added - 1)))).isEqualTo("guest" + (added - 1));
+    }
+}
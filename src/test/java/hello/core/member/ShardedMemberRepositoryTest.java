@@ -0,0 +1,229 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 해시 분할 회원 저장소 테스트
+ * 샤드는 서로 독립된 메모리 저장소(MemoryMemberRepository.isolated())를 쓴다.
+ *
+ * 테스트 시나리오:
+ * 1. 회원은 주인 샤드 한 곳에만 저장되고, 샤드별 회원 수가 고르게 나뉜다.
+ * 2. 일괄 저장/조회는 여러 샤드에 걸친 회원을 모두 처리한다.
+ * 3. 샤드를 추가하면 새 샤드 몫만 옮겨지고, 기존 샤드에서는 옮긴 회원이 지워진다.
+ * 4. 샤드를 빼면 그 샤드의 회원이 남는 샤드로 옮겨지고, 빠진 샤드의 내용은 그대로 남는다.
+ * 5. 이동 중에도 쓰기가 계속되며, 이동이 끝난 뒤 모든 회원이 마지막으로 저장한 값이다.
+ * 6. 이미 있는 샤드를 추가하거나 마지막 샤드를 빼면 예외가 발생한다.
+ * 7. 모든 샤드가 스냅샷을 지원하면 샤드별 뷰를 합쳐 연 시점의 회원을 한 번씩 보고, 복원은 회원을 주인 샤드에 나눠 담는다.
+ *    스냅샷을 지원하지 않는 샤드가 있으면 snapshotable()이 null이다.
+ */
+class ShardedMemberRepositoryTest {
+
+    static final int MEMBERS = 30_000;
+
+    @Test
+    @DisplayName("주인 샤드 한 곳에 저장되고 고르게 나뉨")
+    void routesToOwner() {
+        // given
+        Map<String, MemoryMemberRepository> shards = shards("shard-0", "shard-1", "shard-2");
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards);
+
+        // when
+        saveMembers(repository, "v0");
+
+        // then
+        Member member = repository.findById(42L);
+        assertThat(member.getName()).isEqualTo("v0");
+        String owner = repository.shardNameOf(42L);
+        shards.forEach((name, shard) -> assertThat(shard.findById(42L) != null).isEqualTo(name.equals(owner)));
+        assertThat(repository.distribution().values())
+                .allSatisfy(count -> assertThat(count).isBetween(MEMBERS / 5L, MEMBERS / 2L));
+    }
+
+    @Test
+    @DisplayName("일괄 저장/조회는 여러 샤드에 걸침")
+    void batchAcrossShards() {
+        // given
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards("shard-0", "shard-1", "shard-2"));
+        List<Member> members = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            members.add(new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        // when
+        repository.saveAll(members);
+        Map<Long, Member> found = repository.findAllById(List.of(1L, 50L, 100L, 101L));
+
+        // then
+        assertThat(found).containsOnlyKeys(1L, 50L, 100L);
+        assertThat(found.get(50L).getName()).isEqualTo("member50");
+    }
+
+    @Test
+    @DisplayName("샤드 추가 시 새 샤드 몫만 이동")
+    void addShard() {
+        // given
+        Map<String, MemoryMemberRepository> shards = shards("shard-0", "shard-1", "shard-2");
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards);
+        saveMembers(repository, "v0");
+        MemoryMemberRepository added = MemoryMemberRepository.isolated();
+
+        // when
+        ShardedMemberRepository.Rebalance result = repository.addShard("shard-3", added);
+
+        // then
+        assertThat(result.moved()).isBetween(MEMBERS / 8L, MEMBERS / 2L);
+        assertThat(count(added)).isEqualTo(result.moved());
+        long total = count(added);
+        for (MemoryMemberRepository shard : shards.values()) {
+            total += count(shard);
+        }
+        assertThat(total).isEqualTo(MEMBERS);
+        assertAllMembers(repository, "v0");
+    }
+
+    @Test
+    @DisplayName("샤드를 빼면 남는 샤드로 이동")
+    void removeShard() {
+        // given
+        Map<String, MemoryMemberRepository> shards = shards("shard-0", "shard-1", "shard-2");
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards);
+        saveMembers(repository, "v0");
+        long removedCount = count(shards.get("shard-1"));
+
+        // when
+        ShardedMemberRepository.Rebalance result = repository.removeShard("shard-1");
+
+        // then
+        assertThat(result.moved()).isEqualTo(removedCount);
+        assertThat(repository.shardNames()).containsExactly("shard-0", "shard-2");
+        assertThat(count(shards.get("shard-0")) + count(shards.get("shard-2"))).isEqualTo(MEMBERS);
+        assertThat(count(shards.get("shard-1"))).isEqualTo(removedCount);
+        assertAllMembers(repository, "v0");
+    }
+
+    @Test
+    @DisplayName("이동 중 쓰기가 유실되지 않음")
+    void writesDuringMigration() throws Exception {
+        // given
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards("shard-0", "shard-1"));
+        saveMembers(repository, "v0");
+        AtomicLongArray latest = new AtomicLongArray(MEMBERS + 1);
+        AtomicBoolean stop = new AtomicBoolean();
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (long version = 1; !stop.get(); version++) {
+                for (int id = 1; id <= MEMBERS; id++) {
+                    repository.save(new Member((long) id, "v" + version, Grade.VIP));
+                    latest.set(id, version);
+                }
+            }
+        });
+
+        // when
+        repository.addShard("shard-2", MemoryMemberRepository.isolated());
+        repository.removeShard("shard-0");
+        stop.set(true);
+        writer.get();
+
+        // then
+        for (int id = 1; id <= MEMBERS; id++) {
+            assertThat(repository.findById((long) id).getName()).isEqualTo("v" + latest.get(id));
+        }
+        assertThat(repository.distribution().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(MEMBERS);
+    }
+
+    @Test
+    @DisplayName("중복 샤드 추가와 마지막 샤드 제거는 예외")
+    void invalidRebalance() {
+        // given
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards("shard-0"));
+
+        // when & then
+        assertThatThrownBy(() -> repository.addShard("shard-0", MemoryMemberRepository.isolated()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> repository.removeShard("shard-0"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("샤드별 뷰를 합친 스냅샷과 샤드별 복원")
+    void snapshotAndRestore() {
+        // given
+        Map<String, MemoryMemberRepository> shards = shards("shard-0", "shard-1", "shard-2");
+        ShardedMemberRepository repository = new ShardedMemberRepository(shards);
+        for (long id = 1; id <= 1000; id++) {
+            repository.save(new Member(id, "v0", Grade.BASIC));
+        }
+
+        // when: 뷰를 연 뒤 변경/삭제/가입하고, 샤드를 하나 더해 회원을 옮긴다
+        Map<Long, String> seen = new HashMap<>();
+        long[] duplicates = new long[1];
+        try (MemberSnapshot snapshot = repository.snapshotable().openSnapshot()) {
+            repository.save(new Member(1L, "v1", Grade.VIP));
+            repository.delete(2L);
+            repository.save(new Member(1001L, "new", Grade.BASIC));
+            repository.addShard("shard-3", MemoryMemberRepository.isolated());
+            snapshot.forEach(member -> {
+                if (seen.put(member.getId(), member.getName()) != null) {
+                    duplicates[0]++;
+                }
+            });
+        }
+
+        // then
+        assertThat(seen).hasSize(1000);
+        assertThat(duplicates[0]).isZero();
+        assertThat(seen.get(1L)).isEqualTo("v0");
+        assertThat(seen.get(2L)).isEqualTo("v0");
+        assertThat(seen).doesNotContainKey(1001L);
+
+        // when: 다른 샤드 구성에 복원
+        ShardedMemberRepository restored = new ShardedMemberRepository(shards("a", "b"));
+        MemberLoader loader = restored.snapshotable().beginRestore(seen.size());
+        seen.forEach((id, name) -> loader.add(new Member(id, name, Grade.BASIC)));
+        loader.commit();
+
+        // then
+        assertThat(restored.findById(2L).getName()).isEqualTo("v0");
+        assertThat(restored.distribution().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(1000);
+        assertThat(new ShardedMemberRepository(Map.of("cached",
+                new CachingMemberRepository(MemoryMemberRepository.isolated(), 16))).snapshotable()).isNull();
+    }
+
+    private static Map<String, MemoryMemberRepository> shards(String... names) {
+        Map<String, MemoryMemberRepository> shards = new LinkedHashMap<>();
+        for (String name : names) {
+            shards.put(name, MemoryMemberRepository.isolated());
+        }
+        return shards;
+    }
+
+    private static void saveMembers(MemberRepository repository, String name) {
+        for (long id = 1; id <= MEMBERS; id++) {
+            repository.save(new Member(id, name, Grade.BASIC));
+        }
+    }
+
+    private static void assertAllMembers(MemberRepository repository, String name) {
+        for (long id = 1; id <= MEMBERS; id++) {
+            assertThat(repository.findById(id).getName()).isEqualTo(name);
+        }
+    }
+
+    private static long count(MemberRepository shard) {
+        long[] count = new long[1];
+        shard.forEach(member -> count[0]++);
+        return count[0];
+    }
+}
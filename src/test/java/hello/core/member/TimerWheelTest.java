@@ -0,0 +1,100 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 계층형 타이밍 휠 테스트
+ *
+ * 테스트 시나리오:
+ * 1. 모든 단계에 걸친 마감 시각의 항목이 마감 전에는 알려지지 않고, 마감 후 돌리는 간격 + 틱 하나 안에 알려진다.
+ * 2. 처리기가 다음 마감 시각을 돌려주면 그 시각에 다시 알린다.
+ * 3. 가장 높은 단계보다 먼 마감도 잃지 않고 알린다.
+ */
+class TimerWheelTest {
+
+    static final long TICK = 1 << 20;
+
+    @Test
+    @DisplayName("마감 전에는 알리지 않고 마감 직후 알림")
+    void firesAfterDeadline() {
+        // given: 0단계부터 가장 높은 단계까지 걸치도록 마감 시각을 지수 분포에 가깝게 뽑는다
+        TimerWheel<TimerWheel.Node> wheel = new TimerWheel<>(TICK);
+        Random random = new Random(42);
+        int nodes = 50_000;
+        for (int i = 0; i < nodes; i++) {
+            wheel.schedule(new TimerWheel.Node(), (long) (Math.pow(random.nextDouble(), 4) * (TICK << 26)));
+        }
+        int[] fired = new int[1];
+        long[] worstLateness = new long[1];
+        boolean[] early = new boolean[1];
+
+        // when: 한 틱 안부터 수천 틱까지 들쭉날쭉한 간격으로 돌린다
+        long now = 0;
+        while (wheel.size() > 0) {
+            long step = 1 + random.nextLong(TICK << random.nextInt(13));
+            now += step;
+            wheel.advance(now, (node, time) -> {
+                fired[0]++;
+                early[0] |= node.deadline > time;
+                worstLateness[0] = Math.max(worstLateness[0], (time - node.deadline) - step);
+                return TimerWheel.DROP;
+            });
+        }
+
+        // then: 마감 전에는 알리지 않고, 늦어도 돌리는 간격 + 틱 하나 안에 알린다
+        assertThat(fired[0]).isEqualTo(nodes);
+        assertThat(early[0]).isFalse();
+        assertThat(worstLateness[0]).isLessThanOrEqualTo(TICK);
+    }
+
+    @Test
+    @DisplayName("처리기가 돌려준 시각에 다시 알림")
+    void reschedule() {
+        // given
+        TimerWheel<TimerWheel.Node> wheel = new TimerWheel<>(TICK);
+        wheel.schedule(new TimerWheel.Node(), TICK * 10);
+        List<Long> fired = new ArrayList<>();
+
+        // when
+        for (long now = 0; now <= TICK * 1000; now += TICK) {
+            wheel.advance(now, (node, time) -> {
+                fired.add(time);
+                return fired.size() < 2 ? TICK * 500 : TimerWheel.DROP;
+            });
+        }
+
+        // then
+        assertThat(fired).hasSize(2);
+        assertThat(fired.get(0)).isBetween(TICK * 10, TICK * 11);
+        assertThat(fired.get(1)).isBetween(TICK * 500, TICK * 501);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("가장 높은 단계보다 먼 마감도 알림")
+    void beyondTopLevel() {
+        // given
+        TimerWheel<TimerWheel.Node> wheel = new TimerWheel<>(TICK);
+        long deadline = TICK << 33;
+        wheel.schedule(new TimerWheel.Node(), deadline);
+        long[] fired = {-1};
+
+        // when: 높은 단계 버킷 폭 단위로 크게 돌린다
+        for (long now = 0; fired[0] < 0 && now <= deadline * 2; now += TICK << 20) {
+            wheel.advance(now, (node, time) -> {
+                fired[0] = time;
+                return TimerWheel.DROP;
+            });
+        }
+
+        // then
+        assertThat(fired[0]).isBetween(deadline, deadline + (TICK << 20));
+    }
+}
@@ -0,0 +1,323 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 쓰기 지연 회원 저장소 테스트
+ * 감싼 저장소로 saveAll 호출을 기록하는 테스트용 저장소를 사용 (공유 메모리 저장소를 건드리지 않음)
+ *
+ * 테스트 시나리오:
+ * 1. save 직후 조회하면 값이 보이지만 감싼 저장소에는 아직 기록되지 않는다.
+ * 2. 같은 ID의 대기 중 변경은 마지막 값 하나로 합쳐져 한 번만 기록된다.
+ * 3. 대기 건수가 배치 크기에 이르면 주기를 기다리지 않고 배치 크기씩 기록한다.
+ * 4. 대기 건수가 적어도 주기가 지나면 기록하고, 변경마다 지연 시간이 기록된다.
+ * 5. 대기 ID가 가득 차면 save가 자리가 날 때까지 기다린다.
+ * 6. 기록에 실패하면 대기 맵에 남아 다음에 다시 기록한다.
+ * 7. close()는 남은 변경을 모두 기록하고, 이후 save는 예외가 발생한다.
+ * 8. 일괄 조회는 대기 중인 변경을 먼저 보고 나머지만 감싼 저장소에서 조회한다.
+ * 9. 조건부 등급 변경은 대기 중인 값 또는 감싼 저장소의 값을 보고 바꾸며, 바뀐 값은 대기했다가 기록된다.
+ * 10. 한 회원만 계속 기록에 실패하면 같은 배치의 나머지와 뒤의 배치는 기록되고, 그 회원은 MAX_ATTEMPTS번 뒤 버려진다.
+ */
+class WriteBehindMemberRepositoryTest {
+
+    RecordingRepository delegate = new RecordingRepository();
+    WriteBehindMemberRepository repository;
+
+    @AfterEach
+    void afterEach() {
+        delegate.release();
+        delegate.failing = false;
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    @DisplayName("save 직후 조회 가능, 기록은 나중에")
+    void readYourWrites() {
+        // given
+        repository = new WriteBehindMemberRepository(delegate, 100, 10, Duration.ofHours(1));
+
+        // when
+        repository.save(new Member(1L, "memberA", Grade.BASIC));
+
+        // then
+        assertThat(repository.findById(1L).getName()).isEqualTo("memberA");
+        assertThat(delegate.members).isEmpty();
+        assertThat(repository.stats().pending()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 ID 변경 병합")
+    void coalesce() {
+        // given
+        repository = new WriteBehindMemberRepository(delegate, 100, 10, Duration.ofHours(1));
+
+        // when
+        repository.save(new Member(1L, "v1", Grade.BASIC));
+        repository.save(new Member(1L, "v2", Grade.BASIC));
+        repository.save(new Member(1L, "v3", Grade.VIP));
+        int written = repository.flush();
+
+        // then
+        assertThat(written).isEqualTo(1);
+        assertThat(delegate.writes).isEqualTo(1);
+        assertThat(delegate.members.get(1L).getName()).isEqualTo("v3");
+        assertThat(repository.stats().coalesced()).isEqualTo(2);
+        assertThat(repository.stats().pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("배치 크기에 이르면 바로 기록")
+    void flushBySize() {
+        // given
+        repository = new WriteBehindMemberRepository(delegate, 1000, 50, Duration.ofHours(1));
+
+        // when
+        for (long id = 1; id <= 200; id++) {
+            repository.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        // then: 플러시 중에 들어온 변경이 배치 크기에 못 미치면 그 나머지는 주기를 기다릴 수 있다
+        eventually(() -> delegate.members.size() > 200 - 50);
+        assertThat(delegate.batchSizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(50));
+    }
+
+    @Test
+    @DisplayName("주기가 지나면 기록하고 지연 시간 기록")
+    void flushByInterval() {
+        // given
+        List<Long> lags = new CopyOnWriteArrayList<>();
+        repository = new WriteBehindMemberRepository(delegate, 100, 10, Duration.ofMillis(20), lags::add);
+
+        // when
+        repository.save(new Member(1L, "memberA", Grade.BASIC));
+
+        // then
+        eventually(() -> delegate.members.containsKey(1L));
+        assertThat(lags).hasSize(1).allSatisfy(lag -> assertThat(lag).isPositive());
+        assertThat(repository.findById(1L).getName()).isEqualTo("memberA");
+    }
+
+    @Test
+    @DisplayName("가득 차면 save 대기")
+    void backpressure() throws Exception {
+        // given: 감싼 저장소가 멈춰 있고 대기 자리는 2개
+        delegate.block();
+        repository = new WriteBehindMemberRepository(delegate, 2, 2, Duration.ofHours(1));
+        repository.save(new Member(1L, "memberA", Grade.BASIC));
+        repository.save(new Member(2L, "memberB", Grade.BASIC));
+
+        // when
+        CompletableFuture<Void> third = CompletableFuture.runAsync(
+                () -> repository.save(new Member(3L, "memberC", Grade.BASIC)));
+
+        // then
+        Thread.sleep(100);
+        assertThat(third).isNotDone();
+        delegate.release();
+        third.get(5, TimeUnit.SECONDS);
+        assertThat(repository.stats().backpressureWaits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("기록 실패 시 재시도")
+    void retryAfterFailure() {
+        // given
+        repository = new WriteBehindMemberRepository(delegate, 100, 10, Duration.ofHours(1));
+        repository.save(new Member(1L, "memberA", Grade.BASIC));
+        delegate.failing = true;
+
+        // when
+        int failed = repository.flush();
+        delegate.failing = false;
+        int retried = repository.flush();
+
+        // then
+        assertThat(failed).isZero();
+        assertThat(retried).isEqualTo(1);
+        assertThat(delegate.members).containsKey(1L);
+        assertThat(repository.stats().failures()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("닫을 때 남은 변경 기록")
+    void flushOnClose() {
+        // given
+        repository = new WriteBehindMemberRepository(delegate, 1000, 100, Duration.ofHours(1));
+        for (long id = 1; id <= 30; id++) {
+            repository.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        // when
+        repository.close();
+
+        // then
+        assertThat(delegate.members).hasSize(30);
+        assertThat(delegate.closed).isTrue();
+        assertThatThrownBy(() -> repository.save(new Member(31L, "late", Grade.BASIC)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("일괄 조회는 대기 중인 변경 우선")
+    void findAllById() {
+        // given
+        delegate.members.put(1L, new Member(1L, "stored", Grade.BASIC));
+        delegate.members.put(2L, new Member(2L, "stored", Grade.BASIC));
+        repository = new WriteBehindMemberRepository(delegate, 100, 10, Duration.ofHours(1));
+        repository.save(new Member(2L, "pending", Grade.VIP));
+
+        // when
+        Map<Long, Member> found = repository.findAllById(List.of(1L, 2L, 3L));
+
+        // then
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        assertThat(found.get(1L).getName()).isEqualTo("stored");
+        assertThat(found.get(2L).getName()).isEqualTo("pending");
+    }
+
+    private static void eventually(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("5초 안에 조건을 만족해야 함").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    @DisplayName("조건부 등급 변경도 대기 후 기록")
+    void changeGrade() {
+        // given: 1번은 감싼 저장소에만, 2번은 대기 중
+        repository = new WriteBehindMemberRepository(delegate, 100, 10, Duration.ofHours(1));
+        delegate.members.put(1L, new Member(1L, "stored", Grade.BASIC));
+        repository.save(new Member(2L, "pending", Grade.BASIC));
+
+        // when
+        Member stored = repository.changeGrade(1L, Grade.BASIC, Grade.VIP);
+        Member pending = repository.changeGrade(2L, Grade.BASIC, Grade.VIP);
+        Member unchanged = repository.changeGrade(2L, Grade.BASIC, Grade.VIP);
+        Member missing = repository.changeGrade(3L, Grade.BASIC, Grade.VIP);
+
+        // then
+        assertThat(stored.getName()).isEqualTo("stored");
+        assertThat(pending.getName()).isEqualTo("pending");
+        assertThat(unchanged.getGrade()).isEqualTo(Grade.VIP);
+        assertThat(missing).isNull();
+        assertThat(delegate.members.get(1L).getGrade()).isEqualTo(Grade.BASIC);
+        assertThat(repository.stats().pending()).isEqualTo(2);
+        assertThat(repository.flush()).isEqualTo(2);
+        assertThat(delegate.members.get(1L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(delegate.members.get(2L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(delegate.members).doesNotContainKey(3L);
+    }
+
+    @Test
+    @DisplayName("계속 실패하는 회원 하나가 나머지 기록을 막지 않음")
+    void rejectPoisonMember() {
+        // given: 3번 회원만 감싼 저장소가 받지 않는다 (배치 크기에 이르지 않아 플러셔는 깨어나지 않는다)
+        repository = new WriteBehindMemberRepository(delegate, 100, 30, Duration.ofHours(1));
+        delegate.rejectedName = "bad";
+        for (long id = 1; id <= 25; id++) {
+            repository.save(new Member(id, id == 3 ? "bad" : "member" + id, Grade.BASIC));
+        }
+
+        // when: 처음 플러시한 뒤, 새 회원과 함께 두 번 더 기록을 시도한다
+        int first = repository.flush();
+        for (long id = 101; id < 101 + WriteBehindMemberRepository.MAX_ATTEMPTS - 1; id++) {
+            repository.save(new Member(id, "member" + id, Grade.BASIC));
+            repository.flush();
+        }
+
+        // then
+        assertThat(first).isEqualTo(24);
+        assertThat(delegate.members).hasSize(24 + WriteBehindMemberRepository.MAX_ATTEMPTS - 1);
+        assertThat(delegate.members).doesNotContainKey(3L);
+        assertThat(repository.stats().rejected()).isEqualTo(1);
+        assertThat(repository.stats().pending()).isZero();
+        assertThat(repository.findById(3L)).isNull();
+    }
+
+    static class RecordingRepository implements MemberRepository, AutoCloseable {
+
+        final Map<Long, Member> members = new ConcurrentHashMap<>();
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        volatile int writes;
+        volatile boolean failing;
+        volatile String rejectedName;
+        volatile boolean closed;
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public void save(Member member) {
+            saveAll(List.of(member));
+        }
+
+        @Override
+        public synchronized void saveAll(Collection<Member> batch) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IllegalStateException("저장 실패");
+            }
+            for (Member member : batch) {
+                if (rejectedName != null && rejectedName.equals(member.getName())) {
+                    throw new IllegalArgumentException("받을 수 없는 회원: " + member.getId());
+                }
+            }
+            batchSizes.add(batch.size());
+            writes += batch.size();
+            for (Member member : new ArrayList<>(batch)) {
+                members.put(member.getId(), member);
+            }
+        }
+
+        @Override
+        public Member findById(Long memberId) {
+            return members.get(memberId);
+        }
+
+        @Override
+        public void delete(Long memberId) {
+            members.remove(memberId);
+        }
+
+        @Override
+        public void forEach(Consumer<Member> action) {
+            members.values().forEach(action);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
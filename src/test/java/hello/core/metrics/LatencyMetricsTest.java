@@ -0,0 +1,151 @@
+package hello.core.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 지연 시간 기록기 테스트
+ * LatencyMetrics/OperationLatency의 기록, 백분위 계산, 구간 교체, 파일 보고를 검증
+ *
+ * 테스트 시나리오:
+ * 1. 1~1000 마이크로초를 한 번씩 기록하면 p50, p99, max가 유효 숫자 3자리 안에서 맞는다.
+ * 2. 여러 스레드가 동시에 기록해도 호출 수가 모두 합산된다. (스트라이프 기록기)
+ * 3. 구간 스냅샷은 호출 후 초기화되지만 누적 스냅샷은 유지된다.
+ * 4. 보고기는 구간 스냅샷을 CSV 한 줄씩 파일에 남긴다.
+ * 5. 짧게 살다 끝나는 스레드 수천 개가 기록해도 모두 합산되고, 스트라이프와 만든 기록기는 고정 개수(최대 16) 안이다.
+ * 6. 보고 파일에 쓰지 못해도 주기 보고가 취소되지 않고 다음 주기에 다시 시도하며, 종료도 예외 없이 끝난다.
+ */
+class LatencyMetricsTest {
+
+    LatencyMetrics metrics;
+
+    @BeforeEach
+    void beforeEach() {
+        metrics = new LatencyMetrics();
+    }
+
+    @Test
+    @DisplayName("백분위 계산")
+    void percentiles() {
+        // Given
+        OperationLatency latency = metrics.operation(LatencyMetrics.ORDER_CREATE);
+
+        // When: 1us ~ 1000us
+        for (int i = 1; i <= 1000; i++) {
+            latency.record(i * 1000L);
+        }
+
+        // Then
+        LatencySnapshot snapshot = latency.snapshot();
+        assertThat(snapshot.count()).isEqualTo(1000);
+        assertThat(snapshot.p50()).isCloseTo(500_000L, within(1_000L));
+        assertThat(snapshot.p99()).isCloseTo(990_000L, within(1_000L));
+        assertThat(snapshot.max()).isCloseTo(1_000_000L, within(1_000L));
+    }
+
+    @Test
+    @DisplayName("여러 스레드 기록 합산")
+    void multiThreaded() throws Exception {
+        OperationLatency latency = metrics.operation(LatencyMetrics.MEMBER_JOIN);
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    latency.record(100);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(latency.snapshot().count()).isEqualTo(40_000);
+    }
+
+    @Test
+    @DisplayName("구간 스냅샷 초기화, 누적 유지")
+    void interval() {
+        OperationLatency latency = metrics.operation(LatencyMetrics.MEMBER_FIND);
+        latency.record(100);
+        latency.record(200);
+
+        assertThat(latency.intervalSnapshot().count()).isEqualTo(2);
+        assertThat(latency.intervalSnapshot().count()).isEqualTo(0);
+
+        latency.record(300);
+        assertThat(latency.intervalSnapshot().count()).isEqualTo(1);
+        assertThat(latency.snapshot().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("파일 보고")
+    void reporter(@TempDir Path tempDir) throws Exception {
+        // Given
+        Path file = tempDir.resolve("latency.csv");
+        metrics.operation(LatencyMetrics.ORDER_CREATE).record(5_000);
+
+        // When: 주기가 오기 전에 종료해도 마지막 구간을 기록
+        LatencyReporter reporter = new LatencyReporter(metrics, file, Duration.ofHours(1));
+        reporter.close();
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).contains(",order.createOrder,1,");
+    }
+
+    @Test
+    @DisplayName("짧게 사는 스레드 기록")
+    void shortLivedThreads() throws Exception {
+        // Given
+        OperationLatency latency = metrics.operation(LatencyMetrics.ORDER_CREATE);
+
+        // When: 가상 스레드 5000개가 한 번씩 기록하고 끝난다
+        Thread[] threads = new Thread[5000];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofVirtual().start(() -> latency.record(100));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(latency.snapshot().count()).isEqualTo(5000);
+        assertThat(OperationLatency.STRIPES).isLessThanOrEqualTo(OperationLatency.MAX_STRIPES);
+        assertThat(latency.recorderCount()).isBetween(1, OperationLatency.STRIPES);
+        for (long threadId = 1; threadId <= 10_000; threadId++) {
+            assertThat(OperationLatency.stripeIndex(threadId)).isBetween(0, OperationLatency.STRIPES - 1);
+        }
+    }
+
+    @Test
+    @DisplayName("보고 실패 후에도 주기 보고 유지")
+    void reporterSurvivesFailure(@TempDir Path tempDir) throws Exception {
+        // Given: 보고 파일 자리에 디렉터리가 있어 쓸 수 없다
+        Path file = tempDir.resolve("latency.csv");
+        Files.createDirectory(file);
+        metrics.operation(LatencyMetrics.ORDER_CREATE).record(5_000);
+
+        // When
+        LatencyReporter reporter = new LatencyReporter(metrics, file, Duration.ofMillis(10));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (reporter.failures() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        reporter.close();
+
+        // Then: 첫 실패 뒤에도 예약이 살아 있어 계속 다시 시도했다
+        assertThat(reporter.failures()).isGreaterThanOrEqualTo(3);
+    }
+}
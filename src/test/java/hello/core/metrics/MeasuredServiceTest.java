@@ -0,0 +1,46 @@
+package hello.core.metrics;
+
+import hello.core.AppConfig;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+import hello.core.order.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 지연 시간 측정 데코레이터 테스트
+ * AppConfig에 연결된 MeasuredMemberService/MeasuredOrderService가 호출마다 기록하는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 스프링 컨테이너의 memberService/orderService 호출 수만큼 연산별 기록이 쌓인다.
+ * 2. 조회 결과 등 서비스 동작은 데코레이터 유무와 관계없이 같다.
+ */
+class MeasuredServiceTest {
+
+    @Test
+    @DisplayName("AppConfig 서비스 호출이 기록됨")
+    void recordedThroughAppConfig() {
+        // Given
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(AppConfig.class);
+        MemberService memberService = ac.getBean("memberService", MemberService.class);
+        OrderService orderService = ac.getBean("orderService", OrderService.class);
+        LatencyMetrics metrics = ac.getBean(LatencyMetrics.class);
+
+        // When
+        memberService.join(new Member(501L, "memberVIP", Grade.VIP));
+        Member findMember = memberService.findMember(501L);
+        orderService.createOrder(501L, "itemA", 10000);
+        orderService.createOrder(501L, "itemB", 10000);
+
+        // Then
+        assertThat(findMember.getName()).isEqualTo("memberVIP");
+        assertThat(metrics.operation(LatencyMetrics.MEMBER_JOIN).snapshot().count()).isEqualTo(1);
+        assertThat(metrics.operation(LatencyMetrics.MEMBER_FIND).snapshot().count()).isEqualTo(1);
+        assertThat(metrics.operation(LatencyMetrics.ORDER_CREATE).snapshot().count()).isEqualTo(2);
+        ac.close();
+    }
+}
@@ -0,0 +1,71 @@
+package hello.core.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 묶음 주문 리스너 테스트
+ *
+ * 테스트 시나리오:
+ * 1. 묶인 리스너를 나열한 순서대로 호출한다.
+ * 2. 닫을 때 AutoCloseable 리스너를 역순으로 닫고, 실패해도 나머지를 닫은 뒤 예외를 던진다.
+ */
+class CompositeOrderListenerTest {
+
+    List<String> calls = new ArrayList<>();
+
+    @Test
+    @DisplayName("순서대로 호출")
+    void callsInOrder() {
+        // given
+        CompositeOrderListener listener = new CompositeOrderListener(
+                order -> calls.add("first:" + order.getItemName()),
+                order -> calls.add("second:" + order.getItemName()));
+
+        // when
+        listener.onOrder(new Order(1L, "itemA", 10000, 0));
+
+        // then
+        assertThat(calls).containsExactly("first:itemA", "second:itemA");
+    }
+
+    @Test
+    @DisplayName("역순으로 닫기")
+    void closesInReverse() {
+        // given
+        CompositeOrderListener listener = new CompositeOrderListener(
+                new ClosingListener("first", false), OrderListener.NONE, new ClosingListener("second", true));
+
+        // when & then
+        assertThatThrownBy(listener::close).isInstanceOf(IllegalStateException.class).hasMessage("second");
+        assertThat(calls).containsExactly("close:second", "close:first");
+    }
+
+    class ClosingListener implements OrderListener, AutoCloseable {
+
+        private final String name;
+        private final boolean fail;
+
+        ClosingListener(String name, boolean fail) {
+            this.name = name;
+            this.fail = fail;
+        }
+
+        @Override
+        public void onOrder(Order order) {
+        }
+
+        @Override
+        public void close() {
+            calls.add("close:" + name);
+            if (fail) {
+                throw new IllegalStateException(name);
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package hello.core.order;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemoryMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 등급 자동 승급 리스너 테스트
+ * GradePromotionListener의 누적 결제 금액 계산과 승급 로직을 검증
+ *
+ * 테스트 시나리오:
+ * 1. 누적 결제 금액이 기준 미만이면 BASIC 등급이 유지된다.
+ * 2. 누적 결제 금액이 기준을 넘는 순간 VIP로 승급되고, 이후 주문부터 할인이 적용된다.
+ * 3. 누적 금액은 할인 후 최종 결제 금액 기준으로 계산된다.
+ * 4. 같은 회원의 주문이 동시에 들어와도 누적 금액이 정확하고 승급 저장은 한 번만 일어난다.
+ * 5. 기준을 넘기 전에 삭제된 회원은 승급으로 되살아나지 않고, 그사이 바뀐 이름은 유지된다.
+ * 6. 기준을 넘긴 주문의 승급이 저장소 예외로 실패하면 다음 주문이 다시 승급하고, 승급을 마친 뒤에는 저장소를 부르지 않는다.
+ */
+class GradePromotionListenerTest {
+
+    MemberRepository memberRepository;
+    GradePromotionListener listener;
+    OrderService orderService;
+
+    @BeforeEach
+    void beforeEach() {
+        memberRepository = new MemoryMemberRepository();
+        listener = new GradePromotionListener(memberRepository, 30000);
+        orderService = new OrderServiceImpl(memberRepository, new FixDiscountPolicy(), listener);
+    }
+
+    @Test
+    @DisplayName("기준 미만이면 등급 유지")
+    void belowThreshold() {
+        // Given
+        memberRepository.save(new Member(101L, "memberA", Grade.BASIC));
+
+        // When: 20000원 주문
+        orderService.createOrder(101L, "itemA", 20000);
+
+        // Then
+        assertThat(listener.totalSpend(101L)).isEqualTo(20000);
+        assertThat(memberRepository.findById(101L).getGrade()).isEqualTo(Grade.BASIC);
+    }
+
+    @Test
+    @DisplayName("기준을 넘으면 VIP 승급 후 할인 적용")
+    void promoteWhenThresholdCrossed() {
+        // Given
+        memberRepository.save(new Member(102L, "memberB", Grade.BASIC));
+        orderService.createOrder(102L, "itemA", 20000);
+
+        // When: 누적 30000원 도달
+        Order crossing = orderService.createOrder(102L, "itemB", 10000);
+        Order next = orderService.createOrder(102L, "itemC", 10000);
+
+        // Then: 기준을 넘긴 주문은 BASIC 가격, 다음 주문부터 VIP 할인
+        assertThat(crossing.getDiscountPrice()).isEqualTo(0);
+        assertThat(memberRepository.findById(102L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(memberRepository.findById(102L).getName()).isEqualTo("memberB");
+        assertThat(next.getDiscountPrice()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("누적 금액은 최종 결제 금액 기준")
+    void spendIsFinalPrice() {
+        // Given: 이미 VIP인 회원
+        memberRepository.save(new Member(103L, "memberC", Grade.VIP));
+
+        // When
+        orderService.createOrder(103L, "itemA", 10000);
+
+        // Then: 10000 - 1000
+        assertThat(listener.totalSpend(103L)).isEqualTo(9000);
+    }
+
+    @Test
+    @DisplayName("같은 회원 동시 주문 시 누적 금액 정확, 승급 1회")
+    void concurrentOrdersSameMember() throws Exception {
+        // Given: 저장 횟수를 세는 저장소
+        AtomicInteger saveCount = new AtomicInteger();
+        MemberRepository countingRepository = new MemberRepository() {
+            @Override
+            public void save(Member member) {
+                saveCount.incrementAndGet();
+                memberRepository.save(member);
+            }
+
+            @Override
+            public Member findById(Long memberId) {
+                return memberRepository.findById(memberId);
+            }
+
+            @Override
+            public void delete(Long memberId) {
+                memberRepository.delete(memberId);
+            }
+
+            @Override
+            public void forEach(Consumer<Member> action) {
+                memberRepository.forEach(action);
+            }
+        };
+        memberRepository.save(new Member(104L, "memberD", Grade.BASIC));
+        GradePromotionListener concurrentListener = new GradePromotionListener(countingRepository, 500_000);
+
+        int threads = 8;
+        int ordersPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < ordersPerThread; i++) {
+                    concurrentListener.onOrder(new Order(104L, "item", 100, 0));
+                }
+            });
+        }
+
+        // When
+        tasks.forEach(executor::execute);
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(concurrentListener.totalSpend(104L)).isEqualTo((long) threads * ordersPerThread * 100);
+        assertThat(saveCount.get()).isEqualTo(1);
+        assertThat(memberRepository.findById(104L).getGrade()).isEqualTo(Grade.VIP);
+    }
+
+    @Test
+    @DisplayName("삭제된 회원은 되살리지 않고 바뀐 이름은 유지")
+    void promotionKeepsConcurrentChanges() {
+        // Given
+        memberRepository.save(new Member(105L, "memberE", Grade.BASIC));
+        memberRepository.save(new Member(106L, "memberF", Grade.BASIC));
+        orderService.createOrder(105L, "itemA", 20000);
+        orderService.createOrder(106L, "itemA", 20000);
+
+        // When: 105번은 탈퇴, 106번은 이름 변경 후 기준을 넘는 주문이 처리된다
+        memberRepository.delete(105L);
+        memberRepository.save(new Member(106L, "renamed", Grade.BASIC));
+        listener.onOrder(new Order(105L, "itemB", 10000, 0));
+        listener.onOrder(new Order(106L, "itemB", 10000, 0));
+
+        // Then
+        assertThat(memberRepository.findById(105L)).isNull();
+        assertThat(memberRepository.findById(106L).getName()).isEqualTo("renamed");
+        assertThat(memberRepository.findById(106L).getGrade()).isEqualTo(Grade.VIP);
+    }
+
+    @Test
+    @DisplayName("승급 실패는 다음 주문이 다시 시도")
+    void retriesFailedPromotion() {
+        // Given: 첫 등급 변경만 실패하는 저장소
+        AtomicInteger attempts = new AtomicInteger();
+        MemberRepository flakyRepository = new MemberRepository() {
+            @Override
+            public void save(Member member) {
+                memberRepository.save(member);
+            }
+
+            @Override
+            public Member findById(Long memberId) {
+                return memberRepository.findById(memberId);
+            }
+
+            @Override
+            public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("저장소 장애");
+                }
+                return memberRepository.changeGrade(memberId, expected, grade);
+            }
+
+            @Override
+            public void delete(Long memberId) {
+                memberRepository.delete(memberId);
+            }
+
+            @Override
+            public void forEach(Consumer<Member> action) {
+                memberRepository.forEach(action);
+            }
+        };
+        memberRepository.save(new Member(107L, "memberG", Grade.BASIC));
+        GradePromotionListener retryingListener = new GradePromotionListener(flakyRepository, 30000);
+
+        // When: 기준을 넘기는 주문의 승급이 실패한 뒤 주문이 세 번 더 들어온다
+        assertThatThrownBy(() -> retryingListener.onOrder(new Order(107L, "itemA", 30000, 0)))
+                .isInstanceOf(IllegalStateException.class);
+        Grade afterFailure = memberRepository.findById(107L).getGrade();
+        for (int i = 0; i < 3; i++) {
+            retryingListener.onOrder(new Order(107L, "itemB", 1000, 0));
+        }
+
+        // Then
+        assertThat(afterFailure).isEqualTo(Grade.BASIC);
+        assertThat(memberRepository.findById(107L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(retryingListener.totalSpend(107L)).isEqualTo(33000);
+    }
+}
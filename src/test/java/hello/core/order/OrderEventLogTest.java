@@ -0,0 +1,152 @@
+package hello.core.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 주문 이벤트 로그 테스트
+ * OrderEventLog의 집계, 스냅샷, 재시작 복구를 검증
+ *
+ * 테스트 시나리오:
+ * 1. 주문마다 회원별/상품별/전체 집계가 갱신된다.
+ * 2. 다시 열면 같은 집계가 복구된다.
+ * 3. 스냅샷 뒤 재시작하면 스냅샷 이후 이벤트만 재생하고, 스냅샷 이전 세그먼트는 지워진다.
+ * 4. 마지막 레코드가 잘린 로그는 잘린 레코드만 버리고 복구 후 이어서 기록한다.
+ * 5. 최신 스냅샷이 손상되어 이벤트 순번이 끊기면 조용히 복구하지 않고 예외가 발생한다.
+ */
+class OrderEventLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("주문마다 집계 갱신")
+    void aggregates() {
+        // given
+        try (OrderEventLog log = OrderEventLog.open(dir, 1000)) {
+            // when
+            log.onOrder(new Order(1L, "itemA", 10000, 1000));
+            log.onOrder(new Order(1L, "itemB", 20000, 1000));
+            log.onOrder(new Order(2L, "itemA", 5000, 0));
+
+            // then
+            OrderAggregates aggregates = log.aggregates();
+            assertThat(aggregates.memberTotals(1L)).isEqualTo(new OrderAggregates.MemberTotals(2, 28000, 2000));
+            assertThat(aggregates.memberTotals(3L)).isEqualTo(OrderAggregates.MemberTotals.EMPTY);
+            assertThat(aggregates.itemCount("itemA")).isEqualTo(2);
+            assertThat(aggregates.orderCount()).isEqualTo(3);
+            assertThat(aggregates.totalPaid()).isEqualTo(33000);
+            assertThat(aggregates.totalDiscount()).isEqualTo(2000);
+            assertThat(log.lastSequence()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("재시작 후 복구")
+    void reopen() {
+        // given
+        try (OrderEventLog log = OrderEventLog.open(dir, 1000)) {
+            orders(log, 1, 500);
+        }
+
+        // when
+        try (OrderEventLog log = OrderEventLog.open(dir, 1000)) {
+            // then
+            assertThat(log.recovery().snapshotSequence()).isZero();
+            assertThat(log.recovery().replayedEvents()).isEqualTo(500);
+            assertThat(log.lastSequence()).isEqualTo(500);
+            assertThat(log.aggregates().memberTotals(7L).orders()).isEqualTo(50);
+            assertThat(log.aggregates().totalPaid()).isEqualTo(500 * 9000L);
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후 이벤트만 재생")
+    void snapshotBoundsReplay() throws IOException {
+        // given
+        try (OrderEventLog log = OrderEventLog.open(dir, 1_000_000)) {
+            orders(log, 1, 3000);
+            assertThat(log.snapshot()).isEqualTo(3000);
+            orders(log, 3001, 3100);
+        }
+
+        // when
+        try (OrderEventLog log = OrderEventLog.open(dir, 1_000_000)) {
+            // then
+            assertThat(log.recovery().snapshotSequence()).isEqualTo(3000);
+            assertThat(log.recovery().replayedEvents()).isEqualTo(100);
+            assertThat(log.aggregates().orderCount()).isEqualTo(3100);
+            assertThat(log.aggregates().itemCount("item3")).isEqualTo(310);
+        }
+        assertThat(files(".log")).allSatisfy(file ->
+                assertThat(file.getFileName().toString()).isGreaterThan("events-00000000000000003000.log"));
+        assertThat(files(".snap")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("잘린 마지막 레코드 복구")
+    void tornTail() throws IOException {
+        // given
+        try (OrderEventLog log = OrderEventLog.open(dir, 1000)) {
+            orders(log, 1, 10);
+        }
+        Path segment = files(".log").getLast();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        // when
+        try (OrderEventLog log = OrderEventLog.open(dir, 1000)) {
+            // then
+            assertThat(log.lastSequence()).isEqualTo(9);
+            log.onOrder(new Order(1L, "again", 1000, 0));
+        }
+        try (OrderEventLog log = OrderEventLog.open(dir, 1000)) {
+            assertThat(log.lastSequence()).isEqualTo(10);
+            assertThat(log.aggregates().itemCount("again")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("손상된 스냅샷이면 열지 않음")
+    void corruptSnapshot() throws IOException {
+        // given
+        try (OrderEventLog log = OrderEventLog.open(dir, 1_000_000)) {
+            orders(log, 1, 100);
+            log.snapshot();
+            orders(log, 101, 120);
+        }
+        Path snapshot = files(".snap").getFirst();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[20] ^= 0x7F;
+        Files.write(snapshot, bytes);
+
+        // when & then: 스냅샷 이전 세그먼트는 지워졌으므로 순번이 끊긴 로그로 조용히 복구하지 않는다
+        assertThatThrownBy(() -> OrderEventLog.open(dir, 1_000_000))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("순번이 끊겼습니다");
+    }
+
+    private static void orders(OrderEventLog log, int from, int to) {
+        for (int i = from; i <= to; i++) {
+            log.onOrder(new Order((long) (i % 10), "item" + (i % 10), 10000, 1000));
+        }
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> stream = Files.list(dir)) {
+            return stream.filter(file -> file.toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+}
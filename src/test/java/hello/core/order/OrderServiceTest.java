@@ -119,6 +119,15 @@ class OrderServiceTest {
         assertThat(order.calculatePrice()).isEqualTo(19000);
     }
 
+    @Test
+    @DisplayName("없는 회원의 주문은 예외")
+    void createOrder_UnknownMember() {
+        // When & Then: 저장소에 없는 회원 ID로 주문하면 회원 ID를 담은 예외
+        assertThatThrownBy(() -> orderService.createOrder(987_654L, "itemA", 10000))
+                .isInstanceOf(MemberNotFoundException.class)
+                .hasMessageContaining("memberId=987654");
+    }
+
     @Test
     @DisplayName("정액할인과 정률할인 비교")
     void compareDiscountPolicies() {
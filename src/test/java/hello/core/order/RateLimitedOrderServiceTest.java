@@ -0,0 +1,67 @@
+package hello.core.order;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemoryMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 처리율 제한 주문 서비스 테스트
+ * RateLimitedOrderService가 한도 안의 주문은 처리하고 초과 주문은 빠르게 거절하는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 한도 안의 주문은 ACCEPTED 결과와 함께 정상 주문이 반환된다.
+ * 2. 한도를 넘은 주문은 RATE_LIMITED 결과로 거절되고 주문 객체가 없다.
+ * 3. createOrder로 호출하면 한도 초과 시 OrderRejectedException이 발생한다.
+ */
+class RateLimitedOrderServiceTest {
+
+    RateLimitedOrderService orderService;
+
+    @BeforeEach
+    void beforeEach() {
+        MemberRepository memberRepository = new MemoryMemberRepository();
+        memberRepository.save(new Member(301L, "memberVIP", Grade.VIP));
+        OrderService delegate = new OrderServiceImpl(memberRepository, new FixDiscountPolicy());
+        // 시간이 흐르지 않는 시계: 최대 2건
+        orderService = new RateLimitedOrderService(delegate, new TokenBucketRateLimiter(1, 2, () -> 0L));
+    }
+
+    @Test
+    @DisplayName("한도 안의 주문은 처리")
+    void accepted() {
+        OrderResult result = orderService.tryCreateOrder(301L, "itemA", 10000);
+
+        assertThat(result.getStatus()).isEqualTo(OrderResult.Status.ACCEPTED);
+        assertThat(result.getOrder().getDiscountPrice()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("한도 초과 주문은 거절 결과")
+    void rateLimited() {
+        orderService.tryCreateOrder(301L, "itemA", 10000);
+        orderService.tryCreateOrder(301L, "itemA", 10000);
+
+        OrderResult result = orderService.tryCreateOrder(301L, "itemA", 10000);
+
+        assertThat(result.isAccepted()).isFalse();
+        assertThat(result.getStatus()).isEqualTo(OrderResult.Status.RATE_LIMITED);
+        assertThat(result.getOrder()).isNull();
+    }
+
+    @Test
+    @DisplayName("createOrder는 한도 초과 시 예외")
+    void createOrderThrows() {
+        orderService.createOrder(301L, "itemA", 10000);
+        orderService.createOrder(301L, "itemA", 10000);
+
+        assertThatThrownBy(() -> orderService.createOrder(301L, "itemA", 10000))
+                .isInstanceOf(OrderRejectedException.class);
+    }
+}
@@ -0,0 +1,217 @@
+package hello.core.order;
+
+import hello.core.AppConfig;
+import hello.core.discount.DiscountPolicy;
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemberSnapshot;
+import hello.core.member.MemberStores;
+import hello.core.member.MemoryMemberRepository;
+import hello.core.member.MvccMemberRepository;
+import hello.core.stream.MemberChangeStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 할인 정책 재계산 작업 테스트
+ * RepricingJob이 과거 주문에 후보 정책을 적용해 변화량을 올바르게 집계하는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 정액할인으로 기록된 VIP 주문을 정률할인으로 재계산하면 상품별 변화량이 집계된다.
+ * 2. BASIC 주문은 어떤 정책이든 변화량이 0이다.
+ * 3. 저장소에 없는 회원의 주문은 집계에서 제외되고 제외 건수가 기록된다.
+ * 4. 대량 주문 스트림을 병렬로 처리해도 합계가 순차 계산과 같다.
+ * 5. MVCC 저장소이면 작업 도중 승급해도 모든 주문이 시작 시점의 등급으로 재계산된다.
+ * 6. AppConfig가 데코레이터로 감싼 저장소(JFR/발행/만료/샤드)도 안쪽 스냅샷으로 시작 시점의 등급을 쓴다.
+ * 7. 다른 스냅샷(스냅샷 기록, 다른 재계산)이 열려 있어도 재계산할 수 있다.
+ * 8. 주문 100만 건을 흘려도 읽었지만 처리하지 않은 주문은 (병렬도 x 2 + 1) 묶음을 넘지 않는다. (이력을 메모리에 올리지 않음)
+ */
+class RepricingJobTest {
+
+    MemberRepository memberRepository;
+    RepricingJob job;
+
+    @BeforeEach
+    void beforeEach() {
+        memberRepository = new MemoryMemberRepository();
+        memberRepository.save(new Member(201L, "memberVIP", Grade.VIP));
+        memberRepository.save(new Member(202L, "memberBASIC", Grade.BASIC));
+        job = new RepricingJob(memberRepository, new RateDiscountPolicy(), 4);
+    }
+
+    @Test
+    @DisplayName("정액 -> 정률 재계산 시 상품별 변화량")
+    void repriceVip() {
+        // Given: 정액할인(1000원)으로 기록된 VIP 주문
+        OrderSource source = () -> Stream.of(
+                new Order(201L, "itemA", 50000, 1000),
+                new Order(201L, "itemA", 5000, 1000),
+                new Order(201L, "itemB", 10000, 1000));
+
+        // When
+        RepricingReport report = job.run(source);
+
+        // Then: itemA 기존 2000 -> 신규 5500, itemB 기존 1000 -> 신규 1000
+        RepricingDelta itemA = report.byItem(Grade.VIP).get("itemA");
+        assertThat(itemA.getOrderCount()).isEqualTo(2);
+        assertThat(itemA.getOldDiscountTotal()).isEqualTo(2000);
+        assertThat(itemA.getNewDiscountTotal()).isEqualTo(5500);
+        assertThat(itemA.getDelta()).isEqualTo(3500);
+        assertThat(report.byItem(Grade.VIP).get("itemB").getDelta()).isEqualTo(0);
+        assertThat(report.byGrade(Grade.VIP).getDelta()).isEqualTo(3500);
+    }
+
+    @Test
+    @DisplayName("BASIC 주문은 변화량 0")
+    void repriceBasic() {
+        OrderSource source = () -> Stream.of(new Order(202L, "itemA", 50000, 0));
+
+        RepricingReport report = job.run(source);
+
+        assertThat(report.byGrade(Grade.BASIC).getOrderCount()).isEqualTo(1);
+        assertThat(report.byGrade(Grade.BASIC).getDelta()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("없는 회원의 주문은 제외")
+    void skipUnknownMember() {
+        OrderSource source = () -> Stream.of(new Order(9999L, "itemA", 10000, 0));
+
+        RepricingReport report = job.run(source);
+
+        assertThat(report.getSkippedOrders()).isEqualTo(1);
+        assertThat(report.total().getOrderCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("대량 주문 병렬 처리 합계")
+    void parallelTotals() {
+        // Given: VIP/BASIC이 번갈아 나오는 10만 건 (스트림으로 생성, 리스트로 모으지 않음)
+        int count = 100_000;
+        OrderSource source = () -> LongStream.range(0, count)
+                .mapToObj(i -> new Order(i % 2 == 0 ? 201L : 202L, "item" + (i % 10), 20000, i % 2 == 0 ? 1000 : 0));
+
+        // When
+        RepricingReport report = job.run(source);
+
+        // Then: VIP 5만 건 x (2000 - 1000)
+        assertThat(report.total().getOrderCount()).isEqualTo(count);
+        assertThat(report.byGrade(Grade.VIP).getDelta()).isEqualTo(50_000L * 1000);
+        assertThat(report.byGrade(Grade.BASIC).getDelta()).isEqualTo(0);
+        assertThat(report.byItem(Grade.VIP)).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("MVCC 저장소는 시작 시점 등급으로 재계산")
+    void snapshotGrades() {
+        // Given: BASIC 회원의 주문을 처리하는 도중 VIP로 승급
+        MvccMemberRepository mvcc = new MvccMemberRepository();
+        mvcc.save(new Member(202L, "memberBASIC", Grade.BASIC));
+        RepricingJob mvccJob = new RepricingJob(mvcc, new RateDiscountPolicy(), 4);
+        OrderSource source = () -> LongStream.range(0, 1000).mapToObj(i -> {
+            if (i == 0) {
+                mvcc.save(new Member(202L, "memberBASIC", Grade.VIP));
+            }
+            return new Order(202L, "itemA", 20000, 0);
+        });
+
+        // When
+        RepricingReport report = mvccJob.run(source);
+
+        // Then: 모두 BASIC으로 집계되고 저장소에는 승급이 반영됨
+        assertThat(report.byGrade(Grade.BASIC).getOrderCount()).isEqualTo(1000);
+        assertThat(report.byGrade(Grade.VIP).getOrderCount()).isEqualTo(0);
+        assertThat(mvcc.findById(202L).getGrade()).isEqualTo(Grade.VIP);
+    }
+
+    @Test
+    @DisplayName("AppConfig 저장소도 데코레이터 안쪽 스냅샷으로 재계산")
+    void snapshotThroughAppConfig() throws Exception {
+        // Given: JFR -> 발행 -> 만료 -> 샤드(MVCC 2개)로 감싼 저장소
+        System.setProperty(MemberStores.MVCC_PROPERTY, "true");
+        System.setProperty(MemberStores.SHARDS_PROPERTY, "2");
+        System.setProperty(MemberStores.TIME_TO_IDLE_PROPERTY, "600000");
+        System.setProperty(MemberChangeStream.ENABLED_PROPERTY, "true");
+        MemberRepository wired;
+        try {
+            wired = new AppConfig().memberRepository();
+        } finally {
+            System.clearProperty(MemberStores.MVCC_PROPERTY);
+            System.clearProperty(MemberStores.SHARDS_PROPERTY);
+            System.clearProperty(MemberStores.TIME_TO_IDLE_PROPERTY);
+            System.clearProperty(MemberChangeStream.ENABLED_PROPERTY);
+        }
+        assertThat(wired.snapshotable()).isNotNull();
+        wired.save(new Member(202L, "memberBASIC", Grade.BASIC));
+        RepricingJob wiredJob = new RepricingJob(wired, new RateDiscountPolicy(), 4);
+        OrderSource source = () -> LongStream.range(0, 1000).mapToObj(i -> {
+            if (i == 0) {
+                wired.save(new Member(202L, "memberBASIC", Grade.VIP));
+            }
+            return new Order(202L, "itemA", 20000, 0);
+        });
+
+        // When
+        RepricingReport report = wiredJob.run(source);
+
+        // Then: 모두 BASIC으로 집계되고 저장소에는 승급이 반영됨
+        assertThat(report.byGrade(Grade.BASIC).getOrderCount()).isEqualTo(1000);
+        assertThat(report.byGrade(Grade.VIP).getOrderCount()).isEqualTo(0);
+        assertThat(wired.findById(202L).getGrade()).isEqualTo(Grade.VIP);
+        ((AutoCloseable) wired).close();
+    }
+
+    @Test
+    @DisplayName("다른 스냅샷이 열려 있어도 재계산")
+    void overlapsOtherSnapshot() {
+        // Given: 스냅샷 기록이 진행 중인 저장소
+        OrderSource source = () -> Stream.of(new Order(201L, "itemA", 50000, 1000));
+
+        // When
+        RepricingReport report;
+        try (MemberSnapshot saving = memberRepository.snapshotable().openSnapshot()) {
+            report = job.run(source);
+        }
+
+        // Then
+        assertThat(report.byGrade(Grade.VIP).getOrderCount()).isEqualTo(1);
+        assertThat(report.byGrade(Grade.VIP).getDelta()).isEqualTo(4000);
+    }
+
+    @Test
+    @DisplayName("대량 주문도 앞서 읽는 양은 제한")
+    void boundedReadAhead() {
+        // Given: 읽은 주문 수와 할인을 계산한 주문 수를 센다
+        int parallelism = 4;
+        AtomicLong read = new AtomicLong();
+        AtomicLong repriced = new AtomicLong();
+        AtomicLong maxAhead = new AtomicLong();
+        DiscountPolicy counting = (member, price) -> {
+            repriced.incrementAndGet();
+            return price / 10;
+        };
+        RepricingJob countingJob = new RepricingJob(memberRepository, counting, parallelism);
+        String[] items = {"item0", "item1", "item2", "item3", "item4"};
+        int count = 1_000_000;
+        OrderSource source = () -> LongStream.range(0, count).mapToObj(i -> {
+            maxAhead.accumulateAndGet(read.incrementAndGet() - repriced.get(), Math::max);
+            return new Order(i % 2 == 0 ? 201L : 202L, items[(int) (i % items.length)], 20000, 0);
+        });
+
+        // When
+        RepricingReport report = countingJob.run(source);
+
+        // Then
+        assertThat(report.total().getOrderCount()).isEqualTo(count);
+        assertThat(maxAhead.get()).isLessThanOrEqualTo((long) (parallelism * 2 + 1) * RepricingJob.CHUNK_SIZE);
+    }
+}
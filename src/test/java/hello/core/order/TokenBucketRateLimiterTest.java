@@ -0,0 +1,103 @@
+package hello.core.order;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 토큰 버킷 처리율 제한기 테스트
+ * TokenBucketRateLimiter의 한도, 지연 충전, 회원 격리, 유휴 항목 정리를 검증
+ *
+ * 테스트 시나리오:
+ * 1. 버킷 크기(burst)만큼은 연속으로 허용되고 그 다음은 거절된다.
+ * 2. 시간이 지나면 경과 시간에 비례해 토큰이 충전된다. (타이머 없이 조회 시점에 계산)
+ * 3. 한 회원이 한도를 다 써도 다른 회원은 영향을 받지 않는다.
+ * 4. 많은 회원이 한 번씩 주문하고 오래 지나면 유휴 항목이 정리되어 추적 회원 수가 늘지 않는다.
+ * 5. 빈 슬롯 표시와 같은 값(Long.MIN_VALUE)의 회원 ID도 다른 회원과 같은 한도를 받는다.
+ */
+class TokenBucketRateLimiterTest {
+
+    AtomicLong now;
+    TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void beforeEach() {
+        now = new AtomicLong(0);
+        // 초당 10건, 최대 5건
+        rateLimiter = new TokenBucketRateLimiter(10, 5, now::get);
+    }
+
+    @Test
+    @DisplayName("burst만큼 허용 후 거절")
+    void burst() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire(1L)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("경과 시간만큼 충전")
+    void refill() {
+        // Given: 한도 소진
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire(1L);
+        }
+
+        // When: 0.2초 경과 (초당 10건 -> 2건 충전)
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+
+        // Then
+        assertThat(rateLimiter.tryAcquire(1L)).isTrue();
+        assertThat(rateLimiter.tryAcquire(1L)).isTrue();
+        assertThat(rateLimiter.tryAcquire(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("회원 간 격리")
+    void isolation() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire(1L);
+        }
+
+        assertThat(rateLimiter.tryAcquire(1L)).isFalse();
+        assertThat(rateLimiter.tryAcquire(2L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("유휴 회원 정리")
+    void evictIdle() {
+        // Given: 1초 간격으로 서로 다른 회원 20만 명이 한 번씩 주문 (한 번 쓰고 나면 0.1초 뒤 가득 참)
+        for (long round = 0; round < 20; round++) {
+            for (long id = 1; id <= 10_000; id++) {
+                rateLimiter.tryAcquire(round * 10_000 + id);
+            }
+            now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        }
+
+        // Then: 최근 회원 위주로만 남아 누적 회원 수보다 훨씬 적다
+        assertThat(rateLimiter.trackedMembers()).isLessThan(50_000);
+    }
+
+    @Test
+    @DisplayName("Long.MIN_VALUE 회원 ID도 한도 적용")
+    void minValueMemberId() {
+        // Given: 다른 회원이 먼저 주문
+        rateLimiter.tryAcquire(0L);
+
+        // When: 한도 소진
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire(Long.MIN_VALUE)).isTrue();
+        }
+
+        // Then
+        assertThat(rateLimiter.tryAcquire(Long.MIN_VALUE)).isFalse();
+        assertThat(rateLimiter.tryAcquire(0L)).isTrue();
+        assertThat(rateLimiter.trackedMembers()).isEqualTo(2);
+    }
+}
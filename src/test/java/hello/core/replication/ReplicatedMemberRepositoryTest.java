@@ -0,0 +1,170 @@
+package hello.core.replication;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemoryMemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 주 저장소/복제본 읽기 분산 테스트
+ * 복제본은 같은 프로세스 안에서 만들며, 반영 시점을 정하기 위해 대부분 start() 대신 poll()로 직접 반영한다.
+ *
+ * 테스트 시나리오:
+ * 1. 시작한 복제본은 주 저장소의 변경을 비동기로 반영한다.
+ * 2. 지연 허용 범위 안이면 복제본의 (오래된) 값을 읽고, 범위를 넘으면 주 저장소에서 읽는다.
+ * 3. 복제본에 아직 없는 회원은 주 저장소에서 찾는다.
+ * 4. 세션은 자기가 쓴 값을 항상 읽고, 복제본이 따라잡으면 복제본에서 읽는다.
+ * 5. 로그에서 잘려 나갈 만큼 뒤처진 복제본은 스냅샷 + 로그로 따라잡는다.
+ * 6. 복제본에 직접 쓰면 예외가 발생한다.
+ * 7. 조건부 등급 변경은 주 저장소에서 하며, 실제로 바뀐 경우에만 로그에 남아 복제본에 반영된다.
+ */
+class ReplicatedMemberRepositoryTest {
+
+    PrimaryMemberRepository primary = new PrimaryMemberRepository(MemoryMemberRepository.isolated(), new ReplicationLog(16));
+    ReplicaMemberRepository replica = new ReplicaMemberRepository("replica-0", primary, MemoryMemberRepository.isolated());
+
+    @AfterEach
+    void tearDown() {
+        replica.close();
+    }
+
+    @Test
+    @DisplayName("시작한 복제본은 비동기로 반영")
+    void asyncApply() throws InterruptedException {
+        // given
+        replica.start();
+
+        // when
+        primary.save(new Member(1L, "memberA", Grade.VIP));
+
+        // then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (replica.findById(1L) == null && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(replica.findById(1L).getName()).isEqualTo("memberA");
+        assertThat(replica.appliedSequence()).isEqualTo(primary.lastSequence());
+    }
+
+    @Test
+    @DisplayName("지연 허용 범위에 따라 복제본 또는 주 저장소")
+    void boundedStaleness() {
+        // given
+        primary.save(new Member(1L, "v1", Grade.BASIC));
+        replica.poll();
+        replica.poll();
+        primary.save(new Member(1L, "v2", Grade.VIP));
+        ReplicatedMemberRepository relaxed = new ReplicatedMemberRepository(primary, List.of(replica), Duration.ofHours(1));
+        ReplicatedMemberRepository strict = new ReplicatedMemberRepository(primary, List.of(replica), Duration.ZERO);
+
+        // when
+        Member stale = relaxed.findById(1L);
+        Member fresh = strict.findById(1L);
+
+        // then
+        assertThat(stale.getName()).isEqualTo("v1");
+        assertThat(fresh.getName()).isEqualTo("v2");
+        assertThat(strict.stats().primaryReads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("복제본에 없는 회원은 주 저장소에서")
+    void missFallsBackToPrimary() {
+        // given
+        replica.poll();
+        ReplicatedMemberRepository repository = new ReplicatedMemberRepository(primary, List.of(replica), Duration.ofHours(1));
+
+        // when
+        repository.save(new Member(1L, "memberA", Grade.BASIC));
+
+        // then
+        assertThat(repository.findById(1L).getName()).isEqualTo("memberA");
+        assertThat(repository.findAllById(List.of(1L, 2L))).containsOnlyKeys(1L);
+    }
+
+    @Test
+    @DisplayName("세션은 자기 쓰기를 읽음")
+    void readYourWrites() {
+        // given
+        ReplicatedMemberRepository repository = new ReplicatedMemberRepository(primary, List.of(replica), Duration.ofHours(1));
+        repository.save(new Member(1L, "v1", Grade.BASIC));
+        replica.poll();
+        replica.poll();
+        ReplicatedMemberRepository.Session session = repository.session();
+
+        // when
+        session.save(new Member(1L, "v2", Grade.VIP));
+
+        // then
+        assertThat(session.findById(1L).getName()).isEqualTo("v2");
+        assertThat(repository.findById(1L).getName()).isEqualTo("v1");
+        replica.poll();
+        long replicaReads = repository.stats().replicaReads();
+        assertThat(session.findById(1L).getName()).isEqualTo("v2");
+        assertThat(repository.stats().replicaReads()).isEqualTo(replicaReads + 1);
+        assertThat(repository.session(session.token()).findById(1L).getName()).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("뒤처진 복제본은 스냅샷으로 따라잡음")
+    void catchUpFromSnapshot() {
+        // given
+        replica.poll();
+        for (long id = 1; id <= 100; id++) {
+            primary.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+        primary.delete(50L);
+
+        // when
+        replica.poll();
+        primary.save(new Member(101L, "member101", Grade.VIP));
+        replica.poll();
+
+        // then
+        assertThat(replica.catchUps()).isEqualTo(2);
+        assertThat(replica.appliedSequence()).isEqualTo(primary.lastSequence());
+        assertThat(replica.findById(100L).getName()).isEqualTo("member100");
+        assertThat(replica.findById(50L)).isNull();
+        assertThat(replica.findById(101L).getName()).isEqualTo("member101");
+    }
+
+    @Test
+    @DisplayName("복제본은 읽기 전용")
+    void replicaIsReadOnly() {
+        assertThatThrownBy(() -> replica.save(new Member(1L, "memberA", Grade.BASIC)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("조건부 등급 변경은 바뀐 경우에만 복제")
+    void changeGradeReplicates() {
+        // given
+        primary.save(new Member(1L, "memberA", Grade.BASIC));
+        ReplicatedMemberRepository.Session session =
+                new ReplicatedMemberRepository(primary, List.of(replica), Duration.ofHours(1)).session();
+
+        // when
+        Member changed = session.changeGrade(1L, Grade.BASIC, Grade.VIP);
+        long sequence = primary.lastSequence();
+        Member unchanged = primary.changeGrade(1L, Grade.BASIC, Grade.VIP);
+        replica.poll();
+
+        // then
+        assertThat(changed.getGrade()).isEqualTo(Grade.VIP);
+        assertThat(unchanged.getGrade()).isEqualTo(Grade.VIP);
+        assertThat(primary.lastSequence()).isEqualTo(sequence);
+        assertThat(session.findById(1L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(replica.findById(1L).getName()).isEqualTo("memberA");
+        assertThat(replica.findById(1L).getGrade()).isEqualTo(Grade.VIP);
+        assertThatThrownBy(() -> replica.changeGrade(1L, Grade.VIP, Grade.BASIC))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
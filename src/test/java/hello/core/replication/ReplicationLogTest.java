@@ -0,0 +1,75 @@
+package hello.core.replication;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 복제 로그 테스트
+ *
+ * 테스트 시나리오:
+ * 1. 추가한 변경은 1부터 빈틈없는 순번을 받고, 원하는 순번부터 최대 개수만큼 읽힌다.
+ * 2. 크기를 넘겨 덮어쓴 순번을 읽으면 TRUNCATED를 돌려준다.
+ * 3. 아직 없거나 잘려 나간 순번의 기록 시각은 -1이다.
+ */
+class ReplicationLogTest {
+
+    @Test
+    @DisplayName("순번대로 추가/읽기")
+    void appendAndRead() {
+        // given
+        ReplicationLog log = new ReplicationLog(8);
+        log.append(1L, new Member(1L, "memberA", Grade.BASIC));
+        log.append(2L, new Member(2L, "memberB", Grade.VIP));
+        log.append(1L, null);
+
+        // when
+        List<MemberChange> changes = new ArrayList<>();
+        int read = log.read(2, 10, changes::add);
+
+        // then
+        assertThat(log.lastSequence()).isEqualTo(3);
+        assertThat(read).isEqualTo(2);
+        assertThat(changes).extracting(MemberChange::sequence).containsExactly(2L, 3L);
+        assertThat(changes.get(1).deleted()).isTrue();
+        assertThat(log.read(4, 10, changes::add)).isZero();
+    }
+
+    @Test
+    @DisplayName("덮어쓴 순번은 TRUNCATED")
+    void truncated() {
+        // given
+        ReplicationLog log = new ReplicationLog(4);
+        for (long id = 1; id <= 10; id++) {
+            log.append(id, new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        // when
+        int read = log.read(3, 10, change -> { });
+
+        // then
+        assertThat(read).isEqualTo(ReplicationLog.TRUNCATED);
+        assertThat(log.read(7, 10, change -> { })).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("없는 순번의 기록 시각은 -1")
+    void appendedAt() {
+        // given
+        ReplicationLog log = new ReplicationLog(2);
+        log.append(1L, new Member(1L, "memberA", Grade.BASIC));
+        log.append(2L, new Member(2L, "memberB", Grade.BASIC));
+        log.append(3L, new Member(3L, "memberC", Grade.BASIC));
+
+        // when & then
+        assertThat(log.appendedAt(1)).isEqualTo(-1);
+        assertThat(log.appendedAt(3)).isPositive();
+        assertThat(log.appendedAt(4)).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,173 @@
+package hello.core.snapshot;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberSnapshot;
+import hello.core.member.MemoryMemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 회원 스냅샷 테스트
+ * MemoryMemberRepository의 특정 시점 뷰와 MemberSnapshotter의 기록/복원을 검증
+ * (저장소가 static으로 공유되므로 1001~ 구간 회원만 확인하고, 복원은 현재 내용을 그대로 되돌리는 방식으로 검증)
+ *
+ * 테스트 시나리오:
+ * 1. 스냅샷을 연 뒤의 변경/가입은 뷰에 보이지 않고 연 시점의 값이 보인다.
+ * 2. 스냅샷을 여러 개 동시에 열 수 있고, 각 뷰는 자기가 열린 시점의 값을 보며, 먼저 닫힌 뷰가 다른 뷰를 망가뜨리지 않는다.
+ * 3. 백그라운드 기록 중에도 가입이 진행되며, 파일에는 기록 시작 시점의 내용이 ID 순으로 담긴다.
+ * 4. 기록한 파일로 복원하면 같은 내용이 되고, 이후 가입도 정상 동작한다.
+ * 5. 스냅샷 파일이 아니면 복원하지 않고 예외가 발생한다.
+ * 6. 스냅샷을 연 뒤 삭제한 회원도 뷰에는 연 시점의 값으로 한 번 보이고, 저장소에서는 바로 사라진다.
+ */
+class MemberSnapshotterTest {
+
+    @TempDir
+    Path dir;
+
+    MemoryMemberRepository repository = new MemoryMemberRepository();
+    MemberSnapshotter snapshotter = new MemberSnapshotter(4);
+
+    @AfterEach
+    void afterEach() {
+        snapshotter.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 뷰는 연 시점의 값")
+    void pointInTime() {
+        // given
+        repository.save(new Member(1001L, "before", Grade.BASIC));
+
+        // when
+        Map<Long, Member> seen = new HashMap<>();
+        try (MemberSnapshot snapshot = repository.openSnapshot()) {
+            repository.save(new Member(1001L, "after", Grade.VIP));
+            repository.save(new Member(1001L, "after2", Grade.VIP));
+            repository.save(new Member(1002L, "new", Grade.BASIC));
+            snapshot.forEach(member -> seen.put(member.getId(), member));
+        }
+
+        // then
+        assertThat(seen.get(1001L).getName()).isEqualTo("before");
+        assertThat(seen).doesNotContainKey(1002L);
+        assertThat(repository.findById(1001L).getName()).isEqualTo("after2");
+    }
+
+    @Test
+    @DisplayName("스냅샷을 연 뒤 삭제한 회원도 뷰에 보임")
+    void deleteWhileOpen() {
+        // given
+        repository.save(new Member(1011L, "deleted", Grade.BASIC));
+        repository.save(new Member(1012L, "deletedAndRejoined", Grade.BASIC));
+
+        // when
+        Map<Long, Integer> seenCount = new HashMap<>();
+        Map<Long, Member> seen = new HashMap<>();
+        try (MemberSnapshot snapshot = repository.openSnapshot()) {
+            repository.delete(1011L);
+            repository.delete(1012L);
+            repository.save(new Member(1012L, "rejoined", Grade.VIP));
+            repository.save(new Member(1013L, "joinedAndDeleted", Grade.BASIC));
+            repository.delete(1013L);
+            assertThat(repository.findById(1011L)).isNull();
+            snapshot.forEach(member -> {
+                seen.put(member.getId(), member);
+                seenCount.merge(member.getId(), 1, Integer::sum);
+            });
+        }
+
+        // then
+        assertThat(seen.get(1011L).getName()).isEqualTo("deleted");
+        assertThat(seen.get(1012L).getName()).isEqualTo("deletedAndRejoined");
+        assertThat(seen).doesNotContainKey(1013L);
+        assertThat(seenCount.get(1011L)).isEqualTo(1);
+        assertThat(seenCount.get(1012L)).isEqualTo(1);
+        assertThat(repository.findById(1011L)).isNull();
+        assertThat(repository.findById(1012L).getName()).isEqualTo("rejoined");
+        assertThat(repository.findById(1013L)).isNull();
+        repository.forEach(member -> assertThat(member.getId()).isNotEqualTo(1011L));
+    }
+
+    @Test
+    @DisplayName("겹쳐 연 스냅샷은 각자 연 시점의 값")
+    void overlappingSnapshots() {
+        // given
+        repository.save(new Member(1301L, "v1", Grade.BASIC));
+        repository.save(new Member(1302L, "deleted", Grade.BASIC));
+
+        // when: 첫 뷰를 연 뒤 변경하고 두 번째 뷰를 연 뒤 삭제한다. 첫 뷰는 두 번째 뷰보다 먼저 닫는다
+        MemberSnapshot first = repository.openSnapshot();
+        repository.save(new Member(1301L, "v2", Grade.VIP));
+        MemberSnapshot second = repository.openSnapshot();
+        repository.delete(1302L);
+        repository.save(new Member(1301L, "v3", Grade.VIP));
+        Map<Long, Member> seenByFirst = new HashMap<>();
+        first.forEach(member -> seenByFirst.put(member.getId(), member));
+        first.close();
+        Map<Long, Member> seenBySecond = new HashMap<>();
+        second.forEach(member -> seenBySecond.put(member.getId(), member));
+        second.close();
+
+        // then
+        assertThat(seenByFirst.get(1301L).getName()).isEqualTo("v1");
+        assertThat(seenByFirst.get(1302L).getName()).isEqualTo("deleted");
+        assertThat(seenBySecond.get(1301L).getName()).isEqualTo("v2");
+        assertThat(seenBySecond.get(1302L).getName()).isEqualTo("deleted");
+        assertThat(repository.findById(1301L).getName()).isEqualTo("v3");
+        assertThat(repository.findById(1302L)).isNull();
+        repository.forEach(member -> assertThat(member.getId()).isNotEqualTo(1302L));
+    }
+
+    @Test
+    @DisplayName("기록 중 가입과 복원")
+    void writeAndRestore() throws Exception {
+        // given
+        for (long id = 1011; id <= 1200; id++) {
+            repository.save(new Member(id, "회원" + id, id % 2 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        Path file = dir.resolve("members.snap");
+
+        // when: 기록 시작 후 변경/가입
+        CompletableFuture<MemberSnapshotter.SnapshotResult> written = snapshotter.writeAsync(repository, file);
+        repository.save(new Member(1011L, "changed", Grade.VIP));
+        repository.save(new Member(1201L, "late", Grade.BASIC));
+        MemberSnapshotter.SnapshotResult result = written.get();
+
+        // then: 복원하면 기록 시작 시점의 내용
+        MemberSnapshotter.SnapshotResult restored = snapshotter.restore(repository, file);
+        assertThat(restored.members()).isEqualTo(result.members());
+        assertThat(restored.bytes()).isEqualTo(Files.size(file));
+        assertThat(repository.findById(1011L).getName()).isEqualTo("회원1011");
+        assertThat(repository.findById(1200L).getGrade()).isEqualTo(Grade.VIP);
+        assertThat(repository.findById(1201L)).isNull();
+
+        // 복원 후에도 정상 동작
+        repository.save(new Member(1201L, "again", Grade.BASIC));
+        assertThat(repository.findById(1201L).getName()).isEqualTo("again");
+    }
+
+    @Test
+    @DisplayName("스냅샷 파일이 아니면 예외")
+    void invalidFile() throws IOException {
+        // given
+        Path file = dir.resolve("broken.snap");
+        Files.write(file, new byte[64]);
+        repository.save(new Member(1301L, "kept", Grade.BASIC));
+
+        // when & then
+        assertThatThrownBy(() -> snapshotter.restore(repository, file)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(repository.findById(1301L).getName()).isEqualTo("kept");
+    }
+}
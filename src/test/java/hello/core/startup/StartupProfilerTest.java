@@ -0,0 +1,53 @@
+package hello.core.startup;
+
+import hello.core.AppConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 기동 프로파일러 테스트
+ * StartupProfiler가 AppConfig 빈 생성 시간을 기록하고 정렬된 리포트를 남기는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. AppConfig로 컨텍스트를 띄우면 애플리케이션 빈별 생성 시간이 기록된다.
+ * 2. 리포트는 self 시간 내림차순으로 정렬된다.
+ * 3. 리포트 파일이 생성되고 빈 이름이 포함된다.
+ */
+class StartupProfilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("AppConfig 빈 생성 시간 리포트")
+    void writeReport() throws Exception {
+        // Given: 기동 단계 기록
+        BufferingApplicationStartup startup = StartupProfiler.newApplicationStartup();
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.setApplicationStartup(startup);
+        context.register(AppConfig.class);
+        context.refresh();
+        context.close();
+
+        // When
+        Path reportFile = tempDir.resolve("startup-report.txt");
+        List<StartupProfiler.BeanTiming> timings = StartupProfiler.writeReport(startup, reportFile);
+
+        // Then
+        assertThat(timings).extracting(StartupProfiler.BeanTiming::beanName)
+                .contains("memberRepository", "discountPolicy", "memberService", "orderService");
+        for (int i = 1; i < timings.size(); i++) {
+            assertThat(timings.get(i - 1).self()).isGreaterThanOrEqualTo(timings.get(i).self());
+        }
+        assertThat(Files.readString(reportFile)).contains("orderService");
+    }
+}
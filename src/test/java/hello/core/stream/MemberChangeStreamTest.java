@@ -0,0 +1,235 @@
+package hello.core.stream;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 회원 변경 스트림 테스트
+ *
+ * 테스트 시나리오:
+ * 1. 소비자는 구독한 뒤의 변경만 발행 순서대로 받고, 묶음 끝이 표시된다.
+ * 2. 한 번에 batchSize개까지만 묶어 처리한다.
+ * 3. 소비자마다 순번을 따로 들고 있어, 한 소비자가 읽어도 다른 소비자의 변경은 남아 있다.
+ * 4. 고리가 가득 차면 생산자는 가장 느린 소비자가 처리할 때까지 기다리고, 등록을 풀면 더 기다리지 않는다.
+ * 5. 전용 스레드로 소비하면 대기 방법(돌기/양보/잠들기)과 관계없이 모든 변경을 순서대로 받는다.
+ * 6. 처리기가 예외를 던지면 그 변경을 건너뛰고 다음 변경부터 처리한다.
+ * 7. 여러 생산자가 동시에 발행해도 모든 변경을 한 번씩, 생산자별 발행 순서대로 받는다.
+ */
+class MemberChangeStreamTest {
+
+    @Test
+    @DisplayName("구독 뒤 변경만 순서대로 받음")
+    void receivesInOrder() {
+        // given
+        MemberChangeStream stream = new MemberChangeStream(8, WaitStrategy.busySpin());
+        stream.publish(1L, member(1L));
+        List<String> received = new ArrayList<>();
+        MemberChangeConsumer consumer = stream.subscribe("test", (event, endOfBatch) ->
+                received.add(event.sequence() + ":" + event.memberId() + ":" + event.deleted() + ":" + endOfBatch),
+                WaitStrategy.busySpin(), 16);
+
+        // when
+        stream.publish(2L, member(2L));
+        stream.publish(2L, null);
+        int drained = consumer.drain();
+
+        // then
+        assertThat(drained).isEqualTo(2);
+        assertThat(received).containsExactly("2:2:false:false", "3:2:true:true");
+        assertThat(consumer.sequence()).isEqualTo(3);
+        assertThat(consumer.lag()).isZero();
+        assertThat(consumer.drain()).isZero();
+    }
+
+    @Test
+    @DisplayName("묶음 크기까지만 처리")
+    void batchSize() {
+        // given
+        MemberChangeStream stream = new MemberChangeStream(16, WaitStrategy.busySpin());
+        MemberChangeConsumer consumer = stream.subscribe("test", (event, endOfBatch) -> { },
+                WaitStrategy.busySpin(), 4);
+        for (long id = 1; id <= 10; id++) {
+            stream.publish(id, member(id));
+        }
+
+        // when & then
+        assertThat(consumer.drain()).isEqualTo(4);
+        assertThat(consumer.drain()).isEqualTo(4);
+        assertThat(consumer.drain()).isEqualTo(2);
+        assertThat(consumer.lag()).isZero();
+    }
+
+    @Test
+    @DisplayName("소비자마다 순번을 따로 가짐")
+    void independentConsumers() {
+        // given
+        MemberChangeStream stream = new MemberChangeStream(16, WaitStrategy.busySpin());
+        List<Long> fast = new ArrayList<>();
+        List<Long> slow = new ArrayList<>();
+        MemberChangeConsumer fastConsumer = stream.subscribe("fast", (event, endOfBatch) -> fast.add(event.memberId()),
+                WaitStrategy.busySpin(), 16);
+        MemberChangeConsumer slowConsumer = stream.subscribe("slow", (event, endOfBatch) -> slow.add(event.memberId()),
+                WaitStrategy.busySpin(), 16);
+
+        // when
+        stream.publish(1L, member(1L));
+        stream.publish(2L, member(2L));
+        fastConsumer.drain();
+
+        // then
+        assertThat(fast).containsExactly(1L, 2L);
+        assertThat(slowConsumer.lag()).isEqualTo(2);
+        slowConsumer.drain();
+        assertThat(slow).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("가득 차면 가장 느린 소비자를 기다림")
+    void backpressure() throws Exception {
+        // given
+        MemberChangeStream stream = new MemberChangeStream(4, WaitStrategy.yielding());
+        MemberChangeConsumer consumer = stream.subscribe("slow", (event, endOfBatch) -> { },
+                WaitStrategy.busySpin(), 16);
+        for (long id = 1; id <= 4; id++) {
+            stream.publish(id, member(id));
+        }
+
+        // when
+        CompletableFuture<Long> blocked = CompletableFuture.supplyAsync(() -> stream.publish(5L, member(5L)));
+
+        // then: 소비자가 처리하기 전에는 발행이 끝나지 않는다
+        assertThatThrownBy(() -> blocked.get(100, TimeUnit.MILLISECONDS))
+                .isInstanceOf(TimeoutException.class);
+        assertThat(consumer.drain()).isEqualTo(4);
+        assertThat(blocked.get(5, TimeUnit.SECONDS)).isEqualTo(5);
+
+        // 등록을 풀면 더는 기다리지 않는다
+        consumer.close();
+        for (long id = 6; id <= 20; id++) {
+            stream.publish(id, member(id));
+        }
+        assertThat(stream.cursor()).isEqualTo(20);
+        assertThat(stream.consumerCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("전용 스레드는 대기 방법과 관계없이 모두 받음")
+    void consumerThreads() {
+        // given
+        int changes = 100_000;
+        MemberChangeStream stream = new MemberChangeStream(1024, WaitStrategy.yielding());
+        List<WaitStrategy> strategies = List.of(WaitStrategy.busySpin(), WaitStrategy.yielding(),
+                WaitStrategy.parking(Duration.ofMillis(1)));
+        List<long[]> results = new ArrayList<>();
+        List<MemberChangeConsumer> consumers = new ArrayList<>();
+        for (int i = 0; i < strategies.size(); i++) {
+            // [받은 수, 순서 어긋남 수, 마지막 회원 ID]
+            long[] result = new long[3];
+            results.add(result);
+            consumers.add(stream.subscribe("consumer-" + i, (event, endOfBatch) -> {
+                if (event.memberId() != result[2] + 1) {
+                    result[1]++;
+                }
+                result[2] = event.memberId();
+                result[0]++;
+            }, strategies.get(i), 256).start());
+        }
+
+        // when
+        for (long id = 1; id <= changes; id++) {
+            stream.publish(id, member(id));
+        }
+        while (consumers.stream().anyMatch(consumer -> consumer.lag() > 0)) {
+            Thread.onSpinWait();
+        }
+        stream.close();
+
+        // then
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result[0]).isEqualTo(changes);
+            assertThat(result[1]).isZero();
+        });
+    }
+
+    @Test
+    @DisplayName("처리기 예외는 그 변경만 건너뜀")
+    void handlerFailure() {
+        // given
+        MemberChangeStream stream = new MemberChangeStream(8, WaitStrategy.busySpin());
+        List<Long> received = new ArrayList<>();
+        MemberChangeConsumer consumer = stream.subscribe("test", (event, endOfBatch) -> {
+            if (event.memberId() == 2L) {
+                throw new IllegalStateException("boom");
+            }
+            received.add(event.memberId());
+        }, WaitStrategy.busySpin(), 16);
+        for (long id = 1; id <= 3; id++) {
+            stream.publish(id, member(id));
+        }
+
+        // when & then
+        assertThatThrownBy(consumer::drain).isInstanceOf(IllegalStateException.class);
+        assertThat(consumer.sequence()).isEqualTo(2);
+        assertThat(consumer.drain()).isEqualTo(1);
+        assertThat(received).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("여러 생산자의 변경을 빠짐없이 생산자별 순서대로 받음")
+    void multipleProducers() throws Exception {
+        // given
+        int producers = 4;
+        int changesPerProducer = 50_000;
+        MemberChangeStream stream = new MemberChangeStream(256, WaitStrategy.yielding());
+        // 생산자 p는 회원 ID p, p + producers, p + 2 * producers ... 를 차례로 발행한다
+        long[] lastId = new long[producers];
+        long[] outOfOrder = new long[1];
+        long[] received = new long[1];
+        Arrays.fill(lastId, -1);
+        MemberChangeConsumer consumer = stream.subscribe("test", (event, endOfBatch) -> {
+            int producer = (int) (event.memberId() % producers);
+            if (event.memberId() != lastId[producer] + (lastId[producer] < 0 ? producer + 1 : producers)) {
+                outOfOrder[0]++;
+            }
+            lastId[producer] = event.memberId();
+            received[0]++;
+        }, WaitStrategy.yielding(), 64).start();
+
+        // when
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (long i = 0; i < changesPerProducer; i++) {
+                    stream.publish(producer + i * producers, null);
+                }
+            }));
+        }
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        while (consumer.lag() > 0) {
+            Thread.onSpinWait();
+        }
+        consumer.close();
+
+        // then
+        assertThat(stream.cursor()).isEqualTo((long) producers * changesPerProducer);
+        assertThat(received[0]).isEqualTo((long) producers * changesPerProducer);
+        assertThat(outOfOrder[0]).isZero();
+    }
+
+    private static Member member(long id) {
+        return new Member(id, "member" + id, Grade.BASIC);
+    }
+}
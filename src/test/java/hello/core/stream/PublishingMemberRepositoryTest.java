@@ -0,0 +1,165 @@
+package hello.core.stream;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemberServiceImpl;
+import hello.core.member.MemoryMemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 변경 발행 회원 저장소 테스트
+ *
+ * 테스트 시나리오:
+ * 1. 회원 가입/일괄 가입/삭제가 저장소에 반영되고 같은 순서로 스트림에 발행된다.
+ * 2. 여러 스레드가 같은 회원을 동시에 저장해도, 소비자가 마지막으로 받은 값이 저장소에 남은 값과 같다.
+ * 3. 소비자가 없으면 발행하지 않고 저장소에만 반영한다.
+ * 4. 발행 값은 쓴 회원(등급 변경은 바뀐 회원) 그대로이며, 발행을 위해 저장소를 다시 읽지 않는다.
+ */
+class PublishingMemberRepositoryTest {
+
+    @Test
+    @DisplayName("가입/삭제가 반영 순서대로 발행됨")
+    void publishesWrites() {
+        // given
+        MemberChangeStream stream = new MemberChangeStream(64, WaitStrategy.busySpin());
+        PublishingMemberRepository repository =
+                new PublishingMemberRepository(MemoryMemberRepository.isolated(), stream);
+        MemberServiceImpl memberService = new MemberServiceImpl(repository);
+        List<String> received = new ArrayList<>();
+        MemberChangeConsumer consumer = stream.subscribe("test", (event, endOfBatch) ->
+                received.add(event.memberId() + (event.deleted() ? ":deleted" : ":" + event.member().getName())),
+                WaitStrategy.busySpin(), 64);
+
+        // when
+        memberService.join(new Member(1L, "memberA", Grade.VIP));
+        memberService.joinAll(List.of(new Member(2L, "memberB", Grade.BASIC), new Member(3L, "memberC", Grade.BASIC)));
+        repository.delete(2L);
+        consumer.drain();
+
+        // then
+        assertThat(received).containsExactly("1:memberA", "2:memberB", "3:memberC", "2:deleted");
+        assertThat(repository.findById(1L).getName()).isEqualTo("memberA");
+        assertThat(repository.findById(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("동시 저장에도 마지막 발행 값이 저장소 값과 같음")
+    void lastPublishedMatchesStore() throws Exception {
+        // given
+        int threads = 4;
+        int members = 100;
+        MemberChangeStream stream = new MemberChangeStream(1024, WaitStrategy.yielding());
+        PublishingMemberRepository repository =
+                new PublishingMemberRepository(MemoryMemberRepository.isolated(), stream);
+        Map<Long, String> latest = new HashMap<>();
+        MemberChangeConsumer consumer = stream.subscribe("mirror", (event, endOfBatch) ->
+                latest.put(event.memberId(), event.member().getName()), WaitStrategy.yielding(), 256).start();
+
+        // when
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String name = "writer" + t;
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int round = 0; round < 200; round++) {
+                    for (long id = 1; id <= members; id++) {
+                        repository.save(new Member(id, name, Grade.BASIC));
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get();
+        while (consumer.lag() > 0) {
+            Thread.onSpinWait();
+        }
+        consumer.close();
+
+        // then
+        assertThat(latest).hasSize(members);
+        for (long id = 1; id <= members; id++) {
+            assertThat(latest.get(id)).isEqualTo(repository.findById(id).getName());
+        }
+    }
+
+    @Test
+    @DisplayName("소비자가 없으면 발행하지 않음")
+    void skipsWithoutConsumers() {
+        // given
+        MemberChangeStream stream = new MemberChangeStream(64, WaitStrategy.busySpin());
+        PublishingMemberRepository repository =
+                new PublishingMemberRepository(MemoryMemberRepository.isolated(), stream);
+
+        // when
+        repository.save(new Member(1L, "memberA", Grade.VIP));
+        repository.delete(1L);
+        repository.save(new Member(2L, "memberB", Grade.BASIC));
+
+        // then
+        assertThat(stream.cursor()).isZero();
+        assertThat(repository.findById(2L).getName()).isEqualTo("memberB");
+    }
+
+    @Test
+    @DisplayName("쓴 회원을 저장소 조회 없이 발행")
+    void publishesWithoutReads() {
+        // given: 조회 횟수를 세는 감싼 저장소
+        MemoryMemberRepository store = MemoryMemberRepository.isolated();
+        AtomicInteger reads = new AtomicInteger();
+        MemberRepository counting = new MemberRepository() {
+            @Override
+            public void save(Member member) {
+                store.save(member);
+            }
+
+            @Override
+            public Member findById(Long memberId) {
+                reads.incrementAndGet();
+                return store.findById(memberId);
+            }
+
+            @Override
+            public void delete(Long memberId) {
+                store.delete(memberId);
+            }
+
+            @Override
+            public Member changeGrade(Long memberId, Grade expected, Grade grade) {
+                return store.changeGrade(memberId, expected, grade);
+            }
+
+            @Override
+            public void forEach(Consumer<Member> action) {
+                store.forEach(action);
+            }
+        };
+        MemberChangeStream stream = new MemberChangeStream(64, WaitStrategy.busySpin());
+        PublishingMemberRepository repository = new PublishingMemberRepository(counting, stream);
+        List<String> received = new ArrayList<>();
+        MemberChangeConsumer consumer = stream.subscribe("test", (event, endOfBatch) ->
+                received.add(event.memberId() + (event.deleted() ? ":deleted" : ":" + event.member().getGrade())),
+                WaitStrategy.busySpin(), 64);
+
+        // when
+        repository.save(new Member(1L, "memberA", Grade.BASIC));
+        repository.saveAll(List.of(new Member(2L, "memberB", Grade.BASIC), new Member(3L, "memberC", Grade.VIP)));
+        repository.changeGrade(1L, Grade.BASIC, Grade.VIP);
+        repository.changeGrade(99L, Grade.BASIC, Grade.VIP);
+        repository.delete(3L);
+        consumer.drain();
+
+        // then: 없는 회원의 등급 변경은 발행하지 않는다
+        assertThat(received).containsExactly("1:BASIC", "2:BASIC", "3:VIP", "1:VIP", "3:deleted");
+        assertThat(reads.get()).isZero();
+    }
+}
@@ -0,0 +1,154 @@
+package hello.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * LongLongHashMap 단위 테스트
+ * 원시 long 키 해시맵의 저장, 조회, 누적, 확장 동작을 검증
+ *
+ * 테스트 시나리오:
+ * 1. 저장한 값을 키로 조회할 수 있는지 확인
+ * 2. 없는 키는 기본값을 반환하는지 확인
+ * 3. 키 0도 일반 키처럼 저장되는지 확인
+ * 4. addTo로 값이 누적되는지 확인
+ * 5. 초기 크기를 넘겨 저장해도 모든 값이 유지되는지 확인 (재해시)
+ * 6. 삭제 후에도 같은 탐사 경로의 다른 키가 모두 조회되는지 확인
+ * 7. forEach가 키 0을 포함한 모든 항목을 한 번씩 넘기는지 확인
+ * 8. 쓰기가 겹치지 않으면 getOptimistic이 get과 같은 값을 반환하는지 확인 (키 0, 재해시/삭제 후 포함)
+ */
+class LongLongHashMapTest {
+
+    @Test
+    @DisplayName("저장 후 조회")
+    void putAndGet() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap(16);
+
+        // When
+        map.put(1L, 100L);
+        map.put(2L, 200L);
+        map.put(1L, 300L);
+
+        // Then: 같은 키는 덮어쓰기
+        assertThat(map.get(1L, -1L)).isEqualTo(300L);
+        assertThat(map.get(2L, -1L)).isEqualTo(200L);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("없는 키는 기본값 반환")
+    void missingKey() {
+        LongLongHashMap map = new LongLongHashMap(16);
+
+        assertThat(map.get(999L, -1L)).isEqualTo(-1L);
+        assertThat(map.containsKey(999L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("키 0 저장")
+    void zeroKey() {
+        LongLongHashMap map = new LongLongHashMap(16);
+
+        map.put(0L, 7L);
+
+        assertThat(map.containsKey(0L)).isTrue();
+        assertThat(map.get(0L, -1L)).isEqualTo(7L);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("addTo 누적")
+    void addTo() {
+        LongLongHashMap map = new LongLongHashMap(16);
+
+        map.addTo(5L, 10L);
+        long result = map.addTo(5L, 15L);
+
+        assertThat(result).isEqualTo(25L);
+        assertThat(map.get(5L, 0L)).isEqualTo(25L);
+    }
+
+    @Test
+    @DisplayName("초기 크기를 넘어도 모든 값 유지")
+    void grow() {
+        // Given: 작은 초기 크기
+        LongLongHashMap map = new LongLongHashMap(4);
+
+        // When: 많은 키 저장
+        for (long id = 1; id <= 10_000; id++) {
+            map.put(id, id * 2);
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(map.get(id, -1L)).isEqualTo(id * 2);
+        }
+    }
+
+    @Test
+    @DisplayName("삭제 후에도 나머지 키 조회")
+    void remove() {
+        // Given: 탐사 경로가 겹치도록 작은 테이블에 많이 저장
+        LongLongHashMap map = new LongLongHashMap(4);
+        for (long id = 1; id <= 10_000; id++) {
+            map.put(id, id);
+        }
+
+        // When: 짝수 키 삭제
+        for (long id = 2; id <= 10_000; id += 2) {
+            assertThat(map.remove(id)).isTrue();
+        }
+
+        // Then
+        assertThat(map.remove(2L)).isFalse();
+        assertThat(map.size()).isEqualTo(5_000);
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(map.get(id, -1L)).isEqualTo(id % 2 == 0 ? -1L : id);
+        }
+    }
+
+    @Test
+    @DisplayName("getOptimistic은 get과 같은 값")
+    void getOptimistic() {
+        // Given: 재해시와 삭제를 거친 맵
+        LongLongHashMap map = new LongLongHashMap(4);
+        map.put(0L, 100L);
+        for (long id = 1; id <= 10_000; id++) {
+            map.put(id, id * 3);
+        }
+        for (long id = 3; id <= 10_000; id += 3) {
+            map.remove(id);
+        }
+
+        // When & Then
+        assertThat(map.getOptimistic(0L, -1L)).isEqualTo(100L);
+        for (long id = 1; id <= 10_001; id++) {
+            assertThat(map.getOptimistic(id, -1L)).isEqualTo(map.get(id, -1L));
+        }
+    }
+
+    @Test
+    @DisplayName("forEach는 모든 항목을 한 번씩")
+    void forEachEntry() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap(16);
+        map.put(0L, 10L);
+        map.put(1L, 11L);
+        map.put(2L, 12L);
+
+        // When
+        long[] sums = new long[2];
+        map.forEach((key, value) -> {
+            sums[0] += key;
+            sums[1] += value;
+        });
+
+        // Then
+        assertThat(sums[0]).isEqualTo(3L);
+        assertThat(sums[1]).isEqualTo(33L);
+    }
+}
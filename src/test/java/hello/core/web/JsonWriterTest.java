@@ -0,0 +1,85 @@
+package hello.core.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * JSON 작성기 테스트
+ * JsonWriter가 버퍼에 올바른 JSON을 기록하는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 중첩 객체/배열에서 쉼표와 이름/값 구분이 올바르다.
+ * 2. 음수, 0, 최솟값을 포함한 정수가 올바르게 기록된다.
+ * 3. 따옴표, 역슬래시, 제어 문자는 이스케이프되고 한글/이모지는 UTF-8로 기록된다.
+ * 4. 초기 용량보다 큰 JSON도 버퍼가 늘어나며 기록된다.
+ */
+class JsonWriterTest {
+
+    private static String write(Consumer<JsonWriter> body) {
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(8);
+        JsonWriter writer = new JsonWriter(buffer);
+        body.accept(writer);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("중첩 구조의 쉼표와 구분자")
+    void structure() {
+        // when
+        String json = write(w -> w.beginObject()
+                .field("a", 1)
+                .name("list").beginArray()
+                .beginObject().field("x", "y").endObject()
+                .beginObject().endObject()
+                .value(2)
+                .endArray()
+                .field("b", "c")
+                .endObject());
+
+        // then
+        assertThat(json).isEqualTo("{\"a\":1,\"list\":[{\"x\":\"y\"},{},2],\"b\":\"c\"}");
+    }
+
+    @Test
+    @DisplayName("정수 기록")
+    void numbers() {
+        // when
+        String json = write(w -> w.beginArray().value(0).value(-42).value(Long.MAX_VALUE).value(Long.MIN_VALUE).endArray());
+
+        // then
+        assertThat(json).isEqualTo("[0,-42," + Long.MAX_VALUE + "," + Long.MIN_VALUE + "]");
+    }
+
+    @Test
+    @DisplayName("문자열 이스케이프와 UTF-8")
+    void strings() {
+        // when
+        String json = write(w -> w.beginArray().value("a\"b\\c\nd\u0001").value("회원A").value("😀").value((String) null).endArray());
+
+        // then
+        assertThat(json).isEqualTo("[\"a\\\"b\\\\c\\nd\\u0001\",\"회원A\",\"😀\",null]");
+    }
+
+    @Test
+    @DisplayName("큰 JSON은 버퍼가 늘어난다")
+    void grows() {
+        // when
+        String json = write(w -> {
+            w.beginArray();
+            for (int i = 0; i < 1000; i++) {
+                w.value(i);
+            }
+            w.endArray();
+        });
+
+        // then
+        assertThat(json).startsWith("[0,1,2,").endsWith(",998,999]");
+    }
+}
@@ -0,0 +1,92 @@
+package hello.core.web;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.member.MemberService;
+import hello.core.member.MemberServiceImpl;
+import hello.core.member.MemoryMemberRepository;
+import hello.core.order.OrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * 회원 API 테스트
+ * 라우터 함수에 바로 바인딩한 WebTestClient로 회원 엔드포인트를 검증 (서버 기동 없음)
+ *
+ * 테스트 시나리오:
+ * 1. POST /members로 가입한 회원을 GET /members/{id}로 조회할 수 있다.
+ * 2. 없는 회원은 404, 숫자가 아닌 ID는 400이다.
+ * 3. POST /members/bulk로 여러 회원을 한 번에 가입하고 GET /members?ids=로 한 번에 조회한다.
+ * 4. 필수 값이 빠진 가입 요청은 400이다.
+ */
+class MemberHandlerTest {
+
+    WebTestClient client;
+
+    @BeforeEach
+    void beforeEach() {
+        MemberService memberService = new MemberServiceImpl(new MemoryMemberRepository());
+        WebConfig config = new WebConfig();
+        client = WebTestClient.bindToRouterFunction(config.coreRoutes(
+                config.memberHandler(memberService),
+                config.orderHandler(new OrderServiceImpl(new MemoryMemberRepository(), new FixDiscountPolicy()))))
+                .build();
+    }
+
+    @Test
+    @DisplayName("가입 후 조회")
+    void joinAndFind() {
+        // when
+        client.post().uri("/members").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\":701,\"name\":\"회원A\",\"grade\":\"VIP\"}")
+                .exchange()
+                .expectStatus().isOk();
+
+        // then
+        client.get().uri("/members/701").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().json("{\"id\":701,\"name\":\"회원A\",\"grade\":\"VIP\"}", JsonCompareMode.STRICT);
+    }
+
+    @Test
+    @DisplayName("없는 회원은 404, 잘못된 ID는 400")
+    void notFound() {
+        client.get().uri("/members/799").exchange().expectStatus().isNotFound();
+        client.get().uri("/members/abc").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("일괄 가입과 일괄 조회")
+    void bulk() {
+        // when
+        client.post().uri("/members/bulk").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"id\":711,\"name\":\"m711\",\"grade\":\"BASIC\"},"
+                        + "{\"id\":712,\"name\":\"m712\",\"grade\":\"VIP\"}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"joined\":2}");
+
+        // then
+        client.get().uri("/members?ids=712,798,711").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(712)
+                .jsonPath("$[0].grade").isEqualTo("VIP")
+                .jsonPath("$[1].id").isEqualTo(711)
+                .jsonPath("$[1].grade").isEqualTo("BASIC");
+    }
+
+    @Test
+    @DisplayName("필수 값이 빠진 가입 요청은 400")
+    void invalidJoin() {
+        client.post().uri("/members").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\":721}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,164 @@
+package hello.core.web;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemberServiceImpl;
+import hello.core.member.MemoryMemberRepository;
+import hello.core.order.OrderService;
+import hello.core.order.OrderServiceImpl;
+import hello.core.order.RateLimitedOrderService;
+import hello.core.order.TokenBucketRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * 주문 API 테스트
+ * 라우터 함수에 바로 바인딩한 WebTestClient로 주문 엔드포인트를 검증 (서버 기동 없음)
+ *
+ * 테스트 시나리오:
+ * 1. POST /orders는 할인이 적용된 주문을 반환한다.
+ * 2. 처리율 한도를 넘은 주문은 429와 RATE_LIMITED 상태로 응답한다.
+ * 3. POST /orders/bulk는 건별 결과를 요청 순서대로 반환한다. (거절 건 포함)
+ * 4. 가격이 음수인 주문은 400이다.
+ * 5. 없는 회원의 주문은 404와 MEMBER_NOT_FOUND 상태로, 일괄 주문에서는 그 건만 MEMBER_NOT_FOUND로 응답한다.
+ * 6. 일괄 주문에서 그 밖의 예외로 실패한 건은 ERROR 상태로 표시하고, 앞뒤 건은 그대로 처리한다.
+ */
+class OrderHandlerTest {
+
+    WebTestClient client;
+    MemberRepository memberRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        memberRepository = new MemoryMemberRepository();
+        memberRepository.save(new Member(731L, "memberVIP", Grade.VIP));
+        memberRepository.save(new Member(732L, "memberBASIC", Grade.BASIC));
+        // 시간이 흐르지 않는 시계: 회원당 최대 2건
+        RateLimitedOrderService orderService = new RateLimitedOrderService(
+                new OrderServiceImpl(memberRepository, new FixDiscountPolicy()),
+                new TokenBucketRateLimiter(1, 2, () -> 0L));
+        WebConfig config = new WebConfig();
+        client = WebTestClient.bindToRouterFunction(config.coreRoutes(
+                config.memberHandler(new MemberServiceImpl(memberRepository)),
+                config.orderHandler(orderService)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("주문 생성")
+    void createOrder() {
+        client.post().uri("/orders").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"memberId\":731,\"itemName\":\"itemA\",\"itemPrice\":10000}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"status\":\"ACCEPTED\",\"memberId\":731,\"itemName\":\"itemA\","
+                        + "\"itemPrice\":10000,\"discountPrice\":1000,\"price\":9000}", JsonCompareMode.STRICT);
+    }
+
+    @Test
+    @DisplayName("처리율 초과 주문은 429")
+    void rateLimited() {
+        // given
+        for (int i = 0; i < 2; i++) {
+            client.post().uri("/orders").contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"memberId\":731,\"itemName\":\"itemA\",\"itemPrice\":10000}")
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        // when & then
+        client.post().uri("/orders").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"memberId\":731,\"itemName\":\"itemA\",\"itemPrice\":10000}")
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectBody().json("{\"status\":\"RATE_LIMITED\",\"memberId\":731}", JsonCompareMode.STRICT);
+    }
+
+    @Test
+    @DisplayName("일괄 주문은 건별 결과")
+    void createOrders() {
+        client.post().uri("/orders/bulk").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"memberId\":732,\"itemName\":\"a\",\"itemPrice\":5000},"
+                        + "{\"memberId\":732,\"itemName\":\"b\",\"itemPrice\":5000},"
+                        + "{\"memberId\":732,\"itemName\":\"c\",\"itemPrice\":5000},"
+                        + "{\"memberId\":731,\"itemName\":\"d\",\"itemPrice\":5000}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4)
+                .jsonPath("$[0].status").isEqualTo("ACCEPTED")
+                .jsonPath("$[0].discountPrice").isEqualTo(0)
+                .jsonPath("$[1].itemName").isEqualTo("b")
+                .jsonPath("$[2].status").isEqualTo("RATE_LIMITED")
+                .jsonPath("$[2].memberId").isEqualTo(732)
+                .jsonPath("$[3].itemName").isEqualTo("d")
+                .jsonPath("$[3].discountPrice").isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("음수 가격은 400")
+    void invalidOrder() {
+        client.post().uri("/orders").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"memberId\":731,\"itemName\":\"itemA\",\"itemPrice\":-1}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("없는 회원의 주문은 404, 일괄 주문은 건별 상태")
+    void unknownMember() {
+        client.post().uri("/orders").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"memberId\":739,\"itemName\":\"itemA\",\"itemPrice\":10000}")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("{\"status\":\"MEMBER_NOT_FOUND\",\"memberId\":739}", JsonCompareMode.STRICT);
+
+        client.post().uri("/orders/bulk").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"memberId\":739,\"itemName\":\"a\",\"itemPrice\":5000},"
+                        + "{\"memberId\":731,\"itemName\":\"b\",\"itemPrice\":5000}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo("MEMBER_NOT_FOUND")
+                .jsonPath("$[0].memberId").isEqualTo(739)
+                .jsonPath("$[1].status").isEqualTo("ACCEPTED");
+    }
+
+    @Test
+    @DisplayName("일괄 주문 중 예외가 난 건은 ERROR")
+    void unexpectedFailure() {
+        // given: 738번 회원의 주문에서 저장소 장애를 흉내 내는 주문 서비스
+        OrderService delegate = new OrderServiceImpl(memberRepository, new FixDiscountPolicy());
+        OrderService failing = (memberId, itemName, itemPrice) -> {
+            if (memberId == 738L) {
+                throw new IllegalStateException("저장소 장애");
+            }
+            return delegate.createOrder(memberId, itemName, itemPrice);
+        };
+        WebConfig config = new WebConfig();
+        WebTestClient failingClient = WebTestClient.bindToRouterFunction(config.coreRoutes(
+                config.memberHandler(new MemberServiceImpl(memberRepository)),
+                config.orderHandler(failing)))
+                .build();
+
+        // when & then
+        failingClient.post().uri("/orders/bulk").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"memberId\":731,\"itemName\":\"a\",\"itemPrice\":5000},"
+                        + "{\"memberId\":738,\"itemName\":\"b\",\"itemPrice\":5000},"
+                        + "{\"memberId\":732,\"itemName\":\"c\",\"itemPrice\":5000}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].status").isEqualTo("ACCEPTED")
+                .jsonPath("$[1].status").isEqualTo("ERROR")
+                .jsonPath("$[1].memberId").isEqualTo(738)
+                .jsonPath("$[2].status").isEqualTo("ACCEPTED");
+    }
+}
@@ -0,0 +1,236 @@
+package hello.core.wire;
+
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberRepository;
+import hello.core.member.MemoryMemberRepository;
+import hello.core.order.OrderServiceImpl;
+import hello.core.order.RateLimitedOrderService;
+import hello.core.order.TokenBucketRateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 이진 프로토콜 서버 테스트
+ * WireServer와 WireClient가 루프백에서 주문을 주고받는지 검증
+ *
+ * 테스트 시나리오:
+ * 1. 주문 하나를 보내면 할인 금액과 결제 금액이 담긴 응답을 받는다.
+ * 2. 한 연결로 응답을 기다리지 않고 보낸 여러 요청(파이프라이닝)에 요청 순서대로 응답한다.
+ * 3. 출력 버퍼보다 많은 응답이 쌓여도 역압 후 모든 요청에 응답한다.
+ * 4. 처리율 한도를 넘은 주문은 RATE_LIMITED 응답을 받는다.
+ * 5. 최대 길이를 넘는 프레임을 보내면 서버가 연결을 닫는다.
+ * 6. 작업 스레드 풀에서 주문을 처리해도 파이프라이닝 요청에 요청 순서대로 응답한다. (출력 버퍼보다 많은 요청 포함)
+ * 7. 작업 스레드 풀에서 앞 요청이 처리 중일 때 들어온 잘못된 요청의 ERROR 응답도 앞 응답 뒤에 온다.
+ * 8. 작업 스레드 풀을 소유한 서버는 닫을 때 풀도 멈추고, 소유하지 않으면 그대로 둔다.
+ */
+class WireServerTest {
+
+    DirectBufferPool bufferPool;
+    WireServer server;
+    InetSocketAddress address;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        MemberRepository memberRepository = new MemoryMemberRepository();
+        memberRepository.save(new Member(901L, "memberVIP", Grade.VIP));
+        memberRepository.save(new Member(902L, "memberBASIC", Grade.BASIC));
+        // 시간이 흐르지 않는 시계: 회원당 최대 100000건
+        RateLimitedOrderService orderService = new RateLimitedOrderService(
+                new OrderServiceImpl(memberRepository, new FixDiscountPolicy()),
+                new TokenBucketRateLimiter(1, 100_000, () -> 0L));
+        // 출력 버퍼 하나에 응답이 약 240개만 들어가는 작은 버퍼
+        bufferPool = new DirectBufferPool(4096, 16);
+        server = new WireServer(orderService, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), bufferPool)
+                .start();
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port());
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("주문 하나 요청/응답")
+    void singleOrder() throws IOException {
+        try (WireClient client = new WireClient(address, bufferPool)) {
+            // when
+            WireResponse response = client.createOrder(901L, 1, 10000);
+
+            // then
+            assertThat(response.isAccepted()).isTrue();
+            assertThat(response.getDiscountPrice()).isEqualTo(1000);
+            assertThat(response.getPrice()).isEqualTo(9000);
+        }
+    }
+
+    @Test
+    @DisplayName("파이프라이닝 요청은 순서대로 응답")
+    void pipelining() throws IOException {
+        try (WireClient client = new WireClient(address, bufferPool)) {
+            // given: 응답을 기다리지 않고 1000건 전송 (출력 버퍼보다 많음)
+            for (int i = 0; i < 1000; i++) {
+                client.send(i, i % 2 == 0 ? 901L : 902L, i, 10000 + i);
+            }
+            client.flush();
+
+            // when & then
+            WireResponse response = new WireResponse();
+            for (int i = 0; i < 1000; i++) {
+                client.read(response);
+                assertThat(response.getCorrelationId()).isEqualTo(i);
+                assertThat(response.getDiscountPrice()).isEqualTo(i % 2 == 0 ? 1000 : 0);
+                assertThat(response.getPrice()).isEqualTo(10000 + i - response.getDiscountPrice());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("처리율 초과 주문은 RATE_LIMITED")
+    void rateLimited() throws IOException {
+        // given: 한도 1건짜리 서버
+        server.close();
+        MemberRepository memberRepository = new MemoryMemberRepository();
+        server = new WireServer(new RateLimitedOrderService(
+                new OrderServiceImpl(memberRepository, new FixDiscountPolicy()),
+                new TokenBucketRateLimiter(1, 1, () -> 0L)),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), bufferPool).start();
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port());
+
+        try (WireClient client = new WireClient(address, bufferPool)) {
+            // when
+            client.createOrder(901L, 1, 10000);
+            WireResponse response = client.createOrder(901L, 1, 10000);
+
+            // then
+            assertThat(response.isRateLimited()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("작업 스레드 풀에서도 요청 순서대로 응답")
+    void workerPool() throws IOException {
+        // given: 작업 스레드 4개로 주문을 처리하는 서버
+        server.close();
+        MemberRepository memberRepository = new MemoryMemberRepository();
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        server = new WireServer(new OrderServiceImpl(memberRepository, new FixDiscountPolicy()),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), bufferPool, workers).start();
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port());
+
+        try (WireClient client = new WireClient(address, bufferPool)) {
+            // when: 응답을 기다리지 않고 1000건 전송
+            for (int i = 0; i < 1000; i++) {
+                client.send(i, i % 2 == 0 ? 901L : 902L, i, 10000 + i);
+            }
+            client.flush();
+
+            // then
+            WireResponse response = new WireResponse();
+            for (int i = 0; i < 1000; i++) {
+                client.read(response);
+                assertThat(response.getCorrelationId()).isEqualTo(i);
+                assertThat(response.getDiscountPrice()).isEqualTo(i % 2 == 0 ? 1000 : 0);
+            }
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("너무 긴 프레임은 연결 종료")
+    void oversizedFrame() throws IOException {
+        try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+            // when
+            socket.getOutputStream().write(ByteBuffer.allocate(4).putInt(WireProtocol.MAX_BODY + 1).array());
+            socket.getOutputStream().flush();
+
+            // then
+            assertThat(socket.getInputStream().read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    @DisplayName("작업 스레드 풀에서도 ERROR 응답은 요청 순서대로")
+    void errorAfterInFlight() throws Exception {
+        // given: 첫 요청이 작업 스레드에서 멈춰 있는 서버
+        server.close();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(1);
+        server = new WireServer(new OrderServiceImpl(new MemoryMemberRepository(), new FixDiscountPolicy()),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), bufferPool, task -> pool.execute(() -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    task.run();
+                }), false).start();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            // when: 정상 요청(1)과 알 수 없는 타입의 요청(2)을 한 번에 보낸 뒤 첫 요청을 풀어 준다
+            ByteBuffer requests = ByteBuffer.allocate(WireProtocol.REQUEST_FRAME + WireProtocol.LENGTH_BYTES + 5);
+            WireProtocol.writeOrderRequest(requests, 1, 901L, 1, 10000);
+            requests.putInt(5).put((byte) 0x7F).putInt(2);
+            socket.getOutputStream().write(requests.array());
+            socket.getOutputStream().flush();
+            Thread.sleep(100);
+            release.countDown();
+
+            // then
+            DataInputStream input = new DataInputStream(socket.getInputStream());
+            int[] correlationIds = new int[2];
+            byte[] types = new byte[2];
+            for (int i = 0; i < 2; i++) {
+                assertThat(input.readInt()).isEqualTo(WireProtocol.RESPONSE_BODY);
+                types[i] = input.readByte();
+                correlationIds[i] = input.readInt();
+                input.readInt();
+                input.readInt();
+            }
+            assertThat(correlationIds).containsExactly(1, 2);
+            assertThat(types[1]).isEqualTo(WireProtocol.ERROR);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("소유한 작업 스레드 풀은 서버와 함께 멈춤")
+    void ownedWorkers() throws IOException {
+        // given
+        server.close();
+        ExecutorService owned = Executors.newFixedThreadPool(1);
+        ExecutorService shared = Executors.newFixedThreadPool(1);
+        OrderServiceImpl orderService = new OrderServiceImpl(new MemoryMemberRepository(), new FixDiscountPolicy());
+        InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        WireServer sharing = new WireServer(orderService, loopback, bufferPool, shared).start();
+        server = new WireServer(orderService, loopback, bufferPool, owned, true).start();
+
+        // when
+        server.close();
+        sharing.close();
+
+        // then
+        assertThat(owned.isShutdown()).isTrue();
+        assertThat(shared.isShutdown()).isFalse();
+        shared.shutdown();
+    }
+}